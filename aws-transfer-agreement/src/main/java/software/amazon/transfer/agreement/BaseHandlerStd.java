@@ -1,11 +1,22 @@
 package software.amazon.transfer.agreement;
 
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
 import software.amazon.awssdk.services.transfer.TransferClient;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.CallMetrics;
+import software.amazon.transfer.commons.ErrorHandler;
+import software.amazon.transfer.commons.Priming;
+import software.amazon.transfer.commons.RateLimiter;
+import software.amazon.transfer.commons.RetryPolicy;
+import software.amazon.transfer.commons.TagDiff;
+import software.amazon.transfer.commons.TagUpdater;
 
 /**
  * The purpose of this base class is to allow a simple calling pattern that
@@ -16,17 +27,46 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
  */
 public abstract class BaseHandlerStd extends BaseHandler<CallbackContext>
         implements MockableBaseHandler<CallbackContext> {
+    protected static final String CREATE = "Create";
+    protected static final String DELETE = "Delete";
+    protected static final String READ = "Read";
+    protected static final String UPDATE = "Update";
+    private static final ErrorHandler<ResourceModel, CallbackContext> ERROR_HANDLER = new ErrorHandler<>(
+            ResourceModel.TYPE_NAME,
+            RetryPolicy.DEFAULT,
+            ResourceModel::getPrimaryIdentifier,
+            CallbackContext::getNumRetries,
+            CallbackContext::setNumRetries);
+    private static final TagUpdater<ResourceModel, CallbackContext> TAG_UPDATER = new TagUpdater<>(
+            "AWS-Transfer-Agreement",
+            tags -> Converter.TagConverter.translateTagfromMap(tags).stream()
+                    .map(Converter.TagConverter::toSdk)
+                    .collect(Collectors.toList()));
+    protected Logger logger;
+
+    // Run before a SnapStart checkpoint, see Priming.
+    static {
+        Priming.register(ClientBuilder::getClient);
+        Priming.register(() -> Priming.roundTrip(new ResourceModel(), new TypeReference<ResourceModel>() {}));
+        Priming.register(() -> Priming.roundTrip(new CallbackContext(), new TypeReference<CallbackContext>() {}));
+    }
+
     @Override
     public final ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
-        return handleRequest(
-                proxy,
-                request,
-                callbackContext != null ? callbackContext : new CallbackContext(),
-                proxy.newProxy(ClientBuilder::getClient),
+        this.logger = logger;
+        CallMetrics metrics = CallMetrics.start(ResourceModel.TYPE_NAME, this);
+
+        return metrics.measure(
+                () -> handleRequest(
+                        proxy,
+                        request,
+                        callbackContext != null ? callbackContext : new CallbackContext(),
+                        RateLimiter.DEFAULT.pace(metrics.instrument(proxy.newProxy(ClientBuilder::getClient)), request),
+                        logger),
                 logger);
     }
 
@@ -37,4 +77,42 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext>
             final CallbackContext callbackContext,
             final ProxyClient<TransferClient> proxyClient,
             final Logger logger);
+
+    /**
+     * Hands throttled and transient errors back to CloudFormation to retry after a delay, while
+     * the retry budget in the callback context lasts, and fails with the mapped error code
+     * otherwise.
+     *
+     * @param operation the operation name
+     * @param exception the error
+     * @param model the resource model
+     * @param context the callback context holding the retry budget
+     * @param clientRequestToken the request token
+     * @return the in-progress event of the retry, or the failure
+     */
+    protected ProgressEvent<ResourceModel, CallbackContext> handleError(
+            final String operation,
+            final Exception exception,
+            final ResourceModel model,
+            final CallbackContext context,
+            final String clientRequestToken) {
+        return ERROR_HANDLER.handle(logger, operation, exception, model, context, clientRequestToken);
+    }
+
+    /** Removes and then adds the tags of {@code tagDiff}, see {@link TagUpdater}. */
+    protected ProgressEvent<ResourceModel, CallbackContext> updateTags(
+            ProgressEvent<ResourceModel, CallbackContext> progress,
+            AmazonWebServicesClientProxy proxy,
+            ProxyClient<TransferClient> proxyClient,
+            String arn,
+            TagDiff tagDiff,
+            String clientRequestToken) {
+        return TAG_UPDATER.update(
+                progress,
+                proxy,
+                proxyClient,
+                arn,
+                tagDiff,
+                (exception, model, context) -> handleError(UPDATE, exception, model, context, clientRequestToken));
+    }
 }
@@ -6,4 +6,6 @@ import software.amazon.cloudformation.proxy.StdCallbackContext;
 @lombok.Setter
 @lombok.ToString
 @lombok.EqualsAndHashCode(callSuper = true)
-public class CallbackContext extends StdCallbackContext {}
+public class CallbackContext extends StdCallbackContext {
+    private int numRetries = 30;
+}
@@ -6,20 +6,8 @@ import java.util.stream.Collectors;
 
 import software.amazon.awssdk.services.transfer.TransferClient;
 import software.amazon.awssdk.services.transfer.model.CreateAgreementRequest;
-import software.amazon.awssdk.services.transfer.model.CreateAgreementResponse;
-import software.amazon.awssdk.services.transfer.model.InternalServiceErrorException;
-import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
-import software.amazon.awssdk.services.transfer.model.ResourceExistsException;
-import software.amazon.awssdk.services.transfer.model.ThrottlingException;
-import software.amazon.awssdk.services.transfer.model.TransferException;
-import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
-import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
-import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
@@ -50,43 +38,32 @@ public class CreateHandler extends BaseHandlerStd {
         }
         model.setTags(Converter.TagConverter.translateTagfromMap(allTags));
 
-        CreateAgreementRequest createAgreementRequest = CreateAgreementRequest.builder()
-                .description(model.getDescription())
-                .serverId(model.getServerId())
-                .localProfileId(model.getLocalProfileId())
-                .partnerProfileId(model.getPartnerProfileId())
-                .baseDirectory(model.getBaseDirectory())
-                .accessRole(model.getAccessRole())
-                .status(model.getStatus())
-                .tags(
-                        (CollectionUtils.isNullOrEmpty(model.getTags()))
-                                ? null
-                                : model.getTags().stream()
-                                        .map(Converter.TagConverter::toSdk)
-                                        .collect(Collectors.toList()))
-                .build();
-
-        try (TransferClient client = proxyClient.client()) {
-            CreateAgreementResponse response =
-                    proxy.injectCredentialsAndInvokeV2(createAgreementRequest, client::createAgreement);
-            model.setAgreementId(response.agreementId());
-            logger.log(String.format("%s created successfully", ResourceModel.TYPE_NAME));
-        } catch (InvalidRequestException e) {
-            throw new CfnInvalidRequestException(e.getMessage() + " " + createAgreementRequest.toString(), e);
-        } catch (InternalServiceErrorException e) {
-            throw new CfnServiceInternalErrorException("createAgreement", e);
-        } catch (ResourceExistsException e) {
-            throw new CfnAlreadyExistsException(
-                    ResourceModel.TYPE_NAME, model.getPrimaryIdentifier().toString());
-        } catch (ThrottlingException e) {
-            throw new CfnThrottlingException("createAgreement", e);
-        } catch (TransferException e) {
-            throw new CfnGeneralServiceException(e.getMessage(), e);
-        }
-
-        return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                .resourceModel(model)
-                .status(OperationStatus.SUCCESS)
-                .build();
+        return proxy.initiate("AWS-Transfer-Agreement::Create", proxyClient, model, callbackContext)
+                .translateToServiceRequest(resourceModel -> CreateAgreementRequest.builder()
+                        .description(resourceModel.getDescription())
+                        .serverId(resourceModel.getServerId())
+                        .localProfileId(resourceModel.getLocalProfileId())
+                        .partnerProfileId(resourceModel.getPartnerProfileId())
+                        .baseDirectory(resourceModel.getBaseDirectory())
+                        .accessRole(resourceModel.getAccessRole())
+                        .status(resourceModel.getStatus())
+                        .tags(
+                                (CollectionUtils.isNullOrEmpty(resourceModel.getTags()))
+                                        ? null
+                                        : resourceModel.getTags().stream()
+                                                .map(Converter.TagConverter::toSdk)
+                                                .collect(Collectors.toList()))
+                        .build())
+                .makeServiceCall((createAgreementRequest, client) -> {
+                    TransferClient transferClient = client.client();
+                    return client.injectCredentialsAndInvokeV2(createAgreementRequest, transferClient::createAgreement);
+                })
+                .handleError((ignored, exception, client, resourceModel, context) ->
+                        handleError(CREATE, exception, resourceModel, context, request.getClientRequestToken()))
+                .done(response -> {
+                    model.setAgreementId(response.agreementId());
+                    logger.log(String.format("%s created successfully", ResourceModel.TYPE_NAME));
+                    return ProgressEvent.defaultSuccessHandler(model);
+                });
     }
 }
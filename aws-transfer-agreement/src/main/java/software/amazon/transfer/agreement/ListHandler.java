@@ -4,10 +4,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 import software.amazon.awssdk.services.transfer.TransferClient;
+import software.amazon.awssdk.services.transfer.model.DescribeAgreementRequest;
 import software.amazon.awssdk.services.transfer.model.InternalServiceErrorException;
 import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
 import software.amazon.awssdk.services.transfer.model.ListAgreementsRequest;
 import software.amazon.awssdk.services.transfer.model.ListAgreementsResponse;
+import software.amazon.awssdk.services.transfer.model.ListedAgreement;
 import software.amazon.awssdk.services.transfer.model.TransferException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
@@ -18,11 +20,15 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.DescribeFanOut;
+import software.amazon.transfer.commons.Paginator;
 
 import lombok.NoArgsConstructor;
 
 @NoArgsConstructor
 public class ListHandler extends BaseHandlerStd {
+    private DescribeFanOut describeFanOut = DescribeFanOut.fromEnvironment();
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -33,33 +39,44 @@ public class ListHandler extends BaseHandlerStd {
 
         final ResourceModel topModel = request.getDesiredResourceState();
         final List<ResourceModel> models = new ArrayList<>();
+        Paginator paginator = describeFanOut.getPaginator();
 
         ListAgreementsRequest listAgreementsRequest = ListAgreementsRequest.builder()
                 .serverId(topModel.getServerId())
-                .maxResults(10)
+                .maxResults(paginator.getPageSize())
                 .nextToken(request.getNextToken())
                 .build();
 
-        try (TransferClient client = proxyClient.client()) {
-            ListAgreementsResponse response =
-                    proxy.injectCredentialsAndInvokeV2(listAgreementsRequest, client::listAgreements);
+        TransferClient client = proxyClient.client();
+        try {
+            Paginator.Page<ListedAgreement> page = paginator.paginate(
+                    listAgreementsRequest.nextToken(),
+                    token -> proxyClient.injectCredentialsAndInvokeV2(
+                            listAgreementsRequest.toBuilder().nextToken(token).build(), client::listAgreements),
+                    ListAgreementsResponse::agreements,
+                    ListAgreementsResponse::nextToken);
 
-            response.agreements().forEach(listedAgreement -> {
-                ResourceModel model = ResourceModel.builder()
-                        .arn(listedAgreement.arn())
-                        .agreementId(listedAgreement.agreementId())
-                        .description(listedAgreement.description())
-                        .status(listedAgreement.status().name())
-                        .serverId(listedAgreement.serverId())
-                        .localProfileId(listedAgreement.localProfileId())
-                        .partnerProfileId(listedAgreement.partnerProfileId())
-                        .build();
-                models.add(model);
-            });
+            if (describeFanOut.isEnabled()) {
+                models.addAll(describeFanOut.describe(
+                        page.getItems(), listed -> describeAgreement(proxyClient, client, listed)));
+            } else {
+                page.getItems().forEach(listedAgreement -> {
+                    ResourceModel model = ResourceModel.builder()
+                            .arn(listedAgreement.arn())
+                            .agreementId(listedAgreement.agreementId())
+                            .description(listedAgreement.description())
+                            .status(listedAgreement.status().name())
+                            .serverId(listedAgreement.serverId())
+                            .localProfileId(listedAgreement.localProfileId())
+                            .partnerProfileId(listedAgreement.partnerProfileId())
+                            .build();
+                    models.add(model);
+                });
+            }
 
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
                     .resourceModels(models)
-                    .nextToken(response.nextToken())
+                    .nextToken(page.getNextToken())
                     .status(OperationStatus.SUCCESS)
                     .build();
         } catch (InvalidRequestException e) {
@@ -70,4 +87,23 @@ public class ListHandler extends BaseHandlerStd {
             throw new CfnGeneralServiceException(e.getMessage(), e);
         }
     }
+
+    /** Replaces the fan-out the environment selects, e.g. to describe the listed agreements in a test. */
+    void useDescribeFanOut(DescribeFanOut describeFanOut) {
+        this.describeFanOut = describeFanOut;
+    }
+
+    private static ResourceModel describeAgreement(
+            ProxyClient<TransferClient> proxyClient, TransferClient client, ListedAgreement listed) {
+        ResourceModel model = ResourceModel.builder()
+                .agreementId(listed.agreementId())
+                .serverId(listed.serverId())
+                .build();
+        DescribeAgreementRequest describeRequest = DescribeAgreementRequest.builder()
+                .agreementId(model.getAgreementId())
+                .serverId(model.getServerId())
+                .build();
+        return ReadHandler.translateFromReadResponse(
+                proxyClient.injectCredentialsAndInvokeV2(describeRequest, client::describeAgreement), model);
+    }
 }
@@ -27,8 +27,9 @@ import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.HandlerTestSupport;
 
-public abstract class AbstractTestBase {
+public abstract class AbstractTestBase extends HandlerTestSupport<ResourceModel, CallbackContext> {
 
     public static final String TEST_ARN = "arn:test-arn";
     public static final String TEST_DESCRIPTION = "unit test";
@@ -58,10 +59,15 @@ public abstract class AbstractTestBase {
                     .value("StackName")
                     .build();
 
+    protected AbstractTestBase() {
+        super(CallbackContext::new, CallbackContext::getNumRetries);
+    }
+
     abstract MockableBaseHandler<CallbackContext> getHandler();
 
+    @Override
     protected ProgressEvent<ResourceModel, CallbackContext> callHandler(ResourceHandlerRequest<ResourceModel> request) {
-        return getHandler().handleRequest(proxy, request, null, proxyClient, logger);
+        return getHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
     }
 
     protected static final Credentials MOCK_CREDENTIALS;
@@ -1,7 +1,6 @@
 package software.amazon.transfer.agreement;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
@@ -20,11 +19,7 @@ import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
 import software.amazon.awssdk.services.transfer.model.ResourceExistsException;
 import software.amazon.awssdk.services.transfer.model.ThrottlingException;
 import software.amazon.awssdk.services.transfer.model.TransferException;
-import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
-import software.amazon.cloudformation.exceptions.CfnThrottlingException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
@@ -102,11 +97,11 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .desiredResourceState(model)
                 .build();
 
-        assertThrows(CfnInvalidRequestException.class, () -> callHandler(request));
+        assertFailed(request, HandlerErrorCode.InvalidRequest);
     }
 
     @Test
-    public void handleRequest_InternalServiceErrorExceptionFailed() {
+    public void handleRequest_InternalServiceErrorExceptionRetried() {
         doThrow(InternalServiceErrorException.class).when(client).createAgreement(any(CreateAgreementRequest.class));
 
         ResourceModel model = ResourceModel.builder().build();
@@ -115,7 +110,7 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .desiredResourceState(model)
                 .build();
 
-        assertThrows(CfnServiceInternalErrorException.class, () -> callHandler(request));
+        assertRetried(request);
     }
 
     @Test
@@ -131,11 +126,11 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .desiredResourceState(model)
                 .build();
 
-        assertThrows(CfnAlreadyExistsException.class, () -> callHandler(request));
+        assertFailed(request, HandlerErrorCode.AlreadyExists);
     }
 
     @Test
-    public void handleRequest_ThrottlingExceptionFailed() {
+    public void handleRequest_ThrottlingExceptionRetried() {
         doThrow(ThrottlingException.class).when(client).createAgreement(any(CreateAgreementRequest.class));
 
         ResourceModel model = ResourceModel.builder().build();
@@ -144,7 +139,26 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .desiredResourceState(model)
                 .build();
 
-        assertThrows(CfnThrottlingException.class, () -> callHandler(request));
+        assertRetried(request);
+    }
+
+    @Test
+    public void handleRequest_ThrottlingExceptionRetryBudgetSpent() {
+        doThrow(ThrottlingException.class).when(client).createAgreement(any(CreateAgreementRequest.class));
+
+        ResourceModel model = ResourceModel.builder().build();
+
+        ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+        CallbackContext context = new CallbackContext();
+        context.setNumRetries(0);
+
+        ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.Throttling);
     }
 
     @Test
@@ -157,6 +171,6 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .desiredResourceState(model)
                 .build();
 
-        assertThrows(CfnGeneralServiceException.class, () -> callHandler(request));
+        assertFailed(request, HandlerErrorCode.GeneralServiceException);
     }
 }
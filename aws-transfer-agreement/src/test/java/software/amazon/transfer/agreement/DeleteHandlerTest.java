@@ -1,7 +1,6 @@
 package software.amazon.transfer.agreement;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static software.amazon.transfer.agreement.AbstractTestBase.*;
@@ -16,10 +15,7 @@ import software.amazon.awssdk.services.transfer.model.InternalServiceErrorExcept
 import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
 import software.amazon.awssdk.services.transfer.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.transfer.model.TransferException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
@@ -70,11 +66,11 @@ public class DeleteHandlerTest extends AbstractTestBase {
                 .desiredResourceState(model)
                 .build();
 
-        assertThrows(CfnInvalidRequestException.class, () -> callHandler(request));
+        assertFailed(request, HandlerErrorCode.InvalidRequest);
     }
 
     @Test
-    public void handleRequest_InternalServiceErrorExceptionFailed() {
+    public void handleRequest_InternalServiceErrorExceptionRetried() {
         doThrow(InternalServiceErrorException.class).when(client).deleteAgreement(any(DeleteAgreementRequest.class));
 
         ResourceModel model = ResourceModel.builder().build();
@@ -83,7 +79,7 @@ public class DeleteHandlerTest extends AbstractTestBase {
                 .desiredResourceState(model)
                 .build();
 
-        assertThrows(CfnServiceInternalErrorException.class, () -> callHandler(request));
+        assertRetried(request);
     }
 
     @Test
@@ -99,7 +95,7 @@ public class DeleteHandlerTest extends AbstractTestBase {
                 .desiredResourceState(model)
                 .build();
 
-        assertThrows(CfnNotFoundException.class, () -> callHandler(request));
+        assertFailed(request, HandlerErrorCode.NotFound);
     }
 
     @Test
@@ -112,6 +108,6 @@ public class DeleteHandlerTest extends AbstractTestBase {
                 .desiredResourceState(model)
                 .build();
 
-        assertThrows(CfnGeneralServiceException.class, () -> callHandler(request));
+        assertFailed(request, HandlerErrorCode.GeneralServiceException);
     }
 }
@@ -3,8 +3,11 @@ package software.amazon.transfer.agreement;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static software.amazon.transfer.agreement.AbstractTestBase.*;
 
 import java.util.List;
@@ -127,4 +130,35 @@ public class ListHandlerTest extends AbstractTestBase {
 
         assertThrows(CfnGeneralServiceException.class, () -> callHandler(request));
     }
+
+    @Test
+    public void handleRequest_DrainsPagesAtServicePageSize() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+
+        ListAgreementsResponse firstPage = ListAgreementsResponse.builder()
+                .agreements(ListedAgreement.builder().agreementId("first").status(TEST_STATUS).build())
+                .nextToken("page2")
+                .build();
+        ListAgreementsResponse secondPage = ListAgreementsResponse.builder()
+                .agreements(ListedAgreement.builder().agreementId("second").status(TEST_STATUS).build())
+                .build();
+        doReturn(firstPage)
+                .when(client)
+                .listAgreements(argThat((ListAgreementsRequest r) -> r.maxResults() == 1000 && r.nextToken() == null));
+        doReturn(secondPage)
+                .when(client)
+                .listAgreements(argThat((ListAgreementsRequest r) -> "page2".equals(r.nextToken())));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = callHandler(request);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getNextToken()).isNull();
+        assertThat(response.getResourceModels())
+                .extracting(ResourceModel::getAgreementId)
+                .containsExactly("first", "second");
+
+        verify(client, times(2)).listAgreements(any(ListAgreementsRequest.class));
+    }
 }
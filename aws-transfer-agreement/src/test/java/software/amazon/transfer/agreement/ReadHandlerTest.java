@@ -1,7 +1,6 @@
 package software.amazon.transfer.agreement;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
@@ -19,10 +18,7 @@ import software.amazon.awssdk.services.transfer.model.InternalServiceErrorExcept
 import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
 import software.amazon.awssdk.services.transfer.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.transfer.model.TransferException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
@@ -82,11 +78,11 @@ public class ReadHandlerTest extends AbstractTestBase {
                 .desiredResourceState(model)
                 .build();
 
-        assertThrows(CfnInvalidRequestException.class, () -> callHandler(request));
+        assertFailed(request, HandlerErrorCode.InvalidRequest);
     }
 
     @Test
-    public void handleRequest_InternalServiceErrorExceptionFailed() {
+    public void handleRequest_InternalServiceErrorExceptionRetried() {
         doThrow(InternalServiceErrorException.class)
                 .when(client)
                 .describeAgreement(any(DescribeAgreementRequest.class));
@@ -97,7 +93,7 @@ public class ReadHandlerTest extends AbstractTestBase {
                 .desiredResourceState(model)
                 .build();
 
-        assertThrows(CfnServiceInternalErrorException.class, () -> callHandler(request));
+        assertRetried(request);
     }
 
     @Test
@@ -113,7 +109,7 @@ public class ReadHandlerTest extends AbstractTestBase {
                 .desiredResourceState(model)
                 .build();
 
-        assertThrows(CfnNotFoundException.class, () -> callHandler(request));
+        assertFailed(request, HandlerErrorCode.NotFound);
     }
 
     @Test
@@ -126,6 +122,6 @@ public class ReadHandlerTest extends AbstractTestBase {
                 .desiredResourceState(model)
                 .build();
 
-        assertThrows(CfnGeneralServiceException.class, () -> callHandler(request));
+        assertFailed(request, HandlerErrorCode.GeneralServiceException);
     }
 }
@@ -1,14 +1,16 @@
 package software.amazon.transfer.agreement;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static software.amazon.transfer.agreement.AbstractTestBase.*;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -25,10 +27,7 @@ import software.amazon.awssdk.services.transfer.model.TransferException;
 import software.amazon.awssdk.services.transfer.model.UntagResourceRequest;
 import software.amazon.awssdk.services.transfer.model.UpdateAgreementRequest;
 import software.amazon.awssdk.services.transfer.model.UpdateAgreementResponse;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
@@ -138,6 +137,45 @@ public class UpdateHandlerTest extends AbstractTestBase {
         verify(client, times(1)).updateAgreement(any(UpdateAgreementRequest.class));
     }
 
+    @Test
+    public void handleRequest_UnchangedTagsSkipTagCalls() {
+        ResourceModel model = ResourceModel.builder().build();
+
+        ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .previousResourceTags(RESOURCE_TAG_MAP)
+                .previousSystemTags(SYSTEM_TAG_MAP)
+                .desiredResourceTags(RESOURCE_TAG_MAP)
+                .systemTags(SYSTEM_TAG_MAP)
+                .build();
+
+        ProgressEvent<ResourceModel, CallbackContext> response = callHandler(request);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(client, never()).tagResource(any(TagResourceRequest.class));
+        verify(client, never()).untagResource(any(UntagResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_TagsAddedInBatchesOfTheCallLimit() {
+        Map<String, String> desiredTags = new HashMap<>();
+        for (int i = 0; i < 60; i++) {
+            desiredTags.put("key-" + i, "value");
+        }
+        ResourceModel model = ResourceModel.builder().build();
+
+        ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .desiredResourceTags(desiredTags)
+                .build();
+
+        ProgressEvent<ResourceModel, CallbackContext> response = callHandler(request);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getTags()).hasSize(60);
+        verify(client, times(2)).tagResource(any(TagResourceRequest.class));
+    }
+
     @Test
     public void handleRequest_InvalidRequestExceptionFailed() {
         doThrow(InvalidRequestException.class).when(client).updateAgreement(any(UpdateAgreementRequest.class));
@@ -150,11 +188,11 @@ public class UpdateHandlerTest extends AbstractTestBase {
                 .systemTags(SYSTEM_TAG_MAP)
                 .build();
 
-        assertThrows(CfnInvalidRequestException.class, () -> callHandler(request));
+        assertFailed(request, HandlerErrorCode.InvalidRequest);
     }
 
     @Test
-    public void handleRequest_InternalServiceErrorExceptionFailed() {
+    public void handleRequest_InternalServiceErrorExceptionRetried() {
         doThrow(InternalServiceErrorException.class).when(client).updateAgreement(any(UpdateAgreementRequest.class));
 
         ResourceModel model = ResourceModel.builder().build();
@@ -165,7 +203,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
                 .systemTags(SYSTEM_TAG_MAP)
                 .build();
 
-        assertThrows(CfnServiceInternalErrorException.class, () -> callHandler(request));
+        assertRetried(request);
     }
 
     @Test
@@ -180,7 +218,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
                 .systemTags(SYSTEM_TAG_MAP)
                 .build();
 
-        assertThrows(CfnNotFoundException.class, () -> callHandler(request));
+        assertFailed(request, HandlerErrorCode.NotFound);
     }
 
     @Test
@@ -195,6 +233,6 @@ public class UpdateHandlerTest extends AbstractTestBase {
                 .systemTags(SYSTEM_TAG_MAP)
                 .build();
 
-        assertThrows(CfnGeneralServiceException.class, () -> callHandler(request));
+        assertFailed(request, HandlerErrorCode.GeneralServiceException);
     }
 }
@@ -0,0 +1,105 @@
+package software.amazon.transfer.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.amazonaws.arn.Arn;
+import com.amazonaws.arn.ArnResource;
+import com.amazonaws.regions.Region;
+import com.amazonaws.regions.RegionUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import software.amazon.transfer.commons.TransferArn;
+
+/**
+ * Compares parsing and building Transfer ARNs the way the handlers used to against {@link
+ * TransferArn}.
+ *
+ * <p>The {@code sdk} benchmarks parse with {@link Arn#fromString}, split the resource on {@code /}
+ * and look the region up with {@link RegionUtils}, and build with {@link ArnResource} and {@link
+ * Arn#builder()} for a server and with {@link String#format} for an agreement. The {@code codec}
+ * benchmarks do the same with {@link TransferArn}, whose region lookups are cached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArnBenchmark {
+    private static final String PARTITION = "aws";
+    private static final String REGION = "us-east-1";
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final String SERVER_ID = "s-0123456789abcdef0";
+    private static final String AGREEMENT_ID = "a-0123456789abcdef0";
+    private static final String USER_ARN = "arn:aws:transfer:us-east-1:123456789012:user/s-0123456789abcdef0/alice";
+
+    @Benchmark
+    public void sdkParseUser(Blackhole blackhole) {
+        Arn arn = Arn.fromString(USER_ARN);
+        String[] parts = arn.getResourceAsString().split("/", -1);
+        if (parts.length != 3 || !parts[0].equals("user")) {
+            throw new IllegalArgumentException("Invalid User ARN: " + arn);
+        }
+        blackhole.consume(RegionUtils.getRegion(arn.getRegion()));
+        blackhole.consume(arn.getAccountId());
+        blackhole.consume(parts[1]);
+        blackhole.consume(parts[2]);
+    }
+
+    @Benchmark
+    public void codecParseUser(Blackhole blackhole) {
+        TransferArn arn = TransferArn.parse(USER_ARN, TransferArn.ResourceType.USER);
+        blackhole.consume(TransferArn.region(arn.getRegion()));
+        blackhole.consume(arn.getAccountId());
+        blackhole.consume(arn.getId());
+        blackhole.consume(arn.getChildId());
+    }
+
+    @Benchmark
+    public String sdkBuildServer() {
+        Region region = RegionUtils.getRegion(REGION);
+        String resource = ArnResource.builder()
+                .withResourceType("server")
+                .withResource(SERVER_ID)
+                .build()
+                .toString()
+                .replace(":", "/");
+        return Arn.builder()
+                .withPartition(region.getPartition())
+                .withService("transfer")
+                .withRegion(region.getName())
+                .withAccountId(ACCOUNT_ID)
+                .withResource(resource)
+                .build()
+                .toString();
+    }
+
+    @Benchmark
+    public String codecBuildServer() {
+        Region region = TransferArn.region(REGION);
+        return TransferArn.format(
+                region.getPartition(), region.getName(), ACCOUNT_ID, TransferArn.ResourceType.SERVER, SERVER_ID);
+    }
+
+    @Benchmark
+    public String sdkFormatAgreement() {
+        return String.format(
+                "arn:%s:transfer:%s:%s:agreement/%s/%s", PARTITION, REGION, ACCOUNT_ID, SERVER_ID, AGREEMENT_ID);
+    }
+
+    @Benchmark
+    public String codecFormatAgreement() {
+        return TransferArn.format(
+                PARTITION, REGION, ACCOUNT_ID, TransferArn.ResourceType.AGREEMENT, SERVER_ID, AGREEMENT_ID);
+    }
+}
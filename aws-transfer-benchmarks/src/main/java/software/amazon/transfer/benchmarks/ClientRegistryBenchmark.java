@@ -0,0 +1,48 @@
+package software.amazon.transfer.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import software.amazon.awssdk.core.SdkSystemSetting;
+import software.amazon.awssdk.services.transfer.TransferClient;
+import software.amazon.transfer.server.clients.ClientBuilder;
+
+/**
+ * Compares building a TransferClient for every {@code ProxyClient.client()} call, which is what
+ * the handlers used to do, with getting the shared client from the registry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientRegistryBenchmark {
+
+    @Setup
+    public void setup() {
+        System.setProperty(SdkSystemSetting.AWS_REGION.property(), "us-east-1");
+    }
+
+    @Benchmark
+    public String perCallConstruction() {
+        try (TransferClient client = ClientBuilder.newClient()) {
+            return client.serviceName();
+        }
+    }
+
+    @Benchmark
+    public String sharedRegistry() {
+        return ClientBuilder.getClient().serviceName();
+    }
+}
@@ -0,0 +1,142 @@
+package software.amazon.transfer.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import software.amazon.cloudformation.resource.Serializer;
+
+/**
+ * A fully loaded resource model of every module, as CloudFormation sends it to the handler: every
+ * property set, lists of a few elements and ten tags.
+ */
+public final class ModelSamples {
+    private static final String TAGS = "\"Tags\":["
+            + "{\"Key\":\"team\",\"Value\":\"transfer\"},{\"Key\":\"env\",\"Value\":\"benchmark\"},"
+            + "{\"Key\":\"cost-center\",\"Value\":\"1234\"},{\"Key\":\"owner\",\"Value\":\"ops\"},"
+            + "{\"Key\":\"project\",\"Value\":\"partners\"},{\"Key\":\"tier\",\"Value\":\"gold\"},"
+            + "{\"Key\":\"region\",\"Value\":\"us-east-1\"},{\"Key\":\"compliance\",\"Value\":\"pci\"},"
+            + "{\"Key\":\"backup\",\"Value\":\"daily\"},{\"Key\":\"version\",\"Value\":\"2\"}]";
+
+    private static final String S3_LOCATION =
+            "{\"S3FileLocation\":{\"Bucket\":\"bucket\",\"Key\":\"${transfer:UserName}/archive/\"}}";
+
+    /** The model JSON of every module, by module name. */
+    public static final Map<String, String> MODELS = Map.of(
+            "agreement",
+            "{\"AgreementId\":\"a-0123456789abcdef0\",\"ServerId\":\"s-0123456789abcdef0\","
+                    + "\"Arn\":\"arn:aws:transfer:us-east-1:123456789012:agreement/s-0123456789abcdef0/"
+                    + "a-0123456789abcdef0\",\"Description\":\"partner agreement\","
+                    + "\"LocalProfileId\":\"p-0123456789abcdef0\",\"PartnerProfileId\":\"p-0123456789abcdef1\","
+                    + "\"BaseDirectory\":\"/bucket/inbox\",\"AccessRole\":\"arn:aws:iam::123456789012:role/as2\","
+                    + "\"Status\":\"ACTIVE\"," + TAGS + "}",
+            "certificate",
+            "{\"CertificateId\":\"cert-0123456789abcdef0\","
+                    + "\"Arn\":\"arn:aws:transfer:us-east-1:123456789012:certificate/cert-0123456789abcdef0\","
+                    + "\"Usage\":\"SIGNING\",\"Certificate\":\"" + "MIIC".repeat(200) + "\","
+                    + "\"CertificateChain\":\"" + "MIID".repeat(400) + "\","
+                    + "\"ActiveDate\":\"2024-01-01T00:00:00Z\",\"InactiveDate\":\"2026-01-01T00:00:00Z\","
+                    + "\"Description\":\"signing certificate\",\"Status\":\"ACTIVE\","
+                    + "\"Type\":\"CERTIFICATE\",\"Serial\":\"0123456789\","
+                    + "\"NotBeforeDate\":\"2024-01-01T00:00:00Z\",\"NotAfterDate\":\"2026-01-01T00:00:00Z\","
+                    + TAGS + "}",
+            "connector",
+            "{\"ConnectorId\":\"c-0123456789abcdef0\","
+                    + "\"Arn\":\"arn:aws:transfer:us-east-1:123456789012:connector/c-0123456789abcdef0\","
+                    + "\"Url\":\"https://partner.example.com/as2\","
+                    + "\"AccessRole\":\"arn:aws:iam::123456789012:role/connector\","
+                    + "\"LoggingRole\":\"arn:aws:iam::123456789012:role/logging\","
+                    + "\"As2Config\":{\"LocalProfileId\":\"p-0123456789abcdef0\","
+                    + "\"PartnerProfileId\":\"p-0123456789abcdef1\",\"MessageSubject\":\"orders\","
+                    + "\"Compression\":\"ZLIB\",\"EncryptionAlgorithm\":\"AES256_CBC\",\"SigningAlgorithm\":\"SHA256\","
+                    + "\"MdnSigningAlgorithm\":\"DEFAULT\",\"MdnResponse\":\"SYNC\"},"
+                    + "\"ServiceManagedEgressIpAddresses\":[\"198.51.100.1\",\"198.51.100.2\",\"198.51.100.3\"],"
+                    + TAGS + "}",
+            "profile",
+            "{\"ProfileId\":\"p-0123456789abcdef0\","
+                    + "\"Arn\":\"arn:aws:transfer:us-east-1:123456789012:profile/p-0123456789abcdef0\","
+                    + "\"As2Id\":\"partner\",\"ProfileType\":\"PARTNER\","
+                    + "\"CertificateIds\":[\"cert-0123456789abcdef0\",\"cert-0123456789abcdef1\"]," + TAGS + "}",
+            "server",
+            "{\"ServerId\":\"s-0123456789abcdef0\","
+                    + "\"Arn\":\"arn:aws:transfer:us-east-1:123456789012:server/s-0123456789abcdef0\","
+                    + "\"As2ServiceManagedEgressIpAddresses\":[\"198.51.100.1\",\"198.51.100.2\"],"
+                    + "\"Certificate\":\"arn:aws:acm:us-east-1:123456789012:certificate/0123\","
+                    + "\"Domain\":\"S3\",\"EndpointType\":\"VPC\","
+                    + "\"EndpointDetails\":{\"VpcId\":\"vpc-0123\",\"VpcEndpointId\":\"vpce-0123\","
+                    + "\"SubnetIds\":[\"subnet-1\",\"subnet-2\",\"subnet-3\"],"
+                    + "\"AddressAllocationIds\":[\"eipalloc-1\",\"eipalloc-2\",\"eipalloc-3\"],"
+                    + "\"SecurityGroupIds\":[\"sg-1\",\"sg-2\"]},"
+                    + "\"IdentityProviderType\":\"AWS_LAMBDA\",\"IdentityProviderDetails\":{"
+                    + "\"Function\":\"arn:aws:lambda:us-east-1:123456789012:function:idp\","
+                    + "\"SftpAuthenticationMethods\":\"PUBLIC_KEY_OR_PASSWORD\"},"
+                    + "\"LoggingRole\":\"arn:aws:iam::123456789012:role/logging\","
+                    + "\"PreAuthenticationLoginBanner\":\"Authorized use only\","
+                    + "\"PostAuthenticationLoginBanner\":\"Welcome\","
+                    + "\"ProtocolDetails\":{\"PassiveIp\":\"198.51.100.10\",\"TlsSessionResumptionMode\":\"ENFORCED\","
+                    + "\"SetStatOption\":\"ENABLE_NO_OP\",\"As2Transports\":[\"HTTP\"]},"
+                    + "\"Protocols\":[\"SFTP\",\"FTPS\",\"AS2\"],"
+                    + "\"S3StorageOptions\":{\"DirectoryListingOptimization\":\"ENABLED\"},"
+                    + "\"SecurityPolicyName\":\"TransferSecurityPolicy-2024-01\","
+                    + "\"StructuredLogDestinations\":[\"arn:aws:logs:us-east-1:123456789012:log-group:transfer\"],"
+                    + "\"WorkflowDetails\":{"
+                    + "\"OnUpload\":[{\"WorkflowId\":\"w-0123456789abcdef0\","
+                    + "\"ExecutionRole\":\"arn:aws:iam::123456789012:role/workflow\"}],"
+                    + "\"OnPartialUpload\":[{\"WorkflowId\":\"w-0123456789abcdef1\","
+                    + "\"ExecutionRole\":\"arn:aws:iam::123456789012:role/workflow\"}]},"
+                    + TAGS + "}",
+            "user",
+            "{\"ServerId\":\"s-0123456789abcdef0\",\"UserName\":\"partner\","
+                    + "\"Arn\":\"arn:aws:transfer:us-east-1:123456789012:user/s-0123456789abcdef0/partner\","
+                    + "\"HomeDirectoryType\":\"LOGICAL\",\"HomeDirectoryMappings\":["
+                    + "{\"Entry\":\"/\",\"Target\":\"/bucket/partner\",\"Type\":\"DIRECTORY\"},"
+                    + "{\"Entry\":\"/inbox\",\"Target\":\"/bucket/partner/inbox\",\"Type\":\"DIRECTORY\"},"
+                    + "{\"Entry\":\"/outbox\",\"Target\":\"/bucket/partner/outbox\",\"Type\":\"DIRECTORY\"},"
+                    + "{\"Entry\":\"/readme.txt\",\"Target\":\"/bucket/shared/readme.txt\",\"Type\":\"FILE\"}],"
+                    + "\"Policy\":\"{\\\"Version\\\":\\\"2012-10-17\\\",\\\"Statement\\\":[]}\","
+                    + "\"PosixProfile\":{\"Uid\":1000,\"Gid\":1000,\"SecondaryGids\":[1001,1002]},"
+                    + "\"Role\":\"arn:aws:iam::123456789012:role/user\","
+                    + "\"SshPublicKeys\":[\"ssh-rsa " + "AAAAB3NzaC1yc2E".repeat(24) + " partner@host\","
+                    + "\"ssh-ed25519 AAAAC3NzaC1lZDI1NTE5AAAAIOMqqnkVzrm0SdG6UOoqKLsabgH5C9okWi0dh2l9GKJl\"],"
+                    + TAGS + "}",
+            "workflow",
+            "{\"WorkflowId\":\"w-0123456789abcdef0\","
+                    + "\"Arn\":\"arn:aws:transfer:us-east-1:123456789012:workflow/w-0123456789abcdef0\","
+                    + "\"Description\":\"archive, tag and decrypt uploads\",\"Steps\":["
+                    + "{\"Type\":\"COPY\",\"CopyStepDetails\":{\"Name\":\"archive\",\"DestinationFileLocation\":"
+                    + S3_LOCATION + ",\"OverwriteExisting\":\"TRUE\",\"SourceFileLocation\":\"${original.file}\"}},"
+                    + "{\"Type\":\"TAG\",\"TagStepDetails\":{\"Name\":\"tag\",\"Tags\":["
+                    + "{\"Key\":\"status\",\"Value\":\"archived\"},{\"Key\":\"source\",\"Value\":\"sftp\"}],"
+                    + "\"SourceFileLocation\":\"${previous.file}\"}},"
+                    + "{\"Type\":\"DECRYPT\",\"DecryptStepDetails\":{\"Name\":\"decrypt\",\"Type\":\"PGP\","
+                    + "\"DestinationFileLocation\":" + S3_LOCATION + ",\"OverwriteExisting\":\"FALSE\","
+                    + "\"SourceFileLocation\":\"${original.file}\"}},"
+                    + "{\"Type\":\"CUSTOM\",\"CustomStepDetails\":{\"Name\":\"scan\","
+                    + "\"Target\":\"arn:aws:lambda:us-east-1:123456789012:function:scan\",\"TimeoutSeconds\":60,"
+                    + "\"SourceFileLocation\":\"${previous.file}\"}},"
+                    + "{\"Type\":\"DELETE\",\"DeleteStepDetails\":{\"Name\":\"cleanup\","
+                    + "\"SourceFileLocation\":\"${original.file}\"}}],"
+                    + "\"OnExceptionSteps\":["
+                    + "{\"Type\":\"DELETE\",\"DeleteStepDetails\":{\"Name\":\"discard\","
+                    + "\"SourceFileLocation\":\"${original.file}\"}}]," + TAGS + "}");
+
+    private static final Serializer SERIALIZER = new Serializer();
+
+    private ModelSamples() {}
+
+    /**
+     * @param module the module name, e.g. {@code server}
+     * @param type the resource model of the module
+     * @param <T> the resource model type
+     * @return the sample model of the module, read the way the handler wrapper reads it
+     */
+    public static <T> T read(String module, TypeReference<T> type) {
+        try {
+            return SERIALIZER.deserialize(MODELS.get(module), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package software.amazon.transfer.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.transfer.server.ReconfigurationStep;
+
+/**
+ * The Jackson work of every handler invocation: the handler wrapper reads the resource model and
+ * the callback context of the request and writes them back into the response, with the same
+ * {@link Serializer}.
+ *
+ * <p>The models are {@link ModelSamples}. The callback contexts are new ones, except for the server,
+ * whose context carries a reconfiguration plan and the model of the last describe between
+ * callbacks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelSerializationBenchmark {
+
+    @Param({"agreement", "certificate", "connector", "profile", "server", "user", "workflow"})
+    public String module;
+
+    private final Serializer serializer = new Serializer();
+    private String modelJson;
+    private TypeReference<?> modelType;
+    private Object model;
+    private TypeReference<?> contextType;
+    private Object context;
+
+    @Setup
+    public void setup() throws IOException {
+        modelJson = ModelSamples.MODELS.get(module);
+        switch (module) {
+            case "agreement":
+                modelType = new TypeReference<software.amazon.transfer.agreement.ResourceModel>() {};
+                contextType = new TypeReference<software.amazon.transfer.agreement.CallbackContext>() {};
+                context = new software.amazon.transfer.agreement.CallbackContext();
+                break;
+            case "certificate":
+                modelType = new TypeReference<software.amazon.transfer.certificate.ResourceModel>() {};
+                contextType = new TypeReference<software.amazon.transfer.certificate.CallbackContext>() {};
+                context = new software.amazon.transfer.certificate.CallbackContext();
+                break;
+            case "connector":
+                modelType = new TypeReference<software.amazon.transfer.connector.ResourceModel>() {};
+                contextType = new TypeReference<software.amazon.transfer.connector.CallbackContext>() {};
+                context = new software.amazon.transfer.connector.CallbackContext();
+                break;
+            case "profile":
+                modelType = new TypeReference<software.amazon.transfer.profile.ResourceModel>() {};
+                contextType = new TypeReference<software.amazon.transfer.profile.CallbackContext>() {};
+                context = new software.amazon.transfer.profile.CallbackContext();
+                break;
+            case "server":
+                modelType = new TypeReference<software.amazon.transfer.server.ResourceModel>() {};
+                contextType = new TypeReference<software.amazon.transfer.server.CallbackContext>() {};
+                context = serverContext();
+                break;
+            case "user":
+                modelType = new TypeReference<software.amazon.transfer.user.ResourceModel>() {};
+                contextType = new TypeReference<software.amazon.transfer.user.CallbackContext>() {};
+                context = new software.amazon.transfer.user.CallbackContext();
+                break;
+            case "workflow":
+                modelType = new TypeReference<software.amazon.transfer.workflow.ResourceModel>() {};
+                contextType = new TypeReference<software.amazon.transfer.workflow.CallbackContext>() {};
+                context = new software.amazon.transfer.workflow.CallbackContext();
+                break;
+            default:
+                throw new IllegalArgumentException(module);
+        }
+        model = serializer.deserialize(modelJson, modelType);
+    }
+
+    @Benchmark
+    public Object readModel() throws IOException {
+        return serializer.deserialize(modelJson, modelType);
+    }
+
+    @Benchmark
+    public String writeModel() throws IOException {
+        return serializer.serialize(model);
+    }
+
+    @Benchmark
+    public Object roundTripContext() throws IOException {
+        return serializer.deserialize(serializer.serialize(context), contextType);
+    }
+
+    private static software.amazon.transfer.server.CallbackContext serverContext() {
+        software.amazon.transfer.server.CallbackContext context = new software.amazon.transfer.server.CallbackContext();
+        context.setStabilizationState("STARTING");
+        context.setStabilizationAttempts(3);
+        context.setReconfigurationPlan(List.of(
+                ReconfigurationStep.UPDATE_SUBNET_IDS,
+                ReconfigurationStep.UPDATE_ADDRESS_ALLOCATION_IDS,
+                ReconfigurationStep.START_SERVER));
+        context.setReadModel(ModelSamples.read(
+                "server", new TypeReference<software.amazon.transfer.server.ResourceModel>() {}));
+        context.setReadModelTimestamp(System.currentTimeMillis());
+        return context;
+    }
+}
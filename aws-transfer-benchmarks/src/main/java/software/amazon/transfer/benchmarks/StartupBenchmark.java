@@ -0,0 +1,196 @@
+package software.amazon.transfer.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import software.amazon.transfer.commons.Priming;
+
+/**
+ * Time to first response of each handler in a fresh JVM.
+ *
+ * <p>Every fork starts a new JVM, builds the module's {@code HandlerWrapper} and times its first
+ * Read through the test entry point, which covers what a cold container pays: deserializing the
+ * request, building the SDK client, one call to the service and serializing the response. The
+ * service is a local endpoint answering ResourceNotFound, so no AWS account is needed. With {@code
+ * primed} the {@link Priming} steps run before the timed call, which is the state SnapStart
+ * restores a container in.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class StartupBenchmark {
+    private static final Map<String, String> IDENTIFIERS = Map.of(
+            "agreement", "{\"AgreementId\":\"a-0123456789abcdef0\",\"ServerId\":\"s-0123456789abcdef0\"}",
+            "certificate", "{\"CertificateId\":\"cert-0123456789abcdef0\"}",
+            "connector", "{\"ConnectorId\":\"c-0123456789abcdef0\"}",
+            "profile", "{\"ProfileId\":\"p-0123456789abcdef0\"}",
+            "server", "{\"ServerId\":\"s-0123456789abcdef0\"}",
+            "user", "{\"ServerId\":\"s-0123456789abcdef0\",\"UserName\":\"benchmark\"}",
+            "workflow", "{\"WorkflowId\":\"w-0123456789abcdef0\"}");
+
+    @Param({"agreement", "certificate", "connector", "profile", "server", "user", "workflow"})
+    public String module;
+
+    @Param({"false", "true"})
+    public boolean primed;
+
+    private HttpServer endpoint;
+    private byte[] payload;
+    private Object wrapper;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        endpoint = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        endpoint.createContext("/", StartupBenchmark::resourceNotFound);
+        endpoint.start();
+
+        System.setProperty("aws.region", "us-east-1");
+        System.setProperty("aws.endpointUrl", "http://localhost:" + endpoint.getAddress().getPort());
+        payload = readRequest(IDENTIFIERS.get(module)).getBytes(StandardCharsets.UTF_8);
+
+        if (primed) {
+            wrapper = newWrapper();
+            Priming.primeNow();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        endpoint.stop(0);
+    }
+
+    @Benchmark
+    public byte[] firstResponse() throws Exception {
+        Object handler = wrapper != null ? wrapper : newWrapper();
+        Method testEntrypoint =
+                handler.getClass().getMethod("testEntrypoint", InputStream.class, OutputStream.class, Context.class);
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        testEntrypoint.invoke(handler, new ByteArrayInputStream(payload), response, new BenchmarkContext());
+        return response.toByteArray();
+    }
+
+    private Object newWrapper() throws ReflectiveOperationException {
+        return Class.forName("software.amazon.transfer." + module + ".HandlerWrapper")
+                .getConstructor()
+                .newInstance();
+    }
+
+    private static String readRequest(String desiredResourceState) {
+        return "{\"credentials\":{\"accessKeyId\":\"AKIDEXAMPLE\",\"secretAccessKey\":\"secret\","
+                + "\"sessionToken\":\"token\"},\"action\":\"READ\",\"request\":{\"clientRequestToken\":"
+                + "\"startup-benchmark\",\"awsAccountId\":\"123456789012\",\"region\":\"us-east-1\","
+                + "\"logicalResourceIdentifier\":\"Benchmark\",\"desiredResourceState\":"
+                + desiredResourceState + "},\"callbackContext\":null}";
+    }
+
+    private static void resourceNotFound(HttpExchange exchange) throws IOException {
+        byte[] body = "{\"__type\":\"ResourceNotFoundException\",\"Message\":\"Unknown resource\"}"
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().add("Content-Type", "application/x-amz-json-1.1");
+        exchange.getResponseHeaders().add("x-amzn-ErrorType", "ResourceNotFoundException");
+        exchange.sendResponseHeaders(400, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /** The parts of the Lambda context the wrapper reads. */
+    private static final class BenchmarkContext implements Context {
+        private static final LambdaLogger DISCARD = new LambdaLogger() {
+            @Override
+            public void log(String message) {}
+
+            @Override
+            public void log(byte[] message) {}
+        };
+
+        @Override
+        public String getAwsRequestId() {
+            return "startup-benchmark";
+        }
+
+        @Override
+        public String getLogGroupName() {
+            return null;
+        }
+
+        @Override
+        public String getLogStreamName() {
+            return null;
+        }
+
+        @Override
+        public String getFunctionName() {
+            return "StartupBenchmark";
+        }
+
+        @Override
+        public String getFunctionVersion() {
+            return "$LATEST";
+        }
+
+        @Override
+        public String getInvokedFunctionArn() {
+            return null;
+        }
+
+        @Override
+        public CognitoIdentity getIdentity() {
+            return null;
+        }
+
+        @Override
+        public ClientContext getClientContext() {
+            return null;
+        }
+
+        @Override
+        public int getRemainingTimeInMillis() {
+            return (int) TimeUnit.MINUTES.toMillis(15);
+        }
+
+        @Override
+        public int getMemoryLimitInMB() {
+            return 512;
+        }
+
+        @Override
+        public LambdaLogger getLogger() {
+            return DISCARD;
+        }
+    }
+}
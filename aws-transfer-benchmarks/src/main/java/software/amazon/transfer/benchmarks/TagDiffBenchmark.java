@@ -0,0 +1,114 @@
+package software.amazon.transfer.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import software.amazon.transfer.commons.TagDiff;
+
+/**
+ * Compares the tag work of an update of a resource with 50 tags.
+ *
+ * <p>{@code mergedStreams} is what the server, user and web app handlers used to do: merge the
+ * previous and desired tags for the change check, again for the tags to add and again for the
+ * keys to remove, each filtered with a stream. {@code setDifference} is what the agreement,
+ * certificate, connector, profile and workflow handlers used to do: copy both sides into sets of
+ * tags and take the difference both ways. {@code singlePass} merges once and builds one {@link
+ * TagDiff}, batched for the tag calls. {@code changed} is how many of the 50 tags have a new value.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TagDiffBenchmark {
+    private static final int TAGS = 50;
+
+    @Param({"0", "5", "50"})
+    public int changed;
+
+    private Map<String, String> systemTags;
+    private List<Map.Entry<String, String>> previousResourceTags;
+    private List<Map.Entry<String, String>> desiredResourceTags;
+
+    @Setup
+    public void setup() {
+        systemTags = Map.of(
+                "aws:cloudformation:stack-name", "benchmark",
+                "aws:cloudformation:logical-id", "Resource",
+                "aws:cloudformation:stack-id", "arn:aws:cloudformation:us-east-1:123456789012:stack/benchmark/id");
+        previousResourceTags = new ArrayList<>();
+        desiredResourceTags = new ArrayList<>();
+        for (int i = 0; i < TAGS - systemTags.size(); i++) {
+            previousResourceTags.add(Map.entry("key-" + i, "value-" + i));
+            desiredResourceTags.add(Map.entry("key-" + i, i < changed ? "changed-" + i : "value-" + i));
+        }
+    }
+
+    @Benchmark
+    public void mergedStreams(Blackhole blackhole) {
+        if (!Objects.equals(previousTags(), desiredTags())) {
+            Map<String, String> previous = previousTags();
+            Map<String, String> desired = desiredTags();
+            blackhole.consume(desired.entrySet().stream()
+                    .filter(e -> !previous.containsKey(e.getKey())
+                            || !Objects.equals(previous.get(e.getKey()), e.getValue()))
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+
+            Map<String, String> previousAgain = previousTags();
+            Map<String, String> desiredAgain = desiredTags();
+            blackhole.consume(previousAgain.keySet().stream()
+                    .filter(key -> !desiredAgain.containsKey(key))
+                    .collect(Collectors.toSet()));
+        }
+    }
+
+    @Benchmark
+    public void setDifference(Blackhole blackhole) {
+        Set<Map.Entry<String, String>> previous = new HashSet<>(previousTags().entrySet());
+        Set<Map.Entry<String, String>> desired = new HashSet<>(desiredTags().entrySet());
+
+        Set<Map.Entry<String, String>> toAdd = new HashSet<>(desired);
+        toAdd.removeAll(previous);
+        Set<Map.Entry<String, String>> toRemove = new HashSet<>(previous);
+        toRemove.removeAll(desired);
+        blackhole.consume(toAdd);
+        blackhole.consume(toRemove);
+    }
+
+    @Benchmark
+    public void singlePass(Blackhole blackhole) {
+        TagDiff diff = TagDiff.between(previousTags(), desiredTags());
+        if (!diff.isEmpty()) {
+            blackhole.consume(diff.getTagKeysToRemoveBatches());
+            blackhole.consume(diff.getTagsToAddBatches());
+        }
+    }
+
+    private Map<String, String> previousTags() {
+        return TagDiff.merge(systemTags, null, previousResourceTags, Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private Map<String, String> desiredTags() {
+        return TagDiff.merge(systemTags, null, desiredResourceTags, Map.Entry::getKey, Map.Entry::getValue);
+    }
+}
@@ -0,0 +1,147 @@
+package software.amazon.transfer.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import software.amazon.awssdk.services.transfer.model.HomeDirectoryMapEntry;
+import software.amazon.transfer.server.ResourceModel;
+import software.amazon.transfer.server.Tag;
+import software.amazon.transfer.server.translators.EndpointDetailsTranslator;
+import software.amazon.transfer.server.translators.ProtocolDetailsTranslator;
+import software.amazon.transfer.server.translators.Translator;
+import software.amazon.transfer.server.translators.WorkflowDetailsTranslator;
+
+/**
+ * The model to SDK translations the server and user handlers run on every create, read and update,
+ * both ways, on the {@link ModelSamples} models, and the tag conversions on 50 tags.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TranslatorBenchmark {
+    private static final int TAGS = 50;
+
+    private ResourceModel server;
+    private software.amazon.awssdk.services.transfer.model.EndpointDetails sdkEndpointDetails;
+    private software.amazon.awssdk.services.transfer.model.ProtocolDetails sdkProtocolDetails;
+    private software.amazon.awssdk.services.transfer.model.WorkflowDetails sdkWorkflowDetails;
+    private Map<String, String> tagMap;
+    private List<Tag> tagList;
+    private List<software.amazon.awssdk.services.transfer.model.Tag> sdkTags;
+    private List<software.amazon.transfer.user.HomeDirectoryMapEntry> homeDirectoryMappings;
+    private List<HomeDirectoryMapEntry> sdkHomeDirectoryMappings;
+    private List<String> sshPublicKeys;
+
+    @Setup
+    public void setup() {
+        server = ModelSamples.read("server", new TypeReference<ResourceModel>() {});
+        sdkEndpointDetails = EndpointDetailsTranslator.toSdk(server.getEndpointDetails(), false, false);
+        sdkProtocolDetails = ProtocolDetailsTranslator.toSdk(server.getProtocolDetails());
+        sdkWorkflowDetails = WorkflowDetailsTranslator.toSdk(server.getWorkflowDetails(), false);
+
+        tagMap = new LinkedHashMap<>();
+        for (int i = 0; i < TAGS; i++) {
+            tagMap.put("key-" + i, "value-" + i);
+        }
+        tagList = Translator.translateTagMapToTagList(tagMap);
+        sdkTags = Translator.translateToSdkTags(tagList);
+
+        software.amazon.transfer.user.ResourceModel user =
+                ModelSamples.read("user", new TypeReference<software.amazon.transfer.user.ResourceModel>() {});
+        homeDirectoryMappings = user.getHomeDirectoryMappings();
+        sdkHomeDirectoryMappings = new ArrayList<>(
+                software.amazon.transfer.user.translators.Translator.translateToSdkHomeDirectoryMappings(
+                        homeDirectoryMappings));
+        // Keys as users paste them: padded and with runs of spaces the service squeezes out.
+        sshPublicKeys = new ArrayList<>();
+        for (String key : user.getSshPublicKeys()) {
+            sshPublicKeys.add("  " + key.replace(" ", "   ") + "\n");
+        }
+    }
+
+    @Benchmark
+    public Object endpointDetailsToSdk() {
+        return EndpointDetailsTranslator.toSdk(server.getEndpointDetails(), false, false);
+    }
+
+    @Benchmark
+    public Object endpointDetailsFromSdk() {
+        return EndpointDetailsTranslator.fromSdk(sdkEndpointDetails);
+    }
+
+    @Benchmark
+    public Object protocolDetailsToSdk() {
+        return ProtocolDetailsTranslator.toSdk(server.getProtocolDetails());
+    }
+
+    @Benchmark
+    public Object protocolDetailsFromSdk() {
+        return ProtocolDetailsTranslator.fromSdk(sdkProtocolDetails);
+    }
+
+    @Benchmark
+    public Object workflowDetailsToSdk() {
+        return WorkflowDetailsTranslator.toSdk(server.getWorkflowDetails(), true);
+    }
+
+    @Benchmark
+    public Object workflowDetailsFromSdk() {
+        return WorkflowDetailsTranslator.fromSdk(sdkWorkflowDetails);
+    }
+
+    @Benchmark
+    public Object tagMapToList() {
+        return Translator.translateTagMapToTagList(tagMap);
+    }
+
+    @Benchmark
+    public Object tagListToMap() {
+        return Translator.translateTagListToTagMap(tagList);
+    }
+
+    @Benchmark
+    public Object tagMapToSdk() {
+        return Translator.translateToSdkTags(tagMap);
+    }
+
+    @Benchmark
+    public Object tagsFromSdk() {
+        return Translator.translateFromSdkTags(sdkTags);
+    }
+
+    @Benchmark
+    public Object homeDirectoryMappingsToSdk() {
+        return software.amazon.transfer.user.translators.Translator.translateToSdkHomeDirectoryMappings(
+                homeDirectoryMappings);
+    }
+
+    @Benchmark
+    public Object homeDirectoryMappingsFromSdk() {
+        return software.amazon.transfer.user.translators.Translator.translateFromSdkHomeDirectoryMappings(
+                sdkHomeDirectoryMappings);
+    }
+
+    @Benchmark
+    public Object normalizeSshKeys() {
+        return software.amazon.transfer.user.translators.Translator.normalizeSshKeys(sshPublicKeys);
+    }
+}
@@ -0,0 +1,231 @@
+package software.amazon.transfer.server;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import software.amazon.awssdk.services.ec2.Ec2Client;
+import software.amazon.awssdk.services.transfer.TransferClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.transfer.emulator.ApiCalls;
+import software.amazon.transfer.emulator.HandlerRun;
+import software.amazon.transfer.emulator.ServiceEmulator;
+import software.amazon.transfer.emulator.VirtualClock;
+import software.amazon.transfer.server.translators.ResourceModelAdapter;
+
+/**
+ * What the server stabilization loops cost, replayed against the service emulator on a virtual
+ * clock.
+ *
+ * <p>Each {@link Scenario} runs a create or update the way CloudFormation drives it: the callback
+ * context goes through JSON between invocations, and the callback delays the handler asks for are
+ * the only thing that moves the clock between them. The emulator's service timings, the jitter of
+ * the callback delays and the clock of the read model are all fixed, so a scenario takes the same
+ * polls, calls and simulated time on every run. The secondary results are the numbers to compare
+ * between runs: a change to the polling cadence shows up in them before it shows up in a stack.
+ *
+ * <ul>
+ *   <li>{@code invocations}: how often the handler ran, the first invocation and every poll
+ *   <li>{@code apiCalls}: the Transfer and EC2 calls made, {@code describeCalls} of them polls
+ *   <li>{@code simulatedSeconds}: the time from the first invocation to the last
+ *   <li>{@code overshootSeconds}: how long the handler kept waiting after the service was done
+ * </ul>
+ *
+ * <p>In the server package because the handler constructors taking a scheduler and a clock are
+ * package-private.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(1)
+public class StabilizationBenchmark {
+    private static final long SEED = 42;
+    private static final List<String> SUBNETS = List.of("subnet-1", "subnet-2");
+    private static final List<String> EIPS = List.of("eipalloc-1", "eipalloc-2");
+
+    /** A create or update and the server it starts from. */
+    public enum Scenario {
+        /** A VPC server with EIPs: started, stopped to attach the EIPs once its endpoint is up, started. */
+        CREATE_VPC_WITH_EIPS(null, () -> vpcServer(SUBNETS, EIPS)),
+        /** A PUBLIC server moved into a VPC, which creates its VPC endpoint. */
+        PUBLIC_TO_VPC(StabilizationBenchmark::publicServer, () -> vpcServer(SUBNETS, List.of())),
+        /** A VPC server moved to other subnets, which modifies its VPC endpoint. */
+        SUBNET_SWAP(() -> vpcServer(SUBNETS, List.of()), () -> vpcServer(List.of("subnet-3"), List.of())),
+        /** EIPs given to a VPC server, which stops it until they have private IPs. */
+        ADD_EIPS(() -> vpcServer(SUBNETS, List.of()), () -> vpcServer(SUBNETS, EIPS)),
+        /** The EIPs of a VPC server taken away. */
+        REMOVE_EIPS(() -> vpcServer(SUBNETS, EIPS), () -> vpcServer(SUBNETS, List.of()));
+
+        private final Supplier<ResourceModel> initial;
+        private final Supplier<ResourceModel> desired;
+
+        Scenario(Supplier<ResourceModel> initial, Supplier<ResourceModel> desired) {
+            this.initial = initial;
+            this.desired = desired;
+        }
+    }
+
+    @Param
+    public Scenario scenario;
+
+    private final Serializer serializer = new Serializer();
+    private final LoggerProxy logger = new LoggerProxy();
+    private ServiceEmulator emulator;
+    private VirtualClock clock;
+    private AmazonWebServicesClientProxy proxy;
+    private ProxyClient<TransferClient> transferClient;
+    private ProxyClient<Ec2Client> ec2Client;
+    private ResourceHandlerRequest<ResourceModel> request;
+    private BiFunction<StabilizationScheduler, LongSupplier, BaseHandlerStd> newHandler;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        clock = new VirtualClock();
+        emulator = ServiceEmulator.builder().clock(clock).seed(SEED).build();
+        // No time left in the invocation: every wait goes back to CloudFormation as a callback.
+        proxy = new AmazonWebServicesClientProxy(logger, new Credentials("accessKey", "secretKey", "token"), () -> 0L);
+        transferClient = ServiceEmulator.proxyClient(proxy, emulator.transferClient());
+        ec2Client = ServiceEmulator.proxyClient(proxy, emulator.ec2Client());
+
+        ResourceModel desired = scenario.desired.get();
+        if (scenario.initial == null) {
+            newHandler = CreateHandler::new;
+            request = handlerRequest(desired, null);
+        } else {
+            HandlerRun<ResourceModel, CallbackContext> create =
+                    run(CreateHandler::new, handlerRequest(scenario.initial.get(), null));
+            ResourceModel previous = create.getEvent().getResourceModel();
+            desired.setServerId(previous.getServerId());
+            newHandler = UpdateHandler::new;
+            request = handlerRequest(desired, previous);
+        }
+        emulator.calls().reset();
+    }
+
+    @Benchmark
+    public HandlerRun<ResourceModel, CallbackContext> stabilize(Cost cost) {
+        long start = clock.millis();
+        HandlerRun<ResourceModel, CallbackContext> run = run(newHandler, request);
+        cost.record(run, emulator.calls(), clock.millis(), Math.max(start, emulator.settledMillis()));
+        return run;
+    }
+
+    /** The cost of a scenario, reported as secondary results. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Cost {
+        public long invocations;
+        public long apiCalls;
+        public long describeCalls;
+        public long simulatedSeconds;
+        public long overshootSeconds;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            invocations = 0;
+            apiCalls = 0;
+            describeCalls = 0;
+            simulatedSeconds = 0;
+            overshootSeconds = 0;
+        }
+
+        /**
+         * @param run the scenario
+         * @param calls the calls of the scenario
+         * @param doneMillis when the handler finished
+         * @param settledMillis when the last change the scenario made to the services was done
+         */
+        void record(HandlerRun<?, ?> run, ApiCalls calls, long doneMillis, long settledMillis) {
+            invocations += run.getInvocations();
+            apiCalls += calls.total();
+            describeCalls += calls.count("DescribeServer")
+                    + calls.count("DescribeVpcEndpoints")
+                    + calls.count("DescribeAddresses");
+            simulatedSeconds += run.getElapsed().toSeconds();
+            overshootSeconds += TimeUnit.MILLISECONDS.toSeconds(doneMillis - settledMillis);
+        }
+    }
+
+    private HandlerRun<ResourceModel, CallbackContext> run(
+            BiFunction<StabilizationScheduler, LongSupplier, BaseHandlerStd> newHandler,
+            ResourceHandlerRequest<ResourceModel> request) {
+        BaseHandlerStd handler =
+                newHandler.apply(new StabilizationScheduler(new Random(SEED)::nextDouble), clock::millis);
+        // What CloudFormation hands the next invocation: the context as JSON, without its caches.
+        return emulator.runUntilDone(new CallbackContext(), context -> handler.handleRequest(
+                proxy, request, roundTrip(context), transferClient, ec2Client, logger));
+    }
+
+    private CallbackContext roundTrip(CallbackContext context) {
+        try {
+            return serializer.deserialize(serializer.serialize(context), new TypeReference<CallbackContext>() {});
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> handlerRequest(ResourceModel desired, ResourceModel previous) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .region(ServiceEmulator.REGION)
+                .awsPartition("aws")
+                .awsAccountId(ServiceEmulator.ACCOUNT_ID)
+                .clientRequestToken("stabilization-benchmark")
+                .desiredResourceState(desired)
+                .previousResourceState(previous)
+                .build();
+    }
+
+    private static ResourceModel publicServer() {
+        return ResourceModel.builder()
+                .domain("S3")
+                .endpointType("PUBLIC")
+                .identityProviderType(ResourceModelAdapter.DEFAULT_IDENTITY_PROVIDER_TYPE)
+                .securityPolicyName(ResourceModelAdapter.DEFAULT_SECURITY_POLICY)
+                .protocols(ResourceModelAdapter.DEFAULT_PROTOCOLS)
+                .structuredLogDestinations(Collections.emptyList())
+                .tags(Collections.emptyList())
+                .build();
+    }
+
+    private static ResourceModel vpcServer(List<String> subnetIds, List<String> addressAllocationIds) {
+        ResourceModel model = publicServer();
+        model.setEndpointType("VPC");
+        model.setEndpointDetails(EndpointDetails.builder()
+                .vpcId("vpc-1")
+                .subnetIds(subnetIds)
+                .securityGroupIds(List.of("sg-1"))
+                .addressAllocationIds(addressAllocationIds)
+                .build());
+        return model;
+    }
+}
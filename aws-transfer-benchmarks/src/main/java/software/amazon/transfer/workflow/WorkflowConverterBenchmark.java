@@ -0,0 +1,107 @@
+package software.amazon.transfer.workflow;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import software.amazon.transfer.benchmarks.ModelSamples;
+
+/**
+ * The step and tag conversions of the workflow handlers, on the sample workflow with one step of
+ * every type, and on a workflow of eight steps with three exception steps, the way CreateHandler
+ * sends and ReadHandler reads a whole workflow.
+ *
+ * <p>In the workflow package because {@link Converter} is package-private to the handlers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorkflowConverterBenchmark {
+    private static final int TAGS = 50;
+    private static final int WORKFLOW_STEPS = 8;
+    private static final int EXCEPTION_STEPS = 3;
+
+    private List<WorkflowStep> steps;
+    private List<software.amazon.awssdk.services.transfer.model.WorkflowStep> sdkSteps;
+    private List<WorkflowStep> workflowSteps;
+    private List<WorkflowStep> exceptionSteps;
+    private List<software.amazon.awssdk.services.transfer.model.WorkflowStep> sdkWorkflowSteps;
+    private List<software.amazon.awssdk.services.transfer.model.WorkflowStep> sdkExceptionSteps;
+    private Map<String, String> tags;
+
+    @Setup
+    public void setup() {
+        ResourceModel workflow = ModelSamples.read("workflow", new TypeReference<ResourceModel>() {});
+        steps = List.copyOf(workflow.getSteps());
+        sdkSteps = stepsToSdk();
+        workflowSteps = cycle(steps, WORKFLOW_STEPS);
+        exceptionSteps = cycle(steps, EXCEPTION_STEPS);
+        sdkWorkflowSteps = toSdk(workflowSteps);
+        sdkExceptionSteps = toSdk(exceptionSteps);
+        tags = new LinkedHashMap<>();
+        for (int i = 0; i < TAGS; i++) {
+            tags.put("key-" + i, "value-" + i);
+        }
+    }
+
+    @Benchmark
+    public List<software.amazon.awssdk.services.transfer.model.WorkflowStep> stepsToSdk() {
+        return steps.stream().map(Converter.WorkflowStepConverter::toSdk).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<WorkflowStep> stepsFromSdk() {
+        return sdkSteps.stream().map(Converter.WorkflowStepConverter::fromSdk).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Object tagsFromMap() {
+        return Converter.TagConverter.translateTagfromMap(tags);
+    }
+
+    @Benchmark
+    public List<List<software.amazon.awssdk.services.transfer.model.WorkflowStep>> workflowToSdk() {
+        return List.of(toSdk(workflowSteps), toSdk(exceptionSteps));
+    }
+
+    @Benchmark
+    public List<List<WorkflowStep>> workflowFromSdk() {
+        return List.of(fromSdk(sdkWorkflowSteps), fromSdk(sdkExceptionSteps));
+    }
+
+    private static List<software.amazon.awssdk.services.transfer.model.WorkflowStep> toSdk(List<WorkflowStep> steps) {
+        return steps.stream().map(Converter.WorkflowStepConverter::toSdk).collect(Collectors.toList());
+    }
+
+    private static List<WorkflowStep> fromSdk(List<software.amazon.awssdk.services.transfer.model.WorkflowStep> steps) {
+        return steps.stream().map(Converter.WorkflowStepConverter::fromSdk).collect(Collectors.toList());
+    }
+
+    /** @return the first {@code count} steps of {@code steps} repeated */
+    private static List<WorkflowStep> cycle(List<WorkflowStep> steps, int count) {
+        List<WorkflowStep> cycled = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cycled.add(steps.get(i % steps.size()));
+        }
+        return cycled;
+    }
+}
@@ -7,20 +7,8 @@ import java.util.stream.Collectors;
 
 import software.amazon.awssdk.services.transfer.TransferClient;
 import software.amazon.awssdk.services.transfer.model.ImportCertificateRequest;
-import software.amazon.awssdk.services.transfer.model.ImportCertificateResponse;
-import software.amazon.awssdk.services.transfer.model.InternalServiceErrorException;
-import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
-import software.amazon.awssdk.services.transfer.model.ResourceExistsException;
-import software.amazon.awssdk.services.transfer.model.ThrottlingException;
-import software.amazon.awssdk.services.transfer.model.TransferException;
-import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
-import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
-import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
@@ -50,48 +38,39 @@ public class CreateHandler extends BaseHandlerStd {
         }
         model.setTags(Converter.TagConverter.translateTagfromMap(allTags));
 
-        ImportCertificateRequest importCertificateRequest = ImportCertificateRequest.builder()
-                .certificate(model.getCertificate())
-                .certificateChain(model.getCertificateChain())
-                .description(model.getDescription())
-                .usage(model.getUsage())
-                .privateKey(model.getPrivateKey())
-                .activeDate(
-                        model.getActiveDate() != null
-                                ? Instant.parse(model.getActiveDate().toString())
-                                : null)
-                .inactiveDate(
-                        model.getInactiveDate() != null
-                                ? Instant.parse(model.getInactiveDate().toString())
-                                : null)
-                .tags(
-                        (CollectionUtils.isNullOrEmpty(model.getTags()))
-                                ? null
-                                : model.getTags().stream()
-                                        .map(Converter.TagConverter::toSdk)
-                                        .collect(Collectors.toList()))
-                .build();
-        try (TransferClient client = proxyClient.client()) {
-            ImportCertificateResponse response =
-                    proxy.injectCredentialsAndInvokeV2(importCertificateRequest, client::importCertificate);
-            model.setCertificateId(response.certificateId());
-            logger.log(String.format("%s created successfully", ResourceModel.TYPE_NAME));
-        } catch (InvalidRequestException e) {
-            throw new CfnInvalidRequestException(e.getMessage() + " " + importCertificateRequest.toString(), e);
-        } catch (InternalServiceErrorException e) {
-            throw new CfnServiceInternalErrorException("ImportCertificate", e);
-        } catch (ResourceExistsException e) {
-            throw new CfnAlreadyExistsException(
-                    ResourceModel.TYPE_NAME, model.getPrimaryIdentifier().toString());
-        } catch (ThrottlingException e) {
-            throw new CfnThrottlingException("ImportCertificate", e);
-        } catch (TransferException e) {
-            throw new CfnGeneralServiceException(e.getMessage(), e);
-        }
-
-        return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                .resourceModel(model)
-                .status(OperationStatus.SUCCESS)
-                .build();
+        return proxy.initiate("AWS-Transfer-Certificate::Create", proxyClient, model, callbackContext)
+                .translateToServiceRequest(resourceModel -> ImportCertificateRequest.builder()
+                        .certificate(resourceModel.getCertificate())
+                        .certificateChain(resourceModel.getCertificateChain())
+                        .description(resourceModel.getDescription())
+                        .usage(resourceModel.getUsage())
+                        .privateKey(resourceModel.getPrivateKey())
+                        .activeDate(
+                                resourceModel.getActiveDate() != null
+                                        ? Instant.parse(resourceModel.getActiveDate().toString())
+                                        : null)
+                        .inactiveDate(
+                                resourceModel.getInactiveDate() != null
+                                        ? Instant.parse(resourceModel.getInactiveDate().toString())
+                                        : null)
+                        .tags(
+                                (CollectionUtils.isNullOrEmpty(resourceModel.getTags()))
+                                        ? null
+                                        : resourceModel.getTags().stream()
+                                                .map(Converter.TagConverter::toSdk)
+                                                .collect(Collectors.toList()))
+                        .build())
+                .makeServiceCall((importCertificateRequest, client) -> {
+                    TransferClient transferClient = client.client();
+                    return client.injectCredentialsAndInvokeV2(
+                            importCertificateRequest, transferClient::importCertificate);
+                })
+                .handleError((ignored, exception, client, resourceModel, context) ->
+                        handleError(CREATE, exception, resourceModel, context, request.getClientRequestToken()))
+                .done(response -> {
+                    model.setCertificateId(response.certificateId());
+                    logger.log(String.format("%s created successfully", ResourceModel.TYPE_NAME));
+                    return ProgressEvent.defaultSuccessHandler(model);
+                });
     }
 }
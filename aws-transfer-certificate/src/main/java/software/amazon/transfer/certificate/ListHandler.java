@@ -4,10 +4,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 import software.amazon.awssdk.services.transfer.TransferClient;
+import software.amazon.awssdk.services.transfer.model.DescribeCertificateRequest;
 import software.amazon.awssdk.services.transfer.model.InternalServiceErrorException;
 import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
 import software.amazon.awssdk.services.transfer.model.ListCertificatesRequest;
 import software.amazon.awssdk.services.transfer.model.ListCertificatesResponse;
+import software.amazon.awssdk.services.transfer.model.ListedCertificate;
 import software.amazon.awssdk.services.transfer.model.TransferException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
@@ -18,11 +20,15 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.DescribeFanOut;
+import software.amazon.transfer.commons.Paginator;
 
 import lombok.NoArgsConstructor;
 
 @NoArgsConstructor
 public class ListHandler extends BaseHandlerStd {
+    private DescribeFanOut describeFanOut = DescribeFanOut.fromEnvironment();
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -32,39 +38,50 @@ public class ListHandler extends BaseHandlerStd {
             final Logger logger) {
 
         List<ResourceModel> models = new ArrayList<>();
+        Paginator paginator = describeFanOut.getPaginator();
 
         ListCertificatesRequest listCertificatesRequest = ListCertificatesRequest.builder()
-                .maxResults(10)
+                .maxResults(paginator.getPageSize())
                 .nextToken(request.getNextToken())
                 .build();
 
-        try (TransferClient client = proxyClient.client()) {
-            ListCertificatesResponse response =
-                    proxy.injectCredentialsAndInvokeV2(listCertificatesRequest, client::listCertificates);
+        TransferClient client = proxyClient.client();
+        try {
+            Paginator.Page<ListedCertificate> page = paginator.paginate(
+                    listCertificatesRequest.nextToken(),
+                    token -> proxyClient.injectCredentialsAndInvokeV2(
+                            listCertificatesRequest.toBuilder().nextToken(token).build(), client::listCertificates),
+                    ListCertificatesResponse::certificates,
+                    ListCertificatesResponse::nextToken);
 
-            response.certificates().forEach(listedCertificate -> {
-                ResourceModel model = ResourceModel.builder()
-                        .arn(listedCertificate.arn())
-                        .certificateId(listedCertificate.certificateId())
-                        .usage(listedCertificate.usageAsString())
-                        .status(listedCertificate.statusAsString())
-                        .activeDate(
-                                listedCertificate.activeDate() != null
-                                        ? listedCertificate.activeDate().toString()
-                                        : null)
-                        .inactiveDate(
-                                listedCertificate.inactiveDate() != null
-                                        ? listedCertificate.inactiveDate().toString()
-                                        : null)
-                        .type(listedCertificate.typeAsString())
-                        .description(listedCertificate.description())
-                        .build();
-                models.add(model);
-            });
+            if (describeFanOut.isEnabled()) {
+                models.addAll(describeFanOut.describe(
+                        page.getItems(), listed -> describeCertificate(proxyClient, client, listed)));
+            } else {
+                page.getItems().forEach(listedCertificate -> {
+                    ResourceModel model = ResourceModel.builder()
+                            .arn(listedCertificate.arn())
+                            .certificateId(listedCertificate.certificateId())
+                            .usage(listedCertificate.usageAsString())
+                            .status(listedCertificate.statusAsString())
+                            .activeDate(
+                                    listedCertificate.activeDate() != null
+                                            ? listedCertificate.activeDate().toString()
+                                            : null)
+                            .inactiveDate(
+                                    listedCertificate.inactiveDate() != null
+                                            ? listedCertificate.inactiveDate().toString()
+                                            : null)
+                            .type(listedCertificate.typeAsString())
+                            .description(listedCertificate.description())
+                            .build();
+                    models.add(model);
+                });
+            }
 
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
                     .resourceModels(models)
-                    .nextToken(response.nextToken())
+                    .nextToken(page.getNextToken())
                     .status(OperationStatus.SUCCESS)
                     .build();
         } catch (InvalidRequestException e) {
@@ -75,4 +92,18 @@ public class ListHandler extends BaseHandlerStd {
             throw new CfnGeneralServiceException(e.getMessage(), e);
         }
     }
+
+    /** Replaces the fan-out the environment selects, e.g. to describe the listed certificates in a test. */
+    void useDescribeFanOut(DescribeFanOut describeFanOut) {
+        this.describeFanOut = describeFanOut;
+    }
+
+    private static ResourceModel describeCertificate(
+            ProxyClient<TransferClient> proxyClient, TransferClient client, ListedCertificate listed) {
+        ResourceModel model = ResourceModel.builder().certificateId(listed.certificateId()).build();
+        DescribeCertificateRequest describeRequest =
+                DescribeCertificateRequest.builder().certificateId(model.getCertificateId()).build();
+        return ReadHandler.translateFromReadResponse(
+                proxyClient.injectCredentialsAndInvokeV2(describeRequest, client::describeCertificate), model);
+    }
 }
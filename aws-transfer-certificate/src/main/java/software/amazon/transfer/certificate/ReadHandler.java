@@ -6,17 +6,8 @@ import software.amazon.awssdk.services.transfer.TransferClient;
 import software.amazon.awssdk.services.transfer.model.DescribeCertificateRequest;
 import software.amazon.awssdk.services.transfer.model.DescribeCertificateResponse;
 import software.amazon.awssdk.services.transfer.model.DescribedCertificate;
-import software.amazon.awssdk.services.transfer.model.InternalServiceErrorException;
-import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
-import software.amazon.awssdk.services.transfer.model.ResourceNotFoundException;
-import software.amazon.awssdk.services.transfer.model.TransferException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
-import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
@@ -37,65 +28,59 @@ public class ReadHandler extends BaseHandlerStd {
 
         final ResourceModel model = request.getDesiredResourceState();
 
-        DescribeCertificateRequest describeCertificateRequest = DescribeCertificateRequest.builder()
-                .certificateId(model.getCertificateId())
-                .build();
-        try (TransferClient client = proxyClient.client()) {
-            DescribeCertificateResponse response =
-                    proxy.injectCredentialsAndInvokeV2(describeCertificateRequest, client::describeCertificate);
-            logger.log(String.format(
-                    "%s %s described successfully", ResourceModel.TYPE_NAME, model.getPrimaryIdentifier()));
-            DescribedCertificate describedCertificate = response.certificate();
-
-            logger.log(String.format("Tags here %s", describedCertificate.tags()));
+        return proxy.initiate("AWS-Transfer-Certificate::Read", proxyClient, model, callbackContext)
+                .translateToServiceRequest(resourceModel -> DescribeCertificateRequest.builder()
+                        .certificateId(resourceModel.getCertificateId())
+                        .build())
+                .makeServiceCall((describeCertificateRequest, client) -> {
+                    TransferClient transferClient = client.client();
+                    return client.injectCredentialsAndInvokeV2(
+                            describeCertificateRequest, transferClient::describeCertificate);
+                })
+                .handleError((ignored, exception, client, resourceModel, context) ->
+                        handleError(READ, exception, resourceModel, context, request.getClientRequestToken()))
+                .done(response -> {
+                    logger.log(String.format(
+                            "%s %s described successfully", ResourceModel.TYPE_NAME, model.getPrimaryIdentifier()));
+                    return ProgressEvent.defaultSuccessHandler(translateFromReadResponse(response, model));
+                });
+    }
 
-            ResourceModel resourceModel = ResourceModel.builder()
-                    .arn(describedCertificate.arn())
-                    .description(describedCertificate.description())
-                    .usage(describedCertificate.usageAsString())
-                    .status(describedCertificate.statusAsString())
-                    .certificate(describedCertificate.certificate())
-                    .certificateChain(describedCertificate.certificateChain())
-                    .activeDate(
-                            describedCertificate.activeDate() != null
-                                    ? describedCertificate.activeDate().toString()
-                                    : null)
-                    .inactiveDate(
-                            describedCertificate.inactiveDate() != null
-                                    ? describedCertificate.inactiveDate().toString()
-                                    : null)
-                    .type(describedCertificate.typeAsString())
-                    .tags(
-                            (CollectionUtils.isNullOrEmpty(describedCertificate.tags()))
-                                    ? null
-                                    : describedCertificate.tags().stream()
-                                            .map(Converter.TagConverter::fromSdk)
-                                            .collect(Collectors.toSet()))
-                    .certificateId(model.getCertificateId())
-                    .serial(describedCertificate.serial())
-                    .notBeforeDate(
-                            describedCertificate.notBeforeDate() != null
-                                    ? describedCertificate.notBeforeDate().toString()
-                                    : null)
-                    .notAfterDate(
-                            describedCertificate.notAfterDate() != null
-                                    ? describedCertificate.notAfterDate().toString()
-                                    : null)
-                    .build();
+    static ResourceModel translateFromReadResponse(DescribeCertificateResponse response, ResourceModel model) {
+        DescribedCertificate describedCertificate = response.certificate();
 
-            return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                    .resourceModel(resourceModel)
-                    .status(OperationStatus.SUCCESS)
-                    .build();
-        } catch (InvalidRequestException e) {
-            throw new CfnInvalidRequestException(e.getMessage() + " " + describeCertificateRequest.toString(), e);
-        } catch (InternalServiceErrorException e) {
-            throw new CfnServiceInternalErrorException("describeCertificate", e);
-        } catch (ResourceNotFoundException e) {
-            throw new CfnNotFoundException(
-                    ResourceModel.TYPE_NAME, model.getPrimaryIdentifier().toString());
-        } catch (TransferException e) {
-            throw new CfnGeneralServiceException(e.getMessage(), e);
-        }
+        return ResourceModel.builder()
+                .arn(describedCertificate.arn())
+                .description(describedCertificate.description())
+                .usage(describedCertificate.usageAsString())
+                .status(describedCertificate.statusAsString())
+                .certificate(describedCertificate.certificate())
+                .certificateChain(describedCertificate.certificateChain())
+                .activeDate(
+                        describedCertificate.activeDate() != null
+                                ? describedCertificate.activeDate().toString()
+                                : null)
+                .inactiveDate(
+                        describedCertificate.inactiveDate() != null
+                                ? describedCertificate.inactiveDate().toString()
+                                : null)
+                .type(describedCertificate.typeAsString())
+                .tags(
+                        (CollectionUtils.isNullOrEmpty(describedCertificate.tags()))
+                                ? null
+                                : describedCertificate.tags().stream()
+                                        .map(Converter.TagConverter::fromSdk)
+                                        .collect(Collectors.toSet()))
+                .certificateId(model.getCertificateId())
+                .serial(describedCertificate.serial())
+                .notBeforeDate(
+                        describedCertificate.notBeforeDate() != null
+                                ? describedCertificate.notBeforeDate().toString()
+                                : null)
+                .notAfterDate(
+                        describedCertificate.notAfterDate() != null
+                                ? describedCertificate.notAfterDate().toString()
+                                : null)
+                .build();
     }
 }
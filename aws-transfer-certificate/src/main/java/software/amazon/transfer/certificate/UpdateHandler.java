@@ -1,32 +1,16 @@
 package software.amazon.transfer.certificate;
 
 import java.time.Instant;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
-
-import com.google.common.collect.Sets;
 
 import software.amazon.awssdk.services.transfer.TransferClient;
-import software.amazon.awssdk.services.transfer.model.InternalServiceErrorException;
-import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
-import software.amazon.awssdk.services.transfer.model.ResourceNotFoundException;
-import software.amazon.awssdk.services.transfer.model.TagResourceRequest;
-import software.amazon.awssdk.services.transfer.model.TransferException;
-import software.amazon.awssdk.services.transfer.model.UntagResourceRequest;
 import software.amazon.awssdk.services.transfer.model.UpdateCertificateRequest;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
-import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.TagDiff;
+import software.amazon.transfer.commons.TransferArn;
 
 import lombok.NoArgsConstructor;
 
@@ -42,70 +26,45 @@ public class UpdateHandler extends BaseHandlerStd {
 
         final ResourceModel model = request.getDesiredResourceState();
 
-        UpdateCertificateRequest updateCertificateRequest = UpdateCertificateRequest.builder()
-                .certificateId(model.getCertificateId())
-                .description(model.getDescription())
-                .activeDate(model.getActiveDate() != null ? Instant.parse(model.getActiveDate()) : null)
-                .inactiveDate(model.getInactiveDate() != null ? Instant.parse(model.getInactiveDate()) : null)
-                .build();
-
-        String arn = String.format(
-                "arn:%s:transfer:%s:%s:certificate/%s",
-                request.getAwsPartition(), request.getRegion(), request.getAwsAccountId(), model.getCertificateId());
-
-        Map<String, String> allDesiredTagsMap = new HashMap<>();
-        if (request.getDesiredResourceTags() != null) {
-            allDesiredTagsMap.putAll(request.getDesiredResourceTags());
-        }
-        if (request.getSystemTags() != null) {
-            allDesiredTagsMap.putAll(request.getSystemTags());
-        }
-        model.setTags(Converter.TagConverter.translateTagfromMap(allDesiredTagsMap));
-
-        Set<Tag> previousTags = Converter.TagConverter.translateTagfromMap(request.getPreviousResourceTags());
-        Set<Tag> desiredTags = model.getTags();
-
-        Set<Tag> tagsToAdd = Sets.difference(new HashSet<>(desiredTags), new HashSet<>(previousTags));
-        Set<Tag> tagsToRemove = Sets.difference(new HashSet<>(previousTags), new HashSet<>(desiredTags));
-
-        try (TransferClient client = proxyClient.client()) {
-            proxy.injectCredentialsAndInvokeV2(updateCertificateRequest, client::updateCertificate);
-            logger.log(String.format("%s created successfully", ResourceModel.TYPE_NAME));
-
-            if (!tagsToAdd.isEmpty()) {
-                TagResourceRequest tagResourceRequest = TagResourceRequest.builder()
-                        .arn(arn)
-                        .tags(tagsToAdd.stream()
-                                .map(Converter.TagConverter::toSdk)
-                                .collect(Collectors.toList()))
-                        .build();
-                proxy.injectCredentialsAndInvokeV2(tagResourceRequest, client::tagResource);
-            }
-
-            if (!tagsToRemove.isEmpty()) {
-                UntagResourceRequest unTagResourceRequest = UntagResourceRequest.builder()
-                        .arn(arn)
-                        .tagKeys(tagsToRemove.stream().map(Tag::getKey).collect(Collectors.toList()))
-                        .build();
-                proxy.injectCredentialsAndInvokeV2(unTagResourceRequest, client::untagResource);
-            }
-
-            logger.log(String.format(
-                    "%s %s updated tags successfully", ResourceModel.TYPE_NAME, model.getPrimaryIdentifier()));
-
-            return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                    .resourceModel(model)
-                    .status(OperationStatus.SUCCESS)
-                    .build();
-        } catch (InvalidRequestException e) {
-            throw new CfnInvalidRequestException(e.getMessage() + " " + request.toString(), e);
-        } catch (InternalServiceErrorException e) {
-            throw new CfnServiceInternalErrorException("Updating tags for certificate", e);
-        } catch (ResourceNotFoundException e) {
-            throw new CfnNotFoundException(ResourceModel.TYPE_NAME, arn);
-        } catch (TransferException e) {
-            logger.log(String.format("Failed to update %s", arn));
-            throw new CfnGeneralServiceException(e.getMessage(), e);
-        }
+        String arn = TransferArn.format(
+                request.getAwsPartition(),
+                request.getRegion(),
+                request.getAwsAccountId(),
+                TransferArn.ResourceType.CERTIFICATE,
+                model.getCertificateId());
+
+        model.setTags(Converter.TagConverter.translateTagfromMap(TagDiff.desiredTags(request)));
+        TagDiff tagDiff = TagDiff.of(request);
+
+        return ProgressEvent.progress(model, callbackContext)
+                .then(progress -> proxy.initiate(
+                                "AWS-Transfer-Certificate::Update", proxyClient, model, progress.getCallbackContext())
+                        .translateToServiceRequest(resourceModel -> UpdateCertificateRequest.builder()
+                                .certificateId(resourceModel.getCertificateId())
+                                .description(resourceModel.getDescription())
+                                .activeDate(
+                                        resourceModel.getActiveDate() != null
+                                                ? Instant.parse(resourceModel.getActiveDate())
+                                                : null)
+                                .inactiveDate(
+                                        resourceModel.getInactiveDate() != null
+                                                ? Instant.parse(resourceModel.getInactiveDate())
+                                                : null)
+                                .build())
+                        .makeServiceCall((updateCertificateRequest, client) -> {
+                            TransferClient transferClient = client.client();
+                            return client.injectCredentialsAndInvokeV2(
+                                    updateCertificateRequest, transferClient::updateCertificate);
+                        })
+                        .handleError((ignored, exception, client, resourceModel, context) ->
+                                handleError(UPDATE, exception, resourceModel, context, request.getClientRequestToken()))
+                        .progress())
+                .then(progress ->
+                        updateTags(progress, proxy, proxyClient, arn, tagDiff, request.getClientRequestToken()))
+                .then(progress -> {
+                    logger.log(String.format(
+                            "%s %s updated successfully", ResourceModel.TYPE_NAME, model.getPrimaryIdentifier()));
+                    return ProgressEvent.defaultSuccessHandler(model);
+                });
     }
 }
@@ -1,10 +1,15 @@
 package software.amazon.transfer.certificate;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static software.amazon.transfer.certificate.AbstractTestBase.*;
 
 import java.util.List;
@@ -14,11 +19,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import software.amazon.awssdk.services.transfer.model.DescribeCertificateRequest;
+import software.amazon.awssdk.services.transfer.model.DescribeCertificateResponse;
+import software.amazon.awssdk.services.transfer.model.DescribedCertificate;
 import software.amazon.awssdk.services.transfer.model.InternalServiceErrorException;
 import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
 import software.amazon.awssdk.services.transfer.model.ListCertificatesRequest;
 import software.amazon.awssdk.services.transfer.model.ListCertificatesResponse;
 import software.amazon.awssdk.services.transfer.model.ListedCertificate;
+import software.amazon.awssdk.services.transfer.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.transfer.model.TransferException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
@@ -26,6 +35,7 @@ import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorExceptio
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.DescribeFanOut;
 
 @ExtendWith(MockitoExtension.class)
 public class ListHandlerTest extends AbstractTestBase {
@@ -120,4 +130,106 @@ public class ListHandlerTest extends AbstractTestBase {
 
         assertThrows(CfnGeneralServiceException.class, () -> callHandler(request));
     }
+
+    @Test
+    public void handleRequest_DrainsPagesAtServicePageSize() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+
+        ListCertificatesResponse firstPage = ListCertificatesResponse.builder()
+                .certificates(ListedCertificate.builder().certificateId("first").build())
+                .nextToken("page2")
+                .build();
+        ListCertificatesResponse secondPage = ListCertificatesResponse.builder()
+                .certificates(ListedCertificate.builder().certificateId("second").build())
+                .build();
+        doReturn(firstPage)
+                .when(client)
+                .listCertificates(argThat((ListCertificatesRequest r) -> r.maxResults() == 1000 && r.nextToken() == null));
+        doReturn(secondPage)
+                .when(client)
+                .listCertificates(argThat((ListCertificatesRequest r) -> "page2".equals(r.nextToken())));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = callHandler(request);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getNextToken()).isNull();
+        assertThat(response.getResourceModels())
+                .extracting(ResourceModel::getCertificateId)
+                .containsExactly("first", "second");
+
+        verify(client, times(2)).listCertificates(any(ListCertificatesRequest.class));
+    }
+
+    @Test
+    public void handleRequest_ListsThroughTheProxyClient() {
+        proxyClient = spy(proxyClient);
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+
+        doReturn(ListCertificatesResponse.builder().build())
+                .when(client)
+                .listCertificates(any(ListCertificatesRequest.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = callHandler(request);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        // The proxy client is the one paced by the rate limiter and counted by the call metrics.
+        verify(proxyClient).injectCredentialsAndInvokeV2(any(ListCertificatesRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_DescribesListedCertificates() {
+        ListHandler listHandler = new ListHandler();
+        listHandler.useDescribeFanOut(DescribeFanOut.DEFAULT);
+        handler = listHandler;
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+
+        ListCertificatesResponse listCertificatesResponse = ListCertificatesResponse.builder()
+                .certificates(
+                        ListedCertificate.builder().certificateId("first").build(),
+                        ListedCertificate.builder().certificateId("deleted").build(),
+                        ListedCertificate.builder().certificateId("second").build())
+                .nextToken("page2")
+                .build();
+        doReturn(listCertificatesResponse)
+                .when(client)
+                .listCertificates(
+                        argThat((ListCertificatesRequest r) -> r.maxResults() == DescribeFanOut.PAGE_SIZE));
+        doReturn(describeCertificateResponse(TEST_DESCRIPTION))
+                .when(client)
+                .describeCertificate(argThat((DescribeCertificateRequest r) -> "first".equals(r.certificateId())));
+        doThrow(ResourceNotFoundException.class)
+                .when(client)
+                .describeCertificate(argThat((DescribeCertificateRequest r) -> "deleted".equals(r.certificateId())));
+        doReturn(describeCertificateResponse(TEST_DESCRIPTION_2))
+                .when(client)
+                .describeCertificate(argThat((DescribeCertificateRequest r) -> "second".equals(r.certificateId())));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = callHandler(request);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getNextToken()).isEqualTo("page2");
+        assertThat(response.getResourceModels())
+                .extracting(ResourceModel::getCertificateId, ResourceModel::getDescription, ResourceModel::getUsage)
+                .containsExactly(
+                        tuple("first", TEST_DESCRIPTION, TEST_USAGE), tuple("second", TEST_DESCRIPTION_2, TEST_USAGE));
+
+        verify(client, times(1)).listCertificates(any(ListCertificatesRequest.class));
+    }
+
+    private static DescribeCertificateResponse describeCertificateResponse(String description) {
+        return DescribeCertificateResponse.builder()
+                .certificate(DescribedCertificate.builder()
+                        .description(description)
+                        .usage(TEST_USAGE)
+                        .build())
+                .build();
+    }
 }
@@ -2,17 +2,8 @@ package software.amazon.transfer.connector;
 
 import software.amazon.awssdk.services.transfer.TransferClient;
 import software.amazon.awssdk.services.transfer.model.DeleteConnectorRequest;
-import software.amazon.awssdk.services.transfer.model.InternalServiceErrorException;
-import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
-import software.amazon.awssdk.services.transfer.model.ResourceNotFoundException;
-import software.amazon.awssdk.services.transfer.model.TransferException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
-import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
@@ -31,27 +22,20 @@ public class DeleteHandler extends BaseHandlerStd {
 
         final ResourceModel model = request.getDesiredResourceState();
 
-        final DeleteConnectorRequest deleteConnectorRequest = DeleteConnectorRequest.builder()
-                .connectorId(model.getConnectorId())
-                .build();
-
-        try (TransferClient client = proxyClient.client()) {
-            proxy.injectCredentialsAndInvokeV2(deleteConnectorRequest, client::deleteConnector);
-            logger.log(
-                    String.format("%s %s deleted successfully", ResourceModel.TYPE_NAME, model.getPrimaryIdentifier()));
-        } catch (InvalidRequestException e) {
-            throw new CfnInvalidRequestException(e.getMessage() + " " + deleteConnectorRequest.toString(), e);
-        } catch (InternalServiceErrorException e) {
-            throw new CfnServiceInternalErrorException("deleteConnector", e);
-        } catch (ResourceNotFoundException e) {
-            throw new CfnNotFoundException(
-                    ResourceModel.TYPE_NAME, model.getPrimaryIdentifier().toString());
-        } catch (TransferException e) {
-            throw new CfnGeneralServiceException(e.getMessage(), e);
-        }
-
-        return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                .status(OperationStatus.SUCCESS)
-                .build();
+        return proxy.initiate("AWS-Transfer-Connector::Delete", proxyClient, model, callbackContext)
+                .translateToServiceRequest(resourceModel -> DeleteConnectorRequest.builder()
+                        .connectorId(resourceModel.getConnectorId())
+                        .build())
+                .makeServiceCall((deleteConnectorRequest, client) -> {
+                    TransferClient transferClient = client.client();
+                    return client.injectCredentialsAndInvokeV2(deleteConnectorRequest, transferClient::deleteConnector);
+                })
+                .handleError((ignored, exception, client, resourceModel, context) ->
+                        handleError(DELETE, exception, resourceModel, context, request.getClientRequestToken()))
+                .done(response -> {
+                    logger.log(String.format(
+                            "%s %s deleted successfully", ResourceModel.TYPE_NAME, model.getPrimaryIdentifier()));
+                    return ProgressEvent.defaultSuccessHandler(model);
+                });
     }
 }
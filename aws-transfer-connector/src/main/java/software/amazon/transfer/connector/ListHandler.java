@@ -4,10 +4,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 import software.amazon.awssdk.services.transfer.TransferClient;
+import software.amazon.awssdk.services.transfer.model.DescribeConnectorRequest;
 import software.amazon.awssdk.services.transfer.model.InternalServiceErrorException;
 import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
 import software.amazon.awssdk.services.transfer.model.ListConnectorsRequest;
 import software.amazon.awssdk.services.transfer.model.ListConnectorsResponse;
+import software.amazon.awssdk.services.transfer.model.ListedConnector;
 import software.amazon.awssdk.services.transfer.model.TransferException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
@@ -18,11 +20,15 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.DescribeFanOut;
+import software.amazon.transfer.commons.Paginator;
 
 import lombok.NoArgsConstructor;
 
 @NoArgsConstructor
 public class ListHandler extends BaseHandlerStd {
+    private DescribeFanOut describeFanOut = DescribeFanOut.fromEnvironment();
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -32,28 +38,39 @@ public class ListHandler extends BaseHandlerStd {
             final Logger logger) {
 
         final List<ResourceModel> models = new ArrayList<>();
+        Paginator paginator = describeFanOut.getPaginator();
 
         ListConnectorsRequest listConnectorsRequest = ListConnectorsRequest.builder()
-                .maxResults(10)
+                .maxResults(paginator.getPageSize())
                 .nextToken(request.getNextToken())
                 .build();
 
-        try (TransferClient client = proxyClient.client()) {
-            ListConnectorsResponse response =
-                    proxy.injectCredentialsAndInvokeV2(listConnectorsRequest, client::listConnectors);
+        TransferClient client = proxyClient.client();
+        try {
+            Paginator.Page<ListedConnector> page = paginator.paginate(
+                    listConnectorsRequest.nextToken(),
+                    token -> proxyClient.injectCredentialsAndInvokeV2(
+                            listConnectorsRequest.toBuilder().nextToken(token).build(), client::listConnectors),
+                    ListConnectorsResponse::connectors,
+                    ListConnectorsResponse::nextToken);
 
-            response.connectors().forEach(listedConnector -> {
-                ResourceModel model = ResourceModel.builder()
-                        .arn(listedConnector.arn())
-                        .connectorId(listedConnector.connectorId())
-                        .url(listedConnector.url())
-                        .build();
-                models.add(model);
-            });
+            if (describeFanOut.isEnabled()) {
+                models.addAll(describeFanOut.describe(
+                        page.getItems(), listed -> describeConnector(proxyClient, client, listed)));
+            } else {
+                page.getItems().forEach(listedConnector -> {
+                    ResourceModel model = ResourceModel.builder()
+                            .arn(listedConnector.arn())
+                            .connectorId(listedConnector.connectorId())
+                            .url(listedConnector.url())
+                            .build();
+                    models.add(model);
+                });
+            }
 
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
                     .resourceModels(models)
-                    .nextToken(response.nextToken())
+                    .nextToken(page.getNextToken())
                     .status(OperationStatus.SUCCESS)
                     .build();
         } catch (InvalidRequestException e) {
@@ -64,4 +81,18 @@ public class ListHandler extends BaseHandlerStd {
             throw new CfnGeneralServiceException(e.getMessage(), e);
         }
     }
+
+    /** Replaces the fan-out the environment selects, e.g. to describe the listed connectors in a test. */
+    void useDescribeFanOut(DescribeFanOut describeFanOut) {
+        this.describeFanOut = describeFanOut;
+    }
+
+    private static ResourceModel describeConnector(
+            ProxyClient<TransferClient> proxyClient, TransferClient client, ListedConnector listed) {
+        ResourceModel model = ResourceModel.builder().connectorId(listed.connectorId()).build();
+        DescribeConnectorRequest describeRequest =
+                DescribeConnectorRequest.builder().connectorId(model.getConnectorId()).build();
+        return ReadHandler.translateFromReadResponse(
+                proxyClient.injectCredentialsAndInvokeV2(describeRequest, client::describeConnector), model);
+    }
 }
@@ -6,17 +6,8 @@ import software.amazon.awssdk.services.transfer.TransferClient;
 import software.amazon.awssdk.services.transfer.model.DescribeConnectorRequest;
 import software.amazon.awssdk.services.transfer.model.DescribeConnectorResponse;
 import software.amazon.awssdk.services.transfer.model.DescribedConnector;
-import software.amazon.awssdk.services.transfer.model.InternalServiceErrorException;
-import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
-import software.amazon.awssdk.services.transfer.model.ResourceNotFoundException;
-import software.amazon.awssdk.services.transfer.model.TransferException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
-import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
@@ -36,53 +27,48 @@ public class ReadHandler extends BaseHandlerStd {
             final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
-        DescribeConnectorRequest describeConnectorRequest = DescribeConnectorRequest.builder()
-                .connectorId(model.getConnectorId())
-                .build();
-
-        try (TransferClient client = proxyClient.client()) {
-            DescribeConnectorResponse response =
-                    proxy.injectCredentialsAndInvokeV2(describeConnectorRequest, client::describeConnector);
-            logger.log(String.format(
-                    "%s %s described successfully", ResourceModel.TYPE_NAME, model.getPrimaryIdentifier()));
-            DescribedConnector describedConnector = response.connector();
+        return proxy.initiate("AWS-Transfer-Connector::Read", proxyClient, model, callbackContext)
+                .translateToServiceRequest(resourceModel -> DescribeConnectorRequest.builder()
+                        .connectorId(resourceModel.getConnectorId())
+                        .build())
+                .makeServiceCall((describeConnectorRequest, client) -> {
+                    TransferClient transferClient = client.client();
+                    return client.injectCredentialsAndInvokeV2(
+                            describeConnectorRequest, transferClient::describeConnector);
+                })
+                .handleError((ignored, exception, client, resourceModel, context) ->
+                        handleError(READ, exception, resourceModel, context, request.getClientRequestToken()))
+                .done(response -> {
+                    logger.log(String.format(
+                            "%s %s described successfully", ResourceModel.TYPE_NAME, model.getPrimaryIdentifier()));
+                    return ProgressEvent.defaultSuccessHandler(translateFromReadResponse(response, model));
+                });
+    }
 
-            ResourceModel resourceModel = ResourceModel.builder()
-                    .arn(describedConnector.arn())
-                    .accessRole(describedConnector.accessRole())
-                    .as2Config(
-                            describedConnector.as2Config() != null
-                                    ? Converter.As2ConfigConverter.fromSdk(describedConnector.as2Config())
-                                    : null)
-                    .sftpConfig(
-                            describedConnector.sftpConfig() != null
-                                    ? Converter.SftpConfigConverter.fromSdk(describedConnector.sftpConfig())
-                                    : null)
-                    .connectorId(describedConnector.connectorId())
-                    .loggingRole(describedConnector.loggingRole())
-                    .serviceManagedEgressIpAddresses(describedConnector.serviceManagedEgressIpAddresses())
-                    .tags(
-                            (CollectionUtils.isNullOrEmpty(describedConnector.tags()))
-                                    ? null
-                                    : describedConnector.tags().stream()
-                                            .map(Converter.TagConverter::fromSdk)
-                                            .collect(Collectors.toSet()))
-                    .url(describedConnector.url())
-                    .build();
+    static ResourceModel translateFromReadResponse(DescribeConnectorResponse response, ResourceModel model) {
+        DescribedConnector describedConnector = response.connector();
 
-            return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                    .resourceModel(resourceModel)
-                    .status(OperationStatus.SUCCESS)
-                    .build();
-        } catch (InvalidRequestException e) {
-            throw new CfnInvalidRequestException(e.getMessage() + " " + describeConnectorRequest.toString(), e);
-        } catch (InternalServiceErrorException e) {
-            throw new CfnServiceInternalErrorException("describeConnector", e);
-        } catch (ResourceNotFoundException e) {
-            throw new CfnNotFoundException(
-                    ResourceModel.TYPE_NAME, model.getPrimaryIdentifier().toString());
-        } catch (TransferException e) {
-            throw new CfnGeneralServiceException(e.getMessage(), e);
-        }
+        return ResourceModel.builder()
+                .arn(describedConnector.arn())
+                .accessRole(describedConnector.accessRole())
+                .as2Config(
+                        describedConnector.as2Config() != null
+                                ? Converter.As2ConfigConverter.fromSdk(describedConnector.as2Config())
+                                : null)
+                .sftpConfig(
+                        describedConnector.sftpConfig() != null
+                                ? Converter.SftpConfigConverter.fromSdk(describedConnector.sftpConfig())
+                                : null)
+                .connectorId(describedConnector.connectorId())
+                .loggingRole(describedConnector.loggingRole())
+                .serviceManagedEgressIpAddresses(describedConnector.serviceManagedEgressIpAddresses())
+                .tags(
+                        (CollectionUtils.isNullOrEmpty(describedConnector.tags()))
+                                ? null
+                                : describedConnector.tags().stream()
+                                        .map(Converter.TagConverter::fromSdk)
+                                        .collect(Collectors.toSet()))
+                .url(describedConnector.url())
+                .build();
     }
 }
@@ -3,8 +3,11 @@ package software.amazon.transfer.connector;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static software.amazon.transfer.connector.AbstractTestBase.*;
 
 import java.util.List;
@@ -120,4 +123,35 @@ public class ListHandlerTest extends AbstractTestBase {
 
         assertThrows(CfnGeneralServiceException.class, () -> callHandler(request));
     }
+
+    @Test
+    public void handleRequest_DrainsPagesAtServicePageSize() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+
+        ListConnectorsResponse firstPage = ListConnectorsResponse.builder()
+                .connectors(ListedConnector.builder().connectorId("first").build())
+                .nextToken("page2")
+                .build();
+        ListConnectorsResponse secondPage = ListConnectorsResponse.builder()
+                .connectors(ListedConnector.builder().connectorId("second").build())
+                .build();
+        doReturn(firstPage)
+                .when(client)
+                .listConnectors(argThat((ListConnectorsRequest r) -> r.maxResults() == 1000 && r.nextToken() == null));
+        doReturn(secondPage)
+                .when(client)
+                .listConnectors(argThat((ListConnectorsRequest r) -> "page2".equals(r.nextToken())));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = callHandler(request);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getNextToken()).isNull();
+        assertThat(response.getResourceModels())
+                .extracting(ResourceModel::getConnectorId)
+                .containsExactly("first", "second");
+
+        verify(client, times(2)).listConnectors(any(ListConnectorsRequest.class));
+    }
 }
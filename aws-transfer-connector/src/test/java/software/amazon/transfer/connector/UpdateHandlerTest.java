@@ -1,7 +1,6 @@
 package software.amazon.transfer.connector;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
@@ -25,10 +24,7 @@ import software.amazon.awssdk.services.transfer.model.TransferException;
 import software.amazon.awssdk.services.transfer.model.UntagResourceRequest;
 import software.amazon.awssdk.services.transfer.model.UpdateConnectorRequest;
 import software.amazon.awssdk.services.transfer.model.UpdateConnectorResponse;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
@@ -151,11 +147,11 @@ public class UpdateHandlerTest extends AbstractTestBase {
                 .systemTags(SYSTEM_TAG_MAP)
                 .build();
 
-        assertThrows(CfnInvalidRequestException.class, () -> callHandler(request));
+        assertFailed(request, HandlerErrorCode.InvalidRequest);
     }
 
     @Test
-    public void handleRequest_InternalServiceErrorExceptionFailed() {
+    public void handleRequest_InternalServiceErrorExceptionRetried() {
         doThrow(InternalServiceErrorException.class).when(client).updateConnector(any(UpdateConnectorRequest.class));
 
         ResourceModel model = ResourceModel.builder().build();
@@ -166,7 +162,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
                 .systemTags(SYSTEM_TAG_MAP)
                 .build();
 
-        assertThrows(CfnServiceInternalErrorException.class, () -> callHandler(request));
+        assertRetried(request);
     }
 
     @Test
@@ -181,7 +177,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
                 .systemTags(SYSTEM_TAG_MAP)
                 .build();
 
-        assertThrows(CfnNotFoundException.class, () -> callHandler(request));
+        assertFailed(request, HandlerErrorCode.NotFound);
     }
 
     @Test
@@ -196,6 +192,6 @@ public class UpdateHandlerTest extends AbstractTestBase {
                 .systemTags(SYSTEM_TAG_MAP)
                 .build();
 
-        assertThrows(CfnGeneralServiceException.class, () -> callHandler(request));
+        assertFailed(request, HandlerErrorCode.GeneralServiceException);
     }
 }
@@ -0,0 +1,95 @@
+package software.amazon.transfer.emulator;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the calls made to the emulated services, per operation and by outcome.
+ *
+ * <p>Every attempt counts, including the ones that were throttled or failed, since those cost the
+ * handler a round trip as well.
+ */
+public final class ApiCalls {
+    private final Map<String, Counters> operations = new ConcurrentHashMap<>();
+
+    void succeeded(String operation, long latencyMillis) {
+        counters(operation).record(latencyMillis);
+    }
+
+    void throttled(String operation, long latencyMillis) {
+        counters(operation).record(latencyMillis).throttled.increment();
+    }
+
+    void failed(String operation, long latencyMillis) {
+        counters(operation).record(latencyMillis).failed.increment();
+    }
+
+    /** @return how many times {@code operation} was called */
+    public long count(String operation) {
+        Counters counters = operations.get(operation);
+        return counters != null ? counters.calls.sum() : 0;
+    }
+
+    /** @return how many calls of {@code operation} were throttled */
+    public long throttled(String operation) {
+        Counters counters = operations.get(operation);
+        return counters != null ? counters.throttled.sum() : 0;
+    }
+
+    /** @return how many calls of {@code operation} failed with an error other than a throttle */
+    public long failed(String operation) {
+        Counters counters = operations.get(operation);
+        return counters != null ? counters.failed.sum() : 0;
+    }
+
+    /** @return how many calls were made to all operations */
+    public long total() {
+        return operations.values().stream().mapToLong(c -> c.calls.sum()).sum();
+    }
+
+    /** @return how many calls to all operations were throttled */
+    public long totalThrottled() {
+        return operations.values().stream().mapToLong(c -> c.throttled.sum()).sum();
+    }
+
+    /** @return the emulated time all calls took together, in milliseconds */
+    public long totalLatencyMillis() {
+        return operations.values().stream().mapToLong(c -> c.latencyMillis.sum()).sum();
+    }
+
+    /** @return the number of calls per operation, sorted by operation */
+    public Map<String, Long> counts() {
+        Map<String, Long> counts = new TreeMap<>();
+        operations.forEach((operation, counters) -> counts.put(operation, counters.calls.sum()));
+        return counts;
+    }
+
+    /** Forgets every call counted so far. */
+    public void reset() {
+        operations.clear();
+    }
+
+    @Override
+    public String toString() {
+        return counts().toString();
+    }
+
+    private Counters counters(String operation) {
+        return operations.computeIfAbsent(operation, o -> new Counters());
+    }
+
+    private static final class Counters {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder latencyMillis = new LongAdder();
+
+        private Counters record(long latency) {
+            calls.increment();
+            latencyMillis.add(latency);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package software.amazon.transfer.emulator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.ec2.Ec2Client;
+import software.amazon.awssdk.services.ec2.Ec2ServiceClientConfiguration;
+import software.amazon.awssdk.services.ec2.model.Address;
+import software.amazon.awssdk.services.ec2.model.DescribeAddressesRequest;
+import software.amazon.awssdk.services.ec2.model.DescribeAddressesResponse;
+import software.amazon.awssdk.services.ec2.model.DescribeVpcEndpointsRequest;
+import software.amazon.awssdk.services.ec2.model.DescribeVpcEndpointsResponse;
+import software.amazon.awssdk.services.ec2.model.Ec2Exception;
+import software.amazon.awssdk.services.ec2.model.Filter;
+import software.amazon.awssdk.services.ec2.model.ModifyVpcEndpointRequest;
+import software.amazon.awssdk.services.ec2.model.ModifyVpcEndpointResponse;
+import software.amazon.awssdk.services.ec2.model.SecurityGroupIdentifier;
+import software.amazon.awssdk.services.ec2.model.VpcEndpoint;
+
+/**
+ * The EC2 calls the server handlers make: the VPC endpoints Transfer Family creates for VPC
+ * servers, and the EIPs attached to them.
+ *
+ * <p>An endpoint is {@code pending} for {@link ServiceEmulator.Builder#vpcEndpointTime} after it
+ * is created or modified and {@code available} after that. An EIP has a private IP once it has
+ * been attached to an endpoint for {@link ServiceEmulator.Builder#privateIpTime}. Transfer Family
+ * creates, moves and deletes endpoints and attaches EIPs through the package-private methods.
+ */
+final class EmulatedEc2Client implements Ec2Client {
+    private static final String PENDING = "pending";
+    private static final String AVAILABLE = "available";
+    private static final String VPC_ENDPOINT_ID_FILTER = "vpc-endpoint-id";
+
+    private final ServiceEmulator emulator;
+    private final Map<String, Endpoint> endpoints = new HashMap<>();
+    // Allocation ID to the time the EIP was attached.
+    private final Map<String, Long> attachedAt = new HashMap<>();
+
+    EmulatedEc2Client(ServiceEmulator emulator) {
+        this.emulator = emulator;
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+        // The emulator outlives whatever closes its clients.
+    }
+
+    @Override
+    public Ec2ServiceClientConfiguration serviceClientConfiguration() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public DescribeVpcEndpointsResponse describeVpcEndpoints(DescribeVpcEndpointsRequest request) {
+        return call("DescribeVpcEndpoints", () -> {
+            List<VpcEndpoint> described = new ArrayList<>();
+            for (Endpoint endpoint : matching(request)) {
+                described.add(endpoint.describe(emulator.now()));
+            }
+            return DescribeVpcEndpointsResponse.builder().vpcEndpoints(described).build();
+        });
+    }
+
+    /**
+     * The endpoints of the requested IDs, which must all exist, or every endpoint when no IDs are
+     * given. A {@code vpc-endpoint-id} filter narrows them down and, like EC2, ignores IDs that do not
+     * exist.
+     */
+    private List<Endpoint> matching(DescribeVpcEndpointsRequest request) {
+        List<Endpoint> matching = new ArrayList<>();
+        if (request.hasVpcEndpointIds()) {
+            request.vpcEndpointIds().forEach(id -> matching.add(endpoint(id)));
+        } else {
+            matching.addAll(endpoints.values());
+        }
+        for (Filter filter : request.filters()) {
+            if (!VPC_ENDPOINT_ID_FILTER.equals(filter.name())) {
+                throw new UnsupportedOperationException("Filter " + filter.name());
+            }
+            matching.removeIf(endpoint -> !filter.values().contains(endpoint.id));
+        }
+        return matching;
+    }
+
+    @Override
+    public ModifyVpcEndpointResponse modifyVpcEndpoint(ModifyVpcEndpointRequest request) {
+        return call("ModifyVpcEndpoint", () -> {
+            Endpoint endpoint = endpoint(request.vpcEndpointId());
+            endpoint.securityGroupIds.addAll(request.addSecurityGroupIds());
+            endpoint.securityGroupIds.removeAll(request.removeSecurityGroupIds());
+            endpoint.subnetIds.addAll(request.addSubnetIds());
+            endpoint.subnetIds.removeAll(request.removeSubnetIds());
+            endpoint.availableAt = availableAt();
+            return ModifyVpcEndpointResponse.builder().returnValue(true).build();
+        });
+    }
+
+    @Override
+    public DescribeAddressesResponse describeAddresses(DescribeAddressesRequest request) {
+        return call("DescribeAddresses", () -> {
+            List<Address> addresses = new ArrayList<>();
+            for (String allocationId : request.allocationIds()) {
+                addresses.add(Address.builder()
+                        .allocationId(allocationId)
+                        .domain("vpc")
+                        .publicIp(publicIp(allocationId))
+                        .privateIpAddress(privateIpAssigned(allocationId) ? privateIp(allocationId) : null)
+                        .build());
+            }
+            return DescribeAddressesResponse.builder().addresses(addresses).build();
+        });
+    }
+
+    /** @return the ID of a new endpoint, pending until it is available */
+    String createVpcEndpoint(String vpcId, Collection<String> subnetIds, Collection<String> securityGroupIds) {
+        Endpoint endpoint = new Endpoint(emulator.newId("vpce-"), vpcId, subnetIds, securityGroupIds);
+        endpoint.availableAt = availableAt();
+        endpoints.put(endpoint.id, endpoint);
+        return endpoint.id;
+    }
+
+    void deleteVpcEndpoint(String vpcEndpointId) {
+        endpoints.remove(vpcEndpointId);
+    }
+
+    /** Moves an endpoint to other subnets, which makes it pending again. */
+    void moveVpcEndpoint(String vpcEndpointId, Collection<String> subnetIds) {
+        Endpoint endpoint = endpoint(vpcEndpointId);
+        endpoint.subnetIds.clear();
+        endpoint.subnetIds.addAll(subnetIds);
+        endpoint.availableAt = availableAt();
+    }
+
+    void attach(Collection<String> allocationIds) {
+        long now = emulator.now();
+        allocationIds.forEach(id -> {
+            if (attachedAt.putIfAbsent(id, now) == null) {
+                emulator.settlesAt(emulator.privateIpTime());
+            }
+        });
+    }
+
+    void detach(Collection<String> allocationIds) {
+        attachedAt.keySet().removeAll(allocationIds);
+    }
+
+    /** @return whether the EIP has been attached long enough to have a private IP */
+    boolean privateIpAssigned(String allocationId) {
+        Long since = attachedAt.get(allocationId);
+        return since != null && emulator.now() - since >= emulator.privateIpTime().toMillis();
+    }
+
+    private long availableAt() {
+        return emulator.settlesAt(emulator.vpcEndpointTime());
+    }
+
+    private Endpoint endpoint(String vpcEndpointId) {
+        Endpoint endpoint = endpoints.get(vpcEndpointId);
+        if (endpoint == null) {
+            throw ServiceEmulator.error(
+                    Ec2Exception.builder(),
+                    "InvalidVpcEndpointId.NotFound",
+                    400,
+                    "The Vpc Endpoint Id '" + vpcEndpointId + "' does not exist");
+        }
+        return endpoint;
+    }
+
+    private <T> T call(String operation, Supplier<T> action) {
+        return emulator.call(operation, action, EmulatedEc2Client::throttled);
+    }
+
+    private static AwsServiceException throttled() {
+        return ServiceEmulator.error(Ec2Exception.builder(), "RequestLimitExceeded", 503, "Request limit exceeded.");
+    }
+
+    private static String publicIp(String allocationId) {
+        return "198.51.100." + (Math.floorMod(allocationId.hashCode(), 254) + 1);
+    }
+
+    private static String privateIp(String allocationId) {
+        return "10.0.0." + (Math.floorMod(allocationId.hashCode(), 254) + 1);
+    }
+
+    private static final class Endpoint {
+        private final String id;
+        private final String vpcId;
+        private final Set<String> subnetIds;
+        private final Set<String> securityGroupIds;
+        private long availableAt;
+
+        private Endpoint(String id, String vpcId, Collection<String> subnetIds, Collection<String> securityGroupIds) {
+            this.id = id;
+            this.vpcId = vpcId;
+            this.subnetIds = new LinkedHashSet<>(subnetIds);
+            this.securityGroupIds = new LinkedHashSet<>(securityGroupIds);
+        }
+
+        private VpcEndpoint describe(long now) {
+            return VpcEndpoint.builder()
+                    .vpcEndpointId(id)
+                    .vpcEndpointType("Interface")
+                    .vpcId(vpcId)
+                    .serviceName("com.amazonaws." + ServiceEmulator.REGION + ".transfer.server")
+                    .state(now >= availableAt ? AVAILABLE : PENDING)
+                    .subnetIds(subnetIds)
+                    .groups(securityGroupIds.stream()
+                            .map(groupId -> SecurityGroupIdentifier.builder()
+                                    .groupId(groupId)
+                                    .build())
+                            .collect(Collectors.toList()))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package software.amazon.transfer.emulator;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import software.amazon.awssdk.services.transfer.model.EndpointDetails;
+import software.amazon.awssdk.services.transfer.model.State;
+
+/**
+ * A server: the members it was created and updated with, and the state it is in.
+ *
+ * <p>A transient state lasts until a set time and then gives way to the state it leads to; the
+ * state is settled whenever it is read, so nothing has to run in the background.
+ */
+final class EmulatedServer {
+    static final String ENDPOINT_TYPE = "EndpointType";
+    static final String ENDPOINT_DETAILS = "EndpointDetails";
+
+    private final String serverId;
+    private final Map<String, Object> members;
+    private State state;
+    private State next;
+    private long transitionAt;
+
+    EmulatedServer(String serverId, Map<String, Object> members) {
+        this.serverId = serverId;
+        this.members = members;
+    }
+
+    String serverId() {
+        return serverId;
+    }
+
+    Map<String, Object> members() {
+        return members;
+    }
+
+    /**
+     * @param now the current time in milliseconds
+     * @return the state of the server at {@code now}
+     */
+    State state(long now) {
+        if (next != null && now >= transitionAt) {
+            state = next;
+            next = null;
+        }
+        return state;
+    }
+
+    /**
+     * Puts the server in {@code transient} until {@code at}, then in {@code settled}.
+     *
+     * @param transientState STARTING or STOPPING
+     * @param settled the state the transition leads to
+     * @param at the time the transition ends, in milliseconds
+     */
+    void transition(State transientState, State settled, long at) {
+        state = transientState;
+        next = settled;
+        transitionAt = at;
+    }
+
+    String endpointType() {
+        return (String) members.get(ENDPOINT_TYPE);
+    }
+
+    /** @return the endpoint details, null for a PUBLIC server */
+    EndpointDetails endpointDetails() {
+        return (EndpointDetails) members.get(ENDPOINT_DETAILS);
+    }
+
+    List<String> addressAllocationIds() {
+        EndpointDetails details = endpointDetails();
+        return details != null ? details.addressAllocationIds() : Collections.emptyList();
+    }
+
+    List<String> subnetIds() {
+        EndpointDetails details = endpointDetails();
+        return details != null ? details.subnetIds() : Collections.emptyList();
+    }
+
+    /**
+     * @param now the current time in milliseconds
+     * @return the members DescribeServer returns, without the tags
+     */
+    Map<String, Object> view(long now) {
+        Map<String, Object> view = new LinkedHashMap<>(members);
+        view.put("ServerId", serverId);
+        view.put("State", state(now).toString());
+        return view;
+    }
+}
@@ -0,0 +1,936 @@
+package software.amazon.transfer.emulator;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.services.transfer.TransferClient;
+import software.amazon.awssdk.services.transfer.TransferServiceClientConfiguration;
+import software.amazon.awssdk.services.transfer.model.ConflictException;
+import software.amazon.awssdk.services.transfer.model.CreateAgreementRequest;
+import software.amazon.awssdk.services.transfer.model.CreateAgreementResponse;
+import software.amazon.awssdk.services.transfer.model.CreateConnectorRequest;
+import software.amazon.awssdk.services.transfer.model.CreateConnectorResponse;
+import software.amazon.awssdk.services.transfer.model.CreateProfileRequest;
+import software.amazon.awssdk.services.transfer.model.CreateProfileResponse;
+import software.amazon.awssdk.services.transfer.model.CreateServerRequest;
+import software.amazon.awssdk.services.transfer.model.CreateServerResponse;
+import software.amazon.awssdk.services.transfer.model.CreateUserRequest;
+import software.amazon.awssdk.services.transfer.model.CreateUserResponse;
+import software.amazon.awssdk.services.transfer.model.CreateWorkflowRequest;
+import software.amazon.awssdk.services.transfer.model.CreateWorkflowResponse;
+import software.amazon.awssdk.services.transfer.model.DeleteAgreementRequest;
+import software.amazon.awssdk.services.transfer.model.DeleteAgreementResponse;
+import software.amazon.awssdk.services.transfer.model.DeleteCertificateRequest;
+import software.amazon.awssdk.services.transfer.model.DeleteCertificateResponse;
+import software.amazon.awssdk.services.transfer.model.DeleteConnectorRequest;
+import software.amazon.awssdk.services.transfer.model.DeleteConnectorResponse;
+import software.amazon.awssdk.services.transfer.model.DeleteProfileRequest;
+import software.amazon.awssdk.services.transfer.model.DeleteProfileResponse;
+import software.amazon.awssdk.services.transfer.model.DeleteServerRequest;
+import software.amazon.awssdk.services.transfer.model.DeleteServerResponse;
+import software.amazon.awssdk.services.transfer.model.DeleteSshPublicKeyRequest;
+import software.amazon.awssdk.services.transfer.model.DeleteSshPublicKeyResponse;
+import software.amazon.awssdk.services.transfer.model.DeleteUserRequest;
+import software.amazon.awssdk.services.transfer.model.DeleteUserResponse;
+import software.amazon.awssdk.services.transfer.model.DeleteWorkflowRequest;
+import software.amazon.awssdk.services.transfer.model.DeleteWorkflowResponse;
+import software.amazon.awssdk.services.transfer.model.DescribeAgreementRequest;
+import software.amazon.awssdk.services.transfer.model.DescribeAgreementResponse;
+import software.amazon.awssdk.services.transfer.model.DescribeCertificateRequest;
+import software.amazon.awssdk.services.transfer.model.DescribeCertificateResponse;
+import software.amazon.awssdk.services.transfer.model.DescribeConnectorRequest;
+import software.amazon.awssdk.services.transfer.model.DescribeConnectorResponse;
+import software.amazon.awssdk.services.transfer.model.DescribeProfileRequest;
+import software.amazon.awssdk.services.transfer.model.DescribeProfileResponse;
+import software.amazon.awssdk.services.transfer.model.DescribeServerRequest;
+import software.amazon.awssdk.services.transfer.model.DescribeServerResponse;
+import software.amazon.awssdk.services.transfer.model.DescribeUserRequest;
+import software.amazon.awssdk.services.transfer.model.DescribeUserResponse;
+import software.amazon.awssdk.services.transfer.model.DescribeWorkflowRequest;
+import software.amazon.awssdk.services.transfer.model.DescribeWorkflowResponse;
+import software.amazon.awssdk.services.transfer.model.DescribedAgreement;
+import software.amazon.awssdk.services.transfer.model.DescribedCertificate;
+import software.amazon.awssdk.services.transfer.model.DescribedConnector;
+import software.amazon.awssdk.services.transfer.model.DescribedProfile;
+import software.amazon.awssdk.services.transfer.model.DescribedServer;
+import software.amazon.awssdk.services.transfer.model.DescribedUser;
+import software.amazon.awssdk.services.transfer.model.DescribedWorkflow;
+import software.amazon.awssdk.services.transfer.model.Domain;
+import software.amazon.awssdk.services.transfer.model.EndpointDetails;
+import software.amazon.awssdk.services.transfer.model.EndpointType;
+import software.amazon.awssdk.services.transfer.model.IdentityProviderType;
+import software.amazon.awssdk.services.transfer.model.ImportCertificateRequest;
+import software.amazon.awssdk.services.transfer.model.ImportCertificateResponse;
+import software.amazon.awssdk.services.transfer.model.ImportSshPublicKeyRequest;
+import software.amazon.awssdk.services.transfer.model.ImportSshPublicKeyResponse;
+import software.amazon.awssdk.services.transfer.model.InvalidNextTokenException;
+import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
+import software.amazon.awssdk.services.transfer.model.ListAgreementsRequest;
+import software.amazon.awssdk.services.transfer.model.ListAgreementsResponse;
+import software.amazon.awssdk.services.transfer.model.ListCertificatesRequest;
+import software.amazon.awssdk.services.transfer.model.ListCertificatesResponse;
+import software.amazon.awssdk.services.transfer.model.ListConnectorsRequest;
+import software.amazon.awssdk.services.transfer.model.ListConnectorsResponse;
+import software.amazon.awssdk.services.transfer.model.ListProfilesRequest;
+import software.amazon.awssdk.services.transfer.model.ListProfilesResponse;
+import software.amazon.awssdk.services.transfer.model.ListServersRequest;
+import software.amazon.awssdk.services.transfer.model.ListServersResponse;
+import software.amazon.awssdk.services.transfer.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.transfer.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.transfer.model.ListUsersRequest;
+import software.amazon.awssdk.services.transfer.model.ListUsersResponse;
+import software.amazon.awssdk.services.transfer.model.ListWorkflowsRequest;
+import software.amazon.awssdk.services.transfer.model.ListWorkflowsResponse;
+import software.amazon.awssdk.services.transfer.model.ListedAgreement;
+import software.amazon.awssdk.services.transfer.model.ListedCertificate;
+import software.amazon.awssdk.services.transfer.model.ListedConnector;
+import software.amazon.awssdk.services.transfer.model.ListedProfile;
+import software.amazon.awssdk.services.transfer.model.ListedServer;
+import software.amazon.awssdk.services.transfer.model.ListedUser;
+import software.amazon.awssdk.services.transfer.model.ListedWorkflow;
+import software.amazon.awssdk.services.transfer.model.Protocol;
+import software.amazon.awssdk.services.transfer.model.ResourceExistsException;
+import software.amazon.awssdk.services.transfer.model.SshPublicKey;
+import software.amazon.awssdk.services.transfer.model.StartServerRequest;
+import software.amazon.awssdk.services.transfer.model.StartServerResponse;
+import software.amazon.awssdk.services.transfer.model.State;
+import software.amazon.awssdk.services.transfer.model.StopServerRequest;
+import software.amazon.awssdk.services.transfer.model.StopServerResponse;
+import software.amazon.awssdk.services.transfer.model.Tag;
+import software.amazon.awssdk.services.transfer.model.TagResourceRequest;
+import software.amazon.awssdk.services.transfer.model.TagResourceResponse;
+import software.amazon.awssdk.services.transfer.model.ThrottlingException;
+import software.amazon.awssdk.services.transfer.model.UntagResourceRequest;
+import software.amazon.awssdk.services.transfer.model.UntagResourceResponse;
+import software.amazon.awssdk.services.transfer.model.UpdateAgreementRequest;
+import software.amazon.awssdk.services.transfer.model.UpdateAgreementResponse;
+import software.amazon.awssdk.services.transfer.model.UpdateCertificateRequest;
+import software.amazon.awssdk.services.transfer.model.UpdateCertificateResponse;
+import software.amazon.awssdk.services.transfer.model.UpdateConnectorRequest;
+import software.amazon.awssdk.services.transfer.model.UpdateConnectorResponse;
+import software.amazon.awssdk.services.transfer.model.UpdateProfileRequest;
+import software.amazon.awssdk.services.transfer.model.UpdateProfileResponse;
+import software.amazon.awssdk.services.transfer.model.UpdateServerRequest;
+import software.amazon.awssdk.services.transfer.model.UpdateServerResponse;
+import software.amazon.awssdk.services.transfer.model.UpdateUserRequest;
+import software.amazon.awssdk.services.transfer.model.UpdateUserResponse;
+import software.amazon.awssdk.utils.builder.SdkBuilder;
+
+/**
+ * The Transfer Family calls the handlers of every resource type make, except for web apps.
+ *
+ * <p>Servers follow the rules the handlers are written against: a server cannot be updated while
+ * it is STARTING or STOPPING, and its EIPs can only be set by UpdateServer and only while it is
+ * OFFLINE. A VPC server owns a VPC endpoint in the {@link EmulatedEc2Client}, which is created,
+ * moved to other subnets and deleted along with it.
+ *
+ * <p>Tags are kept by ARN and returned by the describe calls, like the service does. List calls
+ * return pages in creation order.
+ */
+final class EmulatedTransferClient implements TransferClient {
+    private static final String ARN = "Arn";
+    private static final String TAGS = "Tags";
+    private static final String SERVER_ID = "ServerId";
+    private static final String VPC = EndpointType.VPC.toString();
+    private static final int DEFAULT_MAX_RESULTS = 1000;
+
+    private final ServiceEmulator emulator;
+    private final EmulatedEc2Client ec2;
+    private final Map<String, EmulatedServer> servers = new LinkedHashMap<>();
+    private final ResourceTable users = new ResourceTable("User");
+    private final Map<String, List<SshPublicKey>> sshPublicKeys = new LinkedHashMap<>();
+    private final ResourceTable agreements = new ResourceTable("Agreement");
+    private final ResourceTable certificates = new ResourceTable("Certificate");
+    private final ResourceTable connectors = new ResourceTable("Connector");
+    private final ResourceTable profiles = new ResourceTable("Profile");
+    private final ResourceTable workflows = new ResourceTable("Workflow");
+    private final Map<String, Map<String, String>> tags = new LinkedHashMap<>();
+
+    EmulatedTransferClient(ServiceEmulator emulator, EmulatedEc2Client ec2) {
+        this.emulator = emulator;
+        this.ec2 = ec2;
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+        // The emulator outlives whatever closes its clients.
+    }
+
+    @Override
+    public TransferServiceClientConfiguration serviceClientConfiguration() {
+        throw new UnsupportedOperationException();
+    }
+
+    // Servers
+
+    @Override
+    public CreateServerResponse createServer(CreateServerRequest request) {
+        return call("CreateServer", () -> {
+            Map<String, Object> members = ResourceTable.members(request);
+            members.remove(TAGS);
+            members.putIfAbsent(EmulatedServer.ENDPOINT_TYPE, EndpointType.PUBLIC.toString());
+            members.putIfAbsent("Domain", Domain.S3.toString());
+            members.putIfAbsent("IdentityProviderType", IdentityProviderType.SERVICE_MANAGED.toString());
+            members.putIfAbsent("Protocols", List.of(Protocol.SFTP.toString()));
+            members.putIfAbsent("SecurityPolicyName", "TransferSecurityPolicy-2018-11");
+
+            if (VPC.equals(members.get(EmulatedServer.ENDPOINT_TYPE))) {
+                EndpointDetails details = request.endpointDetails();
+                if (details == null || details.vpcId() == null) {
+                    throw invalidRequest("A VPC endpoint needs a VpcId");
+                }
+                if (!details.addressAllocationIds().isEmpty()) {
+                    throw invalidRequest("AddressAllocationIds can only be set by UpdateServer");
+                }
+                String vpcEndpointId =
+                        ec2.createVpcEndpoint(details.vpcId(), details.subnetIds(), details.securityGroupIds());
+                members.put(EmulatedServer.ENDPOINT_DETAILS, withoutSecurityGroups(details, vpcEndpointId));
+            } else {
+                members.remove(EmulatedServer.ENDPOINT_DETAILS);
+            }
+
+            String serverId = emulator.newId("s-");
+            String arn = ServiceEmulator.arn("transfer", "server/" + serverId);
+            members.put(ARN, arn);
+            EmulatedServer server = new EmulatedServer(serverId, members);
+            server.transition(State.STARTING, State.ONLINE, emulator.settlesAt(emulator.serverCreateTime()));
+            servers.put(serverId, server);
+            tag(arn, request.tags());
+            return CreateServerResponse.builder().serverId(serverId).build();
+        });
+    }
+
+    @Override
+    public DescribeServerResponse describeServer(DescribeServerRequest request) {
+        return call("DescribeServer", () -> {
+            EmulatedServer server = server(request.serverId());
+            Map<String, Object> view = server.view(emulator.now());
+            view.put(TAGS, tagList((String) view.get(ARN)));
+            view.put("UserCount", userCount(server.serverId()));
+            return DescribeServerResponse.builder()
+                    .server(ResourceTable.build(DescribedServer.builder(), view))
+                    .build();
+        });
+    }
+
+    @Override
+    public ListServersResponse listServers(ListServersRequest request) {
+        return call("ListServers", () -> {
+            long now = emulator.now();
+            List<Map<String, Object>> views = servers.values().stream()
+                    .map(server -> {
+                        Map<String, Object> view = server.view(now);
+                        view.put("UserCount", userCount(server.serverId()));
+                        return view;
+                    })
+                    .collect(Collectors.toList());
+            Page<ListedServer> page = page(views, ListedServer::builder, request.nextToken(), request.maxResults());
+            return ListServersResponse.builder()
+                    .servers(page.items)
+                    .nextToken(page.nextToken)
+                    .build();
+        });
+    }
+
+    @Override
+    public UpdateServerResponse updateServer(UpdateServerRequest request) {
+        return call("UpdateServer", () -> {
+            EmulatedServer server = server(request.serverId());
+            State state = server.state(emulator.now());
+            if (state == State.STARTING || state == State.STOPPING) {
+                throw conflict("Server " + server.serverId() + " is " + state);
+            }
+
+            String endpointType =
+                    request.endpointType() != null ? request.endpointTypeAsString() : server.endpointType();
+            if (VPC.equals(endpointType)) {
+                updateVpcEndpoint(server, state, request.endpointDetails());
+            } else if (VPC.equals(server.endpointType())) {
+                ec2.detach(server.addressAllocationIds());
+                ec2.deleteVpcEndpoint(server.endpointDetails().vpcEndpointId());
+                server.members().remove(EmulatedServer.ENDPOINT_DETAILS);
+            }
+            server.members().put(EmulatedServer.ENDPOINT_TYPE, endpointType);
+
+            ResourceTable.update(
+                    server.members(),
+                    request,
+                    Set.of(SERVER_ID, EmulatedServer.ENDPOINT_TYPE, EmulatedServer.ENDPOINT_DETAILS));
+            return UpdateServerResponse.builder().serverId(server.serverId()).build();
+        });
+    }
+
+    @Override
+    public StartServerResponse startServer(StartServerRequest request) {
+        return call("StartServer", () -> {
+            EmulatedServer server = server(request.serverId());
+            long now = emulator.now();
+            State state = server.state(now);
+            if (state == State.STOPPING) {
+                throw conflict("Server " + server.serverId() + " is " + state);
+            }
+            if (state == State.OFFLINE || state == State.START_FAILED || state == State.STOP_FAILED) {
+                // The server comes up on its EIPs, so it cannot start before they have private IPs.
+                boolean ready = server.addressAllocationIds().stream().allMatch(ec2::privateIpAssigned);
+                server.transition(
+                        State.STARTING,
+                        ready ? State.ONLINE : State.START_FAILED,
+                        emulator.settlesAt(emulator.serverStartTime()));
+            }
+            return StartServerResponse.builder().build();
+        });
+    }
+
+    @Override
+    public StopServerResponse stopServer(StopServerRequest request) {
+        return call("StopServer", () -> {
+            EmulatedServer server = server(request.serverId());
+            long now = emulator.now();
+            State state = server.state(now);
+            if (state == State.STARTING) {
+                throw conflict("Server " + server.serverId() + " is " + state);
+            }
+            if (state == State.ONLINE || state == State.START_FAILED || state == State.STOP_FAILED) {
+                server.transition(State.STOPPING, State.OFFLINE, emulator.settlesAt(emulator.serverStopTime()));
+            }
+            return StopServerResponse.builder().build();
+        });
+    }
+
+    @Override
+    public DeleteServerResponse deleteServer(DeleteServerRequest request) {
+        return call("DeleteServer", () -> {
+            EmulatedServer server = server(request.serverId());
+            servers.remove(server.serverId());
+            if (VPC.equals(server.endpointType())) {
+                ec2.detach(server.addressAllocationIds());
+                ec2.deleteVpcEndpoint(server.endpointDetails().vpcEndpointId());
+            }
+            for (Map<String, Object> user : users.values()) {
+                if (server.serverId().equals(user.get(SERVER_ID))) {
+                    String key = userKey(server.serverId(), (String) user.get("UserName"));
+                    users.remove(key);
+                    sshPublicKeys.remove(key);
+                    tags.remove((String) user.get(ARN));
+                }
+            }
+            tags.remove((String) server.members().get(ARN));
+            return DeleteServerResponse.builder().build();
+        });
+    }
+
+    // Users
+
+    @Override
+    public CreateUserResponse createUser(CreateUserRequest request) {
+        return call("CreateUser", () -> {
+            server(request.serverId());
+            String key = userKey(request.serverId(), request.userName());
+            if (users.contains(key)) {
+                throw exists("User", request.userName());
+            }
+            Map<String, Object> record = ResourceTable.members(request);
+            record.remove(TAGS);
+            record.remove("SshPublicKeyBody");
+            String arn = ServiceEmulator.arn("transfer", "user/" + key);
+            record.put(ARN, arn);
+            users.put(key, record);
+
+            List<SshPublicKey> keys = new ArrayList<>();
+            if (request.sshPublicKeyBody() != null) {
+                keys.add(sshPublicKey(request.sshPublicKeyBody()));
+            }
+            sshPublicKeys.put(key, keys);
+            tag(arn, request.tags());
+            return CreateUserResponse.builder()
+                    .serverId(request.serverId())
+                    .userName(request.userName())
+                    .build();
+        });
+    }
+
+    @Override
+    public DescribeUserResponse describeUser(DescribeUserRequest request) {
+        return call("DescribeUser", () -> {
+            String key = userKey(request.serverId(), request.userName());
+            Map<String, Object> view = view(users.get(key));
+            view.put("SshPublicKeys", new ArrayList<>(sshPublicKeys.get(key)));
+            return DescribeUserResponse.builder()
+                    .serverId(request.serverId())
+                    .user(ResourceTable.build(DescribedUser.builder(), view))
+                    .build();
+        });
+    }
+
+    @Override
+    public ListUsersResponse listUsers(ListUsersRequest request) {
+        return call("ListUsers", () -> {
+            server(request.serverId());
+            List<Map<String, Object>> views = users.values().stream()
+                    .filter(user -> request.serverId().equals(user.get(SERVER_ID)))
+                    .map(user -> {
+                        Map<String, Object> view = new LinkedHashMap<>(user);
+                        String key = userKey(request.serverId(), (String) user.get("UserName"));
+                        view.put("SshPublicKeyCount", sshPublicKeys.get(key).size());
+                        return view;
+                    })
+                    .collect(Collectors.toList());
+            Page<ListedUser> page = page(views, ListedUser::builder, request.nextToken(), request.maxResults());
+            return ListUsersResponse.builder()
+                    .serverId(request.serverId())
+                    .users(page.items)
+                    .nextToken(page.nextToken)
+                    .build();
+        });
+    }
+
+    @Override
+    public UpdateUserResponse updateUser(UpdateUserRequest request) {
+        return call("UpdateUser", () -> {
+            Map<String, Object> user = users.get(userKey(request.serverId(), request.userName()));
+            ResourceTable.update(user, request, Set.of(SERVER_ID, "UserName"));
+            return UpdateUserResponse.builder()
+                    .serverId(request.serverId())
+                    .userName(request.userName())
+                    .build();
+        });
+    }
+
+    @Override
+    public DeleteUserResponse deleteUser(DeleteUserRequest request) {
+        return call("DeleteUser", () -> {
+            String key = userKey(request.serverId(), request.userName());
+            Map<String, Object> user = users.remove(key);
+            sshPublicKeys.remove(key);
+            tags.remove((String) user.get(ARN));
+            return DeleteUserResponse.builder().build();
+        });
+    }
+
+    @Override
+    public ImportSshPublicKeyResponse importSshPublicKey(ImportSshPublicKeyRequest request) {
+        return call("ImportSshPublicKey", () -> {
+            String key = userKey(request.serverId(), request.userName());
+            users.get(key);
+            List<SshPublicKey> keys = sshPublicKeys.get(key);
+            if (keys.stream().anyMatch(k -> k.sshPublicKeyBody().equals(request.sshPublicKeyBody()))) {
+                throw exists("SshPublicKey", request.userName());
+            }
+            SshPublicKey sshPublicKey = sshPublicKey(request.sshPublicKeyBody());
+            keys.add(sshPublicKey);
+            return ImportSshPublicKeyResponse.builder()
+                    .serverId(request.serverId())
+                    .userName(request.userName())
+                    .sshPublicKeyId(sshPublicKey.sshPublicKeyId())
+                    .build();
+        });
+    }
+
+    @Override
+    public DeleteSshPublicKeyResponse deleteSshPublicKey(DeleteSshPublicKeyRequest request) {
+        return call("DeleteSshPublicKey", () -> {
+            String key = userKey(request.serverId(), request.userName());
+            users.get(key);
+            if (!sshPublicKeys.get(key).removeIf(k -> k.sshPublicKeyId().equals(request.sshPublicKeyId()))) {
+                throw ResourceTable.notFound("SshPublicKey", request.sshPublicKeyId());
+            }
+            return DeleteSshPublicKeyResponse.builder().build();
+        });
+    }
+
+    // Agreements
+
+    @Override
+    public CreateAgreementResponse createAgreement(CreateAgreementRequest request) {
+        return call("CreateAgreement", () -> {
+            server(request.serverId());
+            String agreementId = create(
+                    agreements,
+                    "AgreementId",
+                    "a-",
+                    "agreement/" + request.serverId() + "/",
+                    request,
+                    request.tags());
+            return CreateAgreementResponse.builder().agreementId(agreementId).build();
+        });
+    }
+
+    @Override
+    public DescribeAgreementResponse describeAgreement(DescribeAgreementRequest request) {
+        return call("DescribeAgreement", () -> {
+            Map<String, Object> agreement = agreement(request.serverId(), request.agreementId());
+            return DescribeAgreementResponse.builder()
+                    .agreement(ResourceTable.build(DescribedAgreement.builder(), view(agreement)))
+                    .build();
+        });
+    }
+
+    @Override
+    public ListAgreementsResponse listAgreements(ListAgreementsRequest request) {
+        return call("ListAgreements", () -> {
+            server(request.serverId());
+            Page<ListedAgreement> page = page(
+                    filter(agreements, a -> request.serverId().equals(a.get(SERVER_ID))),
+                    ListedAgreement::builder,
+                    request.nextToken(),
+                    request.maxResults());
+            return ListAgreementsResponse.builder()
+                    .agreements(page.items)
+                    .nextToken(page.nextToken)
+                    .build();
+        });
+    }
+
+    @Override
+    public UpdateAgreementResponse updateAgreement(UpdateAgreementRequest request) {
+        return call("UpdateAgreement", () -> {
+            Map<String, Object> agreement = agreement(request.serverId(), request.agreementId());
+            ResourceTable.update(agreement, request, Set.of("AgreementId", SERVER_ID));
+            return UpdateAgreementResponse.builder()
+                    .agreementId(request.agreementId())
+                    .build();
+        });
+    }
+
+    @Override
+    public DeleteAgreementResponse deleteAgreement(DeleteAgreementRequest request) {
+        return call("DeleteAgreement", () -> {
+            agreement(request.serverId(), request.agreementId());
+            delete(agreements, request.agreementId());
+            return DeleteAgreementResponse.builder().build();
+        });
+    }
+
+    // Certificates
+
+    @Override
+    public ImportCertificateResponse importCertificate(ImportCertificateRequest request) {
+        return call("ImportCertificate", () -> {
+            String certificateId =
+                    create(certificates, "CertificateId", "cert-", "certificate/", request, request.tags());
+            Map<String, Object> certificate = certificates.get(certificateId);
+            certificate.put("Status", "ACTIVE");
+            certificate.put("Type", request.privateKey() != null ? "CERTIFICATE_WITH_PRIVATE_KEY" : "CERTIFICATE");
+            return ImportCertificateResponse.builder()
+                    .certificateId(certificateId)
+                    .build();
+        });
+    }
+
+    @Override
+    public DescribeCertificateResponse describeCertificate(DescribeCertificateRequest request) {
+        return call("DescribeCertificate", () -> DescribeCertificateResponse.builder()
+                .certificate(ResourceTable.build(
+                        DescribedCertificate.builder(), view(certificates.get(request.certificateId()))))
+                .build());
+    }
+
+    @Override
+    public ListCertificatesResponse listCertificates(ListCertificatesRequest request) {
+        return call("ListCertificates", () -> {
+            Page<ListedCertificate> page = page(
+                    certificates.values(), ListedCertificate::builder, request.nextToken(), request.maxResults());
+            return ListCertificatesResponse.builder()
+                    .certificates(page.items)
+                    .nextToken(page.nextToken)
+                    .build();
+        });
+    }
+
+    @Override
+    public UpdateCertificateResponse updateCertificate(UpdateCertificateRequest request) {
+        return call("UpdateCertificate", () -> {
+            ResourceTable.update(certificates.get(request.certificateId()), request, Set.of("CertificateId"));
+            return UpdateCertificateResponse.builder()
+                    .certificateId(request.certificateId())
+                    .build();
+        });
+    }
+
+    @Override
+    public DeleteCertificateResponse deleteCertificate(DeleteCertificateRequest request) {
+        return call("DeleteCertificate", () -> {
+            delete(certificates, request.certificateId());
+            return DeleteCertificateResponse.builder().build();
+        });
+    }
+
+    // Connectors
+
+    @Override
+    public CreateConnectorResponse createConnector(CreateConnectorRequest request) {
+        return call("CreateConnector", () -> {
+            String connectorId = create(connectors, "ConnectorId", "c-", "connector/", request, request.tags());
+            return CreateConnectorResponse.builder().connectorId(connectorId).build();
+        });
+    }
+
+    @Override
+    public DescribeConnectorResponse describeConnector(DescribeConnectorRequest request) {
+        return call("DescribeConnector", () -> DescribeConnectorResponse.builder()
+                .connector(ResourceTable.build(
+                        DescribedConnector.builder(), view(connectors.get(request.connectorId()))))
+                .build());
+    }
+
+    @Override
+    public ListConnectorsResponse listConnectors(ListConnectorsRequest request) {
+        return call("ListConnectors", () -> {
+            Page<ListedConnector> page =
+                    page(connectors.values(), ListedConnector::builder, request.nextToken(), request.maxResults());
+            return ListConnectorsResponse.builder()
+                    .connectors(page.items)
+                    .nextToken(page.nextToken)
+                    .build();
+        });
+    }
+
+    @Override
+    public UpdateConnectorResponse updateConnector(UpdateConnectorRequest request) {
+        return call("UpdateConnector", () -> {
+            ResourceTable.update(connectors.get(request.connectorId()), request, Set.of("ConnectorId"));
+            return UpdateConnectorResponse.builder()
+                    .connectorId(request.connectorId())
+                    .build();
+        });
+    }
+
+    @Override
+    public DeleteConnectorResponse deleteConnector(DeleteConnectorRequest request) {
+        return call("DeleteConnector", () -> {
+            delete(connectors, request.connectorId());
+            return DeleteConnectorResponse.builder().build();
+        });
+    }
+
+    // Profiles
+
+    @Override
+    public CreateProfileResponse createProfile(CreateProfileRequest request) {
+        return call("CreateProfile", () -> {
+            String profileId = create(profiles, "ProfileId", "p-", "profile/", request, request.tags());
+            return CreateProfileResponse.builder().profileId(profileId).build();
+        });
+    }
+
+    @Override
+    public DescribeProfileResponse describeProfile(DescribeProfileRequest request) {
+        return call("DescribeProfile", () -> DescribeProfileResponse.builder()
+                .profile(ResourceTable.build(DescribedProfile.builder(), view(profiles.get(request.profileId()))))
+                .build());
+    }
+
+    @Override
+    public ListProfilesResponse listProfiles(ListProfilesRequest request) {
+        return call("ListProfiles", () -> {
+            String profileType = request.profileTypeAsString();
+            Page<ListedProfile> page = page(
+                    filter(profiles, p -> profileType == null || profileType.equals(p.get("ProfileType"))),
+                    ListedProfile::builder,
+                    request.nextToken(),
+                    request.maxResults());
+            return ListProfilesResponse.builder()
+                    .profiles(page.items)
+                    .nextToken(page.nextToken)
+                    .build();
+        });
+    }
+
+    @Override
+    public UpdateProfileResponse updateProfile(UpdateProfileRequest request) {
+        return call("UpdateProfile", () -> {
+            ResourceTable.update(profiles.get(request.profileId()), request, Set.of("ProfileId"));
+            return UpdateProfileResponse.builder().profileId(request.profileId()).build();
+        });
+    }
+
+    @Override
+    public DeleteProfileResponse deleteProfile(DeleteProfileRequest request) {
+        return call("DeleteProfile", () -> {
+            delete(profiles, request.profileId());
+            return DeleteProfileResponse.builder().build();
+        });
+    }
+
+    // Workflows
+
+    @Override
+    public CreateWorkflowResponse createWorkflow(CreateWorkflowRequest request) {
+        return call("CreateWorkflow", () -> {
+            String workflowId = create(workflows, "WorkflowId", "w-", "workflow/", request, request.tags());
+            return CreateWorkflowResponse.builder().workflowId(workflowId).build();
+        });
+    }
+
+    @Override
+    public DescribeWorkflowResponse describeWorkflow(DescribeWorkflowRequest request) {
+        return call("DescribeWorkflow", () -> DescribeWorkflowResponse.builder()
+                .workflow(ResourceTable.build(DescribedWorkflow.builder(), view(workflows.get(request.workflowId()))))
+                .build());
+    }
+
+    @Override
+    public ListWorkflowsResponse listWorkflows(ListWorkflowsRequest request) {
+        return call("ListWorkflows", () -> {
+            Page<ListedWorkflow> page =
+                    page(workflows.values(), ListedWorkflow::builder, request.nextToken(), request.maxResults());
+            return ListWorkflowsResponse.builder()
+                    .workflows(page.items)
+                    .nextToken(page.nextToken)
+                    .build();
+        });
+    }
+
+    @Override
+    public DeleteWorkflowResponse deleteWorkflow(DeleteWorkflowRequest request) {
+        return call("DeleteWorkflow", () -> {
+            delete(workflows, request.workflowId());
+            return DeleteWorkflowResponse.builder().build();
+        });
+    }
+
+    // Tags
+
+    @Override
+    public TagResourceResponse tagResource(TagResourceRequest request) {
+        return call("TagResource", () -> {
+            tags(request.arn());
+            tag(request.arn(), request.tags());
+            return TagResourceResponse.builder().build();
+        });
+    }
+
+    @Override
+    public UntagResourceResponse untagResource(UntagResourceRequest request) {
+        return call("UntagResource", () -> {
+            tags(request.arn()).keySet().removeAll(request.tagKeys());
+            return UntagResourceResponse.builder().build();
+        });
+    }
+
+    @Override
+    public ListTagsForResourceResponse listTagsForResource(ListTagsForResourceRequest request) {
+        return call("ListTagsForResource", () -> {
+            tags(request.arn());
+            return ListTagsForResourceResponse.builder()
+                    .arn(request.arn())
+                    .tags(tagList(request.arn()))
+                    .build();
+        });
+    }
+
+    private <T> T call(String operation, Supplier<T> action) {
+        return emulator.call(operation, action, this::throttled);
+    }
+
+    private AwsServiceException throttled() {
+        ThrottlingException.Builder builder = ThrottlingException.builder();
+        if (emulator.retryAfterSeconds() > 0) {
+            builder.retryAfterSeconds(String.valueOf(emulator.retryAfterSeconds()));
+        }
+        return ServiceEmulator.error(builder, "ThrottlingException", 400, "Rate exceeded");
+    }
+
+    /**
+     * Applies the endpoint details of an update to a server that is, or becomes, a VPC server.
+     * Security groups are not kept, DescribeServer does not return them either.
+     */
+    private void updateVpcEndpoint(EmulatedServer server, State state, EndpointDetails changes) {
+        EndpointDetails current = server.endpointDetails();
+        EndpointDetails details;
+        if (changes == null) {
+            details = current != null ? current : EndpointDetails.builder().build();
+        } else {
+            details = ResourceTable.merge(current != null ? current.toBuilder() : EndpointDetails.builder(), changes);
+        }
+
+        List<String> attached = server.addressAllocationIds();
+        List<String> addressAllocationIds = details.addressAllocationIds();
+        boolean eipsChange = !attached.equals(addressAllocationIds);
+        boolean subnetsChange = current != null && !server.subnetIds().equals(details.subnetIds());
+        if (eipsChange && state != State.OFFLINE) {
+            throw invalidRequest("AddressAllocationIds can only be changed while the server is OFFLINE");
+        }
+
+        String vpcEndpointId = current != null ? current.vpcEndpointId() : null;
+        if (vpcEndpointId == null) {
+            if (details.vpcId() == null) {
+                throw invalidRequest("A VPC endpoint needs a VpcId");
+            }
+            vpcEndpointId = ec2.createVpcEndpoint(details.vpcId(), details.subnetIds(), details.securityGroupIds());
+        } else if (subnetsChange) {
+            ec2.moveVpcEndpoint(vpcEndpointId, details.subnetIds());
+        }
+        if (eipsChange) {
+            List<String> detached = new ArrayList<>(attached);
+            detached.removeAll(addressAllocationIds);
+            ec2.detach(detached);
+            ec2.attach(addressAllocationIds);
+        }
+        server.members().put(EmulatedServer.ENDPOINT_DETAILS, withoutSecurityGroups(details, vpcEndpointId));
+    }
+
+    private static EndpointDetails withoutSecurityGroups(EndpointDetails details, String vpcEndpointId) {
+        return details.toBuilder()
+                .vpcEndpointId(vpcEndpointId)
+                .securityGroupIds((Collection<String>) null)
+                .build();
+    }
+
+    private EmulatedServer server(String serverId) {
+        EmulatedServer server = servers.get(serverId);
+        if (server == null) {
+            throw ResourceTable.notFound("Server", serverId);
+        }
+        return server;
+    }
+
+    private int userCount(String serverId) {
+        return (int) users.values().stream()
+                .filter(user -> serverId.equals(user.get(SERVER_ID)))
+                .count();
+    }
+
+    private static String userKey(String serverId, String userName) {
+        return serverId + "/" + userName;
+    }
+
+    private SshPublicKey sshPublicKey(String body) {
+        return SshPublicKey.builder()
+                .sshPublicKeyId(emulator.newId("key-"))
+                .sshPublicKeyBody(body)
+                .dateImported(Instant.ofEpochMilli(emulator.now()))
+                .build();
+    }
+
+    private Map<String, Object> agreement(String serverId, String agreementId) {
+        Map<String, Object> agreement = agreements.get(agreementId);
+        if (!Objects.equals(serverId, agreement.get(SERVER_ID))) {
+            throw ResourceTable.notFound("Agreement", agreementId);
+        }
+        return agreement;
+    }
+
+    /**
+     * @param arnResource the resource part of the ARN, up to the identifier
+     * @return the identifier of the new resource
+     */
+    private String create(
+            ResourceTable table,
+            String idMember,
+            String idPrefix,
+            String arnResource,
+            SdkPojo request,
+            Collection<Tag> requestTags) {
+        String id = emulator.newId(idPrefix);
+        String arn = ServiceEmulator.arn("transfer", arnResource + id);
+        Map<String, Object> record = ResourceTable.members(request);
+        record.remove(TAGS);
+        record.put(idMember, id);
+        record.put(ARN, arn);
+        table.put(id, record);
+        tag(arn, requestTags);
+        return id;
+    }
+
+    private void delete(ResourceTable table, String id) {
+        tags.remove((String) table.remove(id).get(ARN));
+    }
+
+    private static List<Map<String, Object>> filter(ResourceTable table, Predicate<Map<String, Object>> filter) {
+        return table.values().stream().filter(filter).collect(Collectors.toList());
+    }
+
+    /** @return the members of a resource with its tags, for a describe call */
+    private Map<String, Object> view(Map<String, Object> record) {
+        Map<String, Object> view = new LinkedHashMap<>(record);
+        view.put(TAGS, tagList((String) record.get(ARN)));
+        return view;
+    }
+
+    private void tag(String arn, Collection<Tag> added) {
+        Map<String, String> resourceTags = tags.computeIfAbsent(arn, a -> new LinkedHashMap<>());
+        added.forEach(tag -> resourceTags.put(tag.key(), tag.value()));
+    }
+
+    private Map<String, String> tags(String arn) {
+        Map<String, String> resourceTags = tags.get(arn);
+        if (resourceTags == null) {
+            throw ResourceTable.notFound("Resource", arn);
+        }
+        return resourceTags;
+    }
+
+    private List<Tag> tagList(String arn) {
+        return tags.getOrDefault(arn, Collections.emptyMap()).entrySet().stream()
+                .map(e -> Tag.builder().key(e.getKey()).value(e.getValue()).build())
+                .collect(Collectors.toList());
+    }
+
+    private static <T, B extends SdkPojo & SdkBuilder<B, T>> Page<T> page(
+            List<Map<String, Object>> records, Supplier<B> builder, String nextToken, Integer maxResults) {
+        int from = 0;
+        if (nextToken != null) {
+            try {
+                from = Integer.parseInt(nextToken);
+            } catch (NumberFormatException e) {
+                from = -1;
+            }
+            if (from < 0 || from > records.size()) {
+                throw ServiceEmulator.error(
+                        InvalidNextTokenException.builder(),
+                        "InvalidNextTokenException",
+                        400,
+                        "Invalid next token: " + nextToken);
+            }
+        }
+        int to = Math.min(records.size(), from + (maxResults != null ? maxResults : DEFAULT_MAX_RESULTS));
+        List<T> items = records.subList(from, to).stream()
+                .map(record -> ResourceTable.build(builder.get(), record))
+                .collect(Collectors.toList());
+        return new Page<>(items, to < records.size() ? String.valueOf(to) : null);
+    }
+
+    private static AwsServiceException invalidRequest(String message) {
+        return ServiceEmulator.error(InvalidRequestException.builder(), "InvalidRequestException", 400, message);
+    }
+
+    private static AwsServiceException conflict(String message) {
+        return ServiceEmulator.error(ConflictException.builder(), "ConflictException", 409, message);
+    }
+
+    private static AwsServiceException exists(String resourceType, String resource) {
+        return ServiceEmulator.error(
+                ResourceExistsException.builder().resource(resource).resourceType(resourceType),
+                "ResourceExistsException",
+                400,
+                resourceType + " already exists: " + resource);
+    }
+
+    private static final class Page<T> {
+        private final List<T> items;
+        private final String nextToken;
+
+        private Page(List<T> items, String nextToken) {
+            this.items = items;
+            this.nextToken = nextToken;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package software.amazon.transfer.emulator;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The time of the emulated services: when servers finish starting, VPC endpoints become available
+ * and EIPs get their private IPs, how long a call takes and how long CloudFormation waits before
+ * calling a handler back.
+ */
+public interface EmulatorClock {
+    /** @return the current time in milliseconds since the epoch */
+    long millis();
+
+    /**
+     * Lets {@code duration} pass.
+     *
+     * @param duration how long to wait
+     */
+    void sleep(Duration duration);
+
+    /** @return the wall clock */
+    static EmulatorClock system() {
+        return system(1);
+    }
+
+    /**
+     * A wall clock that runs {@code speedup} times faster: a server that takes a minute to start is
+     * ONLINE after {@code 60 / speedup} seconds, and a 30 second callback delay is slept for {@code
+     * 30 / speedup} seconds. Load runs use it to keep the service timings in proportion to the
+     * handlers' own work.
+     *
+     * @param speedup how many emulated milliseconds pass per wall-clock millisecond
+     * @return the clock
+     */
+    static EmulatorClock system(double speedup) {
+        if (!(speedup > 0)) {
+            throw new IllegalArgumentException("speedup must be positive");
+        }
+        long startMillis = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        return new EmulatorClock() {
+            @Override
+            public long millis() {
+                return startMillis + (long) (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) * speedup);
+            }
+
+            @Override
+            public void sleep(Duration duration) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep((long) (duration.toNanos() / speedup));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package software.amazon.transfer.emulator;
+
+import java.time.Duration;
+
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+/**
+ * The outcome of {@link ServiceEmulator#runUntilDone}: the event a handler finished with, after
+ * how many invocations, and how much emulated time passed from the first to the last.
+ *
+ * @param <M> the resource model type
+ * @param <C> the callback context type
+ */
+public final class HandlerRun<M, C> {
+    private final ProgressEvent<M, C> event;
+    private final int invocations;
+    private final Duration elapsed;
+
+    HandlerRun(ProgressEvent<M, C> event, int invocations, Duration elapsed) {
+        this.event = event;
+        this.invocations = invocations;
+        this.elapsed = elapsed;
+    }
+
+    public ProgressEvent<M, C> getEvent() {
+        return event;
+    }
+
+    public int getInvocations() {
+        return invocations;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s after %d invocations in %s", event.getStatus(), invocations, elapsed);
+    }
+}
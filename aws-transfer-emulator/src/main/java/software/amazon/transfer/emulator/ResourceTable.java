@@ -0,0 +1,156 @@
+package software.amazon.transfer.emulator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.util.SdkAutoConstructList;
+import software.amazon.awssdk.core.util.SdkAutoConstructMap;
+import software.amazon.awssdk.services.transfer.model.ResourceNotFoundException;
+import software.amazon.awssdk.utils.builder.SdkBuilder;
+
+/**
+ * The resources of one type, each kept as the members it was created and updated with.
+ *
+ * <p>Members are copied by name between SDK objects, so a resource is created from its Create
+ * request, updated from its Update request and described by building its {@code Described} type
+ * from the same members. A member the Described type has under the same name, but with another
+ * type, is left out.
+ */
+final class ResourceTable {
+    private final String resourceType;
+    private final Map<String, Map<String, Object>> records = new LinkedHashMap<>();
+
+    /** @param resourceType the type named in errors, e.g. {@code Agreement} */
+    ResourceTable(String resourceType) {
+        this.resourceType = resourceType;
+    }
+
+    /**
+     * @param id the identifier of a resource
+     * @return the members of the resource
+     * @throws AwsServiceException a ResourceNotFoundException when there is no such resource
+     */
+    Map<String, Object> get(String id) {
+        Map<String, Object> record = records.get(id);
+        if (record == null) {
+            throw notFound(resourceType, id);
+        }
+        return record;
+    }
+
+    boolean contains(String id) {
+        return records.containsKey(id);
+    }
+
+    void put(String id, Map<String, Object> record) {
+        records.put(id, record);
+    }
+
+    /**
+     * @param id the identifier of a resource
+     * @return the members of the removed resource
+     * @throws AwsServiceException a ResourceNotFoundException when there is no such resource
+     */
+    Map<String, Object> remove(String id) {
+        Map<String, Object> record = get(id);
+        records.remove(id);
+        return record;
+    }
+
+    /** @return the members of every resource, oldest first */
+    List<Map<String, Object>> values() {
+        return new ArrayList<>(records.values());
+    }
+
+    static AwsServiceException notFound(String resourceType, String id) {
+        return ServiceEmulator.error(
+                ResourceNotFoundException.builder().resource(id).resourceType(resourceType),
+                "ResourceNotFoundException",
+                400,
+                "Unknown " + resourceType + ": " + id);
+    }
+
+    /**
+     * @param pojo an SDK request or model object
+     * @return the members set on it, by member name
+     */
+    static Map<String, Object> members(SdkPojo pojo) {
+        Map<String, Object> members = new LinkedHashMap<>();
+        for (SdkField<?> field : pojo.sdkFields()) {
+            Object value = field.getValueOrDefault(pojo);
+            if (isSet(value)) {
+                members.put(field.memberName(), value);
+            }
+        }
+        return members;
+    }
+
+    /**
+     * Applies the members set on an update. An empty string removes a member, the way the service
+     * treats an empty logging role or banner.
+     *
+     * @param record the members of the resource
+     * @param update the update request
+     * @param identifiers members that identify the resource and are not changed
+     */
+    static void update(Map<String, Object> record, SdkPojo update, Set<String> identifiers) {
+        members(update).forEach((name, value) -> {
+            if (identifiers.contains(name)) {
+                return;
+            }
+            if ("".equals(value)) {
+                record.remove(name);
+            } else {
+                record.put(name, value);
+            }
+        });
+    }
+
+    /**
+     * @param builder the builder of an SDK object
+     * @param members the members to set where the object has a member of that name and type
+     * @param <T> the SDK object
+     * @param <B> its builder
+     * @return the built object
+     */
+    static <T, B extends SdkPojo & SdkBuilder<B, T>> T build(B builder, Map<String, Object> members) {
+        set(builder, members);
+        return builder.build();
+    }
+
+    /**
+     * @param builder a builder holding an SDK object
+     * @param changes the object whose set members replace the ones in {@code builder}
+     * @param <T> the SDK object
+     * @param <B> its builder
+     * @return the merged object
+     */
+    static <T, B extends SdkPojo & SdkBuilder<B, T>> T merge(B builder, SdkPojo changes) {
+        set(builder, members(changes));
+        return builder.build();
+    }
+
+    static boolean isSet(Object value) {
+        return value != null && !(value instanceof SdkAutoConstructList) && !(value instanceof SdkAutoConstructMap);
+    }
+
+    private static void set(SdkPojo builder, Map<String, Object> members) {
+        for (SdkField<?> field : builder.sdkFields()) {
+            Object value = members.get(field.memberName());
+            if (value == null) {
+                continue;
+            }
+            try {
+                field.set(builder, value);
+            } catch (ClassCastException differentType) {
+                // e.g. IdentityProviderDetails of a web app create request and of the described web app
+            }
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package software.amazon.transfer.emulator;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.services.ec2.Ec2Client;
+import software.amazon.awssdk.services.transfer.TransferClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * An in-memory stand-in for the Transfer Family and EC2 APIs the handlers call, to run them end to
+ * end without a network.
+ *
+ * <p>Servers go through their states the way the service moves them: STARTING for a while after
+ * CreateServer and StartServer, STOPPING after StopServer, and START_FAILED when started before
+ * all of their EIPs have a private IP. VPC endpoints are {@code pending} for a while after they are
+ * created or modified, and an EIP gets its private IP a while after it is attached. Every call
+ * takes the configured latency on the emulator's {@link EmulatorClock}, can be throttled, and is
+ * counted in {@link #calls()}.
+ *
+ * <p>With a {@link VirtualClock} a create that takes minutes in the service runs in milliseconds,
+ * and the callback delays the handlers ask for are the only thing that moves time between
+ * invocations, see {@link #runUntilDone}.
+ *
+ * <pre>{@code
+ * ServiceEmulator emulator = ServiceEmulator.builder()
+ *         .clock(new VirtualClock())
+ *         .latency(Duration.ofMillis(80), Duration.ofMillis(40))
+ *         .throttle("DescribeServer", 5, 10)
+ *         .build();
+ * }</pre>
+ */
+public final class ServiceEmulator {
+    /** The region of every emulated resource. */
+    public static final String REGION = "us-east-1";
+
+    /** The account of every emulated resource. */
+    public static final String ACCOUNT_ID = "123456789012";
+
+    /** Throttles every operation without a limit of its own. */
+    public static final String ALL_OPERATIONS = "*";
+
+    private final EmulatorClock clock;
+    private final Duration serverCreateTime;
+    private final Duration serverStartTime;
+    private final Duration serverStopTime;
+    private final Duration vpcEndpointTime;
+    private final Duration privateIpTime;
+    private final long baseLatencyMillis;
+    private final long latencyJitterMillis;
+    private final Random random;
+    private final Map<String, TokenBucket> throttles;
+    private final int retryAfterSeconds;
+    private final int maxInvocations;
+    private final ApiCalls calls = new ApiCalls();
+    private final AtomicLong ids = new AtomicLong();
+    private final AtomicLong settledMillis = new AtomicLong(Long.MIN_VALUE);
+    private final EmulatedEc2Client ec2Client;
+    private final EmulatedTransferClient transferClient;
+
+    private ServiceEmulator(Builder builder) {
+        this.clock = builder.clock;
+        this.serverCreateTime = builder.serverCreateTime;
+        this.serverStartTime = builder.serverStartTime;
+        this.serverStopTime = builder.serverStopTime;
+        this.vpcEndpointTime = builder.vpcEndpointTime;
+        this.privateIpTime = builder.privateIpTime;
+        this.baseLatencyMillis = builder.baseLatency.toMillis();
+        this.latencyJitterMillis = builder.latencyJitter.toMillis();
+        this.random = new Random(builder.seed);
+        this.throttles = new HashMap<>(builder.throttles);
+        this.retryAfterSeconds = builder.retryAfterSeconds;
+        this.maxInvocations = builder.maxInvocations;
+        this.ec2Client = new EmulatedEc2Client(this);
+        this.transferClient = new EmulatedTransferClient(this, ec2Client);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** @return the Transfer Family client of the emulator; closing it does nothing */
+    public TransferClient transferClient() {
+        return transferClient;
+    }
+
+    /** @return the EC2 client of the emulator; closing it does nothing */
+    public Ec2Client ec2Client() {
+        return ec2Client;
+    }
+
+    /** @return the calls made to the emulator so far */
+    public ApiCalls calls() {
+        return calls;
+    }
+
+    public EmulatorClock clock() {
+        return clock;
+    }
+
+    /**
+     * Wraps an emulated client the way {@code AmazonWebServicesClientProxy.newProxy} wraps a real
+     * one, for the protected {@code handleRequest} that takes the proxy clients.
+     *
+     * @param proxy the proxy of the handler invocation
+     * @param client {@link #transferClient()} or {@link #ec2Client()}
+     * @param <T> the SDK client type
+     * @return the proxy client
+     */
+    public static <T> ProxyClient<T> proxyClient(AmazonWebServicesClientProxy proxy, T client) {
+        return new ProxyClient<T>() {
+            @Override
+            public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+                    RequestT request, Function<RequestT, ResponseT> requestFunction) {
+                return proxy.injectCredentialsAndInvokeV2(request, requestFunction);
+            }
+
+            @Override
+            public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+                    CompletableFuture<ResponseT> injectCredentialsAndInvokeV2Async(
+                            RequestT request, Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public <
+                            RequestT extends AwsRequest,
+                            ResponseT extends AwsResponse,
+                            IterableT extends SdkIterable<ResponseT>>
+                    IterableT injectCredentialsAndInvokeIterableV2(
+                            RequestT request, Function<RequestT, IterableT> requestFunction) {
+                return proxy.injectCredentialsAndInvokeIterableV2(request, requestFunction);
+            }
+
+            @Override
+            public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+                    ResponseInputStream<ResponseT> injectCredentialsAndInvokeV2InputStream(
+                            RequestT request, Function<RequestT, ResponseInputStream<ResponseT>> requestFunction) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+                    ResponseBytes<ResponseT> injectCredentialsAndInvokeV2Bytes(
+                            RequestT request, Function<RequestT, ResponseBytes<ResponseT>> requestFunction) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public T client() {
+                return client;
+            }
+        };
+    }
+
+    /**
+     * Invokes a handler the way CloudFormation does: for as long as it is in progress, it is
+     * invoked again with the callback context it returned, after the callback delay it asked for
+     * has passed on the emulator's clock.
+     *
+     * @param context the callback context of the first invocation
+     * @param invocation invokes the handler with a callback context
+     * @param <M> the resource model type
+     * @param <C> the callback context type
+     * @return the last event, with how many invocations and how much emulated time it took
+     * @throws IllegalStateException when the handler is still in progress after the maximum
+     *     number of invocations
+     */
+    public <M, C> HandlerRun<M, C> runUntilDone(C context, Function<C, ProgressEvent<M, C>> invocation) {
+        long start = clock.millis();
+        C callbackContext = context;
+        for (int invocations = 1; invocations <= maxInvocations; invocations++) {
+            ProgressEvent<M, C> event = invocation.apply(callbackContext);
+            if (event.getStatus() != OperationStatus.IN_PROGRESS) {
+                return new HandlerRun<>(event, invocations, Duration.ofMillis(clock.millis() - start));
+            }
+            if (event.getCallbackContext() != null) {
+                callbackContext = event.getCallbackContext();
+            }
+            clock.sleep(Duration.ofSeconds(event.getCallbackDelaySeconds()));
+        }
+        throw new IllegalStateException("Handler still in progress after " + maxInvocations + " invocations");
+    }
+
+    /**
+     * Makes one call: waits out its latency, throttles it if its bucket is empty, and runs it
+     * against the emulated state otherwise.
+     *
+     * @param operation the API operation, e.g. {@code DescribeServer}
+     * @param action runs the call
+     * @param throttle builds the throttling error of the service
+     * @param <T> the response type
+     * @return the response
+     */
+    <T> T call(String operation, Supplier<T> action, Supplier<? extends AwsServiceException> throttle) {
+        long latency = latencyMillis();
+        clock.sleep(Duration.ofMillis(latency));
+        if (!takeToken(operation)) {
+            calls.throttled(operation, latency);
+            throw throttle.get();
+        }
+        try {
+            T response;
+            synchronized (this) {
+                response = action.get();
+            }
+            calls.succeeded(operation, latency);
+            return response;
+        } catch (AwsServiceException e) {
+            calls.failed(operation, latency);
+            throw e;
+        }
+    }
+
+    /**
+     * @return when the last change made so far settles: a server is done starting or stopping, a VPC
+     *     endpoint is available or an EIP has its private IP, in milliseconds since the epoch; {@code
+     *     Long.MIN_VALUE} when nothing changed
+     */
+    public long settledMillis() {
+        return settledMillis.get();
+    }
+
+    /**
+     * Records a change that takes {@code duration} from now, see {@link #settledMillis}.
+     *
+     * @return the time the change settles, in milliseconds since the epoch
+     */
+    long settlesAt(Duration duration) {
+        long at = clock.millis() + duration.toMillis();
+        settledMillis.accumulateAndGet(at, Math::max);
+        return at;
+    }
+
+    /** @return the milliseconds since the epoch on the emulator's clock */
+    long now() {
+        return clock.millis();
+    }
+
+    Duration serverCreateTime() {
+        return serverCreateTime;
+    }
+
+    Duration serverStartTime() {
+        return serverStartTime;
+    }
+
+    Duration serverStopTime() {
+        return serverStopTime;
+    }
+
+    Duration vpcEndpointTime() {
+        return vpcEndpointTime;
+    }
+
+    Duration privateIpTime() {
+        return privateIpTime;
+    }
+
+    int retryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * @param prefix the prefix of the identifier, e.g. {@code s-}
+     * @return an identifier unique within the emulator
+     */
+    String newId(String prefix) {
+        return String.format("%s%017x", prefix, ids.incrementAndGet());
+    }
+
+    /** @return the ARN of {@code resource}, e.g. {@code server/s-01234567890abcdef} */
+    static String arn(String service, String resource) {
+        return String.format("arn:aws:%s:%s:%s:%s", service, REGION, ACCOUNT_ID, resource);
+    }
+
+    /**
+     * Fills in an SDK exception the way the SDK does for an error response.
+     *
+     * @param builder the builder of the modeled exception
+     * @param errorCode the AWS error code
+     * @param statusCode the HTTP status code
+     * @param message the error message
+     * @return the exception
+     */
+    static AwsServiceException error(
+            AwsServiceException.Builder builder, String errorCode, int statusCode, String message) {
+        return builder.awsErrorDetails(AwsErrorDetails.builder()
+                        .errorCode(errorCode)
+                        .errorMessage(message)
+                        .sdkHttpResponse(
+                                SdkHttpResponse.builder().statusCode(statusCode).build())
+                        .build())
+                .statusCode(statusCode)
+                .message(message)
+                .build();
+    }
+
+    private synchronized long latencyMillis() {
+        return baseLatencyMillis + (latencyJitterMillis > 0 ? (long) (random.nextDouble() * latencyJitterMillis) : 0);
+    }
+
+    private boolean takeToken(String operation) {
+        TokenBucket bucket = throttles.getOrDefault(operation, throttles.get(ALL_OPERATIONS));
+        return bucket == null || bucket.take(clock.millis());
+    }
+
+    public static final class Builder {
+        private EmulatorClock clock = EmulatorClock.system();
+        private Duration serverCreateTime = Duration.ofSeconds(60);
+        private Duration serverStartTime = Duration.ofSeconds(30);
+        private Duration serverStopTime = Duration.ofSeconds(20);
+        private Duration vpcEndpointTime = Duration.ofSeconds(90);
+        private Duration privateIpTime = Duration.ofSeconds(30);
+        private Duration baseLatency = Duration.ZERO;
+        private Duration latencyJitter = Duration.ZERO;
+        private long seed = 42;
+        private final Map<String, TokenBucket> throttles = new HashMap<>();
+        private int retryAfterSeconds = 0;
+        private int maxInvocations = 1000;
+
+        private Builder() {}
+
+        /** @param clock the time of the emulated services, the wall clock by default */
+        public Builder clock(EmulatorClock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /** @param duration how long a new server is STARTING, a minute by default */
+        public Builder serverCreateTime(Duration duration) {
+            this.serverCreateTime = duration;
+            return this;
+        }
+
+        /** @param duration how long a started server is STARTING, 30 seconds by default */
+        public Builder serverStartTime(Duration duration) {
+            this.serverStartTime = duration;
+            return this;
+        }
+
+        /** @param duration how long a stopped server is STOPPING, 20 seconds by default */
+        public Builder serverStopTime(Duration duration) {
+            this.serverStopTime = duration;
+            return this;
+        }
+
+        /** @param duration how long a new or modified VPC endpoint is pending, 90 seconds by default */
+        public Builder vpcEndpointTime(Duration duration) {
+            this.vpcEndpointTime = duration;
+            return this;
+        }
+
+        /** @param duration how long an attached EIP waits for its private IP, 30 seconds by default */
+        public Builder privateIpTime(Duration duration) {
+            this.privateIpTime = duration;
+            return this;
+        }
+
+        /**
+         * @param base the least time a call takes
+         * @param jitter the most a call takes on top of {@code base}, uniformly distributed
+         */
+        public Builder latency(Duration base, Duration jitter) {
+            this.baseLatency = base;
+            this.latencyJitter = jitter;
+            return this;
+        }
+
+        /** @param seed seeds the latency jitter, so runs are repeatable */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Throttles an operation the way the service does, with a token bucket.
+         *
+         * @param operation the API operation, e.g. {@code DescribeServer}, or {@link #ALL_OPERATIONS}
+         * @param callsPerSecond the sustained rate
+         * @param burst the calls allowed at once after a quiet period
+         */
+        public Builder throttle(String operation, double callsPerSecond, int burst) {
+            if (!(callsPerSecond > 0) || burst < 1) {
+                throw new IllegalArgumentException("callsPerSecond and burst must be positive");
+            }
+            throttles.put(operation, new TokenBucket(callsPerSecond, burst));
+            return this;
+        }
+
+        /** @param seconds the {@code RetryAfterSeconds} of Transfer throttling errors, none by default */
+        public Builder retryAfterSeconds(int seconds) {
+            this.retryAfterSeconds = seconds;
+            return this;
+        }
+
+        /** @param maxInvocations how often {@link #runUntilDone} invokes a handler at most */
+        public Builder maxInvocations(int maxInvocations) {
+            this.maxInvocations = maxInvocations;
+            return this;
+        }
+
+        public ServiceEmulator build() {
+            return new ServiceEmulator(this);
+        }
+    }
+
+    private static final class TokenBucket {
+        private final double ratePerMilli;
+        private final double burst;
+        private double tokens;
+        private long refilledAt = Long.MIN_VALUE;
+
+        private TokenBucket(double callsPerSecond, double burst) {
+            this.ratePerMilli = callsPerSecond / 1000;
+            this.burst = burst;
+        }
+
+        synchronized boolean take(long now) {
+            if (refilledAt == Long.MIN_VALUE) {
+                tokens = burst;
+                refilledAt = now;
+            } else if (now > refilledAt) {
+                tokens = Math.min(burst, tokens + (now - refilledAt) * ratePerMilli);
+                refilledAt = now;
+            }
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+    }
+}
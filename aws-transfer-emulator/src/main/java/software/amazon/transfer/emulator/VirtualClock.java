@@ -0,0 +1,45 @@
+package software.amazon.transfer.emulator;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A clock that only moves when it is slept on or advanced, so a run takes no wall-clock time and
+ * gives the same result every time.
+ *
+ * <p>Every thread shares the one time: with several threads sleeping at once, time passes faster
+ * than any of them waited. Concurrent load runs use {@link EmulatorClock#system(double)} instead.
+ */
+public final class VirtualClock implements EmulatorClock {
+    private final AtomicLong millis;
+
+    public VirtualClock() {
+        this(Instant.parse("2024-01-01T00:00:00Z"));
+    }
+
+    public VirtualClock(Instant start) {
+        this.millis = new AtomicLong(start.toEpochMilli());
+    }
+
+    @Override
+    public long millis() {
+        return millis.get();
+    }
+
+    @Override
+    public void sleep(Duration duration) {
+        advance(duration);
+    }
+
+    /**
+     * @param duration how far to move the clock
+     * @return the new time in milliseconds since the epoch
+     */
+    public long advance(Duration duration) {
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("time does not go back");
+        }
+        return millis.addAndGet(duration.toMillis());
+    }
+}
@@ -0,0 +1,581 @@
+package software.amazon.transfer.emulator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.services.ec2.Ec2Client;
+import software.amazon.awssdk.services.ec2.model.Address;
+import software.amazon.awssdk.services.ec2.model.DescribeAddressesRequest;
+import software.amazon.awssdk.services.ec2.model.DescribeVpcEndpointsRequest;
+import software.amazon.awssdk.services.ec2.model.Ec2Exception;
+import software.amazon.awssdk.services.ec2.model.Filter;
+import software.amazon.awssdk.services.ec2.model.ModifyVpcEndpointRequest;
+import software.amazon.awssdk.services.ec2.model.SecurityGroupIdentifier;
+import software.amazon.awssdk.services.ec2.model.VpcEndpoint;
+import software.amazon.awssdk.services.transfer.TransferClient;
+import software.amazon.awssdk.services.transfer.model.ConflictException;
+import software.amazon.awssdk.services.transfer.model.CreateServerRequest;
+import software.amazon.awssdk.services.transfer.model.DescribedCertificate;
+import software.amazon.awssdk.services.transfer.model.DescribedServer;
+import software.amazon.awssdk.services.transfer.model.DescribedUser;
+import software.amazon.awssdk.services.transfer.model.EndpointDetails;
+import software.amazon.awssdk.services.transfer.model.EndpointType;
+import software.amazon.awssdk.services.transfer.model.InvalidNextTokenException;
+import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
+import software.amazon.awssdk.services.transfer.model.ListCertificatesResponse;
+import software.amazon.awssdk.services.transfer.model.ListServersRequest;
+import software.amazon.awssdk.services.transfer.model.ListServersResponse;
+import software.amazon.awssdk.services.transfer.model.ProfileType;
+import software.amazon.awssdk.services.transfer.model.ResourceExistsException;
+import software.amazon.awssdk.services.transfer.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.transfer.model.State;
+import software.amazon.awssdk.services.transfer.model.Tag;
+import software.amazon.awssdk.services.transfer.model.ThrottlingException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+public class ServiceEmulatorTest {
+    private static final Tag TAG = Tag.builder().key("team").value("transfer").build();
+
+    private final VirtualClock clock = new VirtualClock();
+    private final ServiceEmulator emulator =
+            ServiceEmulator.builder().clock(clock).retryAfterSeconds(2).build();
+    private final TransferClient transfer = emulator.transferClient();
+    private final Ec2Client ec2 = emulator.ec2Client();
+
+    @Test
+    public void publicServerStartsAndStopsOverTime() {
+        String serverId = transfer.createServer(r -> r.tags(TAG)).serverId();
+
+        DescribedServer created = describe(serverId);
+        assertThat(created.state()).isEqualTo(State.STARTING);
+        assertThat(created.endpointType()).isEqualTo(EndpointType.PUBLIC);
+        assertThat(created.arn()).isEqualTo(ServiceEmulator.arn("transfer", "server/" + serverId));
+        assertThat(created.tags()).containsExactly(TAG);
+        assertThatThrownBy(() -> transfer.stopServer(r -> r.serverId(serverId)))
+                .isInstanceOf(ConflictException.class);
+        assertThatThrownBy(() -> transfer.updateServer(r -> r.serverId(serverId).loggingRole("role")))
+                .isInstanceOf(ConflictException.class);
+
+        clock.advance(Duration.ofSeconds(60));
+        assertThat(describe(serverId).state()).isEqualTo(State.ONLINE);
+        transfer.startServer(r -> r.serverId(serverId));
+        assertThat(describe(serverId).state()).isEqualTo(State.ONLINE);
+
+        transfer.stopServer(r -> r.serverId(serverId));
+        assertThat(describe(serverId).state()).isEqualTo(State.STOPPING);
+        assertThatThrownBy(() -> transfer.startServer(r -> r.serverId(serverId)))
+                .isInstanceOf(ConflictException.class);
+        clock.advance(Duration.ofSeconds(20));
+        transfer.stopServer(r -> r.serverId(serverId));
+        assertThat(describe(serverId).state()).isEqualTo(State.OFFLINE);
+
+        transfer.startServer(r -> r.serverId(serverId));
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(describe(serverId).state()).isEqualTo(State.ONLINE);
+
+        transfer.deleteServer(r -> r.serverId(serverId));
+        assertThatThrownBy(() -> describe(serverId)).isInstanceOfSatisfying(ResourceNotFoundException.class, e -> {
+            assertThat(e.awsErrorDetails().errorCode()).isEqualTo("ResourceNotFoundException");
+            assertThat(e.statusCode()).isEqualTo(400);
+        });
+        assertThat(emulator.calls().failed("DescribeServer")).isEqualTo(1);
+    }
+
+    @Test
+    public void serverUpdateKeepsUnchangedPropertiesAndRemovesEmptyOnes() {
+        String serverId = transfer.createServer(r -> r.loggingRole("role").preAuthenticationLoginBanner("hello"))
+                .serverId();
+        clock.advance(Duration.ofSeconds(60));
+
+        transfer.updateServer(r -> r.serverId(serverId).loggingRole("").securityPolicyName("policy"));
+
+        DescribedServer server = describe(serverId);
+        assertThat(server.loggingRole()).isNull();
+        assertThat(server.preAuthenticationLoginBanner()).isEqualTo("hello");
+        assertThat(server.securityPolicyName()).isEqualTo("policy");
+    }
+
+    @Test
+    public void vpcEndpointIsPendingUntilAvailable() {
+        String serverId = createVpcServer();
+
+        DescribedServer server = describe(serverId);
+        String vpcEndpointId = server.endpointDetails().vpcEndpointId();
+        assertThat(server.endpointDetails().subnetIds()).containsExactly("subnet-1", "subnet-2");
+        assertThat(server.endpointDetails().securityGroupIds()).isEmpty();
+        assertThat(vpcEndpoint(vpcEndpointId).stateAsString()).isEqualTo("pending");
+        assertThat(vpcEndpoint(vpcEndpointId).groups())
+                .extracting(SecurityGroupIdentifier::groupId)
+                .containsExactly("sg-1");
+
+        clock.advance(Duration.ofSeconds(90));
+        assertThat(vpcEndpoint(vpcEndpointId).stateAsString()).isEqualTo("available");
+
+        ec2.modifyVpcEndpoint(ModifyVpcEndpointRequest.builder()
+                .vpcEndpointId(vpcEndpointId)
+                .addSecurityGroupIds("sg-2")
+                .removeSecurityGroupIds("sg-1")
+                .build());
+        VpcEndpoint modified = vpcEndpoint(vpcEndpointId);
+        assertThat(modified.stateAsString()).isEqualTo("pending");
+        assertThat(modified.groups()).extracting(SecurityGroupIdentifier::groupId).containsExactly("sg-2");
+
+        transfer.deleteServer(r -> r.serverId(serverId));
+        assertThatThrownBy(() -> vpcEndpoint(vpcEndpointId)).isInstanceOfSatisfying(Ec2Exception.class, e ->
+                assertThat(e.awsErrorDetails().errorCode()).isEqualTo("InvalidVpcEndpointId.NotFound"));
+    }
+
+    @Test
+    public void vpcEndpointIdFilterLeavesOutMissingEndpoints() {
+        String vpcEndpointId = describe(createVpcServer()).endpointDetails().vpcEndpointId();
+        createVpcServer();
+
+        List<VpcEndpoint> described = ec2.describeVpcEndpoints(DescribeVpcEndpointsRequest.builder()
+                        .filters(Filter.builder()
+                                .name("vpc-endpoint-id")
+                                .values(vpcEndpointId, "vpce-deleted")
+                                .build())
+                        .build())
+                .vpcEndpoints();
+
+        assertThat(described).extracting(VpcEndpoint::vpcEndpointId).containsExactly(vpcEndpointId);
+        assertThatThrownBy(() -> vpcEndpoint("vpce-deleted")).isInstanceOf(Ec2Exception.class);
+    }
+
+    @Test
+    public void addressAllocationIdsOnlyChangeWhileOffline() {
+        assertThatThrownBy(() -> transfer.createServer(vpc(List.of("eipalloc-1"))))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> transfer.createServer(r -> r.endpointType(EndpointType.VPC)))
+                .isInstanceOf(InvalidRequestException.class);
+
+        String serverId = createVpcServer();
+        clock.advance(Duration.ofSeconds(60));
+        assertThatThrownBy(() -> updateAddressAllocationIds(serverId, List.of("eipalloc-1", "eipalloc-2")))
+                .isInstanceOf(InvalidRequestException.class);
+
+        transfer.stopServer(r -> r.serverId(serverId));
+        clock.advance(Duration.ofSeconds(20));
+        updateAddressAllocationIds(serverId, List.of("eipalloc-1", "eipalloc-2"));
+        assertThat(privateIps("eipalloc-1", "eipalloc-2")).containsOnlyNulls();
+
+        // Started too early the server fails to come up.
+        transfer.startServer(r -> r.serverId(serverId));
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(describe(serverId).state()).isEqualTo(State.START_FAILED);
+        assertThat(privateIps("eipalloc-1", "eipalloc-2")).doesNotContainNull();
+
+        transfer.startServer(r -> r.serverId(serverId));
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(describe(serverId).state()).isEqualTo(State.ONLINE);
+        assertThat(describe(serverId).endpointDetails().addressAllocationIds())
+                .containsExactly("eipalloc-1", "eipalloc-2");
+
+        transfer.stopServer(r -> r.serverId(serverId));
+        clock.advance(Duration.ofSeconds(20));
+        updateAddressAllocationIds(serverId, List.of());
+        assertThat(privateIps("eipalloc-1")).containsOnlyNulls();
+    }
+
+    @Test
+    public void movingSubnetsMakesTheEndpointPendingAgain() {
+        String serverId = createVpcServer();
+        clock.advance(Duration.ofSeconds(90));
+        String vpcEndpointId = describe(serverId).endpointDetails().vpcEndpointId();
+
+        transfer.updateServer(r -> r.serverId(serverId)
+                .endpointDetails(EndpointDetails.builder().subnetIds("subnet-3").build()));
+
+        DescribedServer server = describe(serverId);
+        assertThat(server.endpointDetails().vpcEndpointId()).isEqualTo(vpcEndpointId);
+        assertThat(server.endpointDetails().vpcId()).isEqualTo("vpc-1");
+        assertThat(vpcEndpoint(vpcEndpointId).subnetIds()).containsExactly("subnet-3");
+        assertThat(vpcEndpoint(vpcEndpointId).stateAsString()).isEqualTo("pending");
+    }
+
+    @Test
+    public void settledMillisIsWhenTheLastChangeEnds() {
+        assertThat(emulator.settledMillis()).isEqualTo(Long.MIN_VALUE);
+        long start = clock.millis();
+
+        String serverId = createVpcServer();
+
+        // ONLINE after a minute, the endpoint available after 90 seconds.
+        assertThat(emulator.settledMillis()).isEqualTo(start + 90_000);
+
+        clock.advance(Duration.ofSeconds(100));
+        transfer.updateServer(r -> r.serverId(serverId)
+                .endpointDetails(EndpointDetails.builder().subnetIds("subnet-3").build()));
+
+        assertThat(emulator.settledMillis()).isEqualTo(start + 190_000);
+    }
+
+    @Test
+    public void endpointTypeChangesCreateAndDeleteTheEndpoint() {
+        String serverId = transfer.createServer(r -> r.tags(TAG)).serverId();
+        clock.advance(Duration.ofSeconds(60));
+
+        transfer.updateServer(r -> r.serverId(serverId)
+                .endpointType(EndpointType.VPC)
+                .endpointDetails(EndpointDetails.builder()
+                        .vpcId("vpc-1")
+                        .subnetIds("subnet-1")
+                        .build()));
+        String vpcEndpointId = describe(serverId).endpointDetails().vpcEndpointId();
+        assertThat(vpcEndpoint(vpcEndpointId).vpcId()).isEqualTo("vpc-1");
+
+        transfer.updateServer(r -> r.serverId(serverId).endpointType(EndpointType.PUBLIC));
+        assertThat(describe(serverId).endpointDetails()).isNull();
+        assertThatThrownBy(() -> vpcEndpoint(vpcEndpointId)).isInstanceOf(Ec2Exception.class);
+    }
+
+    @Test
+    public void usersBelongToTheirServer() {
+        String serverId = transfer.createServer(r -> {}).serverId();
+        assertThatThrownBy(() -> transfer.createUser(r -> r.serverId("s-unknown").userName("alice")))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        transfer.createUser(r -> r.serverId(serverId)
+                .userName("alice")
+                .role("role")
+                .sshPublicKeyBody("ssh-rsa AAAA")
+                .tags(TAG));
+        transfer.createUser(r -> r.serverId(serverId).userName("bob").role("role"));
+        assertThatThrownBy(() -> transfer.createUser(r -> r.serverId(serverId).userName("bob")))
+                .isInstanceOf(ResourceExistsException.class);
+
+        String keyId = transfer.importSshPublicKey(
+                        r -> r.serverId(serverId).userName("alice").sshPublicKeyBody("ssh-ed25519 BBBB"))
+                .sshPublicKeyId();
+        assertThatThrownBy(() -> transfer.importSshPublicKey(
+                        r -> r.serverId(serverId).userName("alice").sshPublicKeyBody("ssh-rsa AAAA")))
+                .isInstanceOf(ResourceExistsException.class);
+        transfer.updateUser(r -> r.serverId(serverId).userName("alice").homeDirectory("/home"));
+
+        DescribedUser alice = transfer.describeUser(r -> r.serverId(serverId).userName("alice"))
+                .user();
+        assertThat(alice.arn()).isEqualTo(ServiceEmulator.arn("transfer", "user/" + serverId + "/alice"));
+        assertThat(alice.homeDirectory()).isEqualTo("/home");
+        assertThat(alice.tags()).containsExactly(TAG);
+        assertThat(alice.sshPublicKeys()).hasSize(2);
+        assertThat(describe(serverId).userCount()).isEqualTo(2);
+        assertThat(transfer.listUsers(r -> r.serverId(serverId)).users())
+                .extracting(u -> u.userName() + ":" + u.sshPublicKeyCount())
+                .containsExactly("alice:2", "bob:0");
+
+        transfer.deleteSshPublicKey(r -> r.serverId(serverId).userName("alice").sshPublicKeyId(keyId));
+        assertThatThrownBy(() -> transfer.deleteSshPublicKey(
+                        r -> r.serverId(serverId).userName("alice").sshPublicKeyId(keyId)))
+                .isInstanceOf(ResourceNotFoundException.class);
+        transfer.deleteUser(r -> r.serverId(serverId).userName("bob"));
+        assertThatThrownBy(() -> transfer.describeUser(r -> r.serverId(serverId).userName("bob")))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        transfer.deleteServer(r -> r.serverId(serverId));
+        assertThatThrownBy(() -> transfer.describeUser(r -> r.serverId(serverId).userName("alice")))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    public void tagsAreKeptByArn() {
+        String serverId = transfer.createServer(r -> r.tags(TAG)).serverId();
+        String arn = describe(serverId).arn();
+
+        transfer.tagResource(r -> r.arn(arn).tags(Tag.builder().key("env").value("test").build()));
+        transfer.untagResource(r -> r.arn(arn).tagKeys("team"));
+
+        assertThat(transfer.listTagsForResource(r -> r.arn(arn)).tags())
+                .containsExactly(Tag.builder().key("env").value("test").build());
+        assertThat(describe(serverId).tags()).extracting(Tag::key).containsExactly("env");
+
+        transfer.deleteServer(r -> r.serverId(serverId));
+        assertThatThrownBy(() -> transfer.tagResource(r -> r.arn(arn).tags(TAG)))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    public void agreementsAreScopedToTheirServer() {
+        String serverId = transfer.createServer(r -> {}).serverId();
+        assertThatThrownBy(() -> transfer.createAgreement(r -> r.serverId("s-unknown")))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        String agreementId = transfer.createAgreement(
+                        r -> r.serverId(serverId).localProfileId("p-1").description("first").tags(TAG))
+                .agreementId();
+        transfer.updateAgreement(r -> r.serverId(serverId).agreementId(agreementId).description("second"));
+
+        assertThat(transfer.describeAgreement(r -> r.serverId(serverId).agreementId(agreementId))
+                        .agreement())
+                .satisfies(a -> {
+                    assertThat(a.description()).isEqualTo("second");
+                    assertThat(a.localProfileId()).isEqualTo("p-1");
+                    assertThat(a.tags()).containsExactly(TAG);
+                });
+        assertThat(transfer.listAgreements(r -> r.serverId(serverId)).agreements())
+                .extracting(a -> a.agreementId())
+                .containsExactly(agreementId);
+        assertThatThrownBy(() -> transfer.describeAgreement(r -> r.serverId("s-other").agreementId(agreementId)))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        transfer.deleteAgreement(r -> r.serverId(serverId).agreementId(agreementId));
+        assertThat(transfer.listAgreements(r -> r.serverId(serverId)).agreements())
+                .isEmpty();
+    }
+
+    @Test
+    public void certificatesAreImportedActive() {
+        String certificateId = transfer.importCertificate(
+                        r -> r.usage("SIGNING").certificate("cert").privateKey("key"))
+                .certificateId();
+        transfer.updateCertificate(r -> r.certificateId(certificateId).description("signing"));
+
+        DescribedCertificate certificate = transfer.describeCertificate(r -> r.certificateId(certificateId))
+                .certificate();
+        assertThat(certificate.statusAsString()).isEqualTo("ACTIVE");
+        assertThat(certificate.typeAsString()).isEqualTo("CERTIFICATE_WITH_PRIVATE_KEY");
+        assertThat(certificate.usageAsString()).isEqualTo("SIGNING");
+        assertThat(certificate.description()).isEqualTo("signing");
+
+        transfer.deleteCertificate(r -> r.certificateId(certificateId));
+        assertThatThrownBy(() -> transfer.deleteCertificate(r -> r.certificateId(certificateId)))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    public void listsArePaged() {
+        for (int i = 0; i < 5; i++) {
+            transfer.importCertificate(r -> r.usage("SIGNING").certificate("cert"));
+        }
+
+        ListCertificatesResponse first = transfer.listCertificates(r -> r.maxResults(2));
+        ListCertificatesResponse last = transfer.listCertificates(r -> r.maxResults(4).nextToken(first.nextToken()));
+
+        assertThat(first.certificates()).hasSize(2);
+        assertThat(last.certificates()).hasSize(3);
+        assertThat(last.nextToken()).isNull();
+        assertThatThrownBy(() -> transfer.listCertificates(r -> r.nextToken("token")))
+                .isInstanceOf(InvalidNextTokenException.class);
+        assertThatThrownBy(() -> transfer.listCertificates(r -> r.nextToken("6")))
+                .isInstanceOf(InvalidNextTokenException.class);
+    }
+
+    @Test
+    public void connectorsProfilesAndWorkflows() {
+        String connectorId = transfer.createConnector(r -> r.url("sftp://example.com")).connectorId();
+        transfer.updateConnector(r -> r.connectorId(connectorId).url("sftp://example.org"));
+        assertThat(transfer.describeConnector(r -> r.connectorId(connectorId)).connector().url())
+                .isEqualTo("sftp://example.org");
+        assertThat(transfer.listConnectors(r -> {}).connectors()).hasSize(1);
+        transfer.deleteConnector(r -> r.connectorId(connectorId));
+
+        String local = transfer.createProfile(r -> r.as2Id("local").profileType(ProfileType.LOCAL))
+                .profileId();
+        transfer.createProfile(r -> r.as2Id("partner").profileType(ProfileType.PARTNER));
+        transfer.updateProfile(r -> r.profileId(local).certificateIds("cert-1"));
+        assertThat(transfer.describeProfile(r -> r.profileId(local)).profile().certificateIds())
+                .containsExactly("cert-1");
+        assertThat(transfer.listProfiles(r -> r.profileType(ProfileType.PARTNER)).profiles())
+                .extracting(p -> p.as2Id())
+                .containsExactly("partner");
+        assertThat(transfer.listProfiles(r -> {}).profiles()).hasSize(2);
+        transfer.deleteProfile(r -> r.profileId(local));
+
+        String workflowId = transfer.createWorkflow(r -> r.description("copy")).workflowId();
+        assertThat(transfer.describeWorkflow(r -> r.workflowId(workflowId)).workflow().description())
+                .isEqualTo("copy");
+        assertThat(transfer.listWorkflows(r -> {}).workflows()).hasSize(1);
+        transfer.deleteWorkflow(r -> r.workflowId(workflowId));
+        assertThatThrownBy(() -> transfer.describeWorkflow(r -> r.workflowId(workflowId)))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    public void throttledCallsFailUntilTheBucketRefills() {
+        ServiceEmulator throttled = ServiceEmulator.builder()
+                .clock(clock)
+                .throttle("DescribeServer", 1, 2)
+                .throttle(ServiceEmulator.ALL_OPERATIONS, 100, 1)
+                .retryAfterSeconds(3)
+                .build();
+        TransferClient client = throttled.transferClient();
+        String serverId = client.createServer(r -> {}).serverId();
+
+        client.describeServer(r -> r.serverId(serverId));
+        client.describeServer(r -> r.serverId(serverId));
+        assertThatThrownBy(() -> client.describeServer(r -> r.serverId(serverId)))
+                .isInstanceOfSatisfying(ThrottlingException.class, e -> {
+                    assertThat(e.retryAfterSeconds()).isEqualTo("3");
+                    assertThat(e.isThrottlingException()).isTrue();
+                });
+        assertThatThrownBy(() -> client.listServers(r -> {})).isInstanceOf(ThrottlingException.class);
+        assertThatThrownBy(() -> throttled.ec2Client().describeAddresses(r -> {}))
+                .isInstanceOfSatisfying(Ec2Exception.class, e -> assertThat(e.isThrottlingException())
+                        .isTrue());
+
+        clock.advance(Duration.ofSeconds(1));
+        client.describeServer(r -> r.serverId(serverId));
+
+        assertThat(throttled.calls().count("DescribeServer")).isEqualTo(4);
+        assertThat(throttled.calls().throttled("DescribeServer")).isEqualTo(1);
+        assertThat(throttled.calls().totalThrottled()).isEqualTo(3);
+        assertThat(throttled.calls().total()).isEqualTo(7);
+        assertThat(throttled.calls().counts()).containsKeys("CreateServer", "DescribeAddresses", "ListServers");
+    }
+
+    @Test
+    public void callsTakeTheirLatencyOnTheClock() {
+        ServiceEmulator slow = ServiceEmulator.builder()
+                .clock(clock)
+                .latency(Duration.ofMillis(100), Duration.ofMillis(50))
+                .build();
+        long start = clock.millis();
+
+        ListServersResponse servers = slow.transferClient().listServers(r -> {});
+        slow.transferClient().listServers(r -> {});
+
+        assertThat(servers.servers()).isEmpty();
+        long elapsed = clock.millis() - start;
+        assertThat(elapsed).isBetween(200L, 300L);
+        assertThat(slow.calls().totalLatencyMillis()).isEqualTo(elapsed);
+        assertThat(slow.calls().toString()).isEqualTo("{ListServers=2}");
+
+        slow.calls().reset();
+        assertThat(slow.calls().total()).isZero();
+        assertThat(slow.calls().count("ListServers")).isZero();
+        assertThat(slow.calls().throttled("ListServers")).isZero();
+        assertThat(slow.calls().failed("ListServers")).isZero();
+    }
+
+    @Test
+    public void runUntilDoneWaitsOutCallbackDelays() {
+        HandlerRun<String, Integer> run = emulator.runUntilDone(0, attempt -> attempt < 3
+                ? ProgressEvent.defaultInProgressHandler(attempt + 1, 15, "model")
+                : ProgressEvent.defaultSuccessHandler("model"));
+
+        assertThat(run.getEvent().getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(run.getInvocations()).isEqualTo(4);
+        assertThat(run.getElapsed()).isEqualTo(Duration.ofSeconds(45));
+        assertThat(run.toString()).isEqualTo("SUCCESS after 4 invocations in PT45S");
+
+        HandlerRun<String, Integer> failed = emulator.runUntilDone(
+                0, attempt -> ProgressEvent.failed("model", attempt, HandlerErrorCode.NotFound, "gone"));
+        assertThat(failed.getEvent().getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(failed.getInvocations()).isEqualTo(1);
+    }
+
+    @Test
+    public void runUntilDoneGivesUp() {
+        ServiceEmulator impatient =
+                ServiceEmulator.builder().clock(clock).maxInvocations(3).build();
+
+        assertThatThrownBy(() -> impatient.<String, Integer>runUntilDone(
+                        null, attempt -> ProgressEvent.defaultInProgressHandler(null, 5, "model")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void proxyClientCallsThroughTheProxy() {
+        AmazonWebServicesClientProxy proxy = new AmazonWebServicesClientProxy(
+                new LoggerProxy(), new Credentials("accessKey", "secretKey", "token"), () -> 0L);
+        ProxyClient<TransferClient> client = ServiceEmulator.proxyClient(proxy, transfer);
+
+        assertThat(client.client()).isSameAs(transfer);
+        assertThat(client.injectCredentialsAndInvokeV2(
+                                ListServersRequest.builder().build(), client.client()::listServers)
+                        .servers())
+                .isEmpty();
+        assertThat(emulator.calls().count("ListServers")).isEqualTo(1);
+        assertThatThrownBy(() -> client.injectCredentialsAndInvokeV2Async(null, null))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> client.injectCredentialsAndInvokeV2InputStream(null, null))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> client.injectCredentialsAndInvokeV2Bytes(null, null))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void clientsAreNotClosedByTheHandlers() {
+        transfer.close();
+        ec2.close();
+
+        assertThat(transfer.serviceName()).isEqualTo("transfer");
+        assertThat(ec2.serviceName()).isEqualTo("ec2");
+        assertThat(transfer.listServers(r -> {}).servers()).isEmpty();
+        assertThatThrownBy(transfer::serviceClientConfiguration).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(ec2::serviceClientConfiguration).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void clocks() {
+        assertThatThrownBy(() -> clock.advance(Duration.ofSeconds(-1))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EmulatorClock.system(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ServiceEmulator.builder().throttle("ListServers", 0, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        EmulatorClock fast = EmulatorClock.system(1000);
+        long start = fast.millis();
+        long wallStart = System.nanoTime();
+        fast.sleep(Duration.ofSeconds(2));
+        assertThat(System.nanoTime() - wallStart).isLessThan(Duration.ofSeconds(1).toNanos());
+        assertThat(fast.millis() - start).isGreaterThanOrEqualTo(Duration.ofSeconds(2).toMillis());
+        assertThat(EmulatorClock.system().millis()).isPositive();
+    }
+
+    private DescribedServer describe(String serverId) {
+        return transfer.describeServer(r -> r.serverId(serverId)).server();
+    }
+
+    private String createVpcServer() {
+        return transfer.createServer(vpc(List.of())).serverId();
+    }
+
+    private static CreateServerRequest vpc(List<String> addressAllocationIds) {
+        return CreateServerRequest.builder()
+                .endpointType(EndpointType.VPC)
+                .endpointDetails(EndpointDetails.builder()
+                        .vpcId("vpc-1")
+                        .subnetIds("subnet-1", "subnet-2")
+                        .securityGroupIds("sg-1")
+                        .addressAllocationIds(addressAllocationIds)
+                        .build())
+                .build();
+    }
+
+    private void updateAddressAllocationIds(String serverId, List<String> addressAllocationIds) {
+        transfer.updateServer(r -> r.serverId(serverId)
+                .endpointDetails(EndpointDetails.builder()
+                        .addressAllocationIds(addressAllocationIds)
+                        .build()));
+    }
+
+    private VpcEndpoint vpcEndpoint(String vpcEndpointId) {
+        return ec2.describeVpcEndpoints(DescribeVpcEndpointsRequest.builder()
+                        .vpcEndpointIds(vpcEndpointId)
+                        .build())
+                .vpcEndpoints()
+                .get(0);
+    }
+
+    private List<String> privateIps(String... allocationIds) {
+        return ec2
+                .describeAddresses(DescribeAddressesRequest.builder()
+                        .allocationIds(allocationIds)
+                        .build())
+                .addresses()
+                .stream()
+                .map(Address::privateIpAddress)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,270 @@
+package software.amazon.transfer.commons;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Latency and outcome of the service calls of one handler invocation, logged in CloudWatch Embedded
+ * Metric Format (EMF) when the invocation ends.
+ *
+ * <p>While the invocation runs, the calls made through {@link #instrument} clients are aggregated
+ * per operation into a latency histogram and a count per {@link Outcome}. At the end one EMF
+ * document is logged per operation, with the dimensions {@code ResourceType} and {@code
+ * Operation}, and one for the invocation, with {@code ResourceType} and {@code Handler}: how long
+ * it took, how many calls it made, and whether it ended in a callback to poll a stabilizing
+ * resource. CloudWatch Logs extracts the metrics from the log lines, so the handler makes no extra
+ * call to publish them.
+ *
+ * <p>{@code Calls} counts every attempt the handler made. Retries the SDK makes inside one call are
+ * part of that call's latency.
+ */
+public final class CallMetrics {
+    public static final String NAMESPACE = "TransferFamily/ResourceHandlers";
+
+    // Upper bounds of the latency buckets, in milliseconds; the last bucket has none.
+    private static final long[] BUCKET_BOUNDS_MILLIS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** How a call ended, in the terms the handlers react to. */
+    public enum Outcome {
+        SUCCESS("Successes"),
+        THROTTLE("Throttles"),
+        RETRYABLE("RetryableErrors"),
+        FATAL("FatalErrors");
+
+        private final String metricName;
+
+        Outcome(String metricName) {
+            this.metricName = metricName;
+        }
+
+        /**
+         * @param e a failed call
+         * @return how {@link ServiceErrors} classifies {@code e}
+         */
+        public static Outcome of(Exception e) {
+            if (ServiceErrors.isThrottling(e)) {
+                return THROTTLE;
+            }
+            return ServiceErrors.isRetryable(e) ? RETRYABLE : FATAL;
+        }
+    }
+
+    private final String resourceType;
+    private final String handler;
+    private final LongSupplier clock;
+    private final long startNanos;
+    private final Map<String, Operation> operations = new TreeMap<>();
+
+    /**
+     * @param resourceType the CloudFormation type, e.g. {@code AWS::Transfer::Server}
+     * @param handler the handler, e.g. {@code CreateHandler}
+     * @param clock the current time in nanoseconds
+     */
+    public CallMetrics(String resourceType, String handler, LongSupplier clock) {
+        this.resourceType = resourceType;
+        this.handler = handler;
+        this.clock = clock;
+        this.startNanos = clock.getAsLong();
+    }
+
+    /**
+     * Starts the metrics of an invocation of {@code handler}.
+     *
+     * @param resourceType the CloudFormation type, e.g. {@code AWS::Transfer::Server}
+     * @param handler the handler being invoked
+     * @return the metrics of the invocation
+     */
+    public static CallMetrics start(String resourceType, Object handler) {
+        return new CallMetrics(resourceType, handler.getClass().getSimpleName(), System::nanoTime);
+    }
+
+    /**
+     * @param client the client the handler calls the service with
+     * @param <T> the SDK client type
+     * @return a client that records every call made through it
+     */
+    public <T> ProxyClient<T> instrument(ProxyClient<T> client) {
+        return client != null ? new InstrumentedProxyClient<>(client, this) : null;
+    }
+
+    /**
+     * Runs the invocation and logs its metrics once it returns or throws.
+     *
+     * @param invocation runs the handler
+     * @param logger the logger of the invocation
+     * @param <M> the resource model type
+     * @param <C> the callback context type
+     * @return the event of the invocation
+     */
+    public <M, C> ProgressEvent<M, C> measure(Supplier<ProgressEvent<M, C>> invocation, Logger logger) {
+        ProgressEvent<M, C> event = null;
+        try {
+            event = invocation.get();
+            return event;
+        } finally {
+            if (logger != null) {
+                documents(System.currentTimeMillis(), event).forEach(logger::log);
+            }
+        }
+    }
+
+    /**
+     * Makes one call and records its latency and outcome.
+     *
+     * @param request the SDK request, which names the operation
+     * @param call makes the call
+     * @param <R> the response type
+     * @return the response
+     */
+    <R> R time(AwsRequest request, Supplier<R> call) {
+        String operation = operationName(request);
+        long start = clock.getAsLong();
+        R response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            record(operation, clock.getAsLong() - start, Outcome.of(e));
+            throw e;
+        }
+        record(operation, clock.getAsLong() - start, Outcome.SUCCESS);
+        return response;
+    }
+
+    synchronized void record(String operation, long nanos, Outcome outcome) {
+        operations.computeIfAbsent(operation, o -> new Operation()).record(nanos, outcome);
+    }
+
+    /**
+     * @param timestampMillis the time of the documents
+     * @param event the event the invocation ended with, null when it threw
+     * @return the EMF documents of the invocation, one JSON object per line to log
+     */
+    synchronized List<String> documents(long timestampMillis, ProgressEvent<?, ?> event) {
+        List<String> documents = new ArrayList<>();
+        long calls = 0;
+        boolean anyFailed = false;
+        for (Map.Entry<String, Operation> entry : operations.entrySet()) {
+            Operation operation = entry.getValue();
+            calls += operation.count;
+            anyFailed |= operation.outcomes[Outcome.SUCCESS.ordinal()] < operation.count;
+
+            ObjectNode document = document(timestampMillis, "Operation", entry.getKey());
+            metric(document, "Latency", "Milliseconds", operation.latency());
+            count(document, "Calls", operation.count);
+            for (Outcome outcome : Outcome.values()) {
+                count(document, outcome.metricName, operation.outcomes[outcome.ordinal()]);
+            }
+            documents.add(document.toString());
+        }
+
+        boolean inProgress = event != null && event.getStatus() == OperationStatus.IN_PROGRESS;
+        ObjectNode document = document(timestampMillis, "Handler", handler);
+        document.put("Status", event != null ? String.valueOf(event.getStatus()) : "EXCEPTION");
+        if (event != null && event.getErrorCode() != null) {
+            document.put("ErrorCode", event.getErrorCode().name());
+        }
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(clock.getAsLong() - startNanos);
+        metric(document, "Duration", "Milliseconds", LongNode.valueOf(durationMillis));
+        count(document, "Calls", calls);
+        // A callback after a failed call is a retry, any other one polls a stabilizing resource.
+        count(document, "StabilizationPolls", inProgress && !anyFailed ? 1 : 0);
+        count(document, "Retries", inProgress && anyFailed ? 1 : 0);
+        documents.add(document.toString());
+        return documents;
+    }
+
+    /** @return {@code CreateUser} for a {@code CreateUserRequest} */
+    static String operationName(AwsRequest request) {
+        String name = request.getClass().getSimpleName();
+        return name.endsWith("Request") ? name.substring(0, name.length() - "Request".length()) : name;
+    }
+
+    private ObjectNode document(long timestampMillis, String dimension, String value) {
+        ObjectNode document = MAPPER.createObjectNode();
+        ObjectNode directive = document.putObject("_aws")
+                .put("Timestamp", timestampMillis)
+                .putArray("CloudWatchMetrics")
+                .addObject()
+                .put("Namespace", NAMESPACE);
+        directive.putArray("Dimensions").addArray().add("ResourceType").add(dimension);
+        directive.putArray("Metrics");
+        document.put("ResourceType", resourceType);
+        document.put(dimension, value);
+        return document;
+    }
+
+    private static void count(ObjectNode document, String name, long value) {
+        metric(document, name, "Count", LongNode.valueOf(value));
+    }
+
+    private static void metric(ObjectNode document, String name, String unit, JsonNode value) {
+        ArrayNode metrics = (ArrayNode) document.get("_aws").get("CloudWatchMetrics").get(0).get("Metrics");
+        metrics.addObject().put("Name", name).put("Unit", unit);
+        document.set(name, value);
+    }
+
+    /** The calls of one operation: a latency histogram and a count per outcome. */
+    private static final class Operation {
+        private final long[] buckets = new long[BUCKET_BOUNDS_MILLIS.length + 1];
+        private final long[] outcomes = new long[Outcome.values().length];
+        private long count;
+        private double sumMillis;
+        private double minMillis = Double.MAX_VALUE;
+        private double maxMillis;
+
+        private void record(long nanos, Outcome outcome) {
+            double millis = nanos / 1e6;
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MILLIS.length && millis > BUCKET_BOUNDS_MILLIS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket]++;
+            outcomes[outcome.ordinal()]++;
+            count++;
+            sumMillis += millis;
+            minMillis = Math.min(minMillis, millis);
+            maxMillis = Math.max(maxMillis, millis);
+        }
+
+        /**
+         * The histogram as an EMF value set: each bucket that has calls is one value, its upper
+         * bound, or the largest latency seen for the bucket that holds it.
+         */
+        private ObjectNode latency() {
+            ObjectNode latency = MAPPER.createObjectNode();
+            ArrayNode values = latency.putArray("Values");
+            ArrayNode counts = latency.putArray("Counts");
+            for (int bucket = 0; bucket < buckets.length; bucket++) {
+                if (buckets[bucket] > 0) {
+                    values.add(bucket < BUCKET_BOUNDS_MILLIS.length
+                            ? Math.min(BUCKET_BOUNDS_MILLIS[bucket], maxMillis)
+                            : maxMillis);
+                    counts.add(buckets[bucket]);
+                }
+            }
+            latency.put("Min", minMillis);
+            latency.put("Max", maxMillis);
+            latency.put("Count", count);
+            latency.put("Sum", sumMillis);
+            return latency;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package software.amazon.transfer.commons;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import software.amazon.awssdk.core.SdkClient;
+
+/**
+ * Warm-container holder of an SDK client.
+ *
+ * <p>Building an SDK client resolves the endpoint rules, the credentials chain and the interceptor
+ * stack, so the client is built on first use and then reused by every invocation served by the
+ * same container. A container only serves the region it runs in, which the SDK reads from the
+ * environment when the client is built. Credentials are not part of the client: the CloudFormation
+ * proxy injects the caller's credentials into each request, which makes the client safe to share.
+ *
+ * <p>The client handed out is the shared one, so handlers must not close it. It is only closed by
+ * {@link #shutdown()}.
+ *
+ * @param <T> the SDK client interface
+ */
+public final class ClientRegistry<T extends SdkClient> {
+    private final Supplier<T> factory;
+    private final AtomicLong built = new AtomicLong();
+    private final AtomicLong leased = new AtomicLong();
+    private final AtomicLong closed = new AtomicLong();
+    private volatile T client;
+
+    public ClientRegistry(Supplier<T> factory) {
+        this.factory = factory;
+    }
+
+    /** @return the shared client, built on the first call */
+    public T get() {
+        leased.incrementAndGet();
+        T current = client;
+        if (current == null) {
+            synchronized (this) {
+                current = client;
+                if (current == null) {
+                    current = factory.get();
+                    built.incrementAndGet();
+                    client = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /** Closes and forgets the client built so far; the next {@link #get()} builds a new one. */
+    public synchronized void shutdown() {
+        if (client != null) {
+            client.close();
+            client = null;
+            closed.incrementAndGet();
+        }
+    }
+
+    /** @return how many clients have been built since the container started */
+    public long getBuiltCount() {
+        return built.get();
+    }
+
+    /** @return how many times the client has been handed out */
+    public long getLeasedCount() {
+        return leased.get();
+    }
+
+    /** @return how many clients have been closed */
+    public long getClosedCount() {
+        return closed.get();
+    }
+
+    /** @return whether a client is currently open */
+    public boolean isBuilt() {
+        return client != null;
+    }
+}
@@ -0,0 +1,119 @@
+package software.amazon.transfer.commons;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import software.amazon.awssdk.services.transfer.model.ResourceNotFoundException;
+
+/**
+ * Describes every resource of a list page, so the list handlers can return the models a read
+ * returns instead of the few properties the List APIs have.
+ *
+ * <p>Off unless {@value #VARIABLE} is {@code true}: a detailed list makes one describe per
+ * resource. It then reads pages of {@value #PAGE_SIZE}, one page per invocation, and describes them
+ * on the {@link SharedExecutor}, at most {@link #DEFAULT_PARALLELISM} at a time. The describes go
+ * through the handler's paced client, so they share the {@link RateLimiter} buckets of every other
+ * call. A resource deleted between the list and its describe is left out.
+ */
+public final class DescribeFanOut {
+    /** The environment variable that turns detailed lists on. */
+    public static final String VARIABLE = "LIST_DESCRIBE_RESOURCES";
+
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /** The resources listed, and described, per invocation of a detailed list. */
+    public static final int PAGE_SIZE = 100;
+
+    /** Lists as the List APIs return them. */
+    public static final DescribeFanOut OFF = new DescribeFanOut(0);
+
+    public static final DescribeFanOut DEFAULT = new DescribeFanOut(DEFAULT_PARALLELISM);
+
+    private static final Paginator PAGINATOR = new Paginator(PAGE_SIZE, 1, Paginator.DEFAULT_TIME_BUDGET);
+
+    private final int parallelism;
+
+    /** @param parallelism the most describes in flight, 0 to list without describing */
+    public DescribeFanOut(int parallelism) {
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("parallelism must not be negative");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /** @return {@link #DEFAULT} when {@value #VARIABLE} is {@code true}, {@link #OFF} otherwise */
+    public static DescribeFanOut fromEnvironment() {
+        return Boolean.parseBoolean(System.getenv(VARIABLE)) ? DEFAULT : OFF;
+    }
+
+    /** @return whether listed resources are described */
+    public boolean isEnabled() {
+        return parallelism > 0;
+    }
+
+    /**
+     * @return the paginator of the list calls: {@link Paginator#DEFAULT}, or a single page of
+     *     {@value #PAGE_SIZE} when the resources are described
+     */
+    public Paginator getPaginator() {
+        return isEnabled() ? PAGINATOR : Paginator.DEFAULT;
+    }
+
+    /**
+     * Describes {@code items}, at most {@code parallelism} at a time.
+     *
+     * @param items the listed resources
+     * @param describe describes one resource, may return null to leave it out
+     * @param <T> the listed item type
+     * @param <R> the described type
+     * @return the described resources in the order of {@code items}, without the ones that were not
+     *     found
+     * @throws RuntimeException the first failure of a describe other than the resource not being
+     *     found; the describes not started yet are not made
+     */
+    public <T, R> List<R> describe(List<T> items, Function<T, R> describe) {
+        if (!isEnabled()) {
+            throw new IllegalStateException("Listed resources are not described");
+        }
+        List<R> described = new ArrayList<>(items.size());
+        if (items.isEmpty()) {
+            return described;
+        }
+
+        List<CompletableFuture<R>> results = SharedExecutor.map(items, parallelism, describe);
+        try {
+            for (CompletableFuture<R> result : results) {
+                R resource = await(result);
+                if (resource != null) {
+                    described.add(resource);
+                }
+            }
+            return described;
+        } catch (RuntimeException e) {
+            // After a failure the remaining describes are of no use.
+            results.forEach(result -> result.cancel(false));
+            throw e;
+        }
+    }
+
+    private static <R> R await(Future<R> result) {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ResourceNotFoundException) {
+                return null;
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
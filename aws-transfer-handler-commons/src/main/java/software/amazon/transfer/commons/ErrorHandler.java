@@ -0,0 +1,78 @@
+package software.amazon.transfer.commons;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+/**
+ * Turns the failed call of a handler into its progress event: throttled and transient errors are
+ * handed back to CloudFormation to retry after a delay while the retry budget in the callback
+ * context lasts, anything else fails with the error code {@link ServiceErrors} maps it to.
+ *
+ * @param <ModelT> the resource model type
+ * @param <CtxT> the callback context type
+ */
+public final class ErrorHandler<ModelT, CtxT> {
+    private static final String FAILURE_LOG_MESSAGE =
+            "[ClientRequestToken: %s] Resource %s failed in %s operation, Error: %s%n";
+
+    private final String typeName;
+    private final RetryPolicy retryPolicy;
+    private final Function<ModelT, ?> primaryIdentifier;
+    private final ToIntFunction<CtxT> retriesLeft;
+    private final ObjIntConsumer<CtxT> setRetriesLeft;
+
+    /**
+     * @param typeName the resource type name, e.g. {@code AWS::Transfer::Agreement}
+     * @param retryPolicy decides which errors are retried and after how long
+     * @param primaryIdentifier the identifier of a model to log
+     * @param retriesLeft reads the retry budget of a callback context
+     * @param setRetriesLeft writes the budget back
+     */
+    public ErrorHandler(
+            String typeName,
+            RetryPolicy retryPolicy,
+            Function<ModelT, ?> primaryIdentifier,
+            ToIntFunction<CtxT> retriesLeft,
+            ObjIntConsumer<CtxT> setRetriesLeft) {
+        this.typeName = typeName;
+        this.retryPolicy = retryPolicy;
+        this.primaryIdentifier = primaryIdentifier;
+        this.retriesLeft = retriesLeft;
+        this.setRetriesLeft = setRetriesLeft;
+    }
+
+    /**
+     * @param logger the logger of the invocation
+     * @param operation the operation name
+     * @param exception the error
+     * @param model the resource model
+     * @param context the callback context holding the retry budget
+     * @param clientRequestToken the request token
+     * @return the in-progress event of the retry, or the failure
+     */
+    public ProgressEvent<ModelT, CtxT> handle(
+            Logger logger,
+            String operation,
+            Exception exception,
+            ModelT model,
+            CtxT context,
+            String clientRequestToken) {
+        Optional<ProgressEvent<ModelT, CtxT>> retry =
+                retryPolicy.retryLater(exception, model, context, retriesLeft, setRetriesLeft);
+        if (retry.isPresent()) {
+            logger.log(String.format(
+                    "%s [%s] Retrying after %s", typeName, primaryIdentifier.apply(model), exception));
+            return retry.get();
+        }
+
+        logger.log(String.format(
+                FAILURE_LOG_MESSAGE, clientRequestToken, primaryIdentifier.apply(model), operation, exception));
+        return ProgressEvent.failed(
+                model, context, ServiceErrors.toHandlerErrorCode(exception), exception.getMessage());
+    }
+}
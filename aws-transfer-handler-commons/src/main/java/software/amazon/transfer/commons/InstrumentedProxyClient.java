@@ -0,0 +1,67 @@
+package software.amazon.transfer.commons;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * A {@link ProxyClient} that records the latency and outcome of each call in {@link CallMetrics}.
+ *
+ * <p>Calls that throw are recorded and rethrown unchanged. Asynchronous calls are not recorded, the
+ * handlers do not make any.
+ */
+final class InstrumentedProxyClient<T> implements ProxyClient<T> {
+    private final ProxyClient<T> delegate;
+    private final CallMetrics metrics;
+
+    InstrumentedProxyClient(ProxyClient<T> delegate, CallMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+            RequestT request, Function<RequestT, ResponseT> requestFunction) {
+        return metrics.time(request, () -> delegate.injectCredentialsAndInvokeV2(request, requestFunction));
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+            CompletableFuture<ResponseT> injectCredentialsAndInvokeV2Async(
+                    RequestT request, Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+        return delegate.injectCredentialsAndInvokeV2Async(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse, IterableT extends SdkIterable<ResponseT>>
+            IterableT injectCredentialsAndInvokeIterableV2(
+                    RequestT request, Function<RequestT, IterableT> requestFunction) {
+        return metrics.time(request, () -> delegate.injectCredentialsAndInvokeIterableV2(request, requestFunction));
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+            ResponseInputStream<ResponseT> injectCredentialsAndInvokeV2InputStream(
+                    RequestT request, Function<RequestT, ResponseInputStream<ResponseT>> requestFunction) {
+        return metrics.time(
+                request, () -> delegate.injectCredentialsAndInvokeV2InputStream(request, requestFunction));
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+            ResponseBytes<ResponseT> injectCredentialsAndInvokeV2Bytes(
+                    RequestT request, Function<RequestT, ResponseBytes<ResponseT>> requestFunction) {
+        return metrics.time(request, () -> delegate.injectCredentialsAndInvokeV2Bytes(request, requestFunction));
+    }
+
+    @Override
+    public T client() {
+        return delegate.client();
+    }
+}
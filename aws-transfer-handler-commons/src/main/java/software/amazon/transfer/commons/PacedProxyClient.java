@@ -0,0 +1,109 @@
+package software.amazon.transfer.commons;
+
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.services.transfer.model.ThrottlingException;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * A {@link ProxyClient} that takes a token from a {@link RateLimiter} before each call and tells it
+ * how the call went.
+ *
+ * <p>A throttled call is rethrown. When the limiter expects the next call of the operation to wait
+ * longer than the service asked for, a Transfer {@link ThrottlingException} is rethrown with that
+ * wait as {@code RetryAfterSeconds}, which {@link RetryPolicy} turns into the callback delay.
+ * Asynchronous calls are not paced, the handlers do not make any.
+ */
+final class PacedProxyClient<T> implements ProxyClient<T> {
+    private final ProxyClient<T> delegate;
+    private final RateLimiter limiter;
+    private final String accountId;
+    private final String region;
+
+    PacedProxyClient(ProxyClient<T> delegate, RateLimiter limiter, String accountId, String region) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+        this.accountId = accountId;
+        this.region = region;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+            RequestT request, Function<RequestT, ResponseT> requestFunction) {
+        return paced(request, () -> delegate.injectCredentialsAndInvokeV2(request, requestFunction));
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+            CompletableFuture<ResponseT> injectCredentialsAndInvokeV2Async(
+                    RequestT request, Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+        return delegate.injectCredentialsAndInvokeV2Async(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse, IterableT extends SdkIterable<ResponseT>>
+            IterableT injectCredentialsAndInvokeIterableV2(
+                    RequestT request, Function<RequestT, IterableT> requestFunction) {
+        return paced(request, () -> delegate.injectCredentialsAndInvokeIterableV2(request, requestFunction));
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+            ResponseInputStream<ResponseT> injectCredentialsAndInvokeV2InputStream(
+                    RequestT request, Function<RequestT, ResponseInputStream<ResponseT>> requestFunction) {
+        return paced(request, () -> delegate.injectCredentialsAndInvokeV2InputStream(request, requestFunction));
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+            ResponseBytes<ResponseT> injectCredentialsAndInvokeV2Bytes(
+                    RequestT request, Function<RequestT, ResponseBytes<ResponseT>> requestFunction) {
+        return paced(request, () -> delegate.injectCredentialsAndInvokeV2Bytes(request, requestFunction));
+    }
+
+    @Override
+    public T client() {
+        return delegate.client();
+    }
+
+    private <R> R paced(AwsRequest request, Supplier<R> call) {
+        RateLimiter.Key key = RateLimiter.Key.of(accountId, region, request);
+        limiter.acquire(key);
+        R response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            if (!ServiceErrors.isThrottling(e)) {
+                throw e;
+            }
+            OptionalInt requested = RetryPolicy.requestedDelaySeconds(e);
+            limiter.onThrottled(key, requested);
+            throw withEstimatedWait(key, e, requested);
+        }
+        limiter.onSuccess(key);
+        return response;
+    }
+
+    private RuntimeException withEstimatedWait(RateLimiter.Key key, RuntimeException e, OptionalInt requested) {
+        if (!(e instanceof ThrottlingException) || requested.isEmpty()) {
+            // Without a requested wait RetryPolicy falls back to its default delay.
+            return e;
+        }
+        int estimate = limiter.estimatedWaitSeconds(key);
+        if (estimate <= requested.getAsInt()) {
+            return e;
+        }
+        return ((ThrottlingException) e)
+                .toBuilder()
+                .retryAfterSeconds(String.valueOf(estimate))
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package software.amazon.transfer.commons;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Paging engine shared by the list handlers.
+ *
+ * <p>Pages are requested at the service maximum page size and fetched back to back until the
+ * listing ends, {@code maxPages} pages have been read or the time budget is spent, whichever comes
+ * first. The token of the first page not read is handed back, so CloudFormation resumes the listing
+ * from there on its next call.
+ */
+public final class Paginator {
+    /** Largest {@code MaxResults} accepted by the Transfer Family List APIs. */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    public static final int DEFAULT_MAX_PAGES = 10;
+    public static final Duration DEFAULT_TIME_BUDGET = Duration.ofSeconds(20);
+
+    /** Full pages, up to ten of them or twenty seconds per invocation. */
+    public static final Paginator DEFAULT = new Paginator(MAX_PAGE_SIZE, DEFAULT_MAX_PAGES, DEFAULT_TIME_BUDGET);
+
+    private final int pageSize;
+    private final int maxPages;
+    private final long timeBudgetNanos;
+    private final LongSupplier nanoClock;
+
+    public Paginator(int pageSize, int maxPages, Duration timeBudget) {
+        this(pageSize, maxPages, timeBudget, System::nanoTime);
+    }
+
+    Paginator(int pageSize, int maxPages, Duration timeBudget, LongSupplier nanoClock) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("pageSize must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (maxPages < 1) {
+            throw new IllegalArgumentException("maxPages must be at least 1");
+        }
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+        this.timeBudgetNanos = timeBudget.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /** @return the {@code MaxResults} to send with every page request */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Reads pages starting at {@code startToken}. The first page is always read, so a listing makes
+     * progress even when the budget is tiny.
+     *
+     * @param startToken the token to resume from, {@code null} to start at the beginning
+     * @param fetch calls the List API for the given token
+     * @param items extracts the listed items of a page
+     * @param nextToken extracts the token of the following page
+     * @param <R> the List API response type
+     * @param <T> the listed item type
+     * @return the items read, and the token to resume from or {@code null} if the listing ended
+     */
+    public <R, T> Page<T> paginate(
+            String startToken,
+            Function<String, R> fetch,
+            Function<R, ? extends Collection<T>> items,
+            Function<R, String> nextToken) {
+        long start = nanoClock.getAsLong();
+        List<T> collected = new ArrayList<>();
+        String token = startToken;
+        int pages = 0;
+
+        do {
+            R response = fetch.apply(token);
+            pages++;
+            Collection<T> page = items.apply(response);
+            if (page != null) {
+                collected.addAll(page);
+            }
+            token = nextToken.apply(response);
+            if (token != null && token.isEmpty()) {
+                token = null;
+            }
+        } while (token != null && pages < maxPages && nanoClock.getAsLong() - start < timeBudgetNanos);
+
+        return new Page<>(collected, token, pages);
+    }
+
+    /**
+     * Items read by one {@link #paginate} call.
+     *
+     * @param <T> the listed item type
+     */
+    public static final class Page<T> {
+        private final List<T> items;
+        private final String nextToken;
+        private final int roundTrips;
+
+        Page(List<T> items, String nextToken, int roundTrips) {
+            this.items = Collections.unmodifiableList(items);
+            this.nextToken = nextToken;
+            this.roundTrips = roundTrips;
+        }
+
+        public List<T> getItems() {
+            return items;
+        }
+
+        /** @return the token to resume from, or {@code null} when the listing is complete */
+        public String getNextToken() {
+            return nextToken;
+        }
+
+        /** @return how many List calls were made */
+        public int getRoundTrips() {
+            return roundTrips;
+        }
+    }
+}
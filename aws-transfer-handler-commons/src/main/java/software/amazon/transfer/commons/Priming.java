@@ -0,0 +1,102 @@
+package software.amazon.transfer.commons;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+
+import software.amazon.cloudformation.resource.Serializer;
+
+/**
+ * Warm-up work run before a Lambda SnapStart (CRaC) checkpoint, so that containers restored from
+ * the snapshot serve their first request warm.
+ *
+ * <p>Handlers register their steps while the {@code HandlerWrapper} is constructed: building the
+ * shared SDK clients, which loads the SDK and resolves the region and endpoint rules, and round
+ * tripping a sample model through the serializer the wrapper uses. The steps run once, when the
+ * runtime is about to take the snapshot. Without SnapStart there is no checkpoint and the steps
+ * never run, so a regular cold start does no extra work. Steps must not call the service: open
+ * connections and credentials would not survive the restore.
+ */
+public final class Priming implements Resource {
+    /** Strongly held: CRaC only keeps weak references to registered resources. */
+    static final Priming INSTANCE = new Priming();
+
+    private final Queue<Runnable> steps = new ConcurrentLinkedQueue<>();
+    private boolean registered;
+
+    private Priming() {}
+
+    /**
+     * Adds a step to run before the checkpoint.
+     *
+     * @param step warm-up work; failures are ignored
+     */
+    public static void register(Runnable step) {
+        INSTANCE.steps.add(step);
+        INSTANCE.registerWithRuntime();
+    }
+
+    /**
+     * Runs the registered steps that have not run yet.
+     *
+     * @return how many steps failed
+     */
+    public static int primeNow() {
+        return INSTANCE.prime();
+    }
+
+    /**
+     * Serializes {@code sample} and reads it back, which builds and caches the serializers of its
+     * type.
+     *
+     * @param sample an instance of the type to warm
+     * @param type the type to read back
+     * @param <T> the type to warm
+     * @return the deserialized copy
+     */
+    public static <T> T roundTrip(T sample, TypeReference<T> type) {
+        Serializer serializer = new Serializer();
+        try {
+            return serializer.deserialize(serializer.serialize(sample), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        prime();
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        // nothing to undo: the steps leave no connections or credentials behind
+    }
+
+    private synchronized void registerWithRuntime() {
+        if (!registered) {
+            Core.getGlobalContext().register(this);
+            registered = true;
+        }
+    }
+
+    private int prime() {
+        int failed = 0;
+        Runnable step;
+        while ((step = steps.poll()) != null) {
+            try {
+                step.run();
+            } catch (RuntimeException e) {
+                failed++;
+            }
+        }
+        return failed;
+    }
+}
@@ -0,0 +1,257 @@
+package software.amazon.transfer.commons;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.services.transfer.model.ThrottlingException;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * Client-side pacing of service calls, shared by every invocation a warm container serves.
+ *
+ * <p>Each account, region and operation gets a token bucket holding up to one second of calls. A
+ * call takes a token and waits for one when the bucket is empty. A wait longer than {@code
+ * maxWait} is not spent in the handler: the call fails with a {@link ThrottlingException} whose
+ * {@code RetryAfterSeconds} is the wait, so CloudFormation calls back once it is over.
+ *
+ * <p>The rate is learned from the service. A throttled call halves it (at most once every 100 ms,
+ * so that calls already in flight do not halve it again), empties the bucket and, when the service
+ * sent {@code RetryAfterSeconds}, holds every call until then. Each successful call adds back one
+ * two-hundredth of the starting rate. The SDK retry strategy still retries single calls; the
+ * limiter keeps the many resources of one stack from running into the same quota together.
+ */
+public final class RateLimiter {
+    /** Calls per second a new bucket starts at, and the most it grows back to. */
+    public static final double DEFAULT_RATE = 10;
+
+    /** The longest a call waits in the handler for a token. */
+    public static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(1);
+
+    public static final RateLimiter DEFAULT =
+            new RateLimiter(DEFAULT_RATE, DEFAULT_MAX_WAIT, System::nanoTime, TimeUnit.NANOSECONDS::sleep);
+
+    private static final double MIN_RATE_FRACTION = 1.0 / 50;
+    private static final double INCREASE_FRACTION = 1.0 / 200;
+    private static final long DECREASE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double maxRate;
+    private final long maxWaitNanos;
+    private final LongSupplier clock;
+    private final Sleeper sleeper;
+    private final Map<Key, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * @param rate calls per second a new bucket starts at
+     * @param maxWait the longest a call waits in the handler for a token
+     * @param clock the current time in nanoseconds
+     * @param sleeper waits for a token
+     */
+    public RateLimiter(double rate, Duration maxWait, LongSupplier clock, Sleeper sleeper) {
+        if (!(rate > 0)) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+        if (maxWait.isNegative()) {
+            throw new IllegalArgumentException("maxWait must not be negative");
+        }
+        this.maxRate = rate;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.clock = clock;
+        this.sleeper = sleeper;
+    }
+
+    /**
+     * Paces the calls made through {@code client} for the caller of {@code request}.
+     *
+     * @param client the client the handler calls the service with
+     * @param request the handler request, whose account and region key the buckets
+     * @param <T> the SDK client type
+     * @return the paced client, or {@code client} itself when there is no request to key on
+     */
+    public <T> ProxyClient<T> pace(ProxyClient<T> client, ResourceHandlerRequest<?> request) {
+        if (client == null || request == null) {
+            return client;
+        }
+        return new PacedProxyClient<>(client, this, request.getAwsAccountId(), request.getRegion());
+    }
+
+    /**
+     * Takes a token for one call, waiting for it if the wait is short enough.
+     *
+     * @param key the bucket to take from
+     * @throws ThrottlingException when the wait is longer than the limit; no token is taken
+     */
+    public void acquire(Key key) {
+        long waitNanos = bucket(key).reserve(clock.getAsLong(), maxWaitNanos);
+        if (waitNanos > maxWaitNanos) {
+            throw ThrottlingException.builder()
+                    .message("Client-side rate limit reached for " + key)
+                    .retryAfterSeconds(String.valueOf(toSeconds(waitNanos)))
+                    .build();
+        }
+        if (waitNanos > 0) {
+            try {
+                sleeper.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** Grows the rate of {@code key} after a call that went through. */
+    public void onSuccess(Key key) {
+        bucket(key).increase();
+    }
+
+    /**
+     * Slows {@code key} down after a throttled call.
+     *
+     * @param key the bucket of the call
+     * @param retryAfterSeconds how long the service asked callers to wait, if it did
+     */
+    public void onThrottled(Key key, OptionalInt retryAfterSeconds) {
+        long now = clock.getAsLong();
+        long holdNanos = retryAfterSeconds.isPresent() ? TimeUnit.SECONDS.toNanos(retryAfterSeconds.getAsInt()) : 0;
+        bucket(key).decrease(now, holdNanos);
+    }
+
+    /**
+     * @param key a bucket
+     * @return how many seconds the next call of {@code key} would wait, rounded up
+     */
+    public int estimatedWaitSeconds(Key key) {
+        return toSeconds(bucket(key).peek(clock.getAsLong()));
+    }
+
+    /** @return the current rate of {@code key} in calls per second */
+    double rate(Key key) {
+        return bucket(key).rate();
+    }
+
+    private Bucket bucket(Key key) {
+        return buckets.computeIfAbsent(key, k -> new Bucket(clock.getAsLong()));
+    }
+
+    private static int toSeconds(long nanos) {
+        return (int) Math.min(Integer.MAX_VALUE, (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+    }
+
+    /** Waits for a token, {@link TimeUnit#sleep} outside of tests. */
+    @FunctionalInterface
+    public interface Sleeper {
+        void sleep(long nanos) throws InterruptedException;
+    }
+
+    /** The account, region and operation a bucket paces. */
+    public static final class Key {
+        private final String accountId;
+        private final String region;
+        private final String operation;
+
+        private Key(String accountId, String region, String operation) {
+            this.accountId = accountId;
+            this.region = region;
+            this.operation = operation;
+        }
+
+        public static Key of(String accountId, String region, String operation) {
+            return new Key(accountId, region, operation);
+        }
+
+        /**
+         * @param request an SDK request, {@code CreateUserRequest} is the operation {@code CreateUser}
+         */
+        public static Key of(String accountId, String region, AwsRequest request) {
+            return new Key(accountId, region, CallMetrics.operationName(request));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return Objects.equals(accountId, other.accountId)
+                    && Objects.equals(region, other.region)
+                    && Objects.equals(operation, other.operation);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(accountId, region, operation);
+        }
+
+        @Override
+        public String toString() {
+            return accountId + "/" + region + "/" + operation;
+        }
+    }
+
+    private final class Bucket {
+        private double rate = maxRate;
+        private double tokens = Math.max(1, maxRate);
+        // In the future while the service has asked callers to wait; tokens only come back after it.
+        private long refilledAt;
+        private long decreasedAt;
+
+        private Bucket(long now) {
+            refilledAt = now;
+            decreasedAt = now - DECREASE_INTERVAL_NANOS;
+        }
+
+        synchronized long reserve(long now, long maxWaitNanos) {
+            refill(now);
+            long waitNanos = waitNanos(now);
+            if (waitNanos <= maxWaitNanos) {
+                tokens -= 1;
+            }
+            return waitNanos;
+        }
+
+        synchronized long peek(long now) {
+            refill(now);
+            return waitNanos(now);
+        }
+
+        synchronized void increase() {
+            rate = Math.min(maxRate, rate + maxRate * INCREASE_FRACTION);
+        }
+
+        synchronized void decrease(long now, long holdNanos) {
+            refill(now);
+            if (now - decreasedAt >= DECREASE_INTERVAL_NANOS) {
+                rate = Math.max(maxRate * MIN_RATE_FRACTION, rate / 2);
+                decreasedAt = now;
+            }
+            tokens = Math.min(tokens, 0);
+            refilledAt = Math.max(refilledAt, now + holdNanos);
+        }
+
+        synchronized double rate() {
+            return rate;
+        }
+
+        private void refill(long now) {
+            if (now > refilledAt) {
+                tokens = Math.min(Math.max(1, rate), tokens + (now - refilledAt) * rate / NANOS_PER_SECOND);
+                refilledAt = now;
+            }
+        }
+
+        private long waitNanos(long now) {
+            double missing = 1 - tokens;
+            long refillNanos = missing > 0 ? (long) Math.ceil(missing * NANOS_PER_SECOND / rate) : 0;
+            return Math.max(0, refilledAt - now) + refillNanos;
+        }
+    }
+}
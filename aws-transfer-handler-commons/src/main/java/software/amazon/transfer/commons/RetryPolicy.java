@@ -0,0 +1,98 @@
+package software.amazon.transfer.commons;
+
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+import software.amazon.awssdk.services.transfer.model.ThrottlingException;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+/**
+ * Decides whether a failed call is handed back to CloudFormation to be retried later, and after
+ * how long.
+ *
+ * <p>Throttled and transient failures are retried while the callback context has retries left.
+ * The delay is the one the service asked for in {@code RetryAfterSeconds} when it sent one, and
+ * the policy default otherwise. The retry budget lives in each resource's own callback context, so
+ * it is read and spent through accessors.
+ */
+public final class RetryPolicy {
+    public static final int DEFAULT_DELAY_SECONDS = 15;
+
+    /** Callback after the requested delay, fifteen seconds when the service did not ask for one. */
+    public static final RetryPolicy DEFAULT = new RetryPolicy(DEFAULT_DELAY_SECONDS);
+
+    private final int defaultDelaySeconds;
+
+    public RetryPolicy(int defaultDelaySeconds) {
+        if (defaultDelaySeconds < 0) {
+            throw new IllegalArgumentException("defaultDelaySeconds must not be negative");
+        }
+        this.defaultDelaySeconds = defaultDelaySeconds;
+    }
+
+    /**
+     * @param e a failed call
+     * @return whether the call is worth making again
+     */
+    public boolean shouldRetry(Exception e) {
+        return ServiceErrors.isRetryable(e) || ServiceErrors.isThrottling(e);
+    }
+
+    /**
+     * @param e a failed call
+     * @return how many seconds to wait before calling again
+     */
+    public int delaySeconds(Exception e) {
+        return requestedDelaySeconds(e).orElse(defaultDelaySeconds);
+    }
+
+    /**
+     * @param e a failed call
+     * @return the {@code RetryAfterSeconds} of a throttled call, empty when the service sent none
+     */
+    static OptionalInt requestedDelaySeconds(Exception e) {
+        if (e instanceof ThrottlingException) {
+            String retryAfterSeconds = ((ThrottlingException) e).retryAfterSeconds();
+            if (retryAfterSeconds != null) {
+                try {
+                    return OptionalInt.of(Math.max(0, Integer.parseInt(retryAfterSeconds.trim())));
+                } catch (NumberFormatException ignored) {
+                    // no usable delay
+                }
+            }
+        }
+        return OptionalInt.empty();
+    }
+
+    /**
+     * Spends one retry of the context's budget on {@code e} if it is worth retrying.
+     *
+     * @param e a failed call
+     * @param model the model to hand back with the callback
+     * @param context the callback context holding the retry budget
+     * @param retriesLeft reads the budget
+     * @param setRetriesLeft writes the budget back
+     * @param <ModelT> the resource model type
+     * @param <CtxT> the callback context type
+     * @return the in-progress event calling back after the delay, or empty when {@code e} is not
+     *     retryable or the budget is spent
+     */
+    public <ModelT, CtxT> Optional<ProgressEvent<ModelT, CtxT>> retryLater(
+            Exception e,
+            ModelT model,
+            CtxT context,
+            ToIntFunction<CtxT> retriesLeft,
+            ObjIntConsumer<CtxT> setRetriesLeft) {
+        if (!shouldRetry(e)) {
+            return Optional.empty();
+        }
+        int left = retriesLeft.applyAsInt(context);
+        if (left <= 0) {
+            return Optional.empty();
+        }
+        setRetriesLeft.accept(context, left - 1);
+        return Optional.of(ProgressEvent.defaultInProgressHandler(context, delaySeconds(e), model));
+    }
+}
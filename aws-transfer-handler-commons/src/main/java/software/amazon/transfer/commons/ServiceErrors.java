@@ -0,0 +1,95 @@
+package software.amazon.transfer.commons;
+
+import org.apache.commons.lang3.StringUtils;
+
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.transfer.model.AccessDeniedException;
+import software.amazon.awssdk.services.transfer.model.ConflictException;
+import software.amazon.awssdk.services.transfer.model.InternalServiceErrorException;
+import software.amazon.awssdk.services.transfer.model.InvalidNextTokenException;
+import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
+import software.amazon.awssdk.services.transfer.model.ResourceExistsException;
+import software.amazon.awssdk.services.transfer.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.transfer.model.ServiceUnavailableException;
+import software.amazon.awssdk.services.transfer.model.ThrottlingException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+
+/** Classifies the exceptions of Transfer Family calls the same way for every resource type. */
+public final class ServiceErrors {
+    private static final String THROTTLING_EXCEPTION_ERR_CODE = "ThrottlingException";
+
+    private ServiceErrors() {}
+
+    /**
+     * @param e a failed call
+     * @return the AWS error code of {@code e}, or its message when it carries none
+     */
+    public static String errorCode(Exception e) {
+        if (e instanceof AwsServiceException && ((AwsServiceException) e).awsErrorDetails() != null) {
+            return ((AwsServiceException) e).awsErrorDetails().errorCode();
+        }
+        return e.getMessage();
+    }
+
+    /**
+     * @param e a failed call
+     * @return whether the service asked the caller to slow down
+     */
+    public static boolean isThrottling(Exception e) {
+        if (StringUtils.contains(errorCode(e), THROTTLING_EXCEPTION_ERR_CODE)) {
+            return true;
+        }
+        if (e instanceof ThrottlingException) {
+            return true;
+        }
+        if (e instanceof AwsServiceException) {
+            return ((AwsServiceException) e).isThrottlingException();
+        }
+        return false;
+    }
+
+    /**
+     * @param e a failed call
+     * @return whether the call failed for a transient reason and can be made again as is
+     */
+    public static boolean isRetryable(Exception e) {
+        return e instanceof ConflictException
+                || e instanceof InternalServiceErrorException
+                || e instanceof ServiceUnavailableException;
+    }
+
+    /**
+     * Maps a failed call to the error code reported to CloudFormation.
+     *
+     * @param e a failed call
+     * @return the handler error code, {@link HandlerErrorCode#GeneralServiceException} for
+     *     anything not recognized
+     */
+    public static HandlerErrorCode toHandlerErrorCode(Exception e) {
+        if (e instanceof ConflictException) {
+            return HandlerErrorCode.ResourceConflict;
+        }
+        if (e instanceof InternalServiceErrorException) {
+            return HandlerErrorCode.ServiceInternalError;
+        }
+        if (e instanceof ServiceUnavailableException) {
+            return HandlerErrorCode.ServiceLimitExceeded;
+        }
+        if (isThrottling(e)) {
+            return HandlerErrorCode.Throttling;
+        }
+        if (e instanceof ResourceExistsException) {
+            return HandlerErrorCode.AlreadyExists;
+        }
+        if (e instanceof ResourceNotFoundException) {
+            return HandlerErrorCode.NotFound;
+        }
+        if (e instanceof AccessDeniedException) {
+            return HandlerErrorCode.AccessDenied;
+        }
+        if (e instanceof InvalidRequestException || e instanceof InvalidNextTokenException) {
+            return HandlerErrorCode.InvalidRequest;
+        }
+        return HandlerErrorCode.GeneralServiceException;
+    }
+}
@@ -0,0 +1,86 @@
+package software.amazon.transfer.commons;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * The threads handlers run concurrent service calls on.
+ *
+ * <p>One pool of {@value #THREADS} daemon threads is created on first use and kept for the life of
+ * the container, so an invocation does not pay for starting threads and a frozen or finished
+ * container is not kept alive by them. Callers bound their own concurrency with {@link #map}.
+ */
+public final class SharedExecutor {
+    /** The most calls in flight across every caller. */
+    public static final int THREADS = 8;
+
+    private SharedExecutor() {}
+
+    private static final class Holder {
+        private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREADS, new DaemonThreads());
+    }
+
+    /** @return the shared pool, created on the first call */
+    public static ExecutorService get() {
+        return Holder.EXECUTOR;
+    }
+
+    /**
+     * Applies {@code call} to every item on the shared pool, at most {@code parallelism} at a time.
+     *
+     * <p>Cancelling the future of an item that has not started yet skips it.
+     *
+     * @param items the items to call for
+     * @param parallelism the most calls of this batch in flight
+     * @param call the call, may throw
+     * @param <T> the item type
+     * @param <R> the result type
+     * @return the future result of each item, in the order of {@code items}
+     */
+    public static <T, R> List<CompletableFuture<R>> map(List<T> items, int parallelism, Function<T, R> call) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        List<CompletableFuture<R>> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            results.add(new CompletableFuture<>());
+        }
+
+        // Each worker takes the next item until none are left, so no more than the workers run at once.
+        AtomicInteger next = new AtomicInteger();
+        Runnable worker = () -> {
+            for (int i = next.getAndIncrement(); i < items.size(); i = next.getAndIncrement()) {
+                CompletableFuture<R> result = results.get(i);
+                if (result.isDone()) {
+                    continue;
+                }
+                try {
+                    result.complete(call.apply(items.get(i)));
+                } catch (RuntimeException | Error e) {
+                    result.completeExceptionally(e);
+                }
+            }
+        };
+        for (int i = 0; i < Math.min(parallelism, items.size()); i++) {
+            get().execute(worker);
+        }
+        return results;
+    }
+
+    private static final class DaemonThreads implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "transfer-handler-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
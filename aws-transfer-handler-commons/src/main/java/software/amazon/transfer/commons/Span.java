@@ -0,0 +1,25 @@
+package software.amazon.transfer.commons;
+
+import java.util.Map;
+
+/**
+ * A finished span of a {@link Tracer}.
+ *
+ * @param traceId the trace, 32 hex digits
+ * @param spanId the span, 16 hex digits
+ * @param parentSpanId the parent span, null for the span of the whole operation
+ * @param name what the span covers, e.g. {@code invocation} or a stage of the handler chain
+ * @param startTimeUnixNano when the span started
+ * @param endTimeUnixNano when the span ended
+ * @param attributes what the span ended with, e.g. the status of the progress event
+ * @param error whether the span ended in a failure
+ */
+public record Span(
+        String traceId,
+        String spanId,
+        String parentSpanId,
+        String name,
+        long startTimeUnixNano,
+        long endTimeUnixNano,
+        Map<String, String> attributes,
+        boolean error) {}
@@ -0,0 +1,95 @@
+package software.amazon.transfer.commons;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import software.amazon.cloudformation.proxy.Logger;
+
+/**
+ * Where a {@link Tracer} sends the spans of an invocation, encoded as one line of OpenTelemetry
+ * OTLP/JSON ({@code ExportTraceServiceRequest}) that a collector or trace viewer can import.
+ */
+@FunctionalInterface
+public interface SpanExporter {
+    /** The environment variable naming a file to append the spans to instead of logging them. */
+    String FILE_VARIABLE = "TRACE_SPANS_FILE";
+
+    /**
+     * @param resourceType the CloudFormation type, the service name of the spans
+     * @param spans the spans of one invocation
+     */
+    void export(String resourceType, List<Span> spans);
+
+    /** @return an exporter that logs the spans through the handler's logger */
+    static SpanExporter toLogger(Logger logger) {
+        return (resourceType, spans) -> logger.log(encode(resourceType, spans));
+    }
+
+    /** @return an exporter that appends the spans to {@code file}, one line per invocation */
+    static SpanExporter toFile(Path file) {
+        return (resourceType, spans) -> {
+            try {
+                Files.writeString(
+                        file,
+                        encode(resourceType, spans) + System.lineSeparator(),
+                        StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    /** @return the file exporter when {@value #FILE_VARIABLE} is set, the logger exporter otherwise */
+    static SpanExporter fromEnvironment(Logger logger) {
+        String file = System.getenv(FILE_VARIABLE);
+        return file != null && !file.isEmpty() ? toFile(Path.of(file)) : toLogger(logger);
+    }
+
+    /**
+     * @param resourceType the service name of the spans
+     * @param spans the spans to encode
+     * @return the spans in OTLP/JSON: ids in hex, times as decimal strings
+     */
+    static String encode(String resourceType, List<Span> spans) {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode request = mapper.createObjectNode();
+        ObjectNode resourceSpans = request.putArray("resourceSpans").addObject();
+        attribute(resourceSpans.putObject("resource").putArray("attributes"), "service.name", resourceType);
+        ObjectNode scopeSpans = resourceSpans.putArray("scopeSpans").addObject();
+        scopeSpans.putObject("scope").put("name", Tracer.class.getPackageName());
+        ArrayNode encoded = scopeSpans.putArray("spans");
+        for (Span span : spans) {
+            ObjectNode node = encoded.addObject()
+                    .put("traceId", span.traceId())
+                    .put("spanId", span.spanId());
+            if (span.parentSpanId() != null) {
+                node.put("parentSpanId", span.parentSpanId());
+            }
+            // SPAN_KIND_INTERNAL; the calls the stages make are not spans of their own.
+            node.put("name", span.name())
+                    .put("kind", 1)
+                    .put("startTimeUnixNano", Long.toString(span.startTimeUnixNano()))
+                    .put("endTimeUnixNano", Long.toString(span.endTimeUnixNano()));
+            ArrayNode attributes = node.putArray("attributes");
+            span.attributes().forEach((key, value) -> attribute(attributes, key, value));
+            // STATUS_CODE_OK or STATUS_CODE_ERROR
+            node.putObject("status").put("code", span.error() ? 2 : 1);
+        }
+        return request.toString();
+    }
+
+    private static void attribute(ArrayNode attributes, String key, String value) {
+        attributes.addObject().put("key", key).putObject("value").put("stringValue", value);
+    }
+}
@@ -0,0 +1,263 @@
+package software.amazon.transfer.commons;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * Tags to add, tag keys to remove and tags left as they are, to bring a resource from its previous
+ * to its desired tags.
+ *
+ * <p>A tag whose value changed is only added: TagResource overwrites the value of an existing key,
+ * so there is nothing to remove first. TagResource and UntagResource take at most {@link
+ * #MAX_TAGS_PER_CALL} tags each, so the changes also come in batches of that size.
+ */
+public final class TagDiff {
+    /** The most tags or tag keys one TagResource or UntagResource call accepts. */
+    public static final int MAX_TAGS_PER_CALL = 50;
+
+    private static final TagDiff NONE = new TagDiff(Map.of(), Set.of(), Map.of());
+
+    private final Map<String, String> tagsToAdd;
+    private final Set<String> tagKeysToRemove;
+    private final Map<String, String> unchangedTags;
+
+    private TagDiff(Map<String, String> tagsToAdd, Set<String> tagKeysToRemove, Map<String, String> unchangedTags) {
+        this.tagsToAdd = Collections.unmodifiableMap(tagsToAdd);
+        this.tagKeysToRemove = Collections.unmodifiableSet(tagKeysToRemove);
+        this.unchangedTags = Collections.unmodifiableMap(unchangedTags);
+    }
+
+    /**
+     * Compares the two maps in one pass over the desired tags. The previous tags are only walked
+     * when some of their keys are no longer desired.
+     *
+     * @param previousTags the tags the resource had, key to value, may be {@code null}
+     * @param desiredTags the tags the resource should have, key to value, may be {@code null}
+     * @return the changes between the two
+     */
+    public static TagDiff between(Map<String, String> previousTags, Map<String, String> desiredTags) {
+        Map<String, String> previous = previousTags != null ? previousTags : Map.of();
+        Map<String, String> desired = desiredTags != null ? desiredTags : Map.of();
+        if (previous.isEmpty() && desired.isEmpty()) {
+            return NONE;
+        }
+
+        Map<String, String> toAdd = new HashMap<>();
+        Map<String, String> unchanged = new HashMap<>();
+        int kept = 0;
+        for (Map.Entry<String, String> tag : desired.entrySet()) {
+            String previousValue = previous.get(tag.getKey());
+            boolean existed = previousValue != null || previous.containsKey(tag.getKey());
+            if (existed) {
+                kept++;
+            }
+            if (existed && Objects.equals(previousValue, tag.getValue())) {
+                unchanged.put(tag.getKey(), tag.getValue());
+            } else {
+                toAdd.put(tag.getKey(), tag.getValue());
+            }
+        }
+
+        Set<String> toRemove = new HashSet<>();
+        if (kept < previous.size()) {
+            for (String key : previous.keySet()) {
+                if (!desired.containsKey(key)) {
+                    toRemove.add(key);
+                }
+            }
+        }
+        return new TagDiff(toAdd, toRemove, unchanged);
+    }
+
+    /**
+     * Compares the previous and desired system and stack tags of a request, for resources whose
+     * Configuration already merges the tags declared on the resource into the stack tags.
+     *
+     * @param request the handler request
+     * @return the changes between the previous and the desired tags
+     */
+    public static TagDiff of(ResourceHandlerRequest<?> request) {
+        return between(previousTags(request), desiredTags(request));
+    }
+
+    /**
+     * Compares the previous and desired system, stack and resource tags of a request.
+     *
+     * @param request the handler request
+     * @param modelTags extracts the tags declared on a resource model
+     * @param key extracts the key of a resource tag
+     * @param value extracts the value of a resource tag
+     * @param <M> the resource model type
+     * @param <T> the resource model's tag type
+     * @return the changes between the previous and the desired tags
+     */
+    public static <M, T> TagDiff of(
+            ResourceHandlerRequest<M> request,
+            Function<M, ? extends Collection<T>> modelTags,
+            Function<T, String> key,
+            Function<T, String> value) {
+        return between(previousTags(request, modelTags, key, value), desiredTags(request, modelTags, key, value));
+    }
+
+    /**
+     * @param request the handler request
+     * @return the previous system and stack tags of the request, key to value
+     */
+    public static Map<String, String> previousTags(ResourceHandlerRequest<?> request) {
+        return merge(request.getPreviousSystemTags(), request.getPreviousResourceTags());
+    }
+
+    /**
+     * @param request the handler request
+     * @return the desired system and stack tags of the request, key to value
+     */
+    public static Map<String, String> desiredTags(ResourceHandlerRequest<?> request) {
+        return merge(request.getSystemTags(), request.getDesiredResourceTags());
+    }
+
+    /**
+     * @param request the handler request
+     * @param modelTags extracts the tags declared on a resource model
+     * @param key extracts the key of a resource tag
+     * @param value extracts the value of a resource tag
+     * @param <M> the resource model type
+     * @param <T> the resource model's tag type
+     * @return the previous system, stack and resource tags of the request, key to value
+     */
+    public static <M, T> Map<String, String> previousTags(
+            ResourceHandlerRequest<M> request,
+            Function<M, ? extends Collection<T>> modelTags,
+            Function<T, String> key,
+            Function<T, String> value) {
+        M model = request.getPreviousResourceState();
+        return merge(
+                request.getPreviousSystemTags(),
+                request.getPreviousResourceTags(),
+                model != null ? modelTags.apply(model) : null,
+                key,
+                value);
+    }
+
+    /**
+     * @param request the handler request
+     * @param modelTags extracts the tags declared on a resource model
+     * @param key extracts the key of a resource tag
+     * @param value extracts the value of a resource tag
+     * @param <M> the resource model type
+     * @param <T> the resource model's tag type
+     * @return the desired system, stack and resource tags of the request, key to value
+     */
+    public static <M, T> Map<String, String> desiredTags(
+            ResourceHandlerRequest<M> request,
+            Function<M, ? extends Collection<T>> modelTags,
+            Function<T, String> key,
+            Function<T, String> value) {
+        M model = request.getDesiredResourceState();
+        return merge(
+                request.getSystemTags(),
+                request.getDesiredResourceTags(),
+                model != null ? modelTags.apply(model) : null,
+                key,
+                value);
+    }
+
+    /**
+     * Merges the tags of a request into one map. Later sources win, so resource tags override stack
+     * tags, which override system tags.
+     *
+     * @param systemTags the {@code aws:cloudformation} tags, may be {@code null}
+     * @param stackTags the stack level tags, may be {@code null}
+     * @param resourceTags the tags declared on the resource, may be {@code null}
+     * @param key extracts the key of a resource tag
+     * @param value extracts the value of a resource tag
+     * @param <T> the resource model's tag type
+     * @return the merged tags, key to value
+     */
+    public static <T> Map<String, String> merge(
+            Map<String, String> systemTags,
+            Map<String, String> stackTags,
+            Collection<T> resourceTags,
+            Function<T, String> key,
+            Function<T, String> value) {
+        Map<String, String> tags = merge(systemTags, stackTags);
+        if (resourceTags != null) {
+            resourceTags.forEach(tag -> tags.put(key.apply(tag), value.apply(tag)));
+        }
+        return tags;
+    }
+
+    private static Map<String, String> merge(Map<String, String> systemTags, Map<String, String> stackTags) {
+        Map<String, String> tags = new HashMap<>();
+        if (systemTags != null) {
+            tags.putAll(systemTags);
+        }
+        if (stackTags != null) {
+            tags.putAll(stackTags);
+        }
+        return tags;
+    }
+
+    /** @return the tags to create or overwrite, key to value */
+    public Map<String, String> getTagsToAdd() {
+        return tagsToAdd;
+    }
+
+    /** @return the keys of the tags to delete */
+    public Set<String> getTagKeysToRemove() {
+        return tagKeysToRemove;
+    }
+
+    /** @return the tags present before and after with the same value, key to value */
+    public Map<String, String> getUnchangedTags() {
+        return unchangedTags;
+    }
+
+    /** @return the tags to add split into one map per TagResource call, empty when there are none */
+    public List<Map<String, String>> getTagsToAddBatches() {
+        List<Map<String, String>> batches = new ArrayList<>();
+        Map<String, String> batch = new HashMap<>();
+        for (Map.Entry<String, String> tag : tagsToAdd.entrySet()) {
+            if (batch.size() == MAX_TAGS_PER_CALL) {
+                batches.add(Collections.unmodifiableMap(batch));
+                batch = new HashMap<>();
+            }
+            batch.put(tag.getKey(), tag.getValue());
+        }
+        if (!batch.isEmpty()) {
+            batches.add(Collections.unmodifiableMap(batch));
+        }
+        return batches;
+    }
+
+    /** @return the keys to remove split into one set per UntagResource call, empty when there are none */
+    public List<Set<String>> getTagKeysToRemoveBatches() {
+        List<Set<String>> batches = new ArrayList<>();
+        Set<String> batch = new HashSet<>();
+        for (String key : tagKeysToRemove) {
+            if (batch.size() == MAX_TAGS_PER_CALL) {
+                batches.add(Collections.unmodifiableSet(batch));
+                batch = new HashSet<>();
+            }
+            batch.add(key);
+        }
+        if (!batch.isEmpty()) {
+            batches.add(Collections.unmodifiableSet(batch));
+        }
+        return batches;
+    }
+
+    /** @return whether the tags are unchanged, in which case no tag call is needed */
+    public boolean isEmpty() {
+        return tagsToAdd.isEmpty() && tagKeysToRemove.isEmpty();
+    }
+}
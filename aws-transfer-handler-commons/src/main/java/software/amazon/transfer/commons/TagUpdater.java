@@ -0,0 +1,103 @@
+package software.amazon.transfer.commons;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import software.amazon.awssdk.services.transfer.TransferClient;
+import software.amazon.awssdk.services.transfer.model.Tag;
+import software.amazon.awssdk.services.transfer.model.TagResourceRequest;
+import software.amazon.awssdk.services.transfer.model.UntagResourceRequest;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.StdCallbackContext;
+
+/**
+ * Sends the changes of a {@link TagDiff} to a resource: the removed keys first, then the added
+ * tags, one UntagResource or TagResource call per batch.
+ *
+ * <p>Each batch has a call graph of its own, so a batch sent by an earlier invocation is not sent
+ * again when CloudFormation calls back after a retry.
+ *
+ * @param <ModelT> the resource model type
+ * @param <CtxT> the callback context type
+ */
+public final class TagUpdater<ModelT, CtxT extends StdCallbackContext> {
+
+    /** Maps a failed tag call to the progress event of the handler. */
+    @FunctionalInterface
+    public interface ErrorCallback<ModelT, CtxT> {
+        ProgressEvent<ModelT, CtxT> onError(Exception exception, ModelT model, CtxT context);
+    }
+
+    private final String callGraphPrefix;
+    private final Function<Map<String, String>, Collection<Tag>> toSdkTags;
+
+    /**
+     * @param callGraphPrefix the prefix of the call graphs, e.g. {@code AWS-Transfer-Agreement}
+     * @param toSdkTags converts a batch of tags, key to value, to the tags of TagResource
+     */
+    public TagUpdater(String callGraphPrefix, Function<Map<String, String>, Collection<Tag>> toSdkTags) {
+        this.callGraphPrefix = callGraphPrefix;
+        this.toSdkTags = toSdkTags;
+    }
+
+    /**
+     * @param progress the progress to chain the calls to
+     * @param proxy the proxy of the invocation
+     * @param proxyClient the client to call through
+     * @param arn the resource to tag
+     * @param tagDiff the changes to send
+     * @param onError handles a failed call
+     * @return the progress after the last call
+     */
+    public ProgressEvent<ModelT, CtxT> update(
+            ProgressEvent<ModelT, CtxT> progress,
+            AmazonWebServicesClientProxy proxy,
+            ProxyClient<TransferClient> proxyClient,
+            String arn,
+            TagDiff tagDiff,
+            ErrorCallback<ModelT, CtxT> onError) {
+        List<Set<String>> keyBatches = tagDiff.getTagKeysToRemoveBatches();
+        for (int i = 0; i < keyBatches.size(); i++) {
+            String callGraph = callGraphPrefix + "::UntagResource-" + i;
+            Set<String> batch = keyBatches.get(i);
+            progress = progress.then(p -> proxy.initiate(
+                            callGraph, proxyClient, p.getResourceModel(), p.getCallbackContext())
+                    .translateToServiceRequest(model -> UntagResourceRequest.builder()
+                            .arn(arn)
+                            .tagKeys(batch)
+                            .build())
+                    .makeServiceCall((untagRequest, client) -> {
+                        TransferClient transferClient = client.client();
+                        return client.injectCredentialsAndInvokeV2(untagRequest, transferClient::untagResource);
+                    })
+                    .handleError((ignored, exception, client, model, context) ->
+                            onError.onError(exception, model, context))
+                    .progress());
+        }
+
+        List<Map<String, String>> tagBatches = tagDiff.getTagsToAddBatches();
+        for (int i = 0; i < tagBatches.size(); i++) {
+            String callGraph = callGraphPrefix + "::TagResource-" + i;
+            Map<String, String> batch = tagBatches.get(i);
+            progress = progress.then(p -> proxy.initiate(
+                            callGraph, proxyClient, p.getResourceModel(), p.getCallbackContext())
+                    .translateToServiceRequest(model -> TagResourceRequest.builder()
+                            .arn(arn)
+                            .tags(toSdkTags.apply(batch))
+                            .build())
+                    .makeServiceCall((tagRequest, client) -> {
+                        TransferClient transferClient = client.client();
+                        return client.injectCredentialsAndInvokeV2(tagRequest, transferClient::tagResource);
+                    })
+                    .handleError((ignored, exception, client, model, context) ->
+                            onError.onError(exception, model, context))
+                    .progress());
+        }
+        return progress;
+    }
+}
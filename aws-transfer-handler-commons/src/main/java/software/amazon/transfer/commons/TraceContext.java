@@ -0,0 +1,41 @@
+package software.amazon.transfer.commons;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The trace of one resource operation, kept in the callback context so that the spans of every
+ * re-invocation of the handler belong to it. See {@link Tracer}.
+ */
+@lombok.Getter
+@lombok.Setter
+@lombok.ToString
+@lombok.EqualsAndHashCode
+public class TraceContext {
+    private String traceId;
+    // The span of the whole operation, the parent of the span of every invocation.
+    private String rootSpanId;
+    private long startTimeUnixNano;
+    private int invocations;
+
+    /**
+     * @param startTimeUnixNano when the operation started
+     * @return the context of a new trace
+     */
+    public static TraceContext create(long startTimeUnixNano) {
+        TraceContext context = new TraceContext();
+        context.setTraceId(randomId(16));
+        context.setRootSpanId(randomId(8));
+        context.setStartTimeUnixNano(startTimeUnixNano);
+        return context;
+    }
+
+    /** @return a random id of {@code bytes} bytes in lowercase hex, as OpenTelemetry encodes ids */
+    static String randomId(int bytes) {
+        StringBuilder id = new StringBuilder(bytes * 2);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < bytes * 2; i++) {
+            id.append(Character.forDigit(random.nextInt(16), 16));
+        }
+        return id.toString();
+    }
+}
@@ -0,0 +1,197 @@
+package software.amazon.transfer.commons;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+/**
+ * Spans of the stages of a handler's {@link ProgressEvent} chain, one tracer per invocation.
+ *
+ * <p>A resource operation is one trace, whose {@link TraceContext} the handler keeps in its
+ * callback context. Every invocation is a span under the span of the whole operation, and every
+ * stage wrapped with {@link #stage} is a span under its invocation, so the time between two
+ * invocations is the callback delay and the critical path of an update can be read off the trace.
+ * The span of the whole operation ends with the invocation that completes or fails it.
+ *
+ * <p>The spans of an invocation are exported when it ends, see {@link SpanExporter}. An export
+ * that fails is logged and does not fail the invocation.
+ */
+public final class Tracer {
+    /** Traces nothing, for handlers invoked without a trace, e.g. directly from tests. */
+    public static final Tracer NOOP = new Tracer(null, null, null, null, null, Tracer::nowUnixNano);
+
+    private final String resourceType;
+    private final String handler;
+    private final TraceContext context;
+    private final SpanExporter exporter;
+    private final Logger logger;
+    private final LongSupplier clock;
+    private final String invocationSpanId = TraceContext.randomId(8);
+    private final List<Span> spans = new ArrayList<>();
+
+    Tracer(
+            String resourceType,
+            String handler,
+            TraceContext context,
+            SpanExporter exporter,
+            Logger logger,
+            LongSupplier clock) {
+        this.resourceType = resourceType;
+        this.handler = handler;
+        this.context = context;
+        this.exporter = exporter;
+        this.logger = logger;
+        this.clock = clock;
+    }
+
+    /**
+     * @param resourceType the CloudFormation type, e.g. {@code AWS::Transfer::Server}
+     * @param handler the handler being invoked
+     * @param context the trace carried in the callback context, null on the first invocation
+     * @param logger the logger of the invocation
+     * @return the tracer of the invocation, keep its {@link #getContext} in the callback context
+     */
+    public static Tracer start(String resourceType, Object handler, TraceContext context, Logger logger) {
+        return new Tracer(
+                resourceType,
+                handler.getClass().getSimpleName(),
+                context != null ? context : TraceContext.create(nowUnixNano()),
+                SpanExporter.fromEnvironment(logger),
+                logger,
+                Tracer::nowUnixNano);
+    }
+
+    /** @return the trace of the operation, null for {@link #NOOP} */
+    public TraceContext getContext() {
+        return context;
+    }
+
+    /**
+     * @param name the name of the span
+     * @param stage a stage of a {@link ProgressEvent#then} chain
+     * @param <M> the resource model type
+     * @param <C> the callback context type
+     * @return the stage, recording a span each time it runs
+     */
+    public <M, C> Function<ProgressEvent<M, C>, ProgressEvent<M, C>> stage(
+            String name, Function<ProgressEvent<M, C>, ProgressEvent<M, C>> stage) {
+        if (context == null) {
+            return stage;
+        }
+        return progress -> {
+            long start = clock.getAsLong();
+            ProgressEvent<M, C> event = null;
+            RuntimeException thrown = null;
+            try {
+                event = stage.apply(progress);
+                return event;
+            } catch (RuntimeException e) {
+                thrown = e;
+                throw e;
+            } finally {
+                Map<String, String> attributes = outcome(event, thrown);
+                spans.add(span(TraceContext.randomId(8), invocationSpanId, name, start, attributes));
+            }
+        };
+    }
+
+    /**
+     * Runs an invocation as a span and exports the spans recorded while it ran.
+     *
+     * @param invocation runs the handler
+     * @param <M> the resource model type
+     * @param <C> the callback context type
+     * @return the event of the invocation
+     */
+    public <M, C> ProgressEvent<M, C> trace(Supplier<ProgressEvent<M, C>> invocation) {
+        if (context == null) {
+            return invocation.get();
+        }
+        long start = clock.getAsLong();
+        context.setInvocations(context.getInvocations() + 1);
+        ProgressEvent<M, C> event = null;
+        RuntimeException thrown = null;
+        try {
+            event = invocation.get();
+            return event;
+        } catch (RuntimeException e) {
+            thrown = e;
+            throw e;
+        } finally {
+            String invocations = Integer.toString(context.getInvocations());
+            Map<String, String> attributes = outcome(event, thrown);
+            attributes.put("invocation", invocations);
+            spans.add(span(invocationSpanId, context.getRootSpanId(), handler, start, attributes));
+            if (event == null || event.getStatus() != OperationStatus.IN_PROGRESS) {
+                Map<String, String> operation = outcome(event, thrown);
+                operation.put("invocations", invocations);
+                spans.add(span(
+                        context.getRootSpanId(),
+                        null,
+                        resourceType + " " + handler,
+                        context.getStartTimeUnixNano(),
+                        operation));
+            }
+            export();
+        }
+    }
+
+    /** @return the current time as OpenTelemetry records it */
+    public static long nowUnixNano() {
+        Instant now = Instant.now();
+        return TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+    }
+
+    private void export() {
+        try {
+            exporter.export(resourceType, List.copyOf(spans));
+        } catch (RuntimeException e) {
+            if (logger != null) {
+                logger.log(String.format("Could not export the spans of trace %s: %s", context.getTraceId(), e));
+            }
+        }
+        spans.clear();
+    }
+
+    private Span span(String spanId, String parentSpanId, String name, long start, Map<String, String> attributes) {
+        return new Span(
+                context.getTraceId(),
+                spanId,
+                parentSpanId,
+                name,
+                start,
+                clock.getAsLong(),
+                Collections.unmodifiableMap(attributes),
+                attributes.containsKey("exception.type") || "FAILED".equals(attributes.get("progress.status")));
+    }
+
+    private static Map<String, String> outcome(ProgressEvent<?, ?> event, RuntimeException thrown) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        if (thrown != null) {
+            attributes.put("exception.type", thrown.getClass().getName());
+            return attributes;
+        }
+        if (event == null) {
+            return attributes;
+        }
+        attributes.put("progress.status", String.valueOf(event.getStatus()));
+        if (event.getCallbackDelaySeconds() > 0) {
+            attributes.put("progress.callbackDelaySeconds", Integer.toString(event.getCallbackDelaySeconds()));
+        }
+        if (event.getErrorCode() != null) {
+            attributes.put("progress.errorCode", event.getErrorCode().name());
+        }
+        return attributes;
+    }
+}
@@ -0,0 +1,311 @@
+package software.amazon.transfer.commons;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.amazonaws.regions.Region;
+import com.amazonaws.regions.RegionUtils;
+
+/**
+ * Parses and formats the ARNs of every Transfer Family resource type.
+ *
+ * <p>A parsed ARN keeps the string it was parsed from and the offsets of its fields, found with
+ * {@link String#indexOf}, so parsing allocates no regular expression, split array or substring; a
+ * field is only copied out when it is asked for. Formatting writes the fields into one builder of
+ * the final size.
+ *
+ * <p>Region lookups go through {@link RegionUtils}, which walks the endpoint metadata on every
+ * call; {@link #region} keeps the regions it found for the life of the container.
+ */
+public final class TransferArn {
+    public static final String SERVICE = "transfer";
+
+    private static final String PREFIX = "arn:";
+    private static final char SEPARATOR = ':';
+    private static final char RESOURCE_DELIMITER = '/';
+    private static final String DEFAULT_PARTITION = "aws";
+    private static final Map<String, Region> REGIONS = new ConcurrentHashMap<>();
+
+    /** The Transfer resource types and how many IDs follow the type in their ARNs. */
+    public enum ResourceType {
+        SERVER("server", 1),
+        USER("user", 2),
+        AGREEMENT("agreement", 2),
+        PROFILE("profile", 1),
+        CONNECTOR("connector", 1),
+        CERTIFICATE("certificate", 1),
+        WORKFLOW("workflow", 1),
+        WEB_APP("webapp", 1);
+
+        private final String name;
+        private final int ids;
+
+        ResourceType(String name, int ids) {
+            this.name = name;
+            this.ids = ids;
+        }
+
+        /** @return the type as it appears in the ARN, e.g. {@code webapp} */
+        public String getName() {
+            return name;
+        }
+
+        private static ResourceType of(String arn, int start, int end) {
+            for (ResourceType type : values()) {
+                if (type.name.length() == end - start && arn.startsWith(type.name, start)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final String arn;
+    private final ResourceType type;
+    private final int serviceStart;
+    private final int regionStart;
+    private final int accountStart;
+    private final int resourceStart;
+    private final int idStart;
+    private final int childIdStart;
+
+    private TransferArn(
+            String arn,
+            ResourceType type,
+            int serviceStart,
+            int regionStart,
+            int accountStart,
+            int resourceStart,
+            int idStart,
+            int childIdStart) {
+        this.arn = arn;
+        this.type = type;
+        this.serviceStart = serviceStart;
+        this.regionStart = regionStart;
+        this.accountStart = accountStart;
+        this.resourceStart = resourceStart;
+        this.idStart = idStart;
+        this.childIdStart = childIdStart;
+    }
+
+    /**
+     * @param arn the ARN of a Transfer resource, e.g. {@code
+     *     arn:aws:transfer:us-east-1:123456789012:user/s-0123456789abcdef0/alice}
+     * @return the parsed ARN
+     * @throws IllegalArgumentException if {@code arn} is not the ARN of a Transfer resource type
+     *     with the number of IDs the type has
+     */
+    public static TransferArn parse(String arn) {
+        if (arn == null || !arn.startsWith(PREFIX)) {
+            throw invalid("Transfer", arn);
+        }
+        int serviceStart = arn.indexOf(SEPARATOR, PREFIX.length()) + 1;
+        int regionStart = serviceStart > 0 ? arn.indexOf(SEPARATOR, serviceStart) + 1 : 0;
+        int accountStart = regionStart > 0 ? arn.indexOf(SEPARATOR, regionStart) + 1 : 0;
+        int resourceStart = accountStart > 0 ? arn.indexOf(SEPARATOR, accountStart) + 1 : 0;
+        int typeEnd = resourceStart > 0 ? arn.indexOf(RESOURCE_DELIMITER, resourceStart) : -1;
+        ResourceType type = typeEnd >= 0 ? ResourceType.of(arn, resourceStart, typeEnd) : null;
+        if (type == null) {
+            throw invalid("Transfer", arn);
+        }
+
+        int idStart = typeEnd + 1;
+        int childIdStart = -1;
+        if (type.ids == 2) {
+            childIdStart = arn.indexOf(RESOURCE_DELIMITER, idStart) + 1;
+            if (childIdStart == 0) {
+                throw invalid(type.name, arn);
+            }
+        }
+        if (arn.indexOf(RESOURCE_DELIMITER, Math.max(idStart, childIdStart)) >= 0) {
+            throw invalid(type.name, arn);
+        }
+        return new TransferArn(
+                arn, type, serviceStart, regionStart, accountStart, resourceStart, idStart, childIdStart);
+    }
+
+    /**
+     * @param arn the ARN of a Transfer resource
+     * @param expected the type the resource must have
+     * @return the parsed ARN
+     * @throws IllegalArgumentException if {@code arn} is not the ARN of an {@code expected} resource
+     */
+    public static TransferArn parse(String arn, ResourceType expected) {
+        TransferArn parsed;
+        try {
+            parsed = parse(arn);
+        } catch (IllegalArgumentException e) {
+            throw invalid(expected.name, arn);
+        }
+        if (parsed.type != expected) {
+            throw invalid(expected.name, arn);
+        }
+        return parsed;
+    }
+
+    /**
+     * @param partition e.g. {@code aws}
+     * @param region e.g. {@code us-east-1}
+     * @param accountId the account that owns the resource
+     * @param type the resource type
+     * @param id the ID of the resource
+     * @return the ARN
+     * @throws IllegalArgumentException if {@code type} takes two IDs
+     */
+    public static String format(String partition, String region, String accountId, ResourceType type, String id) {
+        if (type.ids != 1) {
+            throw new IllegalArgumentException("A " + type.name + " ARN takes " + type.ids + " IDs");
+        }
+        return format(partition, region, accountId, type.name, id);
+    }
+
+    /**
+     * @param partition e.g. {@code aws}
+     * @param region e.g. {@code us-east-1}
+     * @param accountId the account that owns the resource
+     * @param type the resource type
+     * @param parentId the server of a user or an agreement
+     * @param id the user name or agreement ID
+     * @return the ARN
+     * @throws IllegalArgumentException if {@code type} takes one ID
+     */
+    public static String format(
+            String partition, String region, String accountId, ResourceType type, String parentId, String id) {
+        if (type.ids != 2) {
+            throw new IllegalArgumentException("A " + type.name + " ARN takes " + type.ids + " ID");
+        }
+        return new StringBuilder(length(partition, region, accountId, type.name, parentId) + 1 + length(id))
+                .append(PREFIX)
+                .append(partition)
+                .append(SEPARATOR)
+                .append(SERVICE)
+                .append(SEPARATOR)
+                .append(region)
+                .append(SEPARATOR)
+                .append(accountId)
+                .append(SEPARATOR)
+                .append(type.name)
+                .append(RESOURCE_DELIMITER)
+                .append(parentId)
+                .append(RESOURCE_DELIMITER)
+                .append(id)
+                .toString();
+    }
+
+    /**
+     * @param partition e.g. {@code aws}
+     * @param region e.g. {@code us-east-1}
+     * @param accountId the account that owns the resource
+     * @param type the resource type as it appears in the ARN
+     * @param resourceId the IDs that follow the type, joined with {@code /}
+     * @return the ARN
+     */
+    public static String format(String partition, String region, String accountId, String type, String resourceId) {
+        return new StringBuilder(length(partition, region, accountId, type, resourceId))
+                .append(PREFIX)
+                .append(partition)
+                .append(SEPARATOR)
+                .append(SERVICE)
+                .append(SEPARATOR)
+                .append(region)
+                .append(SEPARATOR)
+                .append(accountId)
+                .append(SEPARATOR)
+                .append(type)
+                .append(RESOURCE_DELIMITER)
+                .append(resourceId)
+                .toString();
+    }
+
+    /**
+     * @param name a region name, e.g. {@code us-east-1}
+     * @return the region, null if the name is not known
+     */
+    public static Region region(String name) {
+        if (name == null) {
+            return null;
+        }
+        Region region = REGIONS.get(name);
+        if (region == null) {
+            region = RegionUtils.getRegion(name);
+            if (region != null) {
+                REGIONS.putIfAbsent(name, region);
+            }
+        }
+        return region;
+    }
+
+    /**
+     * @param regionName a region name, e.g. {@code cn-north-1}
+     * @return the partition of the region, e.g. {@code aws-cn}, {@code aws} if the name is not known
+     */
+    public static String partition(String regionName) {
+        Region region = region(regionName);
+        return region != null ? region.getPartition() : DEFAULT_PARTITION;
+    }
+
+    /** @return the ARN as it was parsed */
+    public String getArn() {
+        return arn;
+    }
+
+    public String getPartition() {
+        return arn.substring(PREFIX.length(), serviceStart - 1);
+    }
+
+    public String getService() {
+        return arn.substring(serviceStart, regionStart - 1);
+    }
+
+    public String getRegion() {
+        return arn.substring(regionStart, accountStart - 1);
+    }
+
+    public String getAccountId() {
+        return arn.substring(accountStart, resourceStart - 1);
+    }
+
+    public ResourceType getResourceType() {
+        return type;
+    }
+
+    /** @return the IDs that follow the type, e.g. {@code s-0123456789abcdef0/alice} for a user */
+    public String getResourceId() {
+        return arn.substring(idStart);
+    }
+
+    /** @return the ID of the resource, the server for a user or an agreement */
+    public String getId() {
+        return childIdStart < 0 ? arn.substring(idStart) : arn.substring(idStart, childIdStart - 1);
+    }
+
+    /** @return the user name or agreement ID, null for the other types */
+    public String getChildId() {
+        return childIdStart < 0 ? null : arn.substring(childIdStart);
+    }
+
+    @Override
+    public String toString() {
+        return arn;
+    }
+
+    private static int length(String partition, String region, String accountId, String type, String resourceId) {
+        return PREFIX.length()
+                + length(partition)
+                + SERVICE.length()
+                + length(region)
+                + length(accountId)
+                + type.length()
+                + length(resourceId)
+                + 5;
+    }
+
+    private static int length(String field) {
+        // StringBuilder appends null as "null".
+        return field != null ? field.length() : 4;
+    }
+
+    private static IllegalArgumentException invalid(String type, String arn) {
+        return new IllegalArgumentException("Invalid " + type + " ARN: " + arn);
+    }
+}
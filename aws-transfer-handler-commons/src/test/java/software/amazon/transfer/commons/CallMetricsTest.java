@@ -0,0 +1,257 @@
+package software.amazon.transfer.commons;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.services.transfer.model.ConflictException;
+import software.amazon.awssdk.services.transfer.model.DescribeServerRequest;
+import software.amazon.awssdk.services.transfer.model.DescribeServerResponse;
+import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
+import software.amazon.awssdk.services.transfer.model.ListServersRequest;
+import software.amazon.awssdk.services.transfer.model.ListServersResponse;
+import software.amazon.awssdk.services.transfer.model.ServiceUnavailableException;
+import software.amazon.awssdk.services.transfer.model.ThrottlingException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+public class CallMetricsTest {
+    private static final String TYPE = "AWS::Transfer::Server";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<String> lines = new ArrayList<>();
+    private final CallMetrics metrics = new CallMetrics(TYPE, "UpdateHandler", now::get);
+
+    @Test
+    public void outcomesFollowServiceErrors() {
+        assertThat(CallMetrics.Outcome.of(ThrottlingException.builder().build()))
+                .isEqualTo(CallMetrics.Outcome.THROTTLE);
+        assertThat(CallMetrics.Outcome.of(ConflictException.builder().build()))
+                .isEqualTo(CallMetrics.Outcome.RETRYABLE);
+        assertThat(CallMetrics.Outcome.of(ServiceUnavailableException.builder().build()))
+                .isEqualTo(CallMetrics.Outcome.RETRYABLE);
+        assertThat(CallMetrics.Outcome.of(InvalidRequestException.builder().build()))
+                .isEqualTo(CallMetrics.Outcome.FATAL);
+        assertThat(CallMetrics.Outcome.of(new IllegalStateException())).isEqualTo(CallMetrics.Outcome.FATAL);
+    }
+
+    @Test
+    public void operationIsTheRequestWithoutItsSuffix() {
+        assertThat(CallMetrics.operationName(ListServersRequest.builder().build()))
+                .isEqualTo("ListServers");
+    }
+
+    @Test
+    public void callsAreAggregatedPerOperation() throws Exception {
+        ProxyClient<Object> client = metrics.instrument(new Stub());
+
+        ProgressEvent<Object, Object> event = metrics.measure(
+                () -> {
+                    listServers(client, 3);
+                    listServers(client, 30);
+                    listServers(client, 40);
+                    assertThatThrownBy(() -> describeServer(client, ThrottlingException.builder().build()))
+                            .isInstanceOf(ThrottlingException.class);
+                    return ProgressEvent.defaultSuccessHandler(null);
+                },
+                lines::add);
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(lines).hasSize(3);
+
+        JsonNode describe = MAPPER.readTree(lines.get(0));
+        assertThat(describe.get("Operation").asText()).isEqualTo("DescribeServer");
+        assertThat(describe.get("Calls").asLong()).isEqualTo(1);
+        assertThat(describe.get("Throttles").asLong()).isEqualTo(1);
+        assertThat(describe.get("Successes").asLong()).isZero();
+
+        JsonNode list = MAPPER.readTree(lines.get(1));
+        assertThat(list.get("ResourceType").asText()).isEqualTo(TYPE);
+        assertThat(list.get("Operation").asText()).isEqualTo("ListServers");
+        assertThat(list.get("Calls").asLong()).isEqualTo(3);
+        assertThat(list.get("Successes").asLong()).isEqualTo(3);
+        assertThat(doubles(list.get("Latency").get("Values"))).containsExactly(5.0, 40.0);
+        assertThat(doubles(list.get("Latency").get("Counts"))).containsExactly(1.0, 2.0);
+        assertThat(list.get("Latency").get("Min").asDouble()).isEqualTo(3.0);
+        assertThat(list.get("Latency").get("Max").asDouble()).isEqualTo(40.0);
+        assertThat(list.get("Latency").get("Sum").asDouble()).isEqualTo(73.0);
+        assertThat(list.get("Latency").get("Count").asLong()).isEqualTo(3);
+
+        JsonNode handler = MAPPER.readTree(lines.get(2));
+        assertThat(handler.get("Handler").asText()).isEqualTo("UpdateHandler");
+        assertThat(handler.get("Status").asText()).isEqualTo("SUCCESS");
+        assertThat(handler.get("Calls").asLong()).isEqualTo(4);
+        assertThat(handler.get("Duration").asLong()).isEqualTo(73 + 5);
+        assertThat(handler.get("StabilizationPolls").asLong()).isZero();
+    }
+
+    @Test
+    public void documentsDeclareTheirMetrics() throws Exception {
+        listServers(metrics.instrument(new Stub()), 1);
+
+        JsonNode document = MAPPER.readTree(metrics.documents(1_700_000_000_000L, null).get(0));
+
+        JsonNode directive = document.get("_aws");
+        assertThat(directive.get("Timestamp").asLong()).isEqualTo(1_700_000_000_000L);
+        JsonNode metricsDirective = directive.get("CloudWatchMetrics").get(0);
+        assertThat(metricsDirective.get("Namespace").asText()).isEqualTo(CallMetrics.NAMESPACE);
+        assertThat(metricsDirective.get("Dimensions").toString()).isEqualTo("[[\"ResourceType\",\"Operation\"]]");
+        List<String> names = new ArrayList<>();
+        for (JsonNode metric : metricsDirective.get("Metrics")) {
+            names.add(metric.get("Name").asText());
+            assertThat(document.has(metric.get("Name").asText())).isTrue();
+        }
+        assertThat(names)
+                .containsExactly("Latency", "Calls", "Successes", "Throttles", "RetryableErrors", "FatalErrors");
+    }
+
+    @Test
+    public void callbackWithoutFailedCallsIsAStabilizationPoll() throws Exception {
+        ProxyClient<Object> client = metrics.instrument(new Stub());
+
+        metrics.measure(
+                () -> {
+                    describeServer(client, null);
+                    return ProgressEvent.<Object, Object>builder()
+                            .status(OperationStatus.IN_PROGRESS)
+                            .callbackDelaySeconds(30)
+                            .build();
+                },
+                lines::add);
+
+        JsonNode handler = MAPPER.readTree(lines.get(lines.size() - 1));
+        assertThat(handler.get("Status").asText()).isEqualTo("IN_PROGRESS");
+        assertThat(handler.get("StabilizationPolls").asLong()).isEqualTo(1);
+        assertThat(handler.get("Retries").asLong()).isZero();
+    }
+
+    @Test
+    public void callbackAfterFailedCallIsARetry() throws Exception {
+        ProxyClient<Object> client = metrics.instrument(new Stub());
+
+        metrics.measure(
+                () -> {
+                    assertThatThrownBy(() -> describeServer(client, ConflictException.builder().build()))
+                            .isInstanceOf(ConflictException.class);
+                    return ProgressEvent.<Object, Object>builder()
+                            .status(OperationStatus.IN_PROGRESS)
+                            .callbackDelaySeconds(5)
+                            .build();
+                },
+                lines::add);
+
+        assertThat(MAPPER.readTree(lines.get(0)).get("RetryableErrors").asLong()).isEqualTo(1);
+        JsonNode handler = MAPPER.readTree(lines.get(1));
+        assertThat(handler.get("StabilizationPolls").asLong()).isZero();
+        assertThat(handler.get("Retries").asLong()).isEqualTo(1);
+    }
+
+    @Test
+    public void failedInvocationIsLoggedAndRethrown() throws Exception {
+        ProxyClient<Object> client = metrics.instrument(new Stub());
+
+        assertThatThrownBy(() -> metrics.measure(
+                        () -> describeServer(client, InvalidRequestException.builder().build()),
+                        lines::add))
+                .isInstanceOf(InvalidRequestException.class);
+
+        assertThat(MAPPER.readTree(lines.get(0)).get("FatalErrors").asLong()).isEqualTo(1);
+        JsonNode handler = MAPPER.readTree(lines.get(1));
+        assertThat(handler.get("Status").asText()).isEqualTo("EXCEPTION");
+        assertThat(handler.get("Calls").asLong()).isEqualTo(1);
+    }
+
+    @Test
+    public void failedEventCarriesItsErrorCode() throws Exception {
+        metrics.measure(() -> ProgressEvent.defaultFailureHandler(null, HandlerErrorCode.NotFound), lines::add);
+
+        JsonNode handler = MAPPER.readTree(lines.get(0));
+        assertThat(handler.get("Status").asText()).isEqualTo("FAILED");
+        assertThat(handler.get("ErrorCode").asText()).isEqualTo("NotFound");
+        assertThat(handler.get("Calls").asLong()).isZero();
+    }
+
+    private void listServers(ProxyClient<Object> client, long millis) {
+        client.injectCredentialsAndInvokeV2(ListServersRequest.builder().build(), request -> {
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+            return ListServersResponse.builder().build();
+        });
+    }
+
+    private <M, C> ProgressEvent<M, C> describeServer(ProxyClient<Object> client, RuntimeException error) {
+        client.injectCredentialsAndInvokeV2(DescribeServerRequest.builder().build(), request -> {
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(5));
+            if (error != null) {
+                throw error;
+            }
+            return DescribeServerResponse.builder().build();
+        });
+        return ProgressEvent.defaultSuccessHandler(null);
+    }
+
+    private static List<Double> doubles(JsonNode array) {
+        List<Double> values = new ArrayList<>();
+        array.forEach(value -> values.add(value.asDouble()));
+        return values;
+    }
+
+    private static class Stub implements ProxyClient<Object> {
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+                RequestT request, Function<RequestT, ResponseT> requestFunction) {
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+                CompletableFuture<ResponseT> injectCredentialsAndInvokeV2Async(
+                        RequestT request, Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse, IterableT extends SdkIterable<ResponseT>>
+                IterableT injectCredentialsAndInvokeIterableV2(
+                        RequestT request, Function<RequestT, IterableT> requestFunction) {
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+                ResponseInputStream<ResponseT> injectCredentialsAndInvokeV2InputStream(
+                        RequestT request, Function<RequestT, ResponseInputStream<ResponseT>> requestFunction) {
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+                ResponseBytes<ResponseT> injectCredentialsAndInvokeV2Bytes(
+                        RequestT request, Function<RequestT, ResponseBytes<ResponseT>> requestFunction) {
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public Object client() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package software.amazon.transfer.commons;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.services.transfer.TransferClient;
+
+public class ClientRegistryTest {
+    private List<TransferClient> built;
+    private ClientRegistry<TransferClient> registry;
+
+    @BeforeEach
+    public void setup() {
+        built = new ArrayList<>();
+        registry = new ClientRegistry<>(() -> {
+            TransferClient client = mock(TransferClient.class);
+            synchronized (built) {
+                built.add(client);
+            }
+            return client;
+        });
+    }
+
+    @Test
+    public void buildsOneClientAndHandsItOutAsIs() {
+        TransferClient first = registry.get();
+        TransferClient second = registry.get();
+
+        assertThat(first).isSameAs(second).isSameAs(built.get(0));
+        assertThat(built).hasSize(1);
+        assertThat(registry.isBuilt()).isTrue();
+        assertThat(registry.getBuiltCount()).isEqualTo(1);
+        assertThat(registry.getLeasedCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void concurrentCallersShareOneClient() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<TransferClient>> clients = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                clients.add(executor.submit(() -> {
+                    start.await();
+                    return registry.get();
+                }));
+            }
+            start.countDown();
+            for (Future<TransferClient> client : clients) {
+                assertThat(client.get(5, TimeUnit.SECONDS)).isSameAs(built.get(0));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(built).hasSize(1);
+    }
+
+    @Test
+    public void shutdownClosesTheClient() {
+        registry.get();
+        registry.shutdown();
+
+        verify(built.get(0), times(1)).close();
+        assertThat(registry.isBuilt()).isFalse();
+        assertThat(registry.getClosedCount()).isEqualTo(1);
+
+        registry.get();
+        assertThat(built).hasSize(2);
+    }
+}
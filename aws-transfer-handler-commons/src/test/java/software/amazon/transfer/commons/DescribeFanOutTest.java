@@ -0,0 +1,117 @@
+package software.amazon.transfer.commons;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.services.transfer.model.InternalServiceErrorException;
+import software.amazon.awssdk.services.transfer.model.ResourceNotFoundException;
+
+public class DescribeFanOutTest {
+
+    @Test
+    public void describedResourcesKeepTheListOrder() {
+        List<Integer> items = IntStream.range(0, 20).boxed().collect(Collectors.toList());
+
+        List<String> described = DescribeFanOut.DEFAULT.describe(items, item -> {
+            sleep(20 - item);
+            return "r-" + item;
+        });
+
+        assertThat(described)
+                .containsExactlyElementsOf(
+                        items.stream().map(item -> "r-" + item).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void resourcesNotFoundAreLeftOut() {
+        List<String> described = DescribeFanOut.DEFAULT.describe(List.of("a", "deleted", "b"), item -> {
+            if (item.equals("deleted")) {
+                throw ResourceNotFoundException.builder().message("gone").build();
+            }
+            return item.toUpperCase();
+        });
+
+        assertThat(described).containsExactly("A", "B");
+    }
+
+    @Test
+    public void otherFailuresAreRethrown() {
+        assertThatThrownBy(() -> DescribeFanOut.DEFAULT.describe(List.of("a", "b"), item -> {
+                    throw InternalServiceErrorException.builder().message("boom").build();
+                }))
+                .isInstanceOf(InternalServiceErrorException.class)
+                .hasMessageContaining("boom");
+    }
+
+    @Test
+    public void describesNotStartedBeforeAFailureAreNotMade() {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> new DescribeFanOut(1)
+                        .describe(IntStream.range(0, 10).boxed().collect(Collectors.toList()), item -> {
+                            calls.incrementAndGet();
+                            if (item == 0) {
+                                throw InternalServiceErrorException.builder()
+                                        .message("boom")
+                                        .build();
+                            }
+                            await(release);
+                            return item;
+                        }))
+                .isInstanceOf(InternalServiceErrorException.class);
+        release.countDown();
+
+        // The failed describe, and at most the one started before the others were cancelled.
+        assertThat(calls.get()).isBetween(1, 2);
+    }
+
+    @Test
+    public void describesAreBoundedByTheParallelism() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger mostInFlight = new AtomicInteger();
+
+        new DescribeFanOut(3).describe(IntStream.range(0, 30).boxed().collect(Collectors.toList()), item -> {
+            mostInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(5);
+            inFlight.decrementAndGet();
+            return item;
+        });
+
+        assertThat(mostInFlight.get()).isBetween(1, 3);
+    }
+
+    @Test
+    public void offListsAtTheDefaultPageSizeAndDescribesNothing() {
+        assertThat(DescribeFanOut.OFF.isEnabled()).isFalse();
+        assertThat(DescribeFanOut.OFF.getPaginator()).isSameAs(Paginator.DEFAULT);
+        assertThat(DescribeFanOut.DEFAULT.getPaginator().getPageSize()).isEqualTo(DescribeFanOut.PAGE_SIZE);
+        assertThatThrownBy(() -> DescribeFanOut.OFF.describe(List.of("a"), item -> item))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
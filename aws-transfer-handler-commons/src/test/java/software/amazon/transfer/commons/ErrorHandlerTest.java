@@ -0,0 +1,58 @@
+package software.amazon.transfer.commons;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
+import software.amazon.awssdk.services.transfer.model.ThrottlingException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+public class ErrorHandlerTest {
+    private final List<String> lines = new ArrayList<>();
+    private final ErrorHandler<String, int[]> errorHandler = new ErrorHandler<>(
+            "AWS::Transfer::Test",
+            RetryPolicy.DEFAULT,
+            model -> "id-" + model,
+            retries -> retries[0],
+            (retries, left) -> retries[0] = left);
+
+    @Test
+    public void throttledCallsAreRetriedWhileTheBudgetLasts() {
+        int[] retries = {1};
+
+        ProgressEvent<String, int[]> first = handle(ThrottlingException.builder().build(), retries);
+        ProgressEvent<String, int[]> second = handle(ThrottlingException.builder().build(), retries);
+
+        assertThat(first.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(first.getCallbackDelaySeconds()).isEqualTo(RetryPolicy.DEFAULT_DELAY_SECONDS);
+        assertThat(second.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(second.getErrorCode()).isEqualTo(HandlerErrorCode.Throttling);
+        assertThat(retries[0]).isZero();
+        assertThat(lines.get(0)).startsWith("AWS::Transfer::Test [id-model] Retrying");
+    }
+
+    @Test
+    public void permanentFailuresFailWithTheMappedErrorCode() {
+        int[] retries = {1};
+
+        ProgressEvent<String, int[]> event =
+                handle(InvalidRequestException.builder().message("bad").build(), retries);
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(event.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        assertThat(event.getMessage()).isEqualTo("bad");
+        assertThat(event.getResourceModel()).isEqualTo("model");
+        assertThat(retries[0]).isEqualTo(1);
+        assertThat(lines.get(0)).contains("token", "id-model", "Update");
+    }
+
+    private ProgressEvent<String, int[]> handle(Exception e, int[] retries) {
+        return errorHandler.handle(lines::add, "Update", e, "model", retries, "token");
+    }
+}
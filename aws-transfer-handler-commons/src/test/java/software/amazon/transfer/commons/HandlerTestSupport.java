@@ -0,0 +1,51 @@
+package software.amazon.transfer.commons;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * The assertions the handler tests of every resource make on how a failed call ends, shipped to
+ * the resource modules in the test jar of this module.
+ *
+ * @param <ModelT> the resource model type
+ * @param <CtxT> the callback context type
+ */
+public abstract class HandlerTestSupport<ModelT, CtxT> {
+    private final Supplier<CtxT> newContext;
+    private final ToIntFunction<CtxT> retriesLeft;
+
+    /**
+     * @param newContext the context a handler is first called with
+     * @param retriesLeft reads the retry budget of a context
+     */
+    protected HandlerTestSupport(Supplier<CtxT> newContext, ToIntFunction<CtxT> retriesLeft) {
+        this.newContext = newContext;
+        this.retriesLeft = retriesLeft;
+    }
+
+    /** Calls the handler under test with a new callback context. */
+    protected abstract ProgressEvent<ModelT, CtxT> callHandler(ResourceHandlerRequest<ModelT> request);
+
+    protected void assertFailed(ResourceHandlerRequest<ModelT> request, HandlerErrorCode errorCode) {
+        ProgressEvent<ModelT, CtxT> response = callHandler(request);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(errorCode);
+    }
+
+    protected void assertRetried(ResourceHandlerRequest<ModelT> request) {
+        ProgressEvent<ModelT, CtxT> response = callHandler(request);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(RetryPolicy.DEFAULT_DELAY_SECONDS);
+        assertThat(retriesLeft.applyAsInt(response.getCallbackContext()))
+                .isEqualTo(retriesLeft.applyAsInt(newContext.get()) - 1);
+    }
+}
@@ -0,0 +1,146 @@
+package software.amazon.transfer.commons;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.services.transfer.model.ListServersRequest;
+import software.amazon.awssdk.services.transfer.model.ListServersResponse;
+import software.amazon.awssdk.services.transfer.model.ListedServer;
+
+public class PaginatorTest {
+    private static final int RESOURCES = 10_000;
+
+    private StubListServers stub;
+
+    @BeforeEach
+    public void setup() {
+        stub = new StubListServers(RESOURCES);
+    }
+
+    @Test
+    public void servicePageSizeListsTenThousandServersInTenRoundTrips() {
+        Paginator.Page<ListedServer> page = listAll(Paginator.DEFAULT);
+
+        assertThat(page.getItems()).hasSize(RESOURCES);
+        assertThat(page.getNextToken()).isNull();
+        assertThat(page.getRoundTrips()).isEqualTo(10);
+        assertThat(stub.calls).isEqualTo(10);
+    }
+
+    @Test
+    public void legacyPageSizeNeedsAThousandRoundTrips() {
+        Paginator legacy = new Paginator(10, Integer.MAX_VALUE, Duration.ofDays(1));
+
+        Paginator.Page<ListedServer> page = listAll(legacy);
+
+        assertThat(page.getItems()).hasSize(RESOURCES);
+        assertThat(stub.calls).isEqualTo(1000);
+    }
+
+    @Test
+    public void maxPagesEndsTheInvocationWithAResumableToken() {
+        Paginator paginator = new Paginator(1000, 3, Duration.ofDays(1));
+
+        List<ListedServer> listed = new ArrayList<>();
+        String token = null;
+        int invocations = 0;
+        do {
+            Paginator.Page<ListedServer> page = paginate(paginator, token);
+            assertThat(page.getRoundTrips()).isLessThanOrEqualTo(3);
+            listed.addAll(page.getItems());
+            token = page.getNextToken();
+            invocations++;
+        } while (token != null);
+
+        assertThat(invocations).isEqualTo(4);
+        assertThat(stub.calls).isEqualTo(10);
+        assertThat(listed)
+                .extracting(ListedServer::serverId)
+                .containsExactlyElementsOf(stub.serverIds());
+    }
+
+    @Test
+    public void timeBudgetEndsTheInvocation() {
+        AtomicLong clock = new AtomicLong();
+        Paginator paginator = new Paginator(1000, 100, Duration.ofSeconds(5), () -> clock.getAndAdd(2_000_000_000L));
+
+        Paginator.Page<ListedServer> page = paginate(paginator, null);
+
+        // Every clock read advances two seconds: the budget is spent after the third page.
+        assertThat(page.getRoundTrips()).isEqualTo(3);
+        assertThat(page.getItems()).hasSize(3000);
+        assertThat(page.getNextToken()).isEqualTo("3000");
+    }
+
+    @Test
+    public void emptyTokenEndsTheListing() {
+        Paginator.Page<String> page = Paginator.DEFAULT.paginate(
+                null, token -> "", response -> List.of(response), response -> response);
+
+        assertThat(page.getItems()).containsExactly("");
+        assertThat(page.getNextToken()).isNull();
+        assertThat(page.getRoundTrips()).isEqualTo(1);
+    }
+
+    @Test
+    public void rejectsPageSizesTheServiceDoesNotAccept() {
+        assertThatThrownBy(() -> new Paginator(0, 1, Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Paginator(Paginator.MAX_PAGE_SIZE + 1, 1, Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Paginator(10, 0, Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Paginator.Page<ListedServer> listAll(Paginator paginator) {
+        return paginate(paginator, null);
+    }
+
+    private Paginator.Page<ListedServer> paginate(Paginator paginator, String startToken) {
+        ListServersRequest request =
+                ListServersRequest.builder().maxResults(paginator.getPageSize()).build();
+        return paginator.paginate(
+                startToken,
+                token -> stub.listServers(request.toBuilder().nextToken(token).build()),
+                ListServersResponse::servers,
+                ListServersResponse::nextToken);
+    }
+
+    /** Serves ListServers out of memory, the token being the offset of the next page. */
+    private static final class StubListServers {
+        private final List<ListedServer> servers;
+        private int calls;
+
+        private StubListServers(int count) {
+            servers = IntStream.range(0, count)
+                    .mapToObj(i -> ListedServer.builder()
+                            .serverId(String.format("s-%017d", i))
+                            .build())
+                    .collect(Collectors.toList());
+        }
+
+        private ListServersResponse listServers(ListServersRequest request) {
+            calls++;
+            int from = request.nextToken() == null ? 0 : Integer.parseInt(request.nextToken());
+            int to = Math.min(servers.size(), from + request.maxResults());
+            return ListServersResponse.builder()
+                    .servers(servers.subList(from, to))
+                    .nextToken(to < servers.size() ? String.valueOf(to) : null)
+                    .build();
+        }
+
+        private List<String> serverIds() {
+            return servers.stream().map(ListedServer::serverId).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package software.amazon.transfer.commons;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import org.junit.jupiter.api.Test;
+
+public class PrimingTest {
+
+    @Test
+    public void stepsRunOnceAndFailuresAreCounted() {
+        AtomicInteger runs = new AtomicInteger();
+        Priming.register(runs::incrementAndGet);
+        Priming.register(() -> {
+            throw new IllegalStateException("no region");
+        });
+        Priming.register(runs::incrementAndGet);
+
+        assertThat(Priming.primeNow()).isEqualTo(1);
+        assertThat(Priming.primeNow()).isZero();
+        assertThat(runs.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void checkpointRunsTheSteps() {
+        AtomicInteger runs = new AtomicInteger();
+        Priming.register(runs::incrementAndGet);
+
+        Priming.INSTANCE.beforeCheckpoint(null);
+        Priming.INSTANCE.afterRestore(null);
+
+        assertThat(runs.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void roundTripReadsTheSampleBack() {
+        Map<String, String> sample = Map.of("Key", "Value");
+
+        assertThat(Priming.roundTrip(sample, new TypeReference<Map<String, String>>() {})).isEqualTo(sample);
+    }
+}
@@ -0,0 +1,294 @@
+package software.amazon.transfer.commons;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.services.transfer.model.ListServersRequest;
+import software.amazon.awssdk.services.transfer.model.ListServersResponse;
+import software.amazon.awssdk.services.transfer.model.ThrottlingException;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+public class RateLimiterTest {
+    private static final RateLimiter.Key KEY = RateLimiter.Key.of("123456789012", "us-east-1", "ListServers");
+    private static final ResourceHandlerRequest<Object> REQUEST = ResourceHandlerRequest.<Object>builder()
+            .awsAccountId("123456789012")
+            .region("us-east-1")
+            .build();
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<Long> sleeps = new ArrayList<>();
+
+    @Test
+    public void burstIsFreeThenCallsArePaced() {
+        RateLimiter limiter = limiter(10, Duration.ofSeconds(1));
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire(KEY);
+        }
+        limiter.acquire(KEY);
+        limiter.acquire(KEY);
+
+        assertThat(sleeps).containsExactly(millis(100), millis(100));
+        assertThat(limiter.estimatedWaitSeconds(RateLimiter.Key.of("123456789012", "us-east-1", "ListUsers")))
+                .isZero();
+    }
+
+    @Test
+    public void throttleHalvesTheRateAndHoldsUntilRetryAfter() {
+        RateLimiter limiter = limiter(10, Duration.ofSeconds(1));
+
+        limiter.onThrottled(KEY, OptionalInt.of(3));
+
+        assertThat(limiter.rate(KEY)).isEqualTo(5);
+        assertThat(limiter.estimatedWaitSeconds(KEY)).isEqualTo(4);
+        assertThatThrownBy(() -> limiter.acquire(KEY))
+                .isInstanceOfSatisfying(ThrottlingException.class, e ->
+                        assertThat(e.retryAfterSeconds()).isEqualTo("4"));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(3));
+        limiter.acquire(KEY);
+        assertThat(sleeps).containsExactly(millis(200));
+    }
+
+    @Test
+    public void throttlesInFlightTogetherHalveTheRateOnce() {
+        RateLimiter limiter = limiter(10, Duration.ofSeconds(1));
+
+        limiter.onThrottled(KEY, OptionalInt.empty());
+        limiter.onThrottled(KEY, OptionalInt.empty());
+        assertThat(limiter.rate(KEY)).isEqualTo(5);
+
+        now.addAndGet(millis(100));
+        limiter.onThrottled(KEY, OptionalInt.empty());
+        assertThat(limiter.rate(KEY)).isEqualTo(2.5);
+
+        limiter.onSuccess(KEY);
+        assertThat(limiter.rate(KEY)).isCloseTo(2.55, within(1e-9));
+        for (int i = 0; i < 1000; i++) {
+            limiter.onSuccess(KEY);
+        }
+        assertThat(limiter.rate(KEY)).isEqualTo(10);
+    }
+
+    @Test
+    public void pacedClientSkipsCallsThatWouldWaitTooLong() {
+        RateLimiter limiter = limiter(10, Duration.ofSeconds(1));
+        ThrottlingStub service = new ThrottlingStub(1000, 1000, now::get);
+        limiter.onThrottled(KEY, OptionalInt.of(5));
+
+        ProxyClient<Object> client = limiter.pace(service, REQUEST);
+
+        assertThatThrownBy(() -> listServers(client))
+                .isInstanceOfSatisfying(ThrottlingException.class, e ->
+                        assertThat(e.retryAfterSeconds()).isEqualTo("6"));
+        assertThat(service.calls.get()).isZero();
+    }
+
+    @Test
+    public void rethrownThrottleCarriesTheLongerEstimatedWait() {
+        RateLimiter limiter = limiter(1, Duration.ofSeconds(1));
+        ProxyClient<Object> client = limiter.pace(new AlwaysThrottled("1"), REQUEST);
+
+        assertThatThrownBy(() -> listServers(client)).isInstanceOfSatisfying(ThrottlingException.class, e -> {
+            assertThat(e.retryAfterSeconds()).isEqualTo("3");
+            assertThat(RetryPolicy.DEFAULT.delaySeconds(e)).isEqualTo(3);
+        });
+        assertThat(limiter.rate(KEY)).isEqualTo(0.5);
+    }
+
+    @Test
+    public void throttleWithoutRetryAfterIsRethrownAsIs() {
+        RateLimiter limiter = limiter(1, Duration.ofSeconds(1));
+        AlwaysThrottled service = new AlwaysThrottled(null);
+
+        assertThatThrownBy(() -> listServers(limiter.pace(service, REQUEST))).isSameAs(service.exception);
+    }
+
+    @Test
+    public void nothingToPaceWithoutARequest() {
+        ThrottlingStub service = new ThrottlingStub(1, 1, now::get);
+
+        assertThat(RateLimiter.DEFAULT.pace(service, null)).isSameAs(service);
+        assertThat(RateLimiter.DEFAULT.pace(null, REQUEST)).isNull();
+    }
+
+    /**
+     * Eight threads share a service that allows 200 calls a second with a burst of 20. Unpaced
+     * almost every call is throttled; paced, the limiter starts five times too fast and has to
+     * learn the rate from the throttles.
+     */
+    @Test
+    public void pacingUnderLoadAvoidsMostThrottles() throws Exception {
+        ThrottlingStub unpaced = new ThrottlingStub(200, 20, System::nanoTime);
+        run(unpaced);
+
+        ThrottlingStub service = new ThrottlingStub(200, 20, System::nanoTime);
+        RateLimiter limiter =
+                new RateLimiter(1000, Duration.ofSeconds(1), System::nanoTime, TimeUnit.NANOSECONDS::sleep);
+        run(limiter.pace(service, REQUEST));
+
+        assertThat(unpaced.calls.get()).isEqualTo(320);
+        assertThat(service.throttles.get()).isLessThan(unpaced.throttles.get() / 2);
+        assertThat(limiter.rate(KEY)).isLessThan(1000);
+    }
+
+    private static void run(ProxyClient<Object> client) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> threads = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                threads.add(executor.submit(() -> {
+                    for (int i = 0; i < 40; i++) {
+                        try {
+                            listServers(client);
+                        } catch (ThrottlingException ignored) {
+                            // counted by the service
+                        }
+                    }
+                }));
+            }
+            for (Future<?> thread : threads) {
+                thread.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private RateLimiter limiter(double rate, Duration maxWait) {
+        return new RateLimiter(rate, maxWait, now::get, nanos -> {
+            sleeps.add(nanos);
+            now.addAndGet(nanos);
+        });
+    }
+
+    private static ListServersResponse listServers(ProxyClient<Object> client) {
+        return client.injectCredentialsAndInvokeV2(
+                ListServersRequest.builder().build(), request -> ListServersResponse.builder().build());
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /** Stands in for the service: a fixed token bucket that throttles calls once it is empty. */
+    private static final class ThrottlingStub extends StubProxyClient {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger throttles = new AtomicInteger();
+        private final double rate;
+        private final double burst;
+        private final LongSupplier clock;
+        private double tokens;
+        private long refilledAt;
+
+        private ThrottlingStub(double rate, double burst, LongSupplier clock) {
+            this.rate = rate;
+            this.burst = burst;
+            this.clock = clock;
+            this.tokens = burst;
+            this.refilledAt = clock.getAsLong();
+        }
+
+        @Override
+        <RequestT, ResponseT> ResponseT call(RequestT request, Function<RequestT, ResponseT> requestFunction) {
+            calls.incrementAndGet();
+            if (!take()) {
+                throttles.incrementAndGet();
+                throw ThrottlingException.builder().message("Rate exceeded").build();
+            }
+            return requestFunction.apply(request);
+        }
+
+        private synchronized boolean take() {
+            long time = clock.getAsLong();
+            tokens = Math.min(burst, tokens + (time - refilledAt) * rate / TimeUnit.SECONDS.toNanos(1));
+            refilledAt = time;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+    }
+
+    private static final class AlwaysThrottled extends StubProxyClient {
+        private final ThrottlingException exception;
+
+        private AlwaysThrottled(String retryAfterSeconds) {
+            this.exception = ThrottlingException.builder()
+                    .retryAfterSeconds(retryAfterSeconds)
+                    .build();
+        }
+
+        @Override
+        <RequestT, ResponseT> ResponseT call(RequestT request, Function<RequestT, ResponseT> requestFunction) {
+            throw exception;
+        }
+    }
+
+    private abstract static class StubProxyClient implements ProxyClient<Object> {
+        abstract <RequestT, ResponseT> ResponseT call(RequestT request, Function<RequestT, ResponseT> requestFunction);
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+                RequestT request, Function<RequestT, ResponseT> requestFunction) {
+            return call(request, requestFunction);
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+                CompletableFuture<ResponseT> injectCredentialsAndInvokeV2Async(
+                        RequestT request, Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse, IterableT extends SdkIterable<ResponseT>>
+                IterableT injectCredentialsAndInvokeIterableV2(
+                        RequestT request, Function<RequestT, IterableT> requestFunction) {
+            return call(request, requestFunction);
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+                ResponseInputStream<ResponseT> injectCredentialsAndInvokeV2InputStream(
+                        RequestT request, Function<RequestT, ResponseInputStream<ResponseT>> requestFunction) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+                ResponseBytes<ResponseT> injectCredentialsAndInvokeV2Bytes(
+                        RequestT request, Function<RequestT, ResponseBytes<ResponseT>> requestFunction) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Object client() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package software.amazon.transfer.commons;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.services.transfer.model.ConflictException;
+import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
+import software.amazon.awssdk.services.transfer.model.ThrottlingException;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+public class RetryPolicyTest {
+    private final RetryPolicy policy = RetryPolicy.DEFAULT;
+
+    @Test
+    public void delayIsTheOneTheServiceAskedFor() {
+        assertThat(policy.delaySeconds(throttled("3"))).isEqualTo(3);
+        assertThat(policy.delaySeconds(throttled(" 7 "))).isEqualTo(7);
+        assertThat(policy.delaySeconds(throttled(null))).isEqualTo(RetryPolicy.DEFAULT_DELAY_SECONDS);
+        assertThat(policy.delaySeconds(throttled("soon"))).isEqualTo(RetryPolicy.DEFAULT_DELAY_SECONDS);
+        assertThat(policy.delaySeconds(throttled("-1"))).isZero();
+        assertThat(new RetryPolicy(2).delaySeconds(ConflictException.builder().build())).isEqualTo(2);
+    }
+
+    @Test
+    public void retriesSpendTheContextBudget() {
+        Budget budget = new Budget(2);
+
+        Optional<ProgressEvent<String, Budget>> first = retry(throttled("4"), budget);
+        Optional<ProgressEvent<String, Budget>> second = retry(ConflictException.builder().build(), budget);
+        Optional<ProgressEvent<String, Budget>> third = retry(throttled("4"), budget);
+
+        assertThat(first).hasValueSatisfying(event -> {
+            assertThat(event.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+            assertThat(event.getCallbackDelaySeconds()).isEqualTo(4);
+            assertThat(event.getResourceModel()).isEqualTo("model");
+            assertThat(event.getCallbackContext()).isSameAs(budget);
+        });
+        assertThat(second).hasValueSatisfying(event ->
+                assertThat(event.getCallbackDelaySeconds()).isEqualTo(RetryPolicy.DEFAULT_DELAY_SECONDS));
+        assertThat(third).isEmpty();
+        assertThat(budget.retriesLeft).isZero();
+    }
+
+    @Test
+    public void permanentFailuresAreNotRetried() {
+        Budget budget = new Budget(2);
+
+        assertThat(policy.shouldRetry(InvalidRequestException.builder().build())).isFalse();
+        assertThat(retry(InvalidRequestException.builder().build(), budget)).isEmpty();
+        assertThat(budget.retriesLeft).isEqualTo(2);
+    }
+
+    @Test
+    public void rejectsNegativeDelays() {
+        assertThatThrownBy(() -> new RetryPolicy(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Optional<ProgressEvent<String, Budget>> retry(Exception e, Budget budget) {
+        return policy.retryLater(e, "model", budget, Budget::getRetriesLeft, Budget::setRetriesLeft);
+    }
+
+    private static ThrottlingException throttled(String retryAfterSeconds) {
+        return ThrottlingException.builder().retryAfterSeconds(retryAfterSeconds).build();
+    }
+
+    /** Stands in for a resource's callback context. */
+    private static final class Budget {
+        private int retriesLeft;
+
+        private Budget(int retriesLeft) {
+            this.retriesLeft = retriesLeft;
+        }
+
+        private int getRetriesLeft() {
+            return retriesLeft;
+        }
+
+        private void setRetriesLeft(int retriesLeft) {
+            this.retriesLeft = retriesLeft;
+        }
+    }
+}
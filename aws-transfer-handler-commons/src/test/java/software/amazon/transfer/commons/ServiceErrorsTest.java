@@ -0,0 +1,72 @@
+package software.amazon.transfer.commons;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.transfer.model.AccessDeniedException;
+import software.amazon.awssdk.services.transfer.model.ConflictException;
+import software.amazon.awssdk.services.transfer.model.InternalServiceErrorException;
+import software.amazon.awssdk.services.transfer.model.InvalidNextTokenException;
+import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
+import software.amazon.awssdk.services.transfer.model.ResourceExistsException;
+import software.amazon.awssdk.services.transfer.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.transfer.model.ServiceUnavailableException;
+import software.amazon.awssdk.services.transfer.model.ThrottlingException;
+import software.amazon.awssdk.services.transfer.model.TransferException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+
+public class ServiceErrorsTest {
+
+    @Test
+    public void errorCodeFallsBackToTheMessage() {
+        assertThat(ServiceErrors.errorCode(withErrorCode("AccessDenied"))).isEqualTo("AccessDenied");
+        assertThat(ServiceErrors.errorCode(new IllegalStateException("boom"))).isEqualTo("boom");
+    }
+
+    @Test
+    public void throttlingIsRecognizedByTypeOrErrorCode() {
+        assertThat(ServiceErrors.isThrottling(ThrottlingException.builder().build())).isTrue();
+        assertThat(ServiceErrors.isThrottling(withErrorCode("ThrottlingException"))).isTrue();
+        assertThat(ServiceErrors.isThrottling(withErrorCode("Throttling"))).isTrue();
+        assertThat(ServiceErrors.isThrottling(withErrorCode("ValidationException"))).isFalse();
+        assertThat(ServiceErrors.isThrottling(new IllegalStateException("boom"))).isFalse();
+    }
+
+    @Test
+    public void onlyTransientFailuresAreRetryable() {
+        assertThat(ServiceErrors.isRetryable(ConflictException.builder().build())).isTrue();
+        assertThat(ServiceErrors.isRetryable(InternalServiceErrorException.builder().build())).isTrue();
+        assertThat(ServiceErrors.isRetryable(ServiceUnavailableException.builder().build())).isTrue();
+        assertThat(ServiceErrors.isRetryable(ThrottlingException.builder().build())).isFalse();
+        assertThat(ServiceErrors.isRetryable(InvalidRequestException.builder().build())).isFalse();
+    }
+
+    @Test
+    public void failuresMapToHandlerErrorCodes() {
+        assertThat(code(ConflictException.builder().build())).isEqualTo(HandlerErrorCode.ResourceConflict);
+        assertThat(code(InternalServiceErrorException.builder().build()))
+                .isEqualTo(HandlerErrorCode.ServiceInternalError);
+        assertThat(code(ServiceUnavailableException.builder().build()))
+                .isEqualTo(HandlerErrorCode.ServiceLimitExceeded);
+        assertThat(code(ThrottlingException.builder().build())).isEqualTo(HandlerErrorCode.Throttling);
+        assertThat(code(ResourceExistsException.builder().build())).isEqualTo(HandlerErrorCode.AlreadyExists);
+        assertThat(code(ResourceNotFoundException.builder().build())).isEqualTo(HandlerErrorCode.NotFound);
+        assertThat(code(AccessDeniedException.builder().build())).isEqualTo(HandlerErrorCode.AccessDenied);
+        assertThat(code(InvalidRequestException.builder().build())).isEqualTo(HandlerErrorCode.InvalidRequest);
+        assertThat(code(InvalidNextTokenException.builder().build())).isEqualTo(HandlerErrorCode.InvalidRequest);
+        assertThat(code(new IllegalStateException("boom"))).isEqualTo(HandlerErrorCode.GeneralServiceException);
+    }
+
+    private static HandlerErrorCode code(Exception e) {
+        return ServiceErrors.toHandlerErrorCode(e);
+    }
+
+    private static AwsServiceException withErrorCode(String errorCode) {
+        return TransferException.builder()
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode(errorCode).build())
+                .build();
+    }
+}
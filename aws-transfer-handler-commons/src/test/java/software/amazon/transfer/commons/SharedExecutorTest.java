@@ -0,0 +1,97 @@
+package software.amazon.transfer.commons;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class SharedExecutorTest {
+
+    @Test
+    public void resultsKeepTheOrderOfTheItems() throws Exception {
+        List<CompletableFuture<String>> results =
+                SharedExecutor.map(List.of(1, 2, 3), 2, item -> "r-" + item);
+
+        assertThat(CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS))
+                .isNull();
+        assertThat(results).extracting(CompletableFuture::join).containsExactly("r-1", "r-2", "r-3");
+    }
+
+    @Test
+    public void callsAreBoundedByTheParallelismOfTheBatch() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger mostInFlight = new AtomicInteger();
+        List<Integer> items = IntStream.range(0, 20).boxed().collect(Collectors.toList());
+
+        List<CompletableFuture<Integer>> results = SharedExecutor.map(items, 2, item -> {
+            mostInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            return item;
+        });
+        CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+
+        assertThat(mostInFlight.get()).isBetween(1, 2);
+    }
+
+    @Test
+    public void failuresCompleteTheirOwnItem() {
+        List<CompletableFuture<String>> results = SharedExecutor.map(List.of("a", "b"), 2, item -> {
+            if (item.equals("b")) {
+                throw new IllegalStateException("boom");
+            }
+            return item;
+        });
+
+        assertThat(results.get(0).join()).isEqualTo("a");
+        assertThatThrownBy(() -> results.get(1).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void cancelledItemsAreSkipped() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        List<CompletableFuture<Integer>> results = SharedExecutor.map(List.of(0, 1, 2), 1, item -> {
+            calls.incrementAndGet();
+            firstStarted.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return item;
+        });
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        results.get(1).cancel(false);
+        results.get(2).cancel(false);
+        release.countDown();
+
+        assertThat(results.get(0).get(5, TimeUnit.SECONDS)).isZero();
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void threadsAreDaemons() throws Exception {
+        assertThat(SharedExecutor.get()
+                        .submit(() -> Thread.currentThread().isDaemon())
+                        .get(5, TimeUnit.SECONDS))
+                .isTrue();
+    }
+}
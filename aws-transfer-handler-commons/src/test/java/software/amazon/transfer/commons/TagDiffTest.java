@@ -0,0 +1,138 @@
+package software.amazon.transfer.commons;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+public class TagDiffTest {
+
+    @Test
+    public void changedValuesAreAddedAndMissingKeysRemoved() {
+        TagDiff diff = TagDiff.between(
+                Map.of("keep", "1", "change", "old", "drop", "x"), Map.of("keep", "1", "change", "new", "add", "y"));
+
+        assertThat(diff.getTagsToAdd()).containsOnly(entry("change", "new"), entry("add", "y"));
+        assertThat(diff.getTagKeysToRemove()).containsExactly("drop");
+        assertThat(diff.getUnchangedTags()).containsOnly(entry("keep", "1"));
+        assertThat(diff.isEmpty()).isFalse();
+    }
+
+    @Test
+    public void sameTagsMakeAnEmptyDiff() {
+        TagDiff diff = TagDiff.between(Map.of("a", "1"), Map.of("a", "1"));
+
+        assertThat(diff.getTagsToAdd()).isEmpty();
+        assertThat(diff.getTagKeysToRemove()).isEmpty();
+        assertThat(diff.getUnchangedTags()).containsOnly(entry("a", "1"));
+        assertThat(diff.getTagsToAddBatches()).isEmpty();
+        assertThat(diff.getTagKeysToRemoveBatches()).isEmpty();
+        assertThat(diff.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void missingMapsCountAsNoTags() {
+        assertThat(TagDiff.between(null, null).isEmpty()).isTrue();
+        assertThat(TagDiff.between(null, Map.of("a", "1")).getTagsToAdd()).containsOnly(entry("a", "1"));
+        assertThat(TagDiff.between(Map.of("a", "1"), null).getTagKeysToRemove()).containsExactly("a");
+    }
+
+    @Test
+    public void changesAreSplitIntoBatchesOfTheCallLimit() {
+        Map<String, String> previous = new HashMap<>();
+        Map<String, String> desired = new HashMap<>();
+        for (int i = 0; i < 120; i++) {
+            previous.put("old-" + i, "v");
+            desired.put("new-" + i, "v");
+        }
+
+        TagDiff diff = TagDiff.between(previous, desired);
+
+        assertThat(diff.getTagsToAddBatches()).extracting(Map::size).containsExactly(50, 50, 20);
+        assertThat(diff.getTagKeysToRemoveBatches()).extracting(Set::size).containsExactly(50, 50, 20);
+        Map<String, String> added = new HashMap<>();
+        diff.getTagsToAddBatches().forEach(added::putAll);
+        assertThat(added).isEqualTo(desired);
+        Set<String> removed = new HashSet<>();
+        diff.getTagKeysToRemoveBatches().forEach(removed::addAll);
+        assertThat(removed).isEqualTo(previous.keySet());
+    }
+
+    @Test
+    public void resourceTagsOverrideStackTagsWhichOverrideSystemTags() {
+        Map<String, String> merged = TagDiff.merge(
+                Map.of("aws:cloudformation:stack-name", "stack", "shared", "system"),
+                Map.of("shared", "stack", "team", "a"),
+                List.of(Map.entry("team", "b")),
+                Map.Entry::getKey,
+                Map.Entry::getValue);
+
+        assertThat(merged)
+                .containsOnly(
+                        entry("aws:cloudformation:stack-name", "stack"),
+                        entry("shared", "stack"),
+                        entry("team", "b"));
+    }
+
+    @Test
+    public void missingSourcesAreSkipped() {
+        Map<String, String> merged =
+                TagDiff.<Map.Entry<String, String>>merge(null, null, null, Map.Entry::getKey, Map.Entry::getValue);
+
+        assertThat(merged).isEmpty();
+    }
+
+    @Test
+    public void requestDiffMergesSystemAndStackTagsOnBothSides() {
+        ResourceHandlerRequest<Object> request = ResourceHandlerRequest.<Object>builder()
+                .previousSystemTags(Map.of("aws:cloudformation:stack-name", "old-stack"))
+                .previousResourceTags(Map.of("team", "a", "drop", "x"))
+                .systemTags(Map.of("aws:cloudformation:stack-name", "new-stack"))
+                .desiredResourceTags(Map.of("team", "a"))
+                .build();
+
+        TagDiff diff = TagDiff.of(request);
+
+        assertThat(TagDiff.desiredTags(request))
+                .containsOnly(entry("aws:cloudformation:stack-name", "new-stack"), entry("team", "a"));
+        assertThat(diff.getTagsToAdd()).containsOnly(entry("aws:cloudformation:stack-name", "new-stack"));
+        assertThat(diff.getTagKeysToRemove()).containsExactly("drop");
+        assertThat(diff.getUnchangedTags()).containsOnly(entry("team", "a"));
+    }
+
+    @Test
+    public void requestDiffAddsTheTagsOfEachResourceModel() {
+        ResourceHandlerRequest<List<Map.Entry<String, String>>> request =
+                ResourceHandlerRequest.<List<Map.Entry<String, String>>>builder()
+                        .previousResourceState(List.of(Map.entry("team", "a")))
+                        .desiredResourceState(List.of(Map.entry("team", "b")))
+                        .desiredResourceTags(Map.of("stage", "prod"))
+                        .build();
+
+        TagDiff diff = TagDiff.of(request, tags -> tags, Map.Entry::getKey, Map.Entry::getValue);
+
+        assertThat(diff.getTagsToAdd()).containsOnly(entry("team", "b"), entry("stage", "prod"));
+        assertThat(diff.getTagKeysToRemove()).isEmpty();
+    }
+
+    @Test
+    public void missingResourceModelsCountAsNoTags() {
+        ResourceHandlerRequest<List<Map.Entry<String, String>>> request =
+                ResourceHandlerRequest.<List<Map.Entry<String, String>>>builder()
+                        .desiredResourceState(List.of(Map.entry("team", "b")))
+                        .build();
+
+        Map<String, String> previous =
+                TagDiff.previousTags(request, tags -> tags, Map.Entry::getKey, Map.Entry::getValue);
+
+        assertThat(previous).isEmpty();
+    }
+}
@@ -0,0 +1,180 @@
+package software.amazon.transfer.commons;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+public class TracerTest {
+    private static final String TYPE = "AWS::Transfer::Server";
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final List<Span> exported = new ArrayList<>();
+    private final List<String> lines = new ArrayList<>();
+    private final TraceContext context = TraceContext.create(500);
+
+    @Test
+    public void newTraceHasOpenTelemetryIds() {
+        assertThat(context.getTraceId()).matches("[0-9a-f]{32}");
+        assertThat(context.getRootSpanId()).matches("[0-9a-f]{16}");
+        assertThat(context.getStartTimeUnixNano()).isEqualTo(500);
+        assertThat(context.getInvocations()).isZero();
+    }
+
+    @Test
+    public void stagesAreSpansOfTheirInvocation() {
+        Tracer tracer = tracer();
+
+        ProgressEvent<String, Object> event = tracer.trace(() -> ProgressEvent.<String, Object>progress("model", null)
+                .then(tracer.stage("first", advance(10, Function.identity())))
+                .then(tracer.stage("second", advance(20, progress -> ProgressEvent.success("model", null)))));
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(exported)
+                .extracting(Span::name)
+                .containsExactly("first", "second", "UpdateHandler", TYPE + " UpdateHandler");
+        Span first = exported.get(0);
+        Span second = exported.get(1);
+        Span invocation = exported.get(2);
+        Span operation = exported.get(3);
+        assertThat(exported).extracting(Span::traceId).containsOnly(context.getTraceId());
+        assertThat(first.parentSpanId()).isEqualTo(invocation.spanId());
+        assertThat(second.parentSpanId()).isEqualTo(invocation.spanId());
+        assertThat(invocation.parentSpanId()).isEqualTo(context.getRootSpanId());
+        assertThat(operation.spanId()).isEqualTo(context.getRootSpanId());
+        assertThat(operation.parentSpanId()).isNull();
+
+        assertThat(first.startTimeUnixNano()).isEqualTo(1_000);
+        assertThat(first.endTimeUnixNano()).isEqualTo(1_010);
+        assertThat(second.endTimeUnixNano()).isEqualTo(1_030);
+        assertThat(invocation.startTimeUnixNano()).isEqualTo(1_000);
+        assertThat(invocation.endTimeUnixNano()).isEqualTo(1_030);
+        assertThat(operation.startTimeUnixNano()).isEqualTo(500);
+        assertThat(operation.attributes()).containsEntry("invocations", "1");
+        assertThat(second.attributes()).containsEntry("progress.status", "SUCCESS");
+        assertThat(exported).noneMatch(Span::error);
+    }
+
+    @Test
+    public void operationSpanEndsWithTheLastInvocation() {
+        Tracer first = tracer();
+        first.trace(() -> ProgressEvent.<String, Object>progress("model", null)
+                .then(first.stage("stabilize", advance(5, progress -> ProgressEvent.defaultInProgressHandler(
+                        null, 30, "model")))));
+
+        assertThat(exported).extracting(Span::name).containsExactly("stabilize", "UpdateHandler");
+        assertThat(exported.get(0).attributes())
+                .containsEntry("progress.status", "IN_PROGRESS")
+                .containsEntry("progress.callbackDelaySeconds", "30");
+        assertThat(context.getInvocations()).isEqualTo(1);
+
+        exported.clear();
+        now.addAndGet(30_000);
+        Tracer second = tracer();
+        second.trace(() -> ProgressEvent.<String, Object>progress("model", null)
+                .then(second.stage("stabilize", advance(5, progress -> ProgressEvent.success("model", null)))));
+
+        assertThat(exported)
+                .extracting(Span::name)
+                .containsExactly("stabilize", "UpdateHandler", TYPE + " UpdateHandler");
+        assertThat(exported.get(1).attributes()).containsEntry("invocation", "2");
+        assertThat(exported.get(2).startTimeUnixNano()).isEqualTo(500);
+        assertThat(exported.get(2).endTimeUnixNano()).isEqualTo(now.get());
+        assertThat(exported.get(2).attributes()).containsEntry("invocations", "2");
+    }
+
+    @Test
+    public void failedStageIsAnError() {
+        Tracer tracer = tracer();
+
+        assertThatThrownBy(() -> tracer.trace(() -> ProgressEvent.<String, Object>progress("model", null)
+                        .then(tracer.stage("update", progress -> {
+                            throw new IllegalStateException("boom");
+                        }))))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(exported).extracting(Span::name).containsExactly("update", "UpdateHandler", TYPE + " UpdateHandler");
+        assertThat(exported).allMatch(Span::error);
+        assertThat(exported.get(0).attributes()).containsEntry("exception.type", "java.lang.IllegalStateException");
+    }
+
+    @Test
+    public void noopTracesNothing() {
+        Function<ProgressEvent<String, Object>, ProgressEvent<String, Object>> stage = Function.identity();
+
+        assertThat(Tracer.NOOP.stage("stage", stage)).isSameAs(stage);
+        assertThat(Tracer.NOOP.trace(() -> ProgressEvent.<String, Object>success("model", null)).getStatus())
+                .isEqualTo(OperationStatus.SUCCESS);
+        assertThat(Tracer.NOOP.getContext()).isNull();
+    }
+
+    @Test
+    public void exportFailureDoesNotFailTheInvocation() {
+        Tracer tracer = new Tracer(
+                TYPE,
+                "UpdateHandler",
+                context,
+                (type, spans) -> {
+                    throw new IllegalStateException("disk full");
+                },
+                lines::add,
+                now::get);
+
+        assertThat(tracer.trace(() -> ProgressEvent.<String, Object>success("model", null)).getStatus())
+                .isEqualTo(OperationStatus.SUCCESS);
+        assertThat(lines).singleElement().asString().contains(context.getTraceId()).contains("disk full");
+    }
+
+    @Test
+    public void spansAreEncodedAsOtlpJson() throws Exception {
+        Tracer tracer = new Tracer(TYPE, "UpdateHandler", context, SpanExporter.toLogger(lines::add), null, now::get);
+        tracer.trace(() -> ProgressEvent.<String, Object>progress("model", null)
+                .then(tracer.stage("update", advance(7, Function.identity()))));
+
+        JsonNode request = new ObjectMapper().readTree(lines.get(0));
+        JsonNode resourceSpans = request.get("resourceSpans").get(0);
+        JsonNode serviceName = resourceSpans.get("resource").get("attributes").get(0);
+        assertThat(serviceName.get("key").asText()).isEqualTo("service.name");
+        assertThat(serviceName.get("value").get("stringValue").asText()).isEqualTo(TYPE);
+        JsonNode scopeSpans = resourceSpans.get("scopeSpans").get(0);
+        assertThat(scopeSpans.get("scope").get("name").asText()).isEqualTo("software.amazon.transfer.commons");
+
+        JsonNode spans = scopeSpans.get("spans");
+        assertThat(spans).hasSize(2);
+        JsonNode stage = spans.get(0);
+        assertThat(stage.get("traceId").asText()).isEqualTo(context.getTraceId());
+        assertThat(stage.get("parentSpanId").asText()).isEqualTo(spans.get(1).get("spanId").asText());
+        assertThat(stage.get("name").asText()).isEqualTo("update");
+        assertThat(stage.get("kind").asInt()).isEqualTo(1);
+        assertThat(stage.get("startTimeUnixNano").isTextual()).isTrue();
+        assertThat(stage.get("startTimeUnixNano").asText()).isEqualTo("1000");
+        assertThat(stage.get("endTimeUnixNano").asText()).isEqualTo("1007");
+        assertThat(stage.get("attributes").get(0).get("key").asText()).isEqualTo("progress.status");
+        assertThat(stage.get("attributes").get(0).get("value").get("stringValue").asText())
+                .isEqualTo("IN_PROGRESS");
+        assertThat(stage.get("status").get("code").asInt()).isEqualTo(1);
+    }
+
+    private Tracer tracer() {
+        return new Tracer(TYPE, "UpdateHandler", context, (type, spans) -> exported.addAll(spans), null, now::get);
+    }
+
+    private <M, C> Function<ProgressEvent<M, C>, ProgressEvent<M, C>> advance(
+            long nanos, Function<ProgressEvent<M, C>, ProgressEvent<M, C>> stage) {
+        return progress -> {
+            now.addAndGet(nanos);
+            return stage.apply(progress);
+        };
+    }
+}
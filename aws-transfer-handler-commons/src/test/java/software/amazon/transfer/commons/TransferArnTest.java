@@ -0,0 +1,95 @@
+package software.amazon.transfer.commons;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.transfer.commons.TransferArn.ResourceType;
+
+public class TransferArnTest {
+    private static final String ACCOUNT_ID = "123456789012";
+
+    @Test
+    public void everyResourceTypeRoundTrips() {
+        for (ResourceType type : ResourceType.values()) {
+            String arn = type == ResourceType.USER || type == ResourceType.AGREEMENT
+                    ? TransferArn.format("aws", "us-east-1", ACCOUNT_ID, type, "s-0123456789abcdef0", "child")
+                    : TransferArn.format("aws", "us-east-1", ACCOUNT_ID, type, "id-1");
+
+            TransferArn parsed = TransferArn.parse(arn, type);
+
+            assertThat(parsed.getArn()).isEqualTo(arn);
+            assertThat(parsed.getResourceType()).isEqualTo(type);
+            assertThat(arn).startsWith("arn:aws:transfer:us-east-1:" + ACCOUNT_ID + ":" + type.getName() + "/");
+        }
+    }
+
+    @Test
+    public void fieldsAreReadFromTheirOffsets() {
+        TransferArn arn = TransferArn.parse("arn:aws-cn:transfer:cn-north-1:123456789012:user/s-01/alice");
+
+        assertThat(arn.getPartition()).isEqualTo("aws-cn");
+        assertThat(arn.getService()).isEqualTo("transfer");
+        assertThat(arn.getRegion()).isEqualTo("cn-north-1");
+        assertThat(arn.getAccountId()).isEqualTo(ACCOUNT_ID);
+        assertThat(arn.getResourceType()).isEqualTo(ResourceType.USER);
+        assertThat(arn.getResourceId()).isEqualTo("s-01/alice");
+        assertThat(arn.getId()).isEqualTo("s-01");
+        assertThat(arn.getChildId()).isEqualTo("alice");
+    }
+
+    @Test
+    public void formatMatchesTheFormatString() {
+        assertThat(TransferArn.format("aws", "us-west-2", ACCOUNT_ID, ResourceType.AGREEMENT, "s-01", "a-01"))
+                .isEqualTo(String.format(
+                        "arn:%s:transfer:%s:%s:agreement/%s/%s", "aws", "us-west-2", ACCOUNT_ID, "s-01", "a-01"));
+        assertThat(TransferArn.format("aws", "us-west-2", ACCOUNT_ID, ResourceType.WORKFLOW, "w-01"))
+                .isEqualTo(String.format("arn:%s:transfer:%s:%s:workflow/%s", "aws", "us-west-2", ACCOUNT_ID, "w-01"));
+    }
+
+    @Test
+    public void formatRejectsTheWrongNumberOfIds() {
+        assertThatThrownBy(() -> TransferArn.format("aws", "us-east-1", ACCOUNT_ID, ResourceType.USER, "s-01"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TransferArn.format("aws", "us-east-1", ACCOUNT_ID, ResourceType.SERVER, "s-01", "x"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void malformedArnsAreRejected() {
+        for (String arn : new String[] {
+            null,
+            "",
+            "server/s-01",
+            "arn:aws:transfer:us-east-1",
+            "arn:aws:transfer:us-east-1:123456789012",
+            "arn:aws:transfer:us-east-1:123456789012:server",
+            "arn:aws:transfer:us-east-1:123456789012:bucket/s-01",
+            "arn:aws:transfer:us-east-1:123456789012:server/s-01/extra",
+            "arn:aws:transfer:us-east-1:123456789012:user/s-01",
+            "arn:aws:transfer:us-east-1:123456789012:user/s-01/alice/extra"
+        }) {
+            assertThatThrownBy(() -> TransferArn.parse(arn))
+                    .as(arn)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    public void theExpectedTypeIsChecked() {
+        assertThatThrownBy(() -> TransferArn.parse(
+                        "arn:aws:transfer:us-east-1:123456789012:webapp/webapp-01", ResourceType.SERVER))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("server");
+    }
+
+    @Test
+    public void regionsAreCachedAndGiveTheirPartition() {
+        assertThat(TransferArn.region("us-east-1")).isSameAs(TransferArn.region("us-east-1"));
+        assertThat(TransferArn.region(null)).isNull();
+        assertThat(TransferArn.partition("cn-north-1")).isEqualTo("aws-cn");
+        assertThat(TransferArn.partition("us-gov-west-1")).isEqualTo("aws-us-gov");
+        assertThat(TransferArn.partition("us-east-1")).isEqualTo("aws");
+    }
+}
@@ -6,18 +6,8 @@ import java.util.stream.Collectors;
 
 import software.amazon.awssdk.services.transfer.TransferClient;
 import software.amazon.awssdk.services.transfer.model.CreateProfileRequest;
-import software.amazon.awssdk.services.transfer.model.CreateProfileResponse;
-import software.amazon.awssdk.services.transfer.model.InternalServiceErrorException;
-import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
-import software.amazon.awssdk.services.transfer.model.TransferException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
-import software.amazon.cloudformation.exceptions.ResourceNotFoundException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
-import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
@@ -47,36 +37,28 @@ public class CreateHandler extends BaseHandlerStd {
         }
         model.setTags(Converter.TagConverter.translateTagfromMap(allTags));
 
-        CreateProfileRequest createProfileRequest = CreateProfileRequest.builder()
-                .as2Id(model.getAs2Id())
-                .certificateIds(model.getCertificateIds())
-                .tags(
-                        (CollectionUtils.isNullOrEmpty(model.getTags()))
-                                ? null
-                                : model.getTags().stream()
-                                        .map(Converter.TagConverter::toSdk)
-                                        .collect(Collectors.toList()))
-                .profileType(model.getProfileType())
-                .build();
-
-        try (TransferClient client = proxyClient.client()) {
-            CreateProfileResponse response =
-                    proxy.injectCredentialsAndInvokeV2(createProfileRequest, client::createProfile);
-            model.setProfileId(response.profileId());
-            logger.log(String.format("%s created successfully", ResourceModel.TYPE_NAME));
-        } catch (InvalidRequestException e) {
-            throw new CfnInvalidRequestException(e.getMessage() + " " + createProfileRequest.toString(), e);
-        } catch (InternalServiceErrorException e) {
-            throw new CfnServiceInternalErrorException("createProfile", e);
-        } catch (ResourceNotFoundException e) {
-            throw new CfnNotFoundException(ResourceModel.TYPE_NAME, model.getProfileType());
-        } catch (TransferException e) {
-            throw new CfnGeneralServiceException(e.getMessage(), e);
-        }
-
-        return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                .resourceModel(model)
-                .status(OperationStatus.SUCCESS)
-                .build();
+        return proxy.initiate("AWS-Transfer-Profile::Create", proxyClient, model, callbackContext)
+                .translateToServiceRequest(resourceModel -> CreateProfileRequest.builder()
+                        .as2Id(resourceModel.getAs2Id())
+                        .certificateIds(resourceModel.getCertificateIds())
+                        .tags(
+                                (CollectionUtils.isNullOrEmpty(resourceModel.getTags()))
+                                        ? null
+                                        : resourceModel.getTags().stream()
+                                                .map(Converter.TagConverter::toSdk)
+                                                .collect(Collectors.toList()))
+                        .profileType(resourceModel.getProfileType())
+                        .build())
+                .makeServiceCall((createProfileRequest, client) -> {
+                    TransferClient transferClient = client.client();
+                    return client.injectCredentialsAndInvokeV2(createProfileRequest, transferClient::createProfile);
+                })
+                .handleError((ignored, exception, client, resourceModel, context) ->
+                        handleError(CREATE, exception, resourceModel, context, request.getClientRequestToken()))
+                .done(response -> {
+                    model.setProfileId(response.profileId());
+                    logger.log(String.format("%s created successfully", ResourceModel.TYPE_NAME));
+                    return ProgressEvent.defaultSuccessHandler(model);
+                });
     }
 }
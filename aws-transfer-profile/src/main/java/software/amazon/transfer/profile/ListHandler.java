@@ -4,10 +4,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 import software.amazon.awssdk.services.transfer.TransferClient;
+import software.amazon.awssdk.services.transfer.model.DescribeProfileRequest;
 import software.amazon.awssdk.services.transfer.model.InternalServiceErrorException;
 import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
 import software.amazon.awssdk.services.transfer.model.ListProfilesRequest;
 import software.amazon.awssdk.services.transfer.model.ListProfilesResponse;
+import software.amazon.awssdk.services.transfer.model.ListedProfile;
 import software.amazon.awssdk.services.transfer.model.TransferException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
@@ -20,11 +22,15 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.DescribeFanOut;
+import software.amazon.transfer.commons.Paginator;
 
 import lombok.NoArgsConstructor;
 
 @NoArgsConstructor
 public class ListHandler extends BaseHandlerStd {
+    private DescribeFanOut describeFanOut = DescribeFanOut.fromEnvironment();
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -34,29 +40,40 @@ public class ListHandler extends BaseHandlerStd {
             final Logger logger) {
 
         final List<ResourceModel> models = new ArrayList<>();
+        Paginator paginator = describeFanOut.getPaginator();
         ListProfilesRequest listProfilesRequest = ListProfilesRequest.builder()
-                .maxResults(10)
+                .maxResults(paginator.getPageSize())
                 .nextToken(request.getNextToken())
                 .profileType(request.getDesiredResourceState().getProfileType())
                 .build();
 
-        try (TransferClient client = proxyClient.client()) {
-            ListProfilesResponse response =
-                    proxy.injectCredentialsAndInvokeV2(listProfilesRequest, client::listProfiles);
+        TransferClient client = proxyClient.client();
+        try {
+            Paginator.Page<ListedProfile> page = paginator.paginate(
+                    listProfilesRequest.nextToken(),
+                    token -> proxyClient.injectCredentialsAndInvokeV2(
+                            listProfilesRequest.toBuilder().nextToken(token).build(), client::listProfiles),
+                    ListProfilesResponse::profiles,
+                    ListProfilesResponse::nextToken);
 
-            response.profiles().forEach(listedProfile -> {
-                ResourceModel model = ResourceModel.builder()
-                        .arn(listedProfile.arn())
-                        .as2Id(listedProfile.as2Id())
-                        .profileId(listedProfile.profileId())
-                        .profileType(listedProfile.profileTypeAsString())
-                        .build();
-                models.add(model);
-            });
+            if (describeFanOut.isEnabled()) {
+                models.addAll(describeFanOut.describe(
+                        page.getItems(), listed -> describeProfile(proxyClient, client, listed)));
+            } else {
+                page.getItems().forEach(listedProfile -> {
+                    ResourceModel model = ResourceModel.builder()
+                            .arn(listedProfile.arn())
+                            .as2Id(listedProfile.as2Id())
+                            .profileId(listedProfile.profileId())
+                            .profileType(listedProfile.profileTypeAsString())
+                            .build();
+                    models.add(model);
+                });
+            }
 
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
                     .resourceModels(models)
-                    .nextToken(response.nextToken())
+                    .nextToken(page.getNextToken())
                     .status(OperationStatus.SUCCESS)
                     .build();
         } catch (InvalidRequestException e) {
@@ -70,4 +87,18 @@ public class ListHandler extends BaseHandlerStd {
                     ResourceModel.TYPE_NAME, request.getDesiredResourceState().getProfileType());
         }
     }
+
+    /** Replaces the fan-out the environment selects, e.g. to describe the listed profiles in a test. */
+    void useDescribeFanOut(DescribeFanOut describeFanOut) {
+        this.describeFanOut = describeFanOut;
+    }
+
+    private static ResourceModel describeProfile(
+            ProxyClient<TransferClient> proxyClient, TransferClient client, ListedProfile listed) {
+        ResourceModel model = ResourceModel.builder().profileId(listed.profileId()).build();
+        DescribeProfileRequest describeRequest =
+                DescribeProfileRequest.builder().profileId(model.getProfileId()).build();
+        return ReadHandler.translateFromReadResponse(
+                proxyClient.injectCredentialsAndInvokeV2(describeRequest, client::describeProfile), model);
+    }
 }
@@ -6,17 +6,8 @@ import software.amazon.awssdk.services.transfer.TransferClient;
 import software.amazon.awssdk.services.transfer.model.DescribeProfileRequest;
 import software.amazon.awssdk.services.transfer.model.DescribeProfileResponse;
 import software.amazon.awssdk.services.transfer.model.DescribedProfile;
-import software.amazon.awssdk.services.transfer.model.InternalServiceErrorException;
-import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
-import software.amazon.awssdk.services.transfer.model.ResourceNotFoundException;
-import software.amazon.awssdk.services.transfer.model.TransferException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
-import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
@@ -36,43 +27,39 @@ public class ReadHandler extends BaseHandlerStd {
             final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
-        DescribeProfileRequest describeProfileRequest =
-                DescribeProfileRequest.builder().profileId(model.getProfileId()).build();
-
-        try (TransferClient client = proxyClient.client()) {
-            DescribeProfileResponse describeProfileResponse =
-                    proxy.injectCredentialsAndInvokeV2(describeProfileRequest, client::describeProfile);
-            logger.log(String.format(
-                    "%s %s described successfully", ResourceModel.TYPE_NAME, model.getPrimaryIdentifier()));
-            DescribedProfile describedProfile = describeProfileResponse.profile();
+        return proxy.initiate("AWS-Transfer-Profile::Read", proxyClient, model, callbackContext)
+                .translateToServiceRequest(resourceModel -> DescribeProfileRequest.builder()
+                        .profileId(resourceModel.getProfileId())
+                        .build())
+                .makeServiceCall((describeProfileRequest, client) -> {
+                    TransferClient transferClient = client.client();
+                    return client.injectCredentialsAndInvokeV2(describeProfileRequest, transferClient::describeProfile);
+                })
+                .handleError((ignored, exception, client, resourceModel, context) ->
+                        handleError(READ, exception, resourceModel, context, request.getClientRequestToken()))
+                .done(response -> {
+                    logger.log(String.format(
+                            "%s %s described successfully", ResourceModel.TYPE_NAME, model.getPrimaryIdentifier()));
+                    return ProgressEvent.defaultSuccessHandler(translateFromReadResponse(response, model));
+                });
+    }
 
-            ResourceModel resourceModel = ResourceModel.builder()
-                    .profileId(describedProfile.profileId())
-                    .as2Id(describedProfile.as2Id())
-                    .certificateIds(describedProfile.certificateIds())
-                    .arn(describedProfile.arn())
-                    .tags(
-                            (CollectionUtils.isNullOrEmpty(describedProfile.tags()))
-                                    ? null
-                                    : describedProfile.tags().stream()
-                                            .map(Converter.TagConverter::fromSdk)
-                                            .collect(Collectors.toSet()))
-                    .profileType(describedProfile.profileTypeAsString())
-                    .build();
+    static ResourceModel translateFromReadResponse(
+            DescribeProfileResponse describeProfileResponse, ResourceModel model) {
+        DescribedProfile describedProfile = describeProfileResponse.profile();
 
-            return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                    .resourceModel(resourceModel)
-                    .status(OperationStatus.SUCCESS)
-                    .build();
-        } catch (InvalidRequestException e) {
-            throw new CfnInvalidRequestException(e.getMessage() + " " + describeProfileRequest.toString(), e);
-        } catch (InternalServiceErrorException e) {
-            throw new CfnServiceInternalErrorException("describeProfile", e);
-        } catch (ResourceNotFoundException e) {
-            throw new CfnNotFoundException(
-                    ResourceModel.TYPE_NAME, model.getPrimaryIdentifier().toString());
-        } catch (TransferException e) {
-            throw new CfnGeneralServiceException(e.getMessage(), e);
-        }
+        return ResourceModel.builder()
+                .profileId(describedProfile.profileId())
+                .as2Id(describedProfile.as2Id())
+                .certificateIds(describedProfile.certificateIds())
+                .arn(describedProfile.arn())
+                .tags(
+                        (CollectionUtils.isNullOrEmpty(describedProfile.tags()))
+                                ? null
+                                : describedProfile.tags().stream()
+                                        .map(Converter.TagConverter::fromSdk)
+                                        .collect(Collectors.toSet()))
+                .profileType(describedProfile.profileTypeAsString())
+                .build();
     }
 }
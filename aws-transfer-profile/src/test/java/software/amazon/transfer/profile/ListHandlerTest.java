@@ -135,4 +135,35 @@ public class ListHandlerTest extends AbstractTestBase {
 
         assertThrows(CfnNotFoundException.class, () -> callHandler(request));
     }
+
+    @Test
+    public void handleRequest_DrainsPagesAtServicePageSize() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+
+        ListProfilesResponse firstPage = ListProfilesResponse.builder()
+                .profiles(ListedProfile.builder().profileId("first").build())
+                .nextToken("page2")
+                .build();
+        ListProfilesResponse secondPage = ListProfilesResponse.builder()
+                .profiles(ListedProfile.builder().profileId("second").build())
+                .build();
+        doReturn(firstPage)
+                .when(client)
+                .listProfiles(argThat((ListProfilesRequest r) -> r.maxResults() == 1000 && r.nextToken() == null));
+        doReturn(secondPage)
+                .when(client)
+                .listProfiles(argThat((ListProfilesRequest r) -> "page2".equals(r.nextToken())));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = callHandler(request);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getNextToken()).isNull();
+        assertThat(response.getResourceModels())
+                .extracting(ResourceModel::getProfileId)
+                .containsExactly("first", "second");
+
+        verify(client, times(2)).listProfiles(any(ListProfilesRequest.class));
+    }
 }
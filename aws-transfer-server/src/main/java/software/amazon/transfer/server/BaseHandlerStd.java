@@ -1,47 +1,50 @@
 package software.amazon.transfer.server;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
+import java.util.OptionalInt;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 
-import org.apache.commons.lang3.StringUtils;
+import com.fasterxml.jackson.core.type.TypeReference;
 
-import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.ec2.Ec2Client;
 import software.amazon.awssdk.services.ec2.model.Address;
 import software.amazon.awssdk.services.ec2.model.DescribeAddressesRequest;
 import software.amazon.awssdk.services.ec2.model.DescribeVpcEndpointsRequest;
 import software.amazon.awssdk.services.ec2.model.DescribeVpcEndpointsResponse;
+import software.amazon.awssdk.services.ec2.model.SecurityGroupIdentifier;
 import software.amazon.awssdk.services.ec2.model.VpcEndpoint;
 import software.amazon.awssdk.services.transfer.TransferClient;
-import software.amazon.awssdk.services.transfer.model.AccessDeniedException;
-import software.amazon.awssdk.services.transfer.model.ConflictException;
 import software.amazon.awssdk.services.transfer.model.DescribeServerRequest;
 import software.amazon.awssdk.services.transfer.model.DescribedServer;
 import software.amazon.awssdk.services.transfer.model.EndpointDetails;
 import software.amazon.awssdk.services.transfer.model.EndpointType;
-import software.amazon.awssdk.services.transfer.model.InternalServiceErrorException;
-import software.amazon.awssdk.services.transfer.model.InvalidNextTokenException;
-import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
-import software.amazon.awssdk.services.transfer.model.ResourceExistsException;
-import software.amazon.awssdk.services.transfer.model.ResourceNotFoundException;
-import software.amazon.awssdk.services.transfer.model.ServiceUnavailableException;
 import software.amazon.awssdk.services.transfer.model.StartServerRequest;
 import software.amazon.awssdk.services.transfer.model.State;
 import software.amazon.awssdk.services.transfer.model.StopServerRequest;
-import software.amazon.awssdk.services.transfer.model.ThrottlingException;
 import software.amazon.awssdk.services.transfer.model.UpdateServerRequest;
 import software.amazon.awssdk.utils.CollectionUtils;
-import software.amazon.cloudformation.exceptions.BaseHandlerException;
 import software.amazon.cloudformation.exceptions.CfnNotStabilizedException;
-import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.CallMetrics;
+import software.amazon.transfer.commons.Priming;
+import software.amazon.transfer.commons.RateLimiter;
+import software.amazon.transfer.commons.RetryPolicy;
+import software.amazon.transfer.commons.ServiceErrors;
+import software.amazon.transfer.commons.Tracer;
 import software.amazon.transfer.server.clients.ClientBuilder;
 import software.amazon.transfer.server.clients.Ec2ClientBuilder;
 import software.amazon.transfer.server.translators.Translator;
@@ -52,18 +55,50 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
     protected static final String READ = "Read";
     protected static final String LIST = "List";
     protected static final String UPDATE = "Update";
-    protected static final int THROTTLE_CALLBACK_DELAY_SECONDS = 15;
+    protected static final int THROTTLE_CALLBACK_DELAY_SECONDS = RetryPolicy.DEFAULT_DELAY_SECONDS;
+    /** How long the model of a describe made during a mutation stands in for a fresh read. */
+    protected static final Duration READ_MODEL_MAX_AGE = Duration.ofSeconds(60);
     private static final String FAILURE_LOG_MESSAGE =
             "[ClientRequestToken: %s] Resource %s failed in %s operation, Error: %s%n";
-    private static final String THROTTLING_EXCEPTION_ERR_CODE = "ThrottlingException";
+    private static final RetryPolicy RETRY_POLICY = RetryPolicy.DEFAULT;
+    private final StabilizationScheduler stabilizationScheduler;
+    // The current time in milliseconds, which ages the model kept for readAfterWrite
+    private final LongSupplier clock;
     protected Logger logger;
+    protected Tracer tracer = Tracer.NOOP;
+
+    // Run before a SnapStart checkpoint, see Priming.
+    static {
+        Priming.register(ClientBuilder::getClient);
+        Priming.register(Ec2ClientBuilder::getClient);
+        Priming.register(() -> Priming.roundTrip(new ResourceModel(), new TypeReference<ResourceModel>() {}));
+        Priming.register(() -> Priming.roundTrip(new CallbackContext(), new TypeReference<CallbackContext>() {}));
+    }
+
+    protected BaseHandlerStd() {
+        this(new StabilizationScheduler(), System::currentTimeMillis);
+    }
+
+    /**
+     * @param stabilizationScheduler the scheduler of the stabilization callbacks, e.g. one of fixed
+     *     jitter so a simulation replays the same delays every run
+     * @param clock the current time in milliseconds, e.g. the virtual clock of a simulation
+     */
+    BaseHandlerStd(StabilizationScheduler stabilizationScheduler, LongSupplier clock) {
+        this.stabilizationScheduler = stabilizationScheduler;
+        this.clock = clock;
+    }
+
+    protected static DescribedServer describeServer(
+            ProxyClient<TransferClient> client, ResourceModel model, CallbackContext context) {
+        return context.describeCache().server(model.getServerId(), serverId -> describeServer(client, model));
+    }
 
     protected static DescribedServer describeServer(ProxyClient<TransferClient> client, ResourceModel model) {
-        try (TransferClient transferClient = client.client()) {
-            DescribeServerRequest describeRequest = Translator.translateToReadRequest(model);
-            return client.injectCredentialsAndInvokeV2(describeRequest, transferClient::describeServer)
-                    .server();
-        }
+        TransferClient transferClient = client.client();
+        DescribeServerRequest describeRequest = Translator.translateToReadRequest(model);
+        return client.injectCredentialsAndInvokeV2(describeRequest, transferClient::describeServer)
+                .server();
     }
 
     protected static List<String> getAddressAllocationIds(DescribedServer server) {
@@ -89,13 +124,21 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
             final CallbackContext callbackContext,
             final Logger logger) {
         this.logger = logger;
-
-        return handleRequest(
-                proxy,
-                request,
-                callbackContext != null ? callbackContext : new CallbackContext(),
-                proxy.newProxy(ClientBuilder::getClient),
-                proxy.newProxy(Ec2ClientBuilder::getClient),
+        final CallbackContext context = callbackContext != null ? callbackContext : new CallbackContext();
+        final Tracer tracer = Tracer.start(ResourceModel.TYPE_NAME, this, context.getTraceContext(), logger);
+        context.setTraceContext(tracer.getContext());
+        this.tracer = tracer;
+        CallMetrics metrics = CallMetrics.start(ResourceModel.TYPE_NAME, this);
+
+        return metrics.measure(
+                () -> tracer.trace(() -> handleRequest(
+                        proxy,
+                        request,
+                        context,
+                        RateLimiter.DEFAULT.pace(metrics.instrument(proxy.newProxy(ClientBuilder::getClient)), request),
+                        RateLimiter.DEFAULT.pace(
+                                metrics.instrument(proxy.newProxy(Ec2ClientBuilder::getClient)), request),
+                        logger)),
                 logger);
     }
 
@@ -124,37 +167,18 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
             final CallbackContext ctx,
             final String reqToken) {
 
-        if (isRetryableServiceException(ex)) {
-            log("Retryable service exception: " + ex, model.getPrimaryIdentifier());
-            return handleRetryableServiceException(model, ctx, op, reqToken, ex);
-        }
-
-        if (isThrottlingException(ex)) {
-            log("Throttling Exception", model.getPrimaryIdentifier());
-            return handleThrottling(model, ctx, op, reqToken, ex);
-        }
-
-        if (ex instanceof ResourceExistsException) {
-            return translateToFailure(op, ex, HandlerErrorCode.AlreadyExists, model, ctx, reqToken);
-        }
-
-        if (ex instanceof ResourceNotFoundException) {
-            return translateToFailure(op, ex, HandlerErrorCode.NotFound, model, ctx, reqToken);
-        }
-
-        if (ex instanceof AccessDeniedException) {
-            return translateToFailure(op, ex, HandlerErrorCode.AccessDenied, model, ctx, reqToken);
-        }
-
-        if (ex instanceof InvalidRequestException) {
-            return translateToFailure(op, ex, HandlerErrorCode.InvalidRequest, model, ctx, reqToken);
+        if (ex instanceof StabilizationPendingException) {
+            return scheduleStabilizationCallback(model, ctx, op, reqToken, (StabilizationPendingException) ex);
         }
 
-        if (ex instanceof InvalidNextTokenException) {
-            return translateToFailure(op, ex, HandlerErrorCode.InvalidRequest, model, ctx, reqToken);
+        Optional<ProgressEvent<ResourceModel, CallbackContext>> retry = RETRY_POLICY.retryLater(
+                ex, model, ctx, CallbackContext::getNumRetries, CallbackContext::setNumRetries);
+        if (retry.isPresent()) {
+            log("Retrying after " + ex, model.getPrimaryIdentifier());
+            return retry.get();
         }
 
-        return translateToFailure(op, ex, HandlerErrorCode.GeneralServiceException, model, ctx, reqToken);
+        return translateToFailure(op, ex, ServiceErrors.toHandlerErrorCode(ex), model, ctx, reqToken);
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> translateToFailure(
@@ -168,75 +192,17 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
         return ProgressEvent.failed(model, ctx, errorCode, ex.getMessage());
     }
 
-    private boolean isRetryableServiceException(Exception exception) {
-        return exception instanceof ConflictException
-                || exception instanceof InternalServiceErrorException
-                || exception instanceof ServiceUnavailableException;
-    }
-
-    private ProgressEvent<ResourceModel, CallbackContext> handleRetryableServiceException(
-            ResourceModel model, CallbackContext ctx, String op, String reqToken, Exception ex) {
-
-        int currentNumThrottlingRetries = ctx.getNumRetries();
-        if (currentNumThrottlingRetries > 0) {
-            ctx.setNumRetries(currentNumThrottlingRetries - 1);
-            return ProgressEvent.defaultInProgressHandler(ctx, getDelaySeconds(ex), model);
-        }
-
-        HandlerErrorCode code;
-        if (ex instanceof ConflictException) {
-            code = HandlerErrorCode.ResourceConflict;
-        } else if (ex instanceof InternalServiceErrorException) {
-            code = HandlerErrorCode.ServiceInternalError;
-        } else if (ex instanceof ServiceUnavailableException) {
-            code = HandlerErrorCode.ServiceLimitExceeded;
-        } else {
-            code = HandlerErrorCode.GeneralServiceException;
-        }
-
-        return translateToFailure(op, ex, code, model, ctx, reqToken);
-    }
-
-    private boolean isThrottlingException(Exception e) {
-        if (StringUtils.contains(getErrorCode(e), THROTTLING_EXCEPTION_ERR_CODE)) {
-            return true;
-        }
-        if (e instanceof ThrottlingException) {
-            return true;
-        }
-        if (e instanceof AwsServiceException) {
-            return ((AwsServiceException) e).isThrottlingException();
-        }
-        return false;
-    }
-
-    private ProgressEvent<ResourceModel, CallbackContext> handleThrottling(
-            ResourceModel model, CallbackContext ctx, String op, String reqToken, Exception ex) {
+    private ProgressEvent<ResourceModel, CallbackContext> scheduleStabilizationCallback(
+            ResourceModel model, CallbackContext ctx, String op, String reqToken, StabilizationPendingException ex) {
 
-        int currentNumThrottlingRetries = ctx.getNumRetries();
-        if (currentNumThrottlingRetries > 0) {
-            ctx.setNumRetries(currentNumThrottlingRetries - 1);
-            return ProgressEvent.defaultInProgressHandler(ctx, getDelaySeconds(ex), model);
+        OptionalInt delaySeconds = stabilizationScheduler.nextDelaySeconds(ctx, ex.getPollIntervalSeconds());
+        if (delaySeconds.isPresent()) {
+            log(String.format("checking again in %d seconds", delaySeconds.getAsInt()), ex.getServerId());
+            return ProgressEvent.defaultInProgressHandler(ctx, delaySeconds.getAsInt(), model);
         }
 
-        BaseHandlerException cfnEx = new CfnThrottlingException(op, ex);
-        return translateToFailure(op, ex, cfnEx.getErrorCode(), model, ctx, reqToken);
-    }
-
-    private static int getDelaySeconds(Exception e) {
-        if (e instanceof ThrottlingException) {
-            String retryAfterSeconds = ((ThrottlingException) e).retryAfterSeconds();
-            return Integer.parseInt(
-                    Optional.ofNullable(retryAfterSeconds).orElse(String.valueOf(THROTTLE_CALLBACK_DELAY_SECONDS)));
-        }
-        return THROTTLE_CALLBACK_DELAY_SECONDS;
-    }
-
-    private String getErrorCode(Exception e) {
-        if (e instanceof AwsServiceException && ((AwsServiceException) e).awsErrorDetails() != null) {
-            return ((AwsServiceException) e).awsErrorDetails().errorCode();
-        }
-        return e.getMessage();
+        log("stabilization budget exhausted", ex.getServerId());
+        return translateToFailure(op, ex, HandlerErrorCode.NotStabilized, model, ctx, reqToken);
     }
 
     protected void log(String message, Object identifier) {
@@ -248,16 +214,17 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
      *
      * @param state the state to respond to
      * @param serverId the server ID processing
-     * @return false for transients
+     * @param context the callback context carrying the stabilization schedule
+     * @return for transient states, the exception for the caller to throw to wait for a callback
      * @throws CfnNotStabilizedException if failed states arrive
      */
-    protected boolean handleStabilizeTransientStates(State state, String serverId) {
+    protected StabilizationPendingException handleStabilizeTransientStates(
+            State state, String serverId, CallbackContext context) {
         switch (state) {
             case STARTING:
             case STOPPING:
                 log(String.format("is still %s", state), serverId);
-                slowDownRetries(state, serverId);
-                return false;
+                return waitForCallback(context, serverId, state.toString(), StabilizationScheduler.BASE_DELAY_SECONDS);
             case START_FAILED:
             case STOP_FAILED:
             default:
@@ -266,16 +233,153 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
         }
     }
 
-    private void slowDownRetries(State state, String serverId) {
-        // Avoid dead time when mock unit testing
-        if (!Boolean.getBoolean("uluru.unit.tests")) {
-            try {
-                Thread.sleep(TimeUnit.SECONDS.toMillis(10));
-            } catch (InterruptedException e) {
-                log(String.format("Interrupted while sleeping at %s", state), serverId);
-                throw new CfnNotStabilizedException(ResourceModel.TYPE_NAME, serverId);
+    /**
+     * Prepares the end of the current poll: the returned exception, once thrown, asks for a callback
+     * when the awaited condition had time to change.
+     *
+     * @param context the callback context carrying the stabilization schedule
+     * @param serverId the server ID processing
+     * @param condition what is being waited for, the schedule restarts when it changes
+     * @param pollIntervalSeconds the first delay of the schedule
+     * @return the exception for the caller to throw
+     */
+    protected StabilizationPendingException waitForCallback(
+            CallbackContext context, String serverId, String condition, int pollIntervalSeconds) {
+        stabilizationScheduler.enter(context, condition);
+        return new StabilizationPendingException(serverId, condition, pollIntervalSeconds);
+    }
+
+    /**
+     * Ends a create or update with the model of the server. The describe made at the end of
+     * stabilization, kept in step with the writes made since, is returned as is while it is fresh;
+     * otherwise the server is read again.
+     *
+     * @return the success event of the handler
+     */
+    protected ProgressEvent<ResourceModel, CallbackContext> readAfterWrite(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final ProxyClient<TransferClient> proxyClient,
+            final ProxyClient<Ec2Client> proxyEc2Client) {
+        ResourceModel model = freshReadModel(callbackContext);
+        ProgressEvent<ResourceModel, CallbackContext> progress;
+        if (model != null) {
+            log("is returned as last described.", model.getServerId());
+            progress = ProgressEvent.defaultSuccessHandler(model);
+        } else {
+            progress = new ReadHandler()
+                    .handleRequest(proxy, request, callbackContext, proxyClient, proxyEc2Client, logger);
+        }
+
+        DescribeCache describeCache = callbackContext.describeCache();
+        log(
+                String.format(
+                        "describe cache saved %d of %d lookups",
+                        describeCache.getSavedCalls(), describeCache.getLookups()),
+                request.getDesiredResourceState().getServerId());
+        return progress;
+    }
+
+    /**
+     * Keeps the model of a describe for {@link #readAfterWrite}.
+     *
+     * @param context the callback context to keep the model in
+     * @param server the described server
+     * @param vpcEndpoint the VPC endpoint of the server, if it was described as well
+     */
+    protected void recordRead(CallbackContext context, DescribedServer server, VpcEndpoint vpcEndpoint) {
+        List<String> securityGroupIds = null;
+        if (server.endpointType() == EndpointType.VPC) {
+            String vpcEndpointId =
+                    server.endpointDetails() != null ? server.endpointDetails().vpcEndpointId() : null;
+            if (vpcEndpoint != null && Objects.equals(vpcEndpointId, vpcEndpoint.vpcEndpointId())) {
+                securityGroupIds = getSecurityGroupIds(vpcEndpoint);
+            } else {
+                // Security groups only change through ModifyVpcEndpoint, which updates the recorded model.
+                securityGroupIds = recordedSecurityGroupIds(context, vpcEndpointId);
+                if (securityGroupIds == null) {
+                    context.setReadModel(null);
+                    return;
+                }
             }
         }
+
+        DescribedServer described = securityGroupIds != null ? withSecurityGroupIds(server, securityGroupIds) : server;
+        context.setReadModel(Translator.translateFromSdkServer(described));
+        context.setReadModelTimestamp(clock.getAsLong());
+    }
+
+    /**
+     * Applies the security groups of a modified VPC endpoint to the recorded model.
+     *
+     * @param context the callback context keeping the model
+     * @param vpcEndpoint the VPC endpoint as described after the modification
+     */
+    protected static void recordSecurityGroups(CallbackContext context, VpcEndpoint vpcEndpoint) {
+        ResourceModel model = context.getReadModel();
+        if (model == null
+                || model.getEndpointDetails() == null
+                || !Objects.equals(model.getEndpointDetails().getVpcEndpointId(), vpcEndpoint.vpcEndpointId())) {
+            return;
+        }
+        // Same as a read: no security groups reads as null.
+        model.getEndpointDetails().setSecurityGroupIds(Translator.nullIfEmptyList(getSecurityGroupIds(vpcEndpoint)));
+    }
+
+    /**
+     * Applies a tagging call to the recorded model, keeping the order the server lists tags in.
+     *
+     * @param context the callback context keeping the model
+     * @param addedTags the tags set
+     * @param removedTagKeys the keys of the tags removed
+     */
+    protected static void recordTags(
+            CallbackContext context, Map<String, String> addedTags, Collection<String> removedTagKeys) {
+        ResourceModel model = context.getReadModel();
+        if (model == null) {
+            return;
+        }
+        Map<String, String> tags = new LinkedHashMap<>();
+        Translator.streamOfOrEmpty(model.getTags()).forEach(tag -> tags.put(tag.getKey(), tag.getValue()));
+        tags.putAll(addedTags);
+        tags.keySet().removeAll(removedTagKeys);
+
+        List<Tag> tagList = new ArrayList<>(tags.size());
+        tags.forEach((key, value) -> tagList.add(Tag.builder().key(key).value(value).build()));
+        model.setTags(tagList);
+    }
+
+    private ResourceModel freshReadModel(CallbackContext context) {
+        ResourceModel model = context.getReadModel();
+        if (model == null
+                || clock.getAsLong() - context.getReadModelTimestamp() > READ_MODEL_MAX_AGE.toMillis()) {
+            return null;
+        }
+        return model;
+    }
+
+    private List<String> recordedSecurityGroupIds(CallbackContext context, String vpcEndpointId) {
+        ResourceModel model = freshReadModel(context);
+        if (model == null
+                || model.getEndpointDetails() == null
+                || !Objects.equals(model.getEndpointDetails().getVpcEndpointId(), vpcEndpointId)) {
+            return null;
+        }
+        return Translator.emptyListIfNull(model.getEndpointDetails().getSecurityGroupIds());
+    }
+
+    protected static List<String> getSecurityGroupIds(VpcEndpoint vpcEndpoint) {
+        return vpcEndpoint.groups().stream()
+                .map(SecurityGroupIdentifier::groupId)
+                .collect(Collectors.toList());
+    }
+
+    protected static DescribedServer withSecurityGroupIds(DescribedServer server, List<String> securityGroupIds) {
+        EndpointDetails endpointDetails = server.endpointDetails().toBuilder()
+                .securityGroupIds(securityGroupIds)
+                .build();
+        return server.toBuilder().endpointDetails(endpointDetails).build();
     }
 
     // There seems to be a bug in the EC2 SDK client. The returned state is a string
@@ -285,24 +389,26 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
     private static final String VPC_ENDPOINT_AVAILABLE =
             software.amazon.awssdk.services.ec2.model.State.AVAILABLE.name().toLowerCase();
 
-    protected boolean isVpcEndpointAvailable(String vpcEndpointId, ProxyClient<Ec2Client> ec2Client) {
-        VpcEndpoint vpcEndpoint = getVpcEndpoint(vpcEndpointId, ec2Client);
-
+    protected static boolean isAvailable(VpcEndpoint vpcEndpoint) {
         String state = vpcEndpoint.stateAsString().toLowerCase();
         return VPC_ENDPOINT_AVAILABLE.equals(state);
     }
 
-    protected static VpcEndpoint getVpcEndpoint(String vpcEndpointId, ProxyClient<Ec2Client> ec2Client) {
-        try (Ec2Client client = ec2Client.client()) {
-            DescribeVpcEndpointsRequest request = DescribeVpcEndpointsRequest.builder()
-                    .vpcEndpointIds(vpcEndpointId)
-                    .build();
-            DescribeVpcEndpointsResponse response =
-                    ec2Client.injectCredentialsAndInvokeV2(request, client::describeVpcEndpoints);
+    protected static VpcEndpoint getVpcEndpoint(
+            String vpcEndpointId, ProxyClient<Ec2Client> ec2Client, CallbackContext context) {
+        return context.describeCache().vpcEndpoint(vpcEndpointId, id -> getVpcEndpoint(id, ec2Client));
+    }
 
-            // We expect only one returned
-            return response.vpcEndpoints().get(0);
-        }
+    private static VpcEndpoint getVpcEndpoint(String vpcEndpointId, ProxyClient<Ec2Client> ec2Client) {
+        Ec2Client client = ec2Client.client();
+        DescribeVpcEndpointsRequest request = DescribeVpcEndpointsRequest.builder()
+                .vpcEndpointIds(vpcEndpointId)
+                .build();
+        DescribeVpcEndpointsResponse response =
+                ec2Client.injectCredentialsAndInvokeV2(request, client::describeVpcEndpoints);
+
+        // We expect only one returned
+        return response.vpcEndpoints().get(0);
     }
 
     protected boolean isVpcServerEndpoint(ResourceModel model) {
@@ -315,39 +421,104 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
         }
         DescribeAddressesRequest request =
                 DescribeAddressesRequest.builder().allocationIds(allocationIds).build();
-        try (Ec2Client client = ec2Client.client()) {
-            List<Address> addresses = ec2Client
-                    .injectCredentialsAndInvokeV2(request, client::describeAddresses)
-                    .addresses();
-            return !addresses.isEmpty() && addresses.stream().allMatch(a -> a.privateIpAddress() != null);
-        }
+        Ec2Client client = ec2Client.client();
+        List<Address> addresses = ec2Client
+                .injectCredentialsAndInvokeV2(request, client::describeAddresses)
+                .addresses();
+        return !addresses.isEmpty() && addresses.stream().allMatch(a -> a.privateIpAddress() != null);
     }
 
-    protected void startServer(ProxyClient<TransferClient> client, String serverId) {
-        try (TransferClient transferClient = client.client()) {
-            StartServerRequest startServerRequest =
-                    StartServerRequest.builder().serverId(serverId).build();
-            client.injectCredentialsAndInvokeV2(startServerRequest, transferClient::startServer);
-        }
+    protected void startServer(ProxyClient<TransferClient> client, String serverId, CallbackContext context) {
+        context.describeCache().invalidateServer(serverId);
+        TransferClient transferClient = client.client();
+        StartServerRequest startServerRequest = StartServerRequest.builder().serverId(serverId).build();
+        client.injectCredentialsAndInvokeV2(startServerRequest, transferClient::startServer);
+    }
+
+    protected void stopServer(ProxyClient<TransferClient> client, String serverId, CallbackContext context) {
+        context.describeCache().invalidateServer(serverId);
+        TransferClient transferClient = client.client();
+        StopServerRequest stopServerRequest = StopServerRequest.builder().serverId(serverId).build();
+        client.injectCredentialsAndInvokeV2(stopServerRequest, transferClient::stopServer);
+    }
+
+    /**
+     * @param context the callback context keeping the plan
+     * @return the next step of the endpoint reconfiguration, null if none is left
+     */
+    protected static ReconfigurationStep nextReconfigurationStep(CallbackContext context) {
+        List<ReconfigurationStep> plan = context.getReconfigurationPlan();
+        return CollectionUtils.isNullOrEmpty(plan) ? null : plan.get(0);
     }
 
-    protected void stopServer(ProxyClient<TransferClient> client, String serverId) {
-        try (TransferClient transferClient = client.client()) {
-            StopServerRequest stopServerRequest =
-                    StopServerRequest.builder().serverId(serverId).build();
-            client.injectCredentialsAndInvokeV2(stopServerRequest, transferClient::stopServer);
+    /**
+     * Drops the step just made from the plan.
+     *
+     * @param context the callback context keeping the plan
+     */
+    protected static void completeReconfigurationStep(CallbackContext context) {
+        context.getReconfigurationPlan().remove(0);
+    }
+
+    /**
+     * Makes the UpdateServer call of one of the endpoint steps of the plan, with the server OFFLINE.
+     *
+     * @param client the Transfer client
+     * @param step the step to make
+     * @param model the model with the subnets and EIPs to apply
+     * @param context the callback context
+     */
+    protected void reconfigureEndpoint(
+            ProxyClient<TransferClient> client,
+            ReconfigurationStep step,
+            ResourceModel model,
+            CallbackContext context) {
+        String serverId = model.getServerId();
+        List<String> subnetIds = Collections.emptyList();
+        if (model.getEndpointDetails() != null) {
+            subnetIds = Translator.emptyListIfNull(model.getEndpointDetails().getSubnetIds());
+        }
+
+        EndpointDetails endpointDetails;
+        switch (step) {
+            case REMOVE_ADDRESS_ALLOCATION_IDS:
+                endpointDetails = EndpointDetails.builder()
+                        .addressAllocationIds(Collections.emptyList())
+                        .build();
+                log("EIP address allocation IDs are being removed.", serverId);
+                break;
+            case UPDATE_SUBNET_IDS:
+                endpointDetails = EndpointDetails.builder().subnetIds(subnetIds).build();
+                log(String.format("VPC endpoint subnet IDs are being updated to %s.", subnetIds), serverId);
+                break;
+            case UPDATE_ADDRESS_ALLOCATION_IDS:
+                List<String> addressAllocationIds = getAddressAllocationIds(model);
+                endpointDetails = EndpointDetails.builder()
+                        .addressAllocationIds(addressAllocationIds)
+                        .subnetIds(subnetIds)
+                        .build();
+                log(
+                        String.format("EIP address allocation IDs are being updated to %s.", addressAllocationIds),
+                        serverId);
+                break;
+            default:
+                throw new IllegalArgumentException(step + " does not update the endpoint");
         }
+        updateServerEndpointDetails(client, serverId, endpointDetails, context);
     }
 
     protected void updateServerEndpointDetails(
-            ProxyClient<TransferClient> client, String serverId, EndpointDetails endpointDetails) {
-        try (TransferClient transferClient = client.client()) {
-            UpdateServerRequest updateServerRequest = UpdateServerRequest.builder()
-                    .endpointDetails(endpointDetails)
-                    .serverId(serverId)
-                    .build();
-
-            client.injectCredentialsAndInvokeV2(updateServerRequest, transferClient::updateServer);
-        }
+            ProxyClient<TransferClient> client,
+            String serverId,
+            EndpointDetails endpointDetails,
+            CallbackContext context) {
+        context.describeCache().invalidateServer(serverId);
+        TransferClient transferClient = client.client();
+        UpdateServerRequest updateServerRequest = UpdateServerRequest.builder()
+                .endpointDetails(endpointDetails)
+                .serverId(serverId)
+                .build();
+
+        client.injectCredentialsAndInvokeV2(updateServerRequest, transferClient::updateServer);
     }
 }
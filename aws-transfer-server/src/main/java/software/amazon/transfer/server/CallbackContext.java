@@ -1,6 +1,9 @@
 package software.amazon.transfer.server;
 
+import java.util.List;
+
 import software.amazon.cloudformation.proxy.StdCallbackContext;
+import software.amazon.transfer.commons.TraceContext;
 
 @lombok.Getter
 @lombok.Setter
@@ -8,4 +11,29 @@ import software.amazon.cloudformation.proxy.StdCallbackContext;
 @lombok.EqualsAndHashCode(callSuper = true)
 public class CallbackContext extends StdCallbackContext {
     private int numRetries = 30;
+    private int stabilizationAttempts;
+    private int stabilizationWaitSeconds;
+    private String stabilizationState;
+    private UpdatePhase updatePhase = UpdatePhase.VPC_ENDPOINT;
+    // The steps left of the endpoint reconfiguration, null until planned; see ReconfigurationPlanner
+    private List<ReconfigurationStep> reconfigurationPlan;
+    // The model of the last describe, kept in step with later writes; see BaseHandlerStd#readAfterWrite
+    private ResourceModel readModel;
+    private long readModelTimestamp;
+    // The trace of the operation across re-invocations; see Tracer
+    private TraceContext traceContext;
+
+    @lombok.Getter(lombok.AccessLevel.NONE)
+    @lombok.Setter(lombok.AccessLevel.NONE)
+    @lombok.ToString.Exclude
+    @lombok.EqualsAndHashCode.Exclude
+    private transient DescribeCache describeCache;
+
+    /** @return the describe cache of this invocation, the context is deserialized per invocation */
+    DescribeCache describeCache() {
+        if (describeCache == null) {
+            describeCache = new DescribeCache();
+        }
+        return describeCache;
+    }
 }
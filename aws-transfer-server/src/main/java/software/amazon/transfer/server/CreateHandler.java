@@ -4,10 +4,10 @@ import static software.amazon.transfer.server.translators.ResourceModelAdapter.p
 import static software.amazon.transfer.server.translators.Translator.translateToSdkProtocols;
 import static software.amazon.transfer.server.translators.Translator.translateToSdkTags;
 
-import java.util.List;
-import java.util.Objects;
+import java.util.function.LongSupplier;
 
 import software.amazon.awssdk.services.ec2.Ec2Client;
+import software.amazon.awssdk.services.ec2.model.VpcEndpoint;
 import software.amazon.awssdk.services.transfer.TransferClient;
 import software.amazon.awssdk.services.transfer.model.CreateServerRequest;
 import software.amazon.awssdk.services.transfer.model.CreateServerResponse;
@@ -20,6 +20,7 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.TransferArn;
 import software.amazon.transfer.server.translators.EndpointDetailsTranslator;
 import software.amazon.transfer.server.translators.IdentityProviderDetailsTranslator;
 import software.amazon.transfer.server.translators.ProtocolDetailsTranslator;
@@ -28,10 +29,16 @@ import software.amazon.transfer.server.translators.ServerArn;
 import software.amazon.transfer.server.translators.WorkflowDetailsTranslator;
 
 import com.amazonaws.regions.Region;
-import com.amazonaws.regions.RegionUtils;
 
 public class CreateHandler extends BaseHandlerStd {
 
+    public CreateHandler() {}
+
+    /** @see BaseHandlerStd#BaseHandlerStd(StabilizationScheduler, LongSupplier) */
+    CreateHandler(StabilizationScheduler stabilizationScheduler, LongSupplier clock) {
+        super(stabilizationScheduler, clock);
+    }
+
     @Override
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -60,8 +67,8 @@ public class CreateHandler extends BaseHandlerStd {
                         .handleError((ignored, exception, client, model, context) ->
                                 handleError(CREATE, exception, model, context, clientRequestToken))
                         .progress())
-                .then(progress -> new ReadHandler()
-                        .handleRequest(proxy, request, callbackContext, proxyClient, proxyEc2Client, logger));
+                .then(progress -> readAfterWrite(
+                        proxy, request, progress.getCallbackContext(), proxyClient, proxyEc2Client));
     }
 
     private CreateServerRequest translateToCreateRequest(final ResourceModel model) {
@@ -89,12 +96,11 @@ public class CreateHandler extends BaseHandlerStd {
     }
 
     private CreateServerResponse createServer(CreateServerRequest awsRequest, ProxyClient<TransferClient> client) {
-        try (TransferClient transferClient = client.client()) {
-            CreateServerResponse awsResponse =
-                    client.injectCredentialsAndInvokeV2(awsRequest, transferClient::createServer);
-            log("successfully created.", awsResponse.serverId());
-            return awsResponse;
-        }
+        TransferClient transferClient = client.client();
+        CreateServerResponse awsResponse =
+                client.injectCredentialsAndInvokeV2(awsRequest, transferClient::createServer);
+        log("successfully created.", awsResponse.serverId());
+        return awsResponse;
     }
 
     private boolean stabilizeAfterCreate(
@@ -103,68 +109,69 @@ public class CreateHandler extends BaseHandlerStd {
             ProxyClient<TransferClient> client,
             ProxyClient<Ec2Client> ec2Client,
             ResourceModel model,
-            CallbackContext ignored2) {
+            CallbackContext context) {
 
         String serverId = awsResponse.serverId();
-        Region region = RegionUtils.getRegion(request.getRegion());
+        Region region = TransferArn.region(request.getRegion());
         ServerArn serverArn = new ServerArn(region, request.getAwsAccountId(), serverId);
         model.setArn(serverArn.getArn());
         model.setServerId(serverId);
 
-        DescribedServer describedServer = describeServer(client, model);
+        // Every poll is there to see the server change.
+        context.describeCache().invalidateAll();
+        DescribedServer describedServer = describeServer(client, model, context);
 
-        List<String> proposed = getAddressAllocationIds(model);
-        List<String> current = getAddressAllocationIds(describedServer);
+        if (context.getReconfigurationPlan() == null) {
+            context.setReconfigurationPlan(ReconfigurationPlanner.planAfterCreate(model));
+        }
 
         State state = describedServer.state();
+        ReconfigurationStep step = nextReconfigurationStep(context);
+        if (step == ReconfigurationStep.STOP_SERVER && state == State.OFFLINE) {
+            completeReconfigurationStep(context);
+            step = nextReconfigurationStep(context);
+        }
+
         switch (state) {
             case OFFLINE:
-                if (!Objects.equals(proposed, current)) {
-                    log("updating the address allocation IDs", serverId);
-                    updateServerWithAddressAllocationIds(client, serverId, model);
-                } else if (!privateIpsAvailable(current, ec2Client)) {
+                if (step != null && step != ReconfigurationStep.START_SERVER) {
+                    reconfigureEndpoint(client, step, model, context);
+                    completeReconfigurationStep(context);
+                } else if (!privateIpsAvailable(getAddressAllocationIds(model), ec2Client)) {
                     log("is waiting for endpoint private IPs", serverId);
                 } else {
                     log("is going ONLINE after update", serverId);
-                    startServer(client, serverId);
+                    startServer(client, serverId, context);
+                    if (step == ReconfigurationStep.START_SERVER) {
+                        completeReconfigurationStep(context);
+                    }
                 }
 
                 return false;
 
             case ONLINE:
+                VpcEndpoint vpcEndpoint = null;
                 if (isVpcServerEndpoint(model)) {
-                    String vpcEndpointId = describedServer.endpointDetails().vpcEndpointId();
-                    if (!isVpcEndpointAvailable(vpcEndpointId, ec2Client)) {
+                    vpcEndpoint = getVpcEndpoint(
+                            describedServer.endpointDetails().vpcEndpointId(), ec2Client, context);
+                    if (!isAvailable(vpcEndpoint)) {
                         log("VPC Endpoint is not available yet", serverId);
                         return false;
                     }
                 }
 
-                if (addressAllocationIdAssociationRequested(model)) {
-                    if (!Objects.equals(proposed, current)) {
-                        log("is going OFFLINE for update", serverId);
-                        stopServer(client, serverId);
-                        return false;
-                    }
+                if (step == ReconfigurationStep.STOP_SERVER) {
+                    log("is going OFFLINE for update", serverId);
+                    stopServer(client, serverId, context);
+                    return false;
                 }
 
+                recordRead(context, describedServer, vpcEndpoint);
                 log("create has been stabilized.", serverId);
                 return true;
 
             default:
-                return handleStabilizeTransientStates(state, serverId);
+                throw handleStabilizeTransientStates(state, serverId, context);
         }
     }
-
-    private void updateServerWithAddressAllocationIds(
-            ProxyClient<TransferClient> client, String serverId, ResourceModel model) {
-        EndpointDetails endpointDetails = EndpointDetailsTranslator.toSdk(model.getEndpointDetails(), false, true);
-        updateServerEndpointDetails(client, serverId, endpointDetails);
-    }
-
-    private boolean addressAllocationIdAssociationRequested(ResourceModel model) {
-        return isVpcServerEndpoint(model)
-                && model.getEndpointDetails() != null
-                && !CollectionUtils.isNullOrEmpty(model.getEndpointDetails().getAddressAllocationIds());
-    }
 }
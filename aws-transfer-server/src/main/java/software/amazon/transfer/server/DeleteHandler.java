@@ -43,10 +43,9 @@ public class DeleteHandler extends BaseHandlerStd {
     }
 
     private DeleteServerResponse deleteServer(DeleteServerRequest request, ProxyClient<TransferClient> client) {
-        try (TransferClient transferClient = client.client()) {
-            DeleteServerResponse response = client.injectCredentialsAndInvokeV2(request, transferClient::deleteServer);
-            log("has been successfully deleted.", request.serverId());
-            return response;
-        }
+        TransferClient transferClient = client.client();
+        DeleteServerResponse response = client.injectCredentialsAndInvokeV2(request, transferClient::deleteServer);
+        log("has been successfully deleted.", request.serverId());
+        return response;
     }
 }
@@ -0,0 +1,73 @@
+package software.amazon.transfer.server;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import software.amazon.awssdk.services.ec2.model.VpcEndpoint;
+import software.amazon.awssdk.services.transfer.model.DescribedServer;
+
+/**
+ * Read-through cache of the servers and VPC endpoints described during one handler invocation.
+ *
+ * <p>It lives in the {@link CallbackContext} without being serialized, so every invocation starts
+ * empty. Mutating calls invalidate what they change, and every stabilization poll starts from an
+ * empty cache, since waiting is about seeing the service change. The counters tell how many
+ * describe calls the cache saved.
+ */
+final class DescribeCache {
+    private final Map<String, DescribedServer> servers = new HashMap<>();
+    private final Map<String, VpcEndpoint> vpcEndpoints = new HashMap<>();
+    private int lookups;
+    private int savedCalls;
+
+    DescribedServer server(String serverId, Function<String, DescribedServer> describe) {
+        return lookup(servers, serverId, describe);
+    }
+
+    VpcEndpoint vpcEndpoint(String vpcEndpointId, Function<String, VpcEndpoint> describe) {
+        return lookup(vpcEndpoints, vpcEndpointId, describe);
+    }
+
+    /**
+     * Drops a server after a call that changed it. Its VPC endpoint is dropped as well, since
+     * server updates can change it.
+     */
+    void invalidateServer(String serverId) {
+        DescribedServer server = servers.remove(serverId);
+        if (server != null && server.endpointDetails() != null) {
+            vpcEndpoints.remove(server.endpointDetails().vpcEndpointId());
+        }
+    }
+
+    void invalidateVpcEndpoint(String vpcEndpointId) {
+        vpcEndpoints.remove(vpcEndpointId);
+    }
+
+    void invalidateAll() {
+        servers.clear();
+        vpcEndpoints.clear();
+    }
+
+    /** @return how many lookups went through the cache */
+    int getLookups() {
+        return lookups;
+    }
+
+    /** @return how many lookups were answered without a describe call */
+    int getSavedCalls() {
+        return savedCalls;
+    }
+
+    private <T> T lookup(Map<String, T> cache, String id, Function<String, T> describe) {
+        lookups++;
+        T cached = cache.get(id);
+        if (cached != null) {
+            savedCalls++;
+            return cached;
+        }
+        T described = describe.apply(id);
+        cache.put(id, described);
+        return described;
+    }
+}
@@ -1,21 +1,38 @@
 package software.amazon.transfer.server;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import software.amazon.awssdk.services.ec2.Ec2Client;
+import software.amazon.awssdk.services.ec2.model.DescribeVpcEndpointsRequest;
+import software.amazon.awssdk.services.ec2.model.DescribeVpcEndpointsResponse;
+import software.amazon.awssdk.services.ec2.model.Filter;
+import software.amazon.awssdk.services.ec2.model.VpcEndpoint;
 import software.amazon.awssdk.services.transfer.TransferClient;
+import software.amazon.awssdk.services.transfer.model.DescribedServer;
+import software.amazon.awssdk.services.transfer.model.EndpointType;
 import software.amazon.awssdk.services.transfer.model.ListServersRequest;
 import software.amazon.awssdk.services.transfer.model.ListServersResponse;
+import software.amazon.awssdk.services.transfer.model.ListedServer;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.DescribeFanOut;
+import software.amazon.transfer.commons.Paginator;
 import software.amazon.transfer.server.translators.Translator;
 
 public class ListHandler extends BaseHandlerStd {
+    private static final String VPC_ENDPOINT_ID_FILTER = "vpc-endpoint-id";
+
+    private DescribeFanOut describeFanOut = DescribeFanOut.fromEnvironment();
 
     @Override
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -35,24 +52,51 @@ public class ListHandler extends BaseHandlerStd {
                 .makeServiceCall(this::listServers)
                 .handleError((ignored, exception, client, model, context) ->
                         handleError(LIST, exception, model, context, clientRequestToken))
-                .done(response -> ProgressEvent.<ResourceModel, CallbackContext>builder()
-                        .resourceModels(translateFromListResponce(response))
-                        .nextToken(response.nextToken())
-                        .status(OperationStatus.SUCCESS)
-                        .build());
+                .done(response -> {
+                    List<ResourceModel> models;
+                    try {
+                        models = translateFromListResponse(response, proxyClient, proxyEc2Client);
+                    } catch (Exception e) {
+                        return handleError(LIST, e, resourceModel, callbackContext, clientRequestToken);
+                    }
+                    return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                            .resourceModels(models)
+                            .nextToken(response.nextToken())
+                            .status(OperationStatus.SUCCESS)
+                            .build();
+                });
+    }
+
+    /** Replaces the fan-out the environment selects, e.g. to describe the listed servers in a test. */
+    void useDescribeFanOut(DescribeFanOut describeFanOut) {
+        this.describeFanOut = describeFanOut;
     }
 
     private ListServersRequest translateToListRequest(final String nextToken) {
-        return ListServersRequest.builder().maxResults(10).nextToken(nextToken).build();
+        return ListServersRequest.builder()
+                .maxResults(describeFanOut.getPaginator().getPageSize())
+                .nextToken(nextToken)
+                .build();
     }
 
     private ListServersResponse listServers(ListServersRequest awsRequest, ProxyClient<TransferClient> client) {
-        try (TransferClient transferClient = client.client()) {
-            return client.injectCredentialsAndInvokeV2(awsRequest, transferClient::listServers);
-        }
+        TransferClient transferClient = client.client();
+        Paginator.Page<ListedServer> page = describeFanOut.getPaginator().paginate(
+                awsRequest.nextToken(),
+                token -> client.injectCredentialsAndInvokeV2(
+                        awsRequest.toBuilder().nextToken(token).build(), transferClient::listServers),
+                ListServersResponse::servers,
+                ListServersResponse::nextToken);
+        return ListServersResponse.builder().servers(page.getItems()).nextToken(page.getNextToken()).build();
     }
 
-    private List<ResourceModel> translateFromListResponce(final ListServersResponse awsResponse) {
+    private List<ResourceModel> translateFromListResponse(
+            final ListServersResponse awsResponse,
+            final ProxyClient<TransferClient> client,
+            final ProxyClient<Ec2Client> ec2Client) {
+        if (describeFanOut.isEnabled()) {
+            return describeServers(awsResponse.servers(), client, ec2Client);
+        }
         return Translator.streamOfOrEmpty(awsResponse.servers())
                 .map(resource -> ResourceModel.builder()
                         .arn(resource.arn())
@@ -60,4 +104,65 @@ public class ListHandler extends BaseHandlerStd {
                         .build())
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Reads the listed servers the way {@link ReadHandler} reads one, except that the security groups
+     * of all VPC servers come from a single DescribeVpcEndpoints call.
+     */
+    private List<ResourceModel> describeServers(
+            List<ListedServer> listedServers, ProxyClient<TransferClient> client, ProxyClient<Ec2Client> ec2Client) {
+        List<DescribedServer> servers = describeFanOut.describe(
+                listedServers,
+                listed -> describeServer(
+                        client, ResourceModel.builder().serverId(listed.serverId()).build()));
+
+        Map<String, List<String>> securityGroupIds = readSecurityGroupIds(servers, ec2Client);
+        List<ResourceModel> models = new ArrayList<>(servers.size());
+        for (DescribedServer server : servers) {
+            List<String> groupIds = securityGroupIds.get(vpcEndpointId(server));
+            models.add(Translator.translateFromSdkServer(
+                    groupIds != null ? withSecurityGroupIds(server, groupIds) : server));
+        }
+        return models;
+    }
+
+    private static Map<String, List<String>> readSecurityGroupIds(
+            List<DescribedServer> servers, ProxyClient<Ec2Client> ec2Client) {
+        List<String> vpcEndpointIds = servers.stream()
+                .map(ListHandler::vpcEndpointId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        if (vpcEndpointIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        // Unlike VpcEndpointIds, which fails the whole call, a filter leaves out the endpoints of
+        // servers deleted since they were described.
+        DescribeVpcEndpointsRequest request = DescribeVpcEndpointsRequest.builder()
+                .filters(Filter.builder()
+                        .name(VPC_ENDPOINT_ID_FILTER)
+                        .values(vpcEndpointIds)
+                        .build())
+                .build();
+        Map<String, List<String>> securityGroupIds = new HashMap<>();
+        Ec2Client client = ec2Client.client();
+        String nextToken = null;
+        do {
+            DescribeVpcEndpointsResponse response = ec2Client.injectCredentialsAndInvokeV2(
+                    request.toBuilder().nextToken(nextToken).build(), client::describeVpcEndpoints);
+            for (VpcEndpoint vpcEndpoint : response.vpcEndpoints()) {
+                securityGroupIds.put(vpcEndpoint.vpcEndpointId(), getSecurityGroupIds(vpcEndpoint));
+            }
+            nextToken = response.nextToken();
+        } while (nextToken != null);
+        return securityGroupIds;
+    }
+
+    private static String vpcEndpointId(DescribedServer server) {
+        if (server.endpointType() != EndpointType.VPC || server.endpointDetails() == null) {
+            return null;
+        }
+        return server.endpointDetails().vpcEndpointId();
+    }
 }
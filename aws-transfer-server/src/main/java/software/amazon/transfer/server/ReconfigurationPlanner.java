@@ -0,0 +1,100 @@
+package software.amazon.transfer.server;
+
+import static software.amazon.transfer.server.translators.Translator.emptyListIfNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import software.amazon.awssdk.services.transfer.model.EndpointType;
+
+/**
+ * Plans the shortest sequence of {@link ReconfigurationStep}s from the endpoint a server has to
+ * the one its model asks for.
+ *
+ * <p>Only EIPs need the server OFFLINE; without them UpdateServer moves a running server to other
+ * subnets on its own. So the server is stopped only when its EIPs change, the EIPs are detached
+ * only when there are some and the subnets move, and the subnets are updated only when they
+ * differ. Planning once, rather than comparing the described server on every poll, keeps a
+ * describe that lags behind an update from stopping the server for a change already made.
+ */
+final class ReconfigurationPlanner {
+    private ReconfigurationPlanner() {}
+
+    /**
+     * @param previous the model the server was last updated to
+     * @param desired the model the server is being updated to
+     * @return the steps left after UpdateServer applied the desired model, empty if there are none
+     */
+    static List<ReconfigurationStep> plan(ResourceModel previous, ResourceModel desired) {
+        if (!isVpc(desired)) {
+            return new ArrayList<>();
+        }
+        // UpdateServer is not sent the subnets either when the EIPs change, see UpdateHandler.
+        return plan(
+                subnetIds(previous),
+                addressAllocationIds(previous),
+                subnetIds(desired),
+                addressAllocationIds(desired));
+    }
+
+    /**
+     * @param model the model the server was created from
+     * @return the steps left after CreateServer, which is not sent the EIPs, empty if there are none
+     */
+    static List<ReconfigurationStep> planAfterCreate(ResourceModel model) {
+        List<String> subnetIds = subnetIds(model);
+        return plan(subnetIds, Collections.emptyList(), subnetIds, addressAllocationIds(model));
+    }
+
+    /**
+     * @param subnetIds the subnets of the endpoint
+     * @param addressAllocationIds the EIPs attached to the endpoint
+     * @param desiredSubnetIds the subnets the endpoint should be in
+     * @param desiredAddressAllocationIds the EIPs that should be attached
+     * @return the steps in the order to make them, empty if there are none
+     */
+    static List<ReconfigurationStep> plan(
+            List<String> subnetIds,
+            List<String> addressAllocationIds,
+            List<String> desiredSubnetIds,
+            List<String> desiredAddressAllocationIds) {
+        List<ReconfigurationStep> steps = new ArrayList<>();
+        if (addressAllocationIds.equals(desiredAddressAllocationIds)) {
+            return steps;
+        }
+
+        steps.add(ReconfigurationStep.STOP_SERVER);
+        List<String> attached = addressAllocationIds;
+        boolean subnetsChange = !subnetIds.equals(desiredSubnetIds);
+        if (subnetsChange && !attached.isEmpty()) {
+            steps.add(ReconfigurationStep.REMOVE_ADDRESS_ALLOCATION_IDS);
+            attached = Collections.emptyList();
+        }
+        if (subnetsChange) {
+            steps.add(ReconfigurationStep.UPDATE_SUBNET_IDS);
+        }
+        if (!attached.equals(desiredAddressAllocationIds)) {
+            steps.add(
+                    desiredAddressAllocationIds.isEmpty()
+                            ? ReconfigurationStep.REMOVE_ADDRESS_ALLOCATION_IDS
+                            : ReconfigurationStep.UPDATE_ADDRESS_ALLOCATION_IDS);
+        }
+        steps.add(ReconfigurationStep.START_SERVER);
+        return steps;
+    }
+
+    private static boolean isVpc(ResourceModel model) {
+        return EndpointType.VPC.name().equals(model.getEndpointType()) && model.getEndpointDetails() != null;
+    }
+
+    private static List<String> subnetIds(ResourceModel model) {
+        return isVpc(model) ? emptyListIfNull(model.getEndpointDetails().getSubnetIds()) : Collections.emptyList();
+    }
+
+    private static List<String> addressAllocationIds(ResourceModel model) {
+        return isVpc(model)
+                ? emptyListIfNull(model.getEndpointDetails().getAddressAllocationIds())
+                : Collections.emptyList();
+    }
+}
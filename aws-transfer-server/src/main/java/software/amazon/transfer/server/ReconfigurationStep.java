@@ -0,0 +1,18 @@
+package software.amazon.transfer.server;
+
+/**
+ * The calls that move a VPC server to other subnets or EIPs while it is OFFLINE, planned by
+ * {@link ReconfigurationPlanner} and kept in the callback context until they are made.
+ */
+public enum ReconfigurationStep {
+    /** Stops the server; done once it is OFFLINE. */
+    STOP_SERVER,
+    /** Detaches the EIPs, which have to be off the endpoint before its subnets change. */
+    REMOVE_ADDRESS_ALLOCATION_IDS,
+    /** Moves the endpoint to the subnets of the model. */
+    UPDATE_SUBNET_IDS,
+    /** Attaches the EIPs of the model, one per subnet. */
+    UPDATE_ADDRESS_ALLOCATION_IDS,
+    /** Starts the server once the EIPs have private IPs. */
+    START_SERVER
+}
@@ -0,0 +1,27 @@
+package software.amazon.transfer.server;
+
+/**
+ * Thrown from a stabilization step while the server is still transitioning. {@link
+ * BaseHandlerStd#handleError} turns it into an IN_PROGRESS event with a callback delay, so the
+ * wait happens between invocations instead of inside one.
+ */
+class StabilizationPendingException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final String serverId;
+    private final int pollIntervalSeconds;
+
+    StabilizationPendingException(String serverId, String condition, int pollIntervalSeconds) {
+        super(String.format("Server %s is %s", serverId, condition));
+        this.serverId = serverId;
+        this.pollIntervalSeconds = pollIntervalSeconds;
+    }
+
+    String getServerId() {
+        return serverId;
+    }
+
+    int getPollIntervalSeconds() {
+        return pollIntervalSeconds;
+    }
+}
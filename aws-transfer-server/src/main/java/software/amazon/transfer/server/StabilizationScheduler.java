@@ -0,0 +1,69 @@
+package software.amazon.transfer.server;
+
+import java.time.Duration;
+import java.util.OptionalInt;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Computes callback delays for stabilization waits.
+ *
+ * <p>Delays grow exponentially per attempt, from the poll interval of what is being waited for
+ * ({@link #BASE_DELAY_SECONDS} by default) up to {@link #MAX_DELAY_SECONDS}, with equal jitter so
+ * that servers rolled in the same stack do not poll in lockstep. The attempt count and the total
+ * time waited are kept in the {@link CallbackContext}, so the schedule survives re-invocations.
+ * Once {@link #BUDGET} is used up no further delay is handed out.
+ */
+class StabilizationScheduler {
+    static final int BASE_DELAY_SECONDS = 5;
+    static final int MAX_DELAY_SECONDS = 60;
+    static final Duration BUDGET = Duration.ofMinutes(60);
+
+    private final DoubleSupplier random;
+
+    StabilizationScheduler() {
+        this(() -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    StabilizationScheduler(DoubleSupplier random) {
+        this.random = random;
+    }
+
+    /**
+     * Returns the delay before the next poll and records it in the context.
+     *
+     * @param context the callback context carrying the schedule
+     * @param pollIntervalSeconds the delay of the first attempt
+     * @return the delay in seconds, or empty if the stabilization budget is used up
+     */
+    OptionalInt nextDelaySeconds(CallbackContext context, int pollIntervalSeconds) {
+        int remaining = (int) BUDGET.getSeconds() - context.getStabilizationWaitSeconds();
+        if (remaining <= 0) {
+            return OptionalInt.empty();
+        }
+
+        int attempt = context.getStabilizationAttempts();
+        int ceiling = (int) Math.min(MAX_DELAY_SECONDS, (long) pollIntervalSeconds << Math.min(attempt, 16));
+        int half = ceiling / 2;
+        int delay = half + (int) Math.round(random.getAsDouble() * (ceiling - half));
+        delay = Math.max(1, Math.min(delay, remaining));
+
+        context.setStabilizationAttempts(attempt + 1);
+        context.setStabilizationWaitSeconds(context.getStabilizationWaitSeconds() + delay);
+        return OptionalInt.of(delay);
+    }
+
+    /**
+     * Restarts the exponential schedule when the handler starts waiting for something else, so a
+     * STOPPING wait does not inflate the delays of the STARTING wait that follows it.
+     *
+     * @param context the callback context carrying the schedule
+     * @param condition what the handler is waiting for
+     */
+    void enter(CallbackContext context, String condition) {
+        if (!condition.equals(context.getStabilizationState())) {
+            context.setStabilizationState(condition);
+            context.setStabilizationAttempts(0);
+        }
+    }
+}
@@ -11,31 +11,34 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
+import java.util.function.LongSupplier;
 
 import org.apache.commons.lang3.StringUtils;
 
 import software.amazon.awssdk.services.ec2.Ec2Client;
 import software.amazon.awssdk.services.ec2.model.ModifyVpcEndpointRequest;
 import software.amazon.awssdk.services.ec2.model.ModifyVpcEndpointResponse;
+import software.amazon.awssdk.services.ec2.model.VpcEndpoint;
 import software.amazon.awssdk.services.transfer.TransferClient;
 import software.amazon.awssdk.services.transfer.model.DescribedServer;
 import software.amazon.awssdk.services.transfer.model.EndpointDetails;
 import software.amazon.awssdk.services.transfer.model.EndpointType;
-import software.amazon.awssdk.services.transfer.model.IdentityProviderDetails;
 import software.amazon.awssdk.services.transfer.model.State;
+import software.amazon.awssdk.services.transfer.model.TagResourceResponse;
+import software.amazon.awssdk.services.transfer.model.UntagResourceResponse;
 import software.amazon.awssdk.services.transfer.model.UpdateServerRequest;
 import software.amazon.awssdk.services.transfer.model.UpdateServerResponse;
-import software.amazon.awssdk.utils.CollectionUtils;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.TagDiff;
 import software.amazon.transfer.server.translators.EndpointDetailsTranslator;
 import software.amazon.transfer.server.translators.IdentityProviderDetailsTranslator;
 import software.amazon.transfer.server.translators.ProtocolDetailsTranslator;
+import software.amazon.transfer.server.translators.ResourceModelDiff;
 import software.amazon.transfer.server.translators.S3StorageOptionsTranslator;
 import software.amazon.transfer.server.translators.TagHelper;
 import software.amazon.transfer.server.translators.Translator;
@@ -43,6 +46,13 @@ import software.amazon.transfer.server.translators.WorkflowDetailsTranslator;
 
 public class UpdateHandler extends BaseHandlerStd {
 
+    public UpdateHandler() {}
+
+    /** @see BaseHandlerStd#BaseHandlerStd(StabilizationScheduler, LongSupplier) */
+    UpdateHandler(StabilizationScheduler stabilizationScheduler, LongSupplier clock) {
+        super(stabilizationScheduler, clock);
+    }
+
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
@@ -61,152 +71,213 @@ public class UpdateHandler extends BaseHandlerStd {
 
         prepareDesiredResourceModel(request, newModel, false);
         preparePreviousResourceModel(request, oldModel);
+        final TagDiff tagDiff = TagHelper.tagDiff(request);
+        final List<ReconfigurationStep> reconfigurationPlan = ReconfigurationPlanner.plan(oldModel, newModel);
+        final UpdateServerRequest updateServerRequest =
+                translateToFirstUpdateRequest(oldModel, newModel, reconfigurationPlan);
+        if (callbackContext.getReconfigurationPlan() == null) {
+            log(String.format("Endpoint reconfiguration plan: %s", reconfigurationPlan), newModel.getServerId());
+            callbackContext.setReconfigurationPlan(reconfigurationPlan);
+        }
+
+        // Tags and security groups do not depend on the server state, so they are changed before the
+        // server update and settle while it stabilizes. Only a server update that moves or replaces the
+        // VPC endpoint has to be done before the security groups of the endpoint are modified.
+        final boolean serverUpdated = !changesNothing(updateServerRequest);
+        final boolean endpointUpdated =
+                updateServerRequest.endpointType() != null || updateServerRequest.endpointDetails() != null;
 
         return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
-                .then(progress -> initialUpdate(
-                        progress, oldModel, newModel, proxy, proxyClient, proxyEc2Client, clientRequestToken))
-                .then(progress -> updateSecurityGroups(
-                        progress, oldModel, newModel, proxy, proxyClient, proxyEc2Client, clientRequestToken))
-                .then(progress -> addTags(progress, request, newModel, proxy, proxyClient))
-                .then(progress -> removeTags(progress, request, newModel, proxy, proxyClient))
-                .then(progress -> new ReadHandler()
-                        .handleRequest(proxy, request, callbackContext, proxyClient, proxyEc2Client, logger));
+                .then(tracer.stage(
+                        "removeTags", progress -> removeTags(progress, request, tagDiff, newModel, proxy, proxyClient)))
+                .then(tracer.stage(
+                        "addTags", progress -> addTags(progress, request, tagDiff, newModel, proxy, proxyClient)))
+                .then(tracer.stage("updateSecurityGroups", progress -> endpointUpdated
+                        ? progress
+                        : updateSecurityGroups(
+                                progress,
+                                oldModel,
+                                newModel,
+                                !serverUpdated,
+                                proxy,
+                                proxyClient,
+                                proxyEc2Client,
+                                clientRequestToken)))
+                .then(tracer.stage("initialUpdate", progress -> initialUpdate(
+                        progress, updateServerRequest, proxy, proxyClient, proxyEc2Client, clientRequestToken)))
+                .then(tracer.stage("updateEndpointSecurityGroups", progress -> endpointUpdated
+                        ? updateSecurityGroups(
+                                progress,
+                                oldModel,
+                                newModel,
+                                true,
+                                proxy,
+                                proxyClient,
+                                proxyEc2Client,
+                                clientRequestToken)
+                        : progress))
+                .then(tracer.stage("readAfterWrite", progress -> readAfterWrite(
+                        proxy, request, progress.getCallbackContext(), proxyClient, proxyEc2Client)));
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> initialUpdate(
             ProgressEvent<ResourceModel, CallbackContext> progress,
-            ResourceModel oldModel,
-            ResourceModel newModel,
+            UpdateServerRequest updateServerRequest,
             AmazonWebServicesClientProxy proxy,
             ProxyClient<TransferClient> proxyClient,
             ProxyClient<Ec2Client> proxyEc2Client,
             String clientRequestToken) {
+        if (changesNothing(updateServerRequest)) {
+            // Nothing UpdateServer applies changed, e.g. only tags or security groups did.
+            log("has no server property changes, skipping the server update.", updateServerRequest.serverId());
+            return progress;
+        }
 
         return proxy.initiate(
                         "AWS-Transfer-Server::Update::updateServer",
                         proxyClient,
                         progress.getResourceModel(),
                         progress.getCallbackContext())
-                .translateToServiceRequest(m -> translateToFirstUpdateRequest(oldModel, newModel))
-                .makeServiceCall(this::updateServer)
+                .translateToServiceRequest(m -> updateServerRequest)
+                .makeServiceCall((awsRequest, client) ->
+                        updateServer(awsRequest, client, progress.getCallbackContext()))
                 .stabilize((awsRequest, awsResponse, client, model, context) ->
-                        stabilizeAfterUpdate(client, proxyEc2Client, model))
+                        stabilizeAfterUpdate(client, proxyEc2Client, model, context))
                 .handleError((ignored, exception, client, model, context) ->
                         handleError(UPDATE, exception, model, context, clientRequestToken))
                 .progress();
     }
 
+    /**
+     * Drives the server through the {@link UpdatePhase}s kept in the callback context. Every poll
+     * only makes the calls of the phase it is in, and a phase that has to wait asks for a callback
+     * at that phase's poll interval. The RECONFIGURE phase makes the steps of the plan from {@link
+     * ReconfigurationPlanner}, one per poll.
+     */
     private Boolean stabilizeAfterUpdate(
-            ProxyClient<TransferClient> client, ProxyClient<Ec2Client> ec2Client, ResourceModel model) {
+            ProxyClient<TransferClient> client,
+            ProxyClient<Ec2Client> ec2Client,
+            ResourceModel model,
+            CallbackContext context) {
 
         String serverId = model.getServerId();
-        DescribedServer describedServer = describeServer(client, model);
 
-        // Always check if the VPC endpoint is ready to modify
-        if (EndpointType.VPC.equals(describedServer.endpointType())) {
-            String vpcEndpointId = describedServer.endpointDetails().vpcEndpointId();
-            if (!waitForVpcEndpoint(vpcEndpointId, ec2Client, model)) {
-                return false;
-            }
-        }
+        DescribedServer describedServer = null;
 
-        List<String> proposedSubnetIds;
-        List<String> proposedAddressAllocationIds;
+        // Every poll is there to see the server change.
+        context.describeCache().invalidateAll();
 
-        if (model.getEndpointDetails() != null) {
-            proposedSubnetIds = emptyListIfNull(model.getEndpointDetails().getSubnetIds());
-            proposedAddressAllocationIds =
-                    emptyListIfNull(model.getEndpointDetails().getAddressAllocationIds());
-        } else {
-            proposedSubnetIds = Collections.emptyList();
-            proposedAddressAllocationIds = Collections.emptyList();
-        }
+        if (context.getUpdatePhase() == UpdatePhase.VPC_ENDPOINT) {
+            describedServer = describeServer(client, model, context);
 
-        List<String> currentSubnetIds;
-        List<String> currentAddressAllocationIds;
+            VpcEndpoint vpcEndpoint = null;
+            if (EndpointType.VPC.equals(describedServer.endpointType())) {
+                vpcEndpoint = getVpcEndpoint(describedServer.endpointDetails().vpcEndpointId(), ec2Client, context);
+                if (!isAvailable(vpcEndpoint)) {
+                    log("VPC Endpoint is not available yet.", serverId);
+                    throw waitForPhase(context, serverId);
+                }
+            }
+            recordRead(context, describedServer, vpcEndpoint);
 
-        if (describedServer.endpointDetails() != null) {
-            currentSubnetIds = describedServer.endpointDetails().subnetIds();
-            currentAddressAllocationIds = describedServer.endpointDetails().addressAllocationIds();
-        } else {
-            currentSubnetIds = Collections.emptyList();
-            currentAddressAllocationIds = Collections.emptyList();
+            // The describe result is still current, carry on with it.
+            context.setUpdatePhase(UpdatePhase.RECONFIGURE);
         }
 
-        log(String.format("Endpoint current subnet IDs: %s", currentSubnetIds), serverId);
-        log(String.format("Endpoint proposed subnet IDs: %s", proposedSubnetIds), serverId);
-        log(String.format("Endpoint current address allocation IDs: %s", currentAddressAllocationIds), serverId);
-        log(String.format("Endpoint proposed address allocation IDs: %s", proposedAddressAllocationIds), serverId);
+        if (context.getUpdatePhase() == UpdatePhase.RECONFIGURE) {
+            if (describedServer == null) {
+                describedServer = describeServer(client, model, context);
+            }
 
-        State state = describedServer.state();
-        switch (state) {
-            case OFFLINE:
-                if (!Objects.equals(proposedSubnetIds, currentSubnetIds)) {
-                    if (!currentAddressAllocationIds.isEmpty()) {
-                        EndpointDetails removeAddressAllocationIds = EndpointDetails.builder()
-                                .addressAllocationIds(Collections.emptyList())
-                                .build();
-                        log("EIP address allocation IDs are removed for subnet update.", serverId);
-                        updateServerEndpointDetails(client, serverId, removeAddressAllocationIds);
+            State state = describedServer.state();
+            ReconfigurationStep step = nextReconfigurationStep(context);
+            if (step == ReconfigurationStep.STOP_SERVER && state == State.OFFLINE) {
+                completeReconfigurationStep(context);
+                step = nextReconfigurationStep(context);
+            }
+
+            switch (state) {
+                case OFFLINE:
+                    if (step != null && step != ReconfigurationStep.START_SERVER) {
+                        reconfigureEndpoint(client, step, model, context);
+                        completeReconfigurationStep(context);
+                        if (step == ReconfigurationStep.UPDATE_SUBNET_IDS) {
+                            // Moving subnets modifies the VPC endpoint, let it settle before the EIPs.
+                            context.setUpdatePhase(UpdatePhase.VPC_ENDPOINT);
+                        }
                         return false;
                     }
-                    EndpointDetails updateSubnets = EndpointDetails.builder()
-                            .subnetIds(proposedSubnetIds)
-                            .build();
-                    log("VPC endpoint subnetIds are being updated.", serverId);
-                    updateServerEndpointDetails(client, serverId, updateSubnets);
-                    return false;
-                }
 
-                if (!Objects.equals(proposedAddressAllocationIds, currentAddressAllocationIds)) {
-                    EndpointDetails endpointDetails = EndpointDetails.builder()
-                            .addressAllocationIds(proposedAddressAllocationIds)
-                            .subnetIds(proposedSubnetIds)
-                            .build();
-                    log("EIP address allocation IDs are being updated.", serverId);
-                    updateServerEndpointDetails(client, serverId, endpointDetails);
-                    return false;
-                }
+                    context.setUpdatePhase(UpdatePhase.PRIVATE_IPS);
+                    break;
+                case ONLINE:
+                    if (step == null || step == ReconfigurationStep.START_SERVER) {
+                        recordRead(context, describedServer, null);
+                        log("update has been stabilized.", serverId);
+                        return true; // no update needed, we are done
+                    }
+
+                    stopServer(client, serverId, context);
 
-                if (!privateIpsAvailable(currentAddressAllocationIds, ec2Client)) {
-                    log("is waiting for endpoint private IPs", serverId);
+                    log("is going OFFLINE for update.", serverId);
                     return false;
-                }
+                default:
+                    throw handleStabilizeTransientStates(state, serverId, context);
+            }
+        }
 
-                startServer(client, serverId);
-                log("is going ONLINE after update.", serverId);
-                return false;
-            case ONLINE:
-                if (Objects.equals(proposedSubnetIds, currentSubnetIds)
-                        && Objects.equals(proposedAddressAllocationIds, currentAddressAllocationIds)) {
-                    log("update has been stabilized.", serverId);
-                    return true; // no update needed, we are done
-                }
+        if (context.getUpdatePhase() == UpdatePhase.PRIVATE_IPS) {
+            // Subnets and EIPs match the model here, so its EIPs are the current ones.
+            if (!privateIpsAvailable(getAddressAllocationIds(model), ec2Client)) {
+                log("is waiting for endpoint private IPs", serverId);
+                throw waitForPhase(context, serverId);
+            }
 
-                stopServer(client, serverId);
+            startServer(client, serverId, context);
+            log("is going ONLINE after update.", serverId);
+            if (nextReconfigurationStep(context) == ReconfigurationStep.START_SERVER) {
+                completeReconfigurationStep(context);
+            }
+            context.setUpdatePhase(UpdatePhase.STARTING);
+            return false;
+        }
 
-                log("is going OFFLINE for update.", serverId);
-                return false;
+        DescribedServer startedServer = describeServer(client, model, context);
+        State state = startedServer.state();
+        switch (state) {
+            case ONLINE:
+                recordRead(context, startedServer, null);
+                log("update has been stabilized.", serverId);
+                return true;
+            case OFFLINE:
+            case STARTING:
+                log(String.format("is still %s", state), serverId);
+                throw waitForPhase(context, serverId);
             default:
-                return handleStabilizeTransientStates(state, serverId);
+                throw handleStabilizeTransientStates(state, serverId, context);
         }
     }
 
+    private StabilizationPendingException waitForPhase(CallbackContext context, String serverId) {
+        UpdatePhase phase = context.getUpdatePhase();
+        return waitForCallback(context, serverId, phase.name(), phase.getPollIntervalSeconds());
+    }
+
+    /**
+     * Modifies the security groups of the VPC endpoint of the server.
+     *
+     * @param waitForEndpoint whether to wait for the endpoint to become available again; the
+     *     stabilization of a server update that follows waits for it as well
+     */
     private ProgressEvent<ResourceModel, CallbackContext> updateSecurityGroups(
             ProgressEvent<ResourceModel, CallbackContext> progress,
             ResourceModel oldModel,
             ResourceModel newModel,
+            boolean waitForEndpoint,
             AmazonWebServicesClientProxy proxy,
             ProxyClient<TransferClient> proxyClient,
             ProxyClient<Ec2Client> proxyEc2Client,
             String clientRequestToken) {
-        // Why not look at the one inside the oldModel? I think that is because
-        // of the option to change VPC to PUBLIC and PUBLIC to VPC endpoints.
-        final String vpcEndpointId = getVpcEndpointId(progress.getResourceModel(), proxyClient);
-        if (StringUtils.isBlank(vpcEndpointId)) {
-            return progress; // skip this step
-        }
-
         List<String> requested = List.of();
         List<String> previous = List.of();
         if (isVpcServerEndpoint(oldModel)) {
@@ -227,6 +298,14 @@ public class UpdateHandler extends BaseHandlerStd {
             return progress; // skip this step
         }
 
+        // Why not look at the one inside the oldModel? I think that is because
+        // of the option to change VPC to PUBLIC and PUBLIC to VPC endpoints.
+        final String vpcEndpointId =
+                getVpcEndpointId(progress.getResourceModel(), proxyClient, progress.getCallbackContext());
+        if (StringUtils.isBlank(vpcEndpointId)) {
+            return progress; // skip this step
+        }
+
         if (!toAdd.isEmpty()) {
             log(String.format("security group IDs to add: %s", toAdd), serverId);
         }
@@ -240,36 +319,52 @@ public class UpdateHandler extends BaseHandlerStd {
                         progress.getResourceModel(),
                         progress.getCallbackContext())
                 .translateToServiceRequest(m -> modifyVpcEndpointRequest(vpcEndpointId, toAdd, toRemove))
-                .makeServiceCall((awsRequest, client) -> modifyVpcEndpoint(serverId, awsRequest, client))
-                .stabilize((awsRequest, awsResponse, client, model, context) ->
-                        waitForVpcEndpoint(awsRequest.vpcEndpointId(), client, model))
+                .makeServiceCall((awsRequest, client) ->
+                        modifyVpcEndpoint(serverId, awsRequest, client, progress.getCallbackContext()))
+                .stabilize((awsRequest, awsResponse, client, model, context) -> !waitForEndpoint
+                        || waitForVpcEndpoint(awsRequest.vpcEndpointId(), client, model, context))
                 .handleError((ignored, exception, proxyClient1, model1, callbackContext1) ->
                         handleError(UPDATE, exception, model1, callbackContext1, clientRequestToken))
                 .progress();
     }
 
     private ModifyVpcEndpointResponse modifyVpcEndpoint(
-            String serverId, ModifyVpcEndpointRequest awsRequest, ProxyClient<Ec2Client> client) {
-        try (Ec2Client ec2Client = client.client()) {
-            ModifyVpcEndpointResponse awsResponse =
-                    client.injectCredentialsAndInvokeV2(awsRequest, ec2Client::modifyVpcEndpoint);
-            log("VPC Endpoint has been updated successfully.", serverId);
-            return awsResponse;
-        }
+            String serverId,
+            ModifyVpcEndpointRequest awsRequest,
+            ProxyClient<Ec2Client> client,
+            CallbackContext context) {
+        context.describeCache().invalidateVpcEndpoint(awsRequest.vpcEndpointId());
+        Ec2Client ec2Client = client.client();
+        ModifyVpcEndpointResponse awsResponse =
+                client.injectCredentialsAndInvokeV2(awsRequest, ec2Client::modifyVpcEndpoint);
+        log("VPC Endpoint has been updated successfully.", serverId);
+        return awsResponse;
     }
 
-    private Boolean waitForVpcEndpoint(String vpcEndpointId, ProxyClient<Ec2Client> client, ResourceModel model) {
-        if (!isVpcEndpointAvailable(vpcEndpointId, client)) {
+    private Boolean waitForVpcEndpoint(
+            String vpcEndpointId, ProxyClient<Ec2Client> client, ResourceModel model, CallbackContext context) {
+        context.describeCache().invalidateVpcEndpoint(vpcEndpointId);
+        VpcEndpoint vpcEndpoint = getVpcEndpoint(vpcEndpointId, client, context);
+        if (!isAvailable(vpcEndpoint)) {
             log("VPC Endpoint is not available yet.", model.getServerId());
             return false;
         }
+        recordSecurityGroups(context, vpcEndpoint);
 
         log("VPC endpoint stabilized after update", model.getServerId());
         return true;
     }
 
-    private String getVpcEndpointId(ResourceModel model, ProxyClient<TransferClient> client) {
-        DescribedServer describedServer = describeServer(client, model);
+    private String getVpcEndpointId(ResourceModel model, ProxyClient<TransferClient> client, CallbackContext context) {
+        ResourceModel readModel = context.getReadModel();
+        if (readModel != null) {
+            // Recorded by the stabilization of the server update, after any change to the endpoint.
+            return readModel.getEndpointDetails() != null
+                    ? readModel.getEndpointDetails().getVpcEndpointId()
+                    : null;
+        }
+
+        DescribedServer describedServer = describeServer(client, model, context);
 
         if (describedServer.endpointDetails() != null) {
             return describedServer.endpointDetails().vpcEndpointId();
@@ -278,71 +373,73 @@ public class UpdateHandler extends BaseHandlerStd {
     }
 
     /**
-     * Request to update properties of a previously created resource
+     * Request to update the properties of a previously created resource that differ between the
+     * two models. Tags and security groups are left out, they are applied with their own calls.
      *
      * @param oldModel previous server model
      * @param newModel updated server model
+     * @param reconfigurationPlan the steps to make with the server OFFLINE
      * @return awsRequest the aws service request to modify a resource
      */
-    private UpdateServerRequest translateToFirstUpdateRequest(final ResourceModel oldModel, ResourceModel newModel) {
-        EndpointType endpointType = EndpointType.valueOf(newModel.getEndpointType());
-        EndpointDetails endpointDetails = EndpointDetailsTranslator.toSdk(newModel.getEndpointDetails(), false, true);
-
-        IdentityProviderDetails identityProviderDetails =
-                IdentityProviderDetailsTranslator.toSdk(newModel.getIdentityProviderDetails());
-
-        if (isVpcServerEndpoint(oldModel) && isVpcServerEndpoint(newModel)) {
-            endpointDetails = endpointDetails.toBuilder()
-                    .securityGroupIds((Collection<String>) null)
-                    .build();
-        }
+    private UpdateServerRequest translateToFirstUpdateRequest(
+            final ResourceModel oldModel, ResourceModel newModel, List<ReconfigurationStep> reconfigurationPlan) {
+        ResourceModelDiff diff = ResourceModelDiff.between(oldModel, newModel);
+        UpdateServerRequest.Builder builder = UpdateServerRequest.builder().serverId(newModel.getServerId());
+
+        if (diff.changed(ResourceModel::getEndpointType)
+                || diff.changed(m -> EndpointDetailsTranslator.toSdk(m.getEndpointDetails(), false, true))) {
+            EndpointType endpointType = EndpointType.valueOf(newModel.getEndpointType());
+            EndpointDetails endpointDetails =
+                    EndpointDetailsTranslator.toSdk(newModel.getEndpointDetails(), false, true);
+
+            if (isVpcServerEndpoint(oldModel) && isVpcServerEndpoint(newModel)) {
+                endpointDetails = endpointDetails.toBuilder()
+                        .securityGroupIds((Collection<String>) null)
+                        .build();
+            }
 
-        if (addressAllocationIdAssociationRequested(oldModel, newModel)) {
-            endpointDetails = endpointDetails.toBuilder()
-                    .addressAllocationIds((Collection<String>) null)
-                    .subnetIds((Collection<String>) null)
-                    .build();
+            if (!reconfigurationPlan.isEmpty()) {
+                // The EIPs change, which the plan applies with the server OFFLINE.
+                endpointDetails = endpointDetails.toBuilder()
+                        .addressAllocationIds((Collection<String>) null)
+                        .subnetIds((Collection<String>) null)
+                        .build();
+            }
+            builder.endpointType(endpointType).endpointDetails(endpointDetails);
         }
 
-        return UpdateServerRequest.builder()
-                .certificate(newModel.getCertificate())
-                .endpointType(endpointType)
-                .endpointDetails(endpointDetails)
-                .identityProviderDetails(identityProviderDetails)
-                .loggingRole(emptyStringIfNull(newModel.getLoggingRole()))
-                .preAuthenticationLoginBanner(emptyStringIfNull(newModel.getPreAuthenticationLoginBanner()))
-                .postAuthenticationLoginBanner(emptyStringIfNull(newModel.getPostAuthenticationLoginBanner()))
-                .protocols(translateToSdkProtocols(newModel.getProtocols()))
-                .protocolDetails(ProtocolDetailsTranslator.toSdk(newModel.getProtocolDetails()))
-                .securityPolicyName(newModel.getSecurityPolicyName())
-                .serverId(newModel.getServerId())
-                .structuredLogDestinations(emptyListIfNull(newModel.getStructuredLogDestinations()))
-                .workflowDetails(WorkflowDetailsTranslator.toSdk(newModel.getWorkflowDetails(), true))
-                .s3StorageOptions(S3StorageOptionsTranslator.toSdk(newModel.getS3StorageOptions()))
-                .build();
+        diff.ifChanged(ResourceModel::getCertificate, builder::certificate);
+        diff.ifChanged(
+                m -> IdentityProviderDetailsTranslator.toSdk(m.getIdentityProviderDetails()),
+                builder::identityProviderDetails);
+        diff.ifChanged(m -> emptyStringIfNull(m.getLoggingRole()), builder::loggingRole);
+        diff.ifChanged(
+                m -> emptyStringIfNull(m.getPreAuthenticationLoginBanner()), builder::preAuthenticationLoginBanner);
+        diff.ifChanged(
+                m -> emptyStringIfNull(m.getPostAuthenticationLoginBanner()), builder::postAuthenticationLoginBanner);
+        diff.ifChanged(m -> translateToSdkProtocols(m.getProtocols()), builder::protocols);
+        diff.ifChanged(m -> ProtocolDetailsTranslator.toSdk(m.getProtocolDetails()), builder::protocolDetails);
+        diff.ifChanged(ResourceModel::getSecurityPolicyName, builder::securityPolicyName);
+        diff.ifChanged(m -> emptyListIfNull(m.getStructuredLogDestinations()), builder::structuredLogDestinations);
+        diff.ifChanged(m -> WorkflowDetailsTranslator.toSdk(m.getWorkflowDetails(), true), builder::workflowDetails);
+        diff.ifChanged(m -> S3StorageOptionsTranslator.toSdk(m.getS3StorageOptions()), builder::s3StorageOptions);
+        return builder.build();
     }
 
-    private boolean addressAllocationIdAssociationRequested(ResourceModel oldModel, ResourceModel newModel) {
-        if (!isVpcServerEndpoint(newModel)) {
-            return false;
-        }
-
-        if (!isVpcServerEndpoint(oldModel)) {
-            return !CollectionUtils.isNullOrEmpty(newModel.getEndpointDetails().getAddressAllocationIds());
-        }
-
-        return !Objects.equals(
-                newModel.getEndpointDetails().getAddressAllocationIds(),
-                oldModel.getEndpointDetails().getAddressAllocationIds());
+    private static boolean changesNothing(UpdateServerRequest updateServerRequest) {
+        return updateServerRequest.equals(UpdateServerRequest.builder()
+                .serverId(updateServerRequest.serverId())
+                .build());
     }
 
-    private UpdateServerResponse updateServer(UpdateServerRequest awsRequest, ProxyClient<TransferClient> client) {
-        try (TransferClient transferClient = client.client()) {
-            UpdateServerResponse awsResponse =
-                    client.injectCredentialsAndInvokeV2(awsRequest, transferClient::updateServer);
-            log("has been updated successfully.", awsResponse.serverId());
-            return awsResponse;
-        }
+    private UpdateServerResponse updateServer(
+            UpdateServerRequest awsRequest, ProxyClient<TransferClient> client, CallbackContext context) {
+        context.describeCache().invalidateServer(awsRequest.serverId());
+        TransferClient transferClient = client.client();
+        UpdateServerResponse awsResponse =
+                client.injectCredentialsAndInvokeV2(awsRequest, transferClient::updateServer);
+        log("has been updated successfully.", awsResponse.serverId());
+        return awsResponse;
     }
 
     private ModifyVpcEndpointRequest modifyVpcEndpointRequest(
@@ -360,18 +457,16 @@ public class UpdateHandler extends BaseHandlerStd {
     private ProgressEvent<ResourceModel, CallbackContext> addTags(
             ProgressEvent<ResourceModel, CallbackContext> progress,
             ResourceHandlerRequest<ResourceModel> request,
+            TagDiff tagDiff,
             ResourceModel newModel,
             AmazonWebServicesClientProxy proxy,
             ProxyClient<TransferClient> proxyClient) {
-        if (TagHelper.shouldUpdateTags(request)) {
-
-            Map<String, String> previousTags = TagHelper.getPreviouslyAttachedTags(request);
-            Map<String, String> desiredTags = TagHelper.getNewDesiredTags(request);
-            Map<String, String> tagsToAdd = TagHelper.generateTagsToAdd(previousTags, desiredTags);
-
-            if (!tagsToAdd.isEmpty()) {
-                progress = tagResource(proxy, proxyClient, newModel, request, progress.getCallbackContext(), tagsToAdd);
-            }
+        List<Map<String, String>> batches = tagDiff.getTagsToAddBatches();
+        for (int i = 0; i < batches.size(); i++) {
+            String callGraph = "AWS-Transfer-Server::TagResource-" + i;
+            Map<String, String> batch = batches.get(i);
+            progress = progress.then(p ->
+                    tagResource(proxy, proxyClient, newModel, request, p.getCallbackContext(), callGraph, batch));
         }
         return progress;
     }
@@ -382,18 +477,22 @@ public class UpdateHandler extends BaseHandlerStd {
             final ResourceModel resourceModel,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
+            final String callGraph,
             final Map<String, String> addedTags) {
         logger.log(String.format(
                 "[UPDATE][IN PROGRESS] Going to add tags for Transfer server: %s with AccountId: %s",
                 resourceModel.getServerId(), request.getAwsAccountId()));
         final String clientRequestToken = request.getClientRequestToken();
 
-        return proxy.initiate("AWS-Transfer-Server::TagOps", serviceClient, resourceModel, callbackContext)
+        return proxy.initiate(callGraph, serviceClient, resourceModel, callbackContext)
                 .translateToServiceRequest(model -> Translator.tagResourceRequest(model, addedTags))
                 .makeServiceCall((tagRequest, client) -> {
-                    try (TransferClient transferClient = client.client()) {
-                        return client.injectCredentialsAndInvokeV2(tagRequest, transferClient::tagResource);
-                    }
+                    TransferClient transferClient = client.client();
+                    callbackContext.describeCache().invalidateServer(resourceModel.getServerId());
+                    TagResourceResponse response =
+                            client.injectCredentialsAndInvokeV2(tagRequest, transferClient::tagResource);
+                    recordTags(callbackContext, addedTags, Collections.emptySet());
+                    return response;
                 })
                 .handleError((ignored, exception, proxyClient, model, context) ->
                         handleError(UPDATE, exception, model, context, clientRequestToken))
@@ -403,19 +502,16 @@ public class UpdateHandler extends BaseHandlerStd {
     private ProgressEvent<ResourceModel, CallbackContext> removeTags(
             ProgressEvent<ResourceModel, CallbackContext> progress,
             ResourceHandlerRequest<ResourceModel> request,
+            TagDiff tagDiff,
             ResourceModel newModel,
             AmazonWebServicesClientProxy proxy,
             ProxyClient<TransferClient> proxyClient) {
-        if (TagHelper.shouldUpdateTags(request)) {
-
-            Map<String, String> previousTags = TagHelper.getPreviouslyAttachedTags(request);
-            Map<String, String> desiredTags = TagHelper.getNewDesiredTags(request);
-            Set<String> tagsKeysToRemove = TagHelper.generateTagsToRemove(previousTags, desiredTags);
-
-            if (!tagsKeysToRemove.isEmpty()) {
-                progress = untagResource(
-                        proxy, proxyClient, newModel, request, progress.getCallbackContext(), tagsKeysToRemove);
-            }
+        List<Set<String>> batches = tagDiff.getTagKeysToRemoveBatches();
+        for (int i = 0; i < batches.size(); i++) {
+            String callGraph = "AWS-Transfer-Server::UntagResource-" + i;
+            Set<String> batch = batches.get(i);
+            progress = progress.then(p ->
+                    untagResource(proxy, proxyClient, newModel, request, p.getCallbackContext(), callGraph, batch));
         }
         return progress;
     }
@@ -426,18 +522,22 @@ public class UpdateHandler extends BaseHandlerStd {
             final ResourceModel resourceModel,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
+            final String callGraph,
             final Set<String> removedTags) {
         logger.log(String.format(
                 "[UPDATE][IN PROGRESS] Going to remove tags for Transfer server: %s with AccountId: %s",
                 resourceModel.getServerId(), request.getAwsAccountId()));
         final String clientRequestToken = request.getClientRequestToken();
 
-        return proxy.initiate("AWS-Transfer-Server::TagOps", serviceClient, resourceModel, callbackContext)
+        return proxy.initiate(callGraph, serviceClient, resourceModel, callbackContext)
                 .translateToServiceRequest(model -> Translator.untagResourceRequest(model, removedTags))
                 .makeServiceCall((untagRequest, client) -> {
-                    try (TransferClient transferClient = client.client()) {
-                        return client.injectCredentialsAndInvokeV2(untagRequest, transferClient::untagResource);
-                    }
+                    TransferClient transferClient = client.client();
+                    callbackContext.describeCache().invalidateServer(resourceModel.getServerId());
+                    UntagResourceResponse response =
+                            client.injectCredentialsAndInvokeV2(untagRequest, transferClient::untagResource);
+                    recordTags(callbackContext, Collections.emptyMap(), removedTags);
+                    return response;
                 })
                 .handleError((ignored, exception, proxyClient, model, context) ->
                         handleError(UPDATE, exception, model, context, clientRequestToken))
@@ -0,0 +1,26 @@
+package software.amazon.transfer.server;
+
+/**
+ * Phases of the server update stabilization, in the order they run. Each phase only makes the
+ * calls it needs and has its own poll interval.
+ */
+public enum UpdatePhase {
+    /** Waits for the VPC endpoint to become available: DescribeServer and DescribeVpcEndpoints. */
+    VPC_ENDPOINT(15),
+    /** Makes the planned {@link ReconfigurationStep}s that stop the server and move its EIPs: DescribeServer. */
+    RECONFIGURE(StabilizationScheduler.BASE_DELAY_SECONDS),
+    /** Waits for the EIPs to get private IPs, then starts the server: DescribeAddresses only. */
+    PRIVATE_IPS(5),
+    /** Waits for the server to come back ONLINE: DescribeServer only. */
+    STARTING(15);
+
+    private final int pollIntervalSeconds;
+
+    UpdatePhase(int pollIntervalSeconds) {
+        this.pollIntervalSeconds = pollIntervalSeconds;
+    }
+
+    int getPollIntervalSeconds() {
+        return pollIntervalSeconds;
+    }
+}
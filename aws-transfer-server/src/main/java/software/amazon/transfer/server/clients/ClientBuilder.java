@@ -9,6 +9,7 @@ import software.amazon.awssdk.retries.api.BackoffStrategy;
 import software.amazon.awssdk.retries.api.RetryStrategy;
 import software.amazon.awssdk.services.transfer.TransferClient;
 import software.amazon.cloudformation.LambdaWrapper;
+import software.amazon.transfer.commons.ClientRegistry;
 
 /** Create a TransferClient instance. */
 public class ClientBuilder {
@@ -20,12 +21,23 @@ public class ClientBuilder {
             .maxAttempts(4)
             .build();
 
+    private static final ClientRegistry<TransferClient> CLIENTS = new ClientRegistry<>(ClientBuilder::newClient);
+
     /**
-     * Returns the TransferClient instance.
+     * Returns the TransferClient instance shared by all invocations in this container.
      *
      * @return the TransferClient instance.
      */
     public static TransferClient getClient() {
+        return CLIENTS.get();
+    }
+
+    /**
+     * Builds a new, unshared TransferClient instance.
+     *
+     * @return the TransferClient instance.
+     */
+    public static TransferClient newClient() {
         return TransferClient.builder()
                 .httpClient(LambdaWrapper.HTTP_CLIENT)
                 .overrideConfiguration(ClientOverrideConfiguration.builder()
@@ -9,6 +9,7 @@ import software.amazon.awssdk.retries.api.BackoffStrategy;
 import software.amazon.awssdk.retries.api.RetryStrategy;
 import software.amazon.awssdk.services.ec2.Ec2Client;
 import software.amazon.cloudformation.LambdaWrapper;
+import software.amazon.transfer.commons.ClientRegistry;
 
 /** Create an Ec2Client instance. */
 public class Ec2ClientBuilder {
@@ -20,12 +21,23 @@ public class Ec2ClientBuilder {
             .maxAttempts(4)
             .build();
 
+    private static final ClientRegistry<Ec2Client> CLIENTS = new ClientRegistry<>(Ec2ClientBuilder::newClient);
+
     /**
-     * Returns the Ec2Client instance.
+     * Returns the Ec2Client instance shared by all invocations in this container.
      *
      * @return the Ec2Client instance.
      */
     public static Ec2Client getClient() {
+        return CLIENTS.get();
+    }
+
+    /**
+     * Builds a new, unshared Ec2Client instance.
+     *
+     * @return the Ec2Client instance.
+     */
+    public static Ec2Client newClient() {
         return Ec2Client.builder()
                 .httpClient(LambdaWrapper.HTTP_CLIENT)
                 .overrideConfiguration(ClientOverrideConfiguration.builder()
@@ -38,6 +38,8 @@ public final class ResourceModelAdapter {
 
     public static void preparePreviousResourceModel(
             ResourceHandlerRequest<ResourceModel> request, ResourceModel resourceModel) {
+        // Same defaults as the desired model, so that an omitted property does not look changed.
+        setDefaults(resourceModel, false);
         setPreviousTags(request, resourceModel);
     }
 
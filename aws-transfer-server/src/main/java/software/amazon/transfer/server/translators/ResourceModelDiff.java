@@ -0,0 +1,58 @@
+package software.amazon.transfer.server.translators;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import software.amazon.transfer.server.ResourceModel;
+
+/**
+ * Compares the previous and the desired model of a server one property at a time.
+ *
+ * <p>UpdateServer leaves every property it is not sent as it is, so an update only needs the
+ * properties whose value differs. Properties are compared in their SDK form, which makes a missing
+ * list and an empty one, or a missing banner and a blank one, the same value.
+ */
+public final class ResourceModelDiff {
+    private final ResourceModel previous;
+    private final ResourceModel desired;
+
+    private ResourceModelDiff(ResourceModel previous, ResourceModel desired) {
+        this.previous = previous;
+        this.desired = desired;
+    }
+
+    /**
+     * @param previous the model the server was last updated to
+     * @param desired the model the server should be updated to
+     * @return the comparison of the two
+     */
+    public static ResourceModelDiff between(ResourceModel previous, ResourceModel desired) {
+        return new ResourceModelDiff(previous, desired);
+    }
+
+    /**
+     * @param property reads and translates one property of a model
+     * @return whether the property has a different value in the desired model
+     */
+    public boolean changed(Function<ResourceModel, ?> property) {
+        return !Objects.equals(property.apply(previous), property.apply(desired));
+    }
+
+    /**
+     * Passes the desired value of a property to {@code setter} if it differs from the previous one.
+     *
+     * @param property reads and translates one property of a model
+     * @param setter receives the desired value
+     * @param <T> the type of the translated property
+     * @return whether the property has a different value in the desired model
+     */
+    public <T> boolean ifChanged(Function<ResourceModel, T> property, Consumer<T> setter) {
+        T desiredValue = property.apply(desired);
+        if (Objects.equals(property.apply(previous), desiredValue)) {
+            return false;
+        }
+        setter.accept(desiredValue);
+        return true;
+    }
+}
@@ -1,15 +1,13 @@
 package software.amazon.transfer.server.translators;
 
-import com.amazonaws.arn.Arn;
 import com.amazonaws.regions.Region;
-import com.amazonaws.regions.RegionUtils;
+
+import software.amazon.transfer.commons.TransferArn;
 
 /** ARN representing an SFTP server. */
 public class ServerArn extends BaseArn {
-    /** Number of parts delimited by {@link #RESOURCE_DELIMITER} in relativeId of ARN. */
-    private static final int RELATIVE_ID_PARTS = 2;
     /** Server resource type. */
-    static final String SERVER = "server";
+    static final String SERVER = TransferArn.ResourceType.SERVER.getName();
 
     private final String serverId;
 
@@ -31,16 +29,7 @@ public class ServerArn extends BaseArn {
     }
 
     public static ServerArn fromString(String arn) {
-        return fromArn(Arn.fromString(arn));
-    }
-
-    public static ServerArn fromArn(Arn arn) {
-        String[] relativeIdParts = getRelativeIdParts(arn);
-        if (relativeIdParts.length != RELATIVE_ID_PARTS || !relativeIdParts[0].equals(SERVER)) {
-            throw new IllegalArgumentException("Invalid Server ARN: " + arn);
-        }
-
-        Region r = RegionUtils.getRegion(arn.getRegion());
-        return new ServerArn(r, arn.getAccountId(), relativeIdParts[1]);
+        TransferArn parsed = TransferArn.parse(arn, TransferArn.ResourceType.SERVER);
+        return new ServerArn(TransferArn.region(parsed.getRegion()), parsed.getAccountId(), parsed.getId());
     }
 }
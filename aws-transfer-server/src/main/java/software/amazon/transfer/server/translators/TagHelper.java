@@ -1,28 +1,23 @@
 package software.amazon.transfer.server.translators;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
-
-import org.apache.commons.lang3.ObjectUtils;
 
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.TagDiff;
 import software.amazon.transfer.server.ResourceModel;
+import software.amazon.transfer.server.Tag;
 
 public final class TagHelper {
     private TagHelper() {}
 
     /**
-     * shouldUpdateTags
+     * tagDiff
      *
-     * <p>Determines whether user defined tags have been changed during update.
+     * <p>Compares the previously attached and the new desired tags once, for both the tag and the
+     * untag calls of an update. An empty diff means no tag call is needed.
      */
-    public static final boolean shouldUpdateTags(final ResourceHandlerRequest<ResourceModel> handlerRequest) {
-        final Map<String, String> previousTags = getPreviouslyAttachedTags(handlerRequest);
-        final Map<String, String> desiredTags = getNewDesiredTags(handlerRequest);
-        return ObjectUtils.notEqual(previousTags, desiredTags);
+    public static TagDiff tagDiff(final ResourceHandlerRequest<ResourceModel> handlerRequest) {
+        return TagDiff.of(handlerRequest, ResourceModel::getTags, Tag::getKey, Tag::getValue);
     }
 
     /**
@@ -40,23 +35,7 @@ public final class TagHelper {
      */
     public static Map<String, String> getPreviouslyAttachedTags(
             final ResourceHandlerRequest<ResourceModel> handlerRequest) {
-        final Map<String, String> previousTags = new HashMap<>();
-
-        if (handlerRequest.getPreviousSystemTags() != null) {
-            previousTags.putAll(handlerRequest.getPreviousSystemTags());
-        }
-
-        if (handlerRequest.getPreviousResourceTags() != null) {
-            previousTags.putAll(handlerRequest.getPreviousResourceTags());
-        }
-
-        ResourceModel model = handlerRequest.getPreviousResourceState();
-        if (model != null && model.getTags() != null) {
-            model.getTags().forEach(tag -> {
-                previousTags.put(tag.getKey(), tag.getValue());
-            });
-        }
-        return previousTags;
+        return TagDiff.previousTags(handlerRequest, ResourceModel::getTags, Tag::getKey, Tag::getValue);
     }
 
     /**
@@ -72,49 +51,6 @@ public final class TagHelper {
      * stack.
      */
     public static Map<String, String> getNewDesiredTags(final ResourceHandlerRequest<ResourceModel> handlerRequest) {
-        final Map<String, String> desiredTags = new HashMap<>();
-
-        if (handlerRequest.getSystemTags() != null) {
-            desiredTags.putAll(handlerRequest.getSystemTags());
-        }
-
-        // get desired stack level tags from handlerRequest
-        if (handlerRequest.getDesiredResourceTags() != null) {
-            desiredTags.putAll(handlerRequest.getDesiredResourceTags());
-        }
-
-        if (handlerRequest.getDesiredResourceState().getTags() != null) {
-            handlerRequest.getDesiredResourceState().getTags().forEach(tag -> {
-                desiredTags.put(tag.getKey(), tag.getValue());
-            });
-        }
-        return desiredTags;
-    }
-
-    /**
-     * generateTagsToAdd
-     *
-     * <p>Determines the tags the customer desired to define or redefine.
-     */
-    public static Map<String, String> generateTagsToAdd(
-            final Map<String, String> previousTags, final Map<String, String> desiredTags) {
-        return desiredTags.entrySet().stream()
-                .filter(e -> !previousTags.containsKey(e.getKey())
-                        || !Objects.equals(previousTags.get(e.getKey()), e.getValue()))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-    }
-
-    /**
-     * getTagsToRemove
-     *
-     * <p>Determines the tags the customer desired to remove from the function.
-     */
-    public static Set<String> generateTagsToRemove(
-            final Map<String, String> previousTags, final Map<String, String> desiredTags) {
-        final Set<String> desiredTagNames = desiredTags.keySet();
-
-        return previousTags.keySet().stream()
-                .filter(tagName -> !desiredTagNames.contains(tagName))
-                .collect(Collectors.toSet());
+        return TagDiff.desiredTags(handlerRequest, ResourceModel::getTags, Tag::getKey, Tag::getValue);
     }
 }
@@ -10,6 +10,7 @@ import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
 
 import software.amazon.awssdk.services.transfer.model.DescribeServerRequest;
+import software.amazon.awssdk.services.transfer.model.DescribedServer;
 import software.amazon.awssdk.services.transfer.model.Protocol;
 import software.amazon.awssdk.services.transfer.model.TagResourceRequest;
 import software.amazon.awssdk.services.transfer.model.UntagResourceRequest;
@@ -59,6 +60,41 @@ public final class Translator {
         return DescribeServerRequest.builder().serverId(model.getServerId()).build();
     }
 
+    /**
+     * Builds the model that a read of the server returns.
+     *
+     * @param server the described server, with the security groups of its VPC endpoint if any
+     * @return the resource model
+     */
+    public static ResourceModel translateFromSdkServer(final DescribedServer server) {
+        return ResourceModel.builder()
+                .arn(server.arn())
+                // For non AS2-servers, our API returns null for this property.
+                // However, the AWS SDK will never return null for a map or collection property in a response.
+                // Contract tests require all read-only properties to be returned by a READ request,
+                // so we cannot mimic our API's behaviour here. Thus, we return an empty list instead of null.
+                .as2ServiceManagedEgressIpAddresses(server.as2ServiceManagedEgressIpAddresses())
+                .serverId(server.serverId())
+                .certificate(server.certificate())
+                .domain(server.domainAsString())
+                .endpointType(server.endpointTypeAsString())
+                .endpointDetails(EndpointDetailsTranslator.fromSdk(server.endpointDetails()))
+                .identityProviderType(server.identityProviderTypeAsString())
+                .identityProviderDetails(IdentityProviderDetailsTranslator.fromSdk(server.identityProviderDetails()))
+                .loggingRole(server.loggingRole())
+                .structuredLogDestinations(server.structuredLogDestinations())
+                .preAuthenticationLoginBanner(server.preAuthenticationLoginBanner())
+                .postAuthenticationLoginBanner(server.postAuthenticationLoginBanner())
+                .protocols(server.protocolsAsStrings())
+                .protocolDetails(ProtocolDetailsTranslator.fromSdk(server.protocolDetails()))
+                .securityPolicyName(server.securityPolicyName())
+                .tags(translateFromSdkTags(server.tags()))
+                .workflowDetails(WorkflowDetailsTranslator.fromSdk(server.workflowDetails()))
+                .structuredLogDestinations(server.structuredLogDestinations())
+                .s3StorageOptions(S3StorageOptionsTranslator.fromSdk(server.s3StorageOptions()))
+                .build();
+    }
+
     public static List<Tag> translateFromSdkTags(List<software.amazon.awssdk.services.transfer.model.Tag> tags) {
         if (tags == null) {
             return null;
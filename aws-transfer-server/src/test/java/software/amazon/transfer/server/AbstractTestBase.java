@@ -54,6 +54,8 @@ import software.amazon.awssdk.services.transfer.model.TlsSessionResumptionMode;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Credentials;
 import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import software.amazon.transfer.server.translators.EndpointDetailsTranslator;
@@ -73,6 +75,8 @@ public class AbstractTestBase {
 
     protected static final Map<String, String> EXTRA_MODEL_TAGS = ImmutableMap.of("keyAdded", "value1");
 
+    private static final int MAX_INVOCATIONS = 20;
+
     protected static final Credentials MOCK_CREDENTIALS;
     protected static final LoggerProxy logger;
 
@@ -103,6 +107,22 @@ public class AbstractTestBase {
         proxyEc2Client = MOCK_PROXY(proxy, sdkEc2Client);
     }
 
+    /**
+     * Invokes the handler the way CloudFormation does: for as long as it asks for a callback, it
+     * is invoked again with the callback context it returned.
+     */
+    protected ProgressEvent<ResourceModel, CallbackContext> handleUntilDone(
+            BaseHandlerStd handler, ResourceHandlerRequest<ResourceModel> request) {
+        CallbackContext context = new CallbackContext();
+        ProgressEvent<ResourceModel, CallbackContext> response;
+        int invocations = 0;
+        do {
+            response = handler.handleRequest(proxy, request, context, proxyClient, proxyEc2Client, logger);
+            context = response.getCallbackContext();
+        } while (response.getStatus() == OperationStatus.IN_PROGRESS && ++invocations < MAX_INVOCATIONS);
+        return response;
+    }
+
     static <T> ProxyClient<T> MOCK_PROXY(final AmazonWebServicesClientProxy proxy, final T sdkClient) {
         return new ProxyClient<T>() {
             @Override
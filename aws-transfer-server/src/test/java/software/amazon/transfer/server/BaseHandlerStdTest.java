@@ -1,11 +1,20 @@
 package software.amazon.transfer.server;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -16,15 +25,22 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.ec2.Ec2Client;
+import software.amazon.awssdk.services.ec2.model.SecurityGroupIdentifier;
+import software.amazon.awssdk.services.ec2.model.VpcEndpoint;
 import software.amazon.awssdk.services.transfer.TransferClient;
 import software.amazon.awssdk.services.transfer.model.AccessDeniedException;
 import software.amazon.awssdk.services.transfer.model.ConflictException;
+import software.amazon.awssdk.services.transfer.model.DescribedServer;
+import software.amazon.awssdk.services.transfer.model.EndpointType;
 import software.amazon.awssdk.services.transfer.model.InvalidNextTokenException;
 import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
 import software.amazon.awssdk.services.transfer.model.ResourceExistsException;
 import software.amazon.awssdk.services.transfer.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.transfer.model.State;
 import software.amazon.awssdk.services.transfer.model.ThrottlingException;
+import software.amazon.cloudformation.exceptions.CfnNotStabilizedException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
@@ -46,6 +62,11 @@ public class BaseHandlerStdTest {
             this.logger = logger;
         }
 
+        MockTestHandler(Logger logger, LongSupplier clock) {
+            super(new StabilizationScheduler(), clock);
+            this.logger = logger;
+        }
+
         @Override
         protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
                 AmazonWebServicesClientProxy proxy,
@@ -117,6 +138,144 @@ public class BaseHandlerStdTest {
         assertErrorHandled(thrown, false, 0);
     }
 
+    @Test
+    public void transientStatesScheduleCallback() {
+        StabilizationPendingException pending =
+                handler.handleStabilizeTransientStates(State.STOPPING, "ServerId", context);
+        assertThat(pending.getServerId()).isEqualTo("ServerId");
+        assertThat(context.getStabilizationState()).isEqualTo("STOPPING");
+
+        ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleError("TEST", pending, model, context, "clntReqTkn");
+
+        assertThat(progress.isInProgress()).isTrue();
+        assertThat(progress.getCallbackDelaySeconds()).isBetween(2, StabilizationScheduler.BASE_DELAY_SECONDS);
+        assertThat(context.getStabilizationAttempts()).isEqualTo(1);
+        assertThat(context.getNumRetries()).isEqualTo(30);
+
+        handler.handleStabilizeTransientStates(State.STARTING, "ServerId", context);
+        assertThat(context.getStabilizationAttempts()).isZero();
+    }
+
+    @Test
+    public void failedStatesAreNotStabilized() {
+        assertThatThrownBy(() -> handler.handleStabilizeTransientStates(State.START_FAILED, "ServerId", context))
+                .isInstanceOf(CfnNotStabilizedException.class);
+    }
+
+    @Test
+    public void exhaustedStabilizationBudgetFails() {
+        context.setStabilizationWaitSeconds((int) StabilizationScheduler.BUDGET.getSeconds());
+
+        StabilizationPendingException pending = handler.waitForCallback(
+                context, "ServerId", State.STARTING.toString(), StabilizationScheduler.BASE_DELAY_SECONDS);
+        ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleError("TEST", pending, model, context, "clntReqTkn");
+
+        assertThat(progress.isFailed()).isTrue();
+        assertThat(progress.getErrorCode()).isEqualTo(HandlerErrorCode.NotStabilized);
+    }
+
+    @Test
+    public void freshRecordedModelIsReturnedWithoutReading() {
+        handler.recordRead(context, describedServer(EndpointType.PUBLIC), null);
+
+        ProgressEvent<ResourceModel, CallbackContext> progress = handler.readAfterWrite(
+                null, ResourceHandlerRequest.<ResourceModel>builder().build(), context, null, null);
+
+        assertThat(progress.isSuccess()).isTrue();
+        assertThat(progress.getResourceModel().getServerId()).isEqualTo("ServerId");
+    }
+
+    @Test
+    public void vpcServerIsOnlyRecordedWithItsSecurityGroups() {
+        DescribedServer server = describedServer(EndpointType.VPC);
+
+        handler.recordRead(context, server, null);
+        assertThat(context.getReadModel()).isNull();
+
+        handler.recordRead(context, server, vpcEndpoint("sg-1"));
+        handler.recordRead(context, server, null);
+        assertThat(context.getReadModel().getEndpointDetails().getSecurityGroupIds())
+                .isEqualTo(List.of("sg-1"));
+
+        BaseHandlerStd.recordSecurityGroups(context, vpcEndpoint("sg-1", "sg-2"));
+        assertThat(context.getReadModel().getEndpointDetails().getSecurityGroupIds())
+                .isEqualTo(List.of("sg-1", "sg-2"));
+
+        context.setReadModelTimestamp(
+                System.currentTimeMillis() - BaseHandlerStd.READ_MODEL_MAX_AGE.toMillis() - 1);
+        handler.recordRead(context, server, null);
+        assertThat(context.getReadModel()).isNull();
+    }
+
+    @Test
+    public void recordedModelAgesOnTheHandlerClock() {
+        AtomicLong now = new AtomicLong(1_000_000);
+        MockTestHandler handler = new MockTestHandler(logger, now::get);
+        DescribedServer server = describedServer(EndpointType.VPC);
+        handler.recordRead(context, server, vpcEndpoint("sg-1"));
+        assertThat(context.getReadModelTimestamp()).isEqualTo(1_000_000);
+
+        long maxAgeMillis = BaseHandlerStd.READ_MODEL_MAX_AGE.toMillis();
+        now.addAndGet(maxAgeMillis);
+        handler.recordRead(context, server, null);
+        assertThat(context.getReadModel()).isNotNull();
+        assertThat(context.getReadModelTimestamp()).isEqualTo(1_000_000 + maxAgeMillis);
+
+        now.addAndGet(maxAgeMillis + 1);
+        handler.recordRead(context, server, null);
+        assertThat(context.getReadModel()).isNull();
+    }
+
+    @Test
+    public void taggingIsAppliedToTheRecordedModelInPlace() {
+        DescribedServer server = describedServer(EndpointType.PUBLIC).toBuilder()
+                .tags(sdkTag("a", "1"), sdkTag("b", "2"), sdkTag("c", "3"))
+                .build();
+        handler.recordRead(context, server, null);
+
+        BaseHandlerStd.recordTags(context, Map.of("b", "20", "d", "4"), Collections.emptySet());
+        BaseHandlerStd.recordTags(context, Collections.emptyMap(), Set.of("a"));
+
+        assertThat(context.getReadModel().getTags())
+                .isEqualTo(List.of(tag("b", "20"), tag("c", "3"), tag("d", "4")));
+    }
+
+    private static DescribedServer describedServer(EndpointType endpointType) {
+        return DescribedServer.builder()
+                .serverId("ServerId")
+                .endpointType(endpointType)
+                .endpointDetails(
+                        endpointType == EndpointType.VPC
+                                ? software.amazon.awssdk.services.transfer.model.EndpointDetails.builder()
+                                        .vpcEndpointId("vpce-1")
+                                        .build()
+                                : null)
+                .state(State.ONLINE)
+                .build();
+    }
+
+    private static VpcEndpoint vpcEndpoint(String... securityGroupIds) {
+        return VpcEndpoint.builder()
+                .vpcEndpointId("vpce-1")
+                .groups(Stream.of(securityGroupIds)
+                        .map(id -> SecurityGroupIdentifier.builder().groupId(id).build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private static software.amazon.awssdk.services.transfer.model.Tag sdkTag(String key, String value) {
+        return software.amazon.awssdk.services.transfer.model.Tag.builder()
+                .key(key)
+                .value(value)
+                .build();
+    }
+
+    private static Tag tag(String key, String value) {
+        return Tag.builder().key(key).value(value).build();
+    }
+
     private ProgressEvent<ResourceModel, CallbackContext> assertErrorHandled(
             Exception e, boolean inProgress, int delay) {
 
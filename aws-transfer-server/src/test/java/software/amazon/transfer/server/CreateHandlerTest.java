@@ -5,6 +5,7 @@ import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static software.amazon.transfer.server.translators.ResourceModelAdapter.DEFAULT_ENDPOINT_TYPE;
 
@@ -79,6 +80,22 @@ public class CreateHandlerTest extends AbstractTestBase {
         verify(sdkClient, atLeastOnce()).describeServer(any(DescribeServerRequest.class));
     }
 
+    @Test
+    public void handleRequest_ReturnsTheStabilizedServerWithoutReadingItAgain() {
+        final ResourceModel model = setupSimpleServerModel(EndpointType.PUBLIC.name());
+
+        final ResourceHandlerRequest<ResourceModel> request =
+                getResourceHandlerRequestBuilder().desiredResourceState(model).build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                createServerAndAssertStatus(model, request, "ONLINE", OperationStatus.SUCCESS);
+
+        softly.assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
+
+        // The describe that saw the server ONLINE is the read.
+        verify(sdkClient, times(1)).describeServer(any(DescribeServerRequest.class));
+    }
+
     private ProgressEvent<ResourceModel, CallbackContext> createServerAndAssertStatus(
             ResourceModel model,
             ResourceHandlerRequest<ResourceModel> request,
@@ -163,8 +180,8 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .when(sdkClient)
                 .describeServer(any(DescribeServerRequest.class));
 
-        final ProgressEvent<ResourceModel, CallbackContext> response =
-                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, proxyEc2Client, logger);
+        // STOPPING and STARTING are waited out through callbacks.
+        final ProgressEvent<ResourceModel, CallbackContext> response = handleUntilDone(handler, request);
 
         assertThat(response).isNotNull();
         softly.assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
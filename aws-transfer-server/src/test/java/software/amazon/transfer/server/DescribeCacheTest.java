@@ -0,0 +1,107 @@
+package software.amazon.transfer.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.services.ec2.model.VpcEndpoint;
+import software.amazon.awssdk.services.transfer.model.DescribedServer;
+import software.amazon.awssdk.services.transfer.model.EndpointDetails;
+
+public class DescribeCacheTest {
+    private DescribeCache cache;
+    private AtomicInteger serverCalls;
+    private AtomicInteger vpcEndpointCalls;
+
+    @BeforeEach
+    public void setup() {
+        cache = new DescribeCache();
+        serverCalls = new AtomicInteger();
+        vpcEndpointCalls = new AtomicInteger();
+    }
+
+    @Test
+    public void repeatedLookupsAreServedFromTheCache() {
+        cache.server("s-1", describeServer());
+        cache.vpcEndpoint("vpce-1", describeVpcEndpoint());
+        cache.server("s-1", describeServer());
+        cache.vpcEndpoint("vpce-1", describeVpcEndpoint());
+        cache.server("s-2", describeServer());
+
+        assertThat(serverCalls.get()).isEqualTo(2);
+        assertThat(vpcEndpointCalls.get()).isEqualTo(1);
+        assertThat(cache.getLookups()).isEqualTo(5);
+        assertThat(cache.getSavedCalls()).isEqualTo(2);
+    }
+
+    @Test
+    public void changingAServerDropsItAndItsVpcEndpoint() {
+        cache.server("s-1", describeServer());
+        cache.vpcEndpoint("vpce-1", describeVpcEndpoint());
+
+        cache.invalidateServer("s-1");
+        cache.server("s-1", describeServer());
+        cache.vpcEndpoint("vpce-1", describeVpcEndpoint());
+
+        assertThat(serverCalls.get()).isEqualTo(2);
+        assertThat(vpcEndpointCalls.get()).isEqualTo(2);
+        assertThat(cache.getSavedCalls()).isZero();
+    }
+
+    @Test
+    public void changingAVpcEndpointKeepsTheServer() {
+        cache.server("s-1", describeServer());
+        cache.vpcEndpoint("vpce-1", describeVpcEndpoint());
+
+        cache.invalidateVpcEndpoint("vpce-1");
+        cache.server("s-1", describeServer());
+        cache.vpcEndpoint("vpce-1", describeVpcEndpoint());
+
+        assertThat(serverCalls.get()).isEqualTo(1);
+        assertThat(vpcEndpointCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void invalidateAllStartsOver() {
+        cache.server("s-1", describeServer());
+        cache.vpcEndpoint("vpce-1", describeVpcEndpoint());
+
+        cache.invalidateAll();
+        cache.server("s-1", describeServer());
+        cache.vpcEndpoint("vpce-1", describeVpcEndpoint());
+
+        assertThat(serverCalls.get()).isEqualTo(2);
+        assertThat(vpcEndpointCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void everyContextStartsWithItsOwnCache() {
+        CallbackContext context = new CallbackContext();
+
+        assertThat(context.describeCache()).isSameAs(context.describeCache());
+        assertThat(new CallbackContext().describeCache()).isNotSameAs(context.describeCache());
+        assertThat(context).isEqualTo(new CallbackContext());
+    }
+
+    private Function<String, DescribedServer> describeServer() {
+        return serverId -> {
+            serverCalls.incrementAndGet();
+            return DescribedServer.builder()
+                    .serverId(serverId)
+                    .endpointDetails(
+                            EndpointDetails.builder().vpcEndpointId("vpce-1").build())
+                    .build();
+        };
+    }
+
+    private Function<String, VpcEndpoint> describeVpcEndpoint() {
+        return vpcEndpointId -> {
+            vpcEndpointCalls.incrementAndGet();
+            return VpcEndpoint.builder().vpcEndpointId(vpcEndpointId).build();
+        };
+    }
+}
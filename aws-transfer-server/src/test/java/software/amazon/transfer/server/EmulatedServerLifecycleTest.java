@@ -0,0 +1,144 @@
+package software.amazon.transfer.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.services.ec2.Ec2Client;
+import software.amazon.awssdk.services.transfer.TransferClient;
+import software.amazon.awssdk.services.transfer.model.DescribedServer;
+import software.amazon.awssdk.services.transfer.model.EndpointType;
+import software.amazon.awssdk.services.transfer.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.transfer.model.State;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.emulator.HandlerRun;
+import software.amazon.transfer.emulator.ServiceEmulator;
+import software.amazon.transfer.emulator.VirtualClock;
+
+/**
+ * Runs the handlers end to end against the service emulator, with the service timings on a
+ * virtual clock: a VPC server with EIPs goes through the whole stop, reconfigure and start cycle
+ * without a network and without waiting.
+ */
+public class EmulatedServerLifecycleTest extends AbstractTestBase {
+
+    private ServiceEmulator emulator;
+    private AmazonWebServicesClientProxy emulatorProxy;
+    private ProxyClient<TransferClient> transferClient;
+    private ProxyClient<Ec2Client> ec2Client;
+
+    @BeforeEach
+    public void setupEmulator() {
+        emulator = ServiceEmulator.builder().clock(new VirtualClock()).build();
+        // No time left in the invocation: every wait goes back to CloudFormation as a callback.
+        emulatorProxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> 0L);
+        transferClient = ServiceEmulator.proxyClient(emulatorProxy, emulator.transferClient());
+        ec2Client = ServiceEmulator.proxyClient(emulatorProxy, emulator.ec2Client());
+    }
+
+    @Test
+    public void vpcServerWithAddressAllocationIds() {
+        HandlerRun<ResourceModel, CallbackContext> create = run(
+                new CreateHandler(),
+                getResourceHandlerRequestBuilder()
+                        .desiredResourceState(vpcServerModel(
+                                Arrays.asList("subnet-1", "subnet-2"), Arrays.asList("eipalloc-1", "eipalloc-2")))
+                        .build());
+
+        assertThat(create.getEvent().getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        // ONLINE after a minute, the endpoint available after 90 seconds, then stopped, given the
+        // EIPs, and started once they have their private IPs.
+        assertThat(create.getElapsed()).isGreaterThanOrEqualTo(Duration.ofSeconds(170));
+        assertThat(emulator.calls().count("CreateServer")).isEqualTo(1);
+        assertThat(emulator.calls().count("StopServer")).isEqualTo(1);
+        assertThat(emulator.calls().count("UpdateServer")).isEqualTo(1);
+        assertThat(emulator.calls().count("StartServer")).isEqualTo(1);
+        assertThat(emulator.calls().totalThrottled()).isZero();
+
+        String serverId = create.getEvent().getResourceModel().getServerId();
+        DescribedServer created = describe(serverId);
+        assertThat(created.state()).isEqualTo(State.ONLINE);
+        assertThat(created.endpointDetails().addressAllocationIds()).containsExactly("eipalloc-1", "eipalloc-2");
+        assertThat(create.getEvent().getResourceModel().getEndpointDetails().getSubnetIds())
+                .containsExactly("subnet-1", "subnet-2");
+
+        emulator.calls().reset();
+        ResourceModel previous = vpcServerModel(
+                Arrays.asList("subnet-1", "subnet-2"), Arrays.asList("eipalloc-1", "eipalloc-2"));
+        previous.setServerId(serverId);
+        ResourceModel desired = vpcServerModel(Arrays.asList("subnet-3"), Arrays.asList("eipalloc-3"));
+        desired.setServerId(serverId);
+        HandlerRun<ResourceModel, CallbackContext> update = run(
+                new UpdateHandler(),
+                getResourceHandlerRequestBuilder()
+                        .previousResourceState(previous)
+                        .desiredResourceState(desired)
+                        .build());
+
+        assertThat(update.getEvent().getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        // The update itself, then removing the EIPs, moving the subnets and setting the new EIPs.
+        assertThat(emulator.calls().count("UpdateServer")).isEqualTo(4);
+        assertThat(emulator.calls().count("StopServer")).isEqualTo(1);
+        assertThat(emulator.calls().count("StartServer")).isEqualTo(1);
+        DescribedServer updated = describe(serverId);
+        assertThat(updated.state()).isEqualTo(State.ONLINE);
+        assertThat(updated.endpointDetails().subnetIds()).containsExactly("subnet-3");
+        assertThat(updated.endpointDetails().addressAllocationIds()).containsExactly("eipalloc-3");
+
+        HandlerRun<ResourceModel, CallbackContext> delete = run(
+                new DeleteHandler(),
+                getResourceHandlerRequestBuilder().desiredResourceState(desired).build());
+
+        assertThat(delete.getEvent().getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThatThrownBy(() -> describe(serverId)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    public void publicServer() {
+        HandlerRun<ResourceModel, CallbackContext> create = run(
+                new CreateHandler(),
+                getResourceHandlerRequestBuilder()
+                        .desiredResourceState(setupSimpleServerModel(EndpointType.PUBLIC.name()))
+                        .build());
+
+        assertThat(create.getEvent().getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(create.getElapsed()).isGreaterThanOrEqualTo(Duration.ofSeconds(60));
+        assertThat(emulator.calls().count("StopServer")).isZero();
+        assertThat(emulator.calls().count("StartServer")).isZero();
+        assertThat(describe(create.getEvent().getResourceModel().getServerId()).state())
+                .isEqualTo(State.ONLINE);
+    }
+
+    private HandlerRun<ResourceModel, CallbackContext> run(
+            BaseHandlerStd handler, ResourceHandlerRequest<ResourceModel> request) {
+        return emulator.runUntilDone(
+                new CallbackContext(),
+                context -> handler.handleRequest(emulatorProxy, request, context, transferClient, ec2Client, logger));
+    }
+
+    private DescribedServer describe(String serverId) {
+        return emulator.transferClient()
+                .describeServer(r -> r.serverId(serverId))
+                .server();
+    }
+
+    private static ResourceModel vpcServerModel(List<String> subnetIds, List<String> addressAllocationIds) {
+        ResourceModel model = setupSimpleServerModel(EndpointType.VPC.name());
+        model.setEndpointDetails(EndpointDetails.builder()
+                .vpcId("vpc-1")
+                .subnetIds(subnetIds)
+                .securityGroupIds(Arrays.asList("sg-1"))
+                .addressAllocationIds(addressAllocationIds)
+                .build());
+        return model;
+    }
+}
@@ -1,11 +1,17 @@
 package software.amazon.transfer.server;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.util.List;
+
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
 import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
@@ -13,12 +19,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import software.amazon.awssdk.services.ec2.model.DescribeVpcEndpointsRequest;
+import software.amazon.awssdk.services.ec2.model.DescribeVpcEndpointsResponse;
+import software.amazon.awssdk.services.ec2.model.State;
+import software.amazon.awssdk.services.transfer.model.DescribeServerRequest;
+import software.amazon.awssdk.services.transfer.model.EndpointType;
 import software.amazon.awssdk.services.transfer.model.ListServersRequest;
 import software.amazon.awssdk.services.transfer.model.ListServersResponse;
 import software.amazon.awssdk.services.transfer.model.ListedServer;
+import software.amazon.awssdk.services.transfer.model.ResourceNotFoundException;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.DescribeFanOut;
 
 @ExtendWith(MockitoExtension.class)
 @ExtendWith(SoftAssertionsExtension.class)
@@ -62,4 +75,158 @@ public class ListHandlerTest extends AbstractTestBase {
 
         verify(sdkClient, atLeastOnce()).listServers(any(ListServersRequest.class));
     }
+
+    @Test
+    public void handleRequest_DrainsPagesAtServicePageSize() {
+        final ListHandler handler = new ListHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = getResourceHandlerRequestBuilder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+
+        ListServersResponse firstPage = ListServersResponse.builder()
+                .servers(ListedServer.builder().serverId("s-1").build())
+                .nextToken("page2")
+                .build();
+        ListServersResponse secondPage = ListServersResponse.builder()
+                .servers(ListedServer.builder().serverId("s-2").build())
+                .build();
+        doReturn(firstPage)
+                .when(sdkClient)
+                .listServers(argThat((ListServersRequest r) -> r.maxResults() == 1000 && r.nextToken() == null));
+        doReturn(secondPage)
+                .when(sdkClient)
+                .listServers(argThat((ListServersRequest r) -> "page2".equals(r.nextToken())));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, proxyEc2Client, logger);
+
+        softly.assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        softly.assertThat(response.getNextToken()).isNull();
+        softly.assertThat(response.getResourceModels())
+                .extracting(ResourceModel::getServerId)
+                .containsExactly("s-1", "s-2");
+
+        verify(sdkClient, times(2)).listServers(any(ListServersRequest.class));
+    }
+
+    @Test
+    public void handleRequest_DescribesServersWithOneVpcEndpointCall() {
+        final ListHandler handler = new ListHandler();
+        handler.useDescribeFanOut(DescribeFanOut.DEFAULT);
+
+        final ResourceHandlerRequest<ResourceModel> request = getResourceHandlerRequestBuilder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+
+        ResourceModel first = setupSimpleServerModel(EndpointType.VPC.name());
+        first.getEndpointDetails().setVpcEndpointId("vpce-1");
+        ResourceModel second = setupSimpleServerModel(EndpointType.VPC.name());
+        second.getEndpointDetails().setVpcEndpointId("vpce-2");
+        ResourceModel third = setupSimpleServerModel(EndpointType.PUBLIC.name());
+
+        ListServersResponse listServersResponse = ListServersResponse.builder()
+                .servers(
+                        ListedServer.builder().serverId("s-1").build(),
+                        ListedServer.builder().serverId("s-2").build(),
+                        ListedServer.builder().serverId("s-3").build(),
+                        ListedServer.builder().serverId("s-deleted").build())
+                .build();
+        doReturn(listServersResponse)
+                .when(sdkClient)
+                .listServers(argThat((ListServersRequest r) -> r.maxResults() == DescribeFanOut.PAGE_SIZE));
+        doReturn(describeServerFromModel("s-1", "ONLINE", first))
+                .when(sdkClient)
+                .describeServer(argThat((DescribeServerRequest r) -> "s-1".equals(r.serverId())));
+        doReturn(describeServerFromModel("s-2", "ONLINE", second))
+                .when(sdkClient)
+                .describeServer(argThat((DescribeServerRequest r) -> "s-2".equals(r.serverId())));
+        doReturn(describeServerFromModel("s-3", "OFFLINE", third))
+                .when(sdkClient)
+                .describeServer(argThat((DescribeServerRequest r) -> "s-3".equals(r.serverId())));
+        doThrow(ResourceNotFoundException.class)
+                .when(sdkClient)
+                .describeServer(argThat((DescribeServerRequest r) -> "s-deleted".equals(r.serverId())));
+        // DescribeServer does not return the security groups, only the VPC endpoints have them.
+        first.getEndpointDetails().setSecurityGroupIds(List.of("sg-1"));
+        second.getEndpointDetails().setSecurityGroupIds(List.of("sg-2"));
+        doReturn(DescribeVpcEndpointsResponse.builder()
+                        .vpcEndpoints(
+                                vpcEndpointResponse(second, State.AVAILABLE).vpcEndpoints()
+                                        .get(0),
+                                vpcEndpointResponse(first, State.AVAILABLE).vpcEndpoints()
+                                        .get(0))
+                        .build())
+                .when(sdkEc2Client)
+                .describeVpcEndpoints(any(DescribeVpcEndpointsRequest.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, proxyEc2Client, logger);
+
+        softly.assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        softly.assertThat(response.getResourceModels())
+                .extracting(ResourceModel::getServerId, ResourceModel::getState)
+                .containsExactly(tuple("s-1", "ONLINE"), tuple("s-2", "ONLINE"), tuple("s-3", "OFFLINE"));
+        softly.assertThat(response.getResourceModels().get(0).getEndpointDetails().getSecurityGroupIds())
+                .containsExactly("sg-1");
+        softly.assertThat(response.getResourceModels().get(1).getEndpointDetails().getSecurityGroupIds())
+                .containsExactly("sg-2");
+
+        verify(sdkEc2Client)
+                .describeVpcEndpoints(argThat((DescribeVpcEndpointsRequest r) -> !r.hasVpcEndpointIds()
+                        && r.filters().size() == 1
+                        && r.filters().get(0).name().equals("vpc-endpoint-id")
+                        && r.filters().get(0).values().containsAll(List.of("vpce-1", "vpce-2"))));
+    }
+
+    @Test
+    public void handleRequest_ListsServersWhoseVpcEndpointIsGone() {
+        final ListHandler handler = new ListHandler();
+        handler.useDescribeFanOut(DescribeFanOut.DEFAULT);
+
+        final ResourceHandlerRequest<ResourceModel> request = getResourceHandlerRequestBuilder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+
+        ResourceModel first = setupSimpleServerModel(EndpointType.VPC.name());
+        first.getEndpointDetails().setVpcEndpointId("vpce-1");
+        ResourceModel second = setupSimpleServerModel(EndpointType.VPC.name());
+        second.getEndpointDetails().setVpcEndpointId("vpce-gone");
+
+        doReturn(ListServersResponse.builder()
+                        .servers(
+                                ListedServer.builder().serverId("s-1").build(),
+                                ListedServer.builder().serverId("s-2").build())
+                        .build())
+                .when(sdkClient)
+                .listServers(any(ListServersRequest.class));
+        doReturn(describeServerFromModel("s-1", "ONLINE", first))
+                .when(sdkClient)
+                .describeServer(argThat((DescribeServerRequest r) -> "s-1".equals(r.serverId())));
+        doReturn(describeServerFromModel("s-2", "ONLINE", second))
+                .when(sdkClient)
+                .describeServer(argThat((DescribeServerRequest r) -> "s-2".equals(r.serverId())));
+        first.getEndpointDetails().setSecurityGroupIds(List.of("sg-1"));
+        // The filter leaves out the missing endpoint, and the endpoints come in more than one page.
+        doReturn(vpcEndpointResponse(first, State.AVAILABLE).toBuilder()
+                        .nextToken("page-2")
+                        .build())
+                .doReturn(DescribeVpcEndpointsResponse.builder().build())
+                .when(sdkEc2Client)
+                .describeVpcEndpoints(any(DescribeVpcEndpointsRequest.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, proxyEc2Client, logger);
+
+        softly.assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        softly.assertThat(response.getResourceModels())
+                .extracting(ResourceModel::getServerId)
+                .containsExactly("s-1", "s-2");
+        softly.assertThat(response.getResourceModels().get(0).getEndpointDetails().getSecurityGroupIds())
+                .containsExactly("sg-1");
+
+        verify(sdkEc2Client)
+                .describeVpcEndpoints(argThat((DescribeVpcEndpointsRequest r) -> "page-2".equals(r.nextToken())));
+        verify(sdkEc2Client, times(2)).describeVpcEndpoints(any(DescribeVpcEndpointsRequest.class));
+    }
 }
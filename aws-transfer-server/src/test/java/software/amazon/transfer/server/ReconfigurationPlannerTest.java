@@ -0,0 +1,90 @@
+package software.amazon.transfer.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static software.amazon.transfer.server.ReconfigurationStep.REMOVE_ADDRESS_ALLOCATION_IDS;
+import static software.amazon.transfer.server.ReconfigurationStep.START_SERVER;
+import static software.amazon.transfer.server.ReconfigurationStep.STOP_SERVER;
+import static software.amazon.transfer.server.ReconfigurationStep.UPDATE_ADDRESS_ALLOCATION_IDS;
+import static software.amazon.transfer.server.ReconfigurationStep.UPDATE_SUBNET_IDS;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.services.transfer.model.EndpointType;
+
+public class ReconfigurationPlannerTest {
+    private static final List<String> SUBNETS = List.of("subnet-1", "subnet-2");
+    private static final List<String> OTHER_SUBNETS = List.of("subnet-3", "subnet-4");
+    private static final List<String> EIPS = List.of("eipalloc-1", "eipalloc-2");
+    private static final List<String> OTHER_EIPS = List.of("eipalloc-3", "eipalloc-4");
+
+    @Test
+    public void subnetsAloneDoNotStopTheServer() {
+        assertThat(ReconfigurationPlanner.plan(SUBNETS, EIPS, OTHER_SUBNETS, EIPS)).isEmpty();
+        assertThat(ReconfigurationPlanner.plan(SUBNETS, List.of(), OTHER_SUBNETS, List.of())).isEmpty();
+    }
+
+    @Test
+    public void eipsInTheSameSubnetsAreSwappedInOneCall() {
+        assertThat(ReconfigurationPlanner.plan(SUBNETS, List.of(), SUBNETS, EIPS))
+                .containsExactly(STOP_SERVER, UPDATE_ADDRESS_ALLOCATION_IDS, START_SERVER);
+        assertThat(ReconfigurationPlanner.plan(SUBNETS, EIPS, SUBNETS, OTHER_EIPS))
+                .containsExactly(STOP_SERVER, UPDATE_ADDRESS_ALLOCATION_IDS, START_SERVER);
+    }
+
+    @Test
+    public void eipsAreDetachedBeforeTheSubnetsMove() {
+        assertThat(ReconfigurationPlanner.plan(SUBNETS, EIPS, OTHER_SUBNETS, OTHER_EIPS))
+                .containsExactly(
+                        STOP_SERVER,
+                        REMOVE_ADDRESS_ALLOCATION_IDS,
+                        UPDATE_SUBNET_IDS,
+                        UPDATE_ADDRESS_ALLOCATION_IDS,
+                        START_SERVER);
+    }
+
+    @Test
+    public void onlyAttachedEipsAreDetached() {
+        assertThat(ReconfigurationPlanner.plan(SUBNETS, List.of(), OTHER_SUBNETS, EIPS))
+                .containsExactly(STOP_SERVER, UPDATE_SUBNET_IDS, UPDATE_ADDRESS_ALLOCATION_IDS, START_SERVER);
+        assertThat(ReconfigurationPlanner.plan(SUBNETS, EIPS, SUBNETS, List.of()))
+                .containsExactly(STOP_SERVER, REMOVE_ADDRESS_ALLOCATION_IDS, START_SERVER);
+        assertThat(ReconfigurationPlanner.plan(SUBNETS, EIPS, OTHER_SUBNETS, List.of()))
+                .containsExactly(STOP_SERVER, REMOVE_ADDRESS_ALLOCATION_IDS, UPDATE_SUBNET_IDS, START_SERVER);
+    }
+
+    @Test
+    public void modelsArePlannedByTheirVpcEndpoints() {
+        ResourceModel vpc = vpcModel(SUBNETS, null);
+        ResourceModel vpcWithEips = vpcModel(SUBNETS, EIPS);
+        ResourceModel publicServer = ResourceModel.builder()
+                .endpointType(EndpointType.PUBLIC.name())
+                .endpointDetails(vpcWithEips.getEndpointDetails())
+                .build();
+
+        assertThat(ReconfigurationPlanner.plan(vpc, vpcWithEips))
+                .containsExactly(STOP_SERVER, UPDATE_ADDRESS_ALLOCATION_IDS, START_SERVER);
+        assertThat(ReconfigurationPlanner.plan(vpcWithEips, publicServer)).isEmpty();
+        assertThat(ReconfigurationPlanner.plan(publicServer, vpcWithEips))
+                .containsExactly(STOP_SERVER, UPDATE_SUBNET_IDS, UPDATE_ADDRESS_ALLOCATION_IDS, START_SERVER);
+        assertThat(ReconfigurationPlanner.plan(vpc, vpcModel(SUBNETS, List.of()))).isEmpty();
+    }
+
+    @Test
+    public void createdServersOnlyNeedTheirEips() {
+        assertThat(ReconfigurationPlanner.planAfterCreate(vpcModel(SUBNETS, EIPS)))
+                .containsExactly(STOP_SERVER, UPDATE_ADDRESS_ALLOCATION_IDS, START_SERVER);
+        assertThat(ReconfigurationPlanner.planAfterCreate(vpcModel(SUBNETS, null))).isEmpty();
+    }
+
+    private static ResourceModel vpcModel(List<String> subnetIds, List<String> addressAllocationIds) {
+        return ResourceModel.builder()
+                .endpointType(EndpointType.VPC.name())
+                .endpointDetails(EndpointDetails.builder()
+                        .subnetIds(subnetIds)
+                        .addressAllocationIds(addressAllocationIds)
+                        .build())
+                .build();
+    }
+}
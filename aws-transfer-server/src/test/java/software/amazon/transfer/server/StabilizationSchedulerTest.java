@@ -0,0 +1,74 @@
+package software.amazon.transfer.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static software.amazon.transfer.server.StabilizationScheduler.BASE_DELAY_SECONDS;
+
+import java.util.OptionalInt;
+
+import org.junit.jupiter.api.Test;
+
+public class StabilizationSchedulerTest {
+
+    @Test
+    public void delaysGrowExponentiallyUpToTheCap() {
+        StabilizationScheduler scheduler = new StabilizationScheduler(() -> 1.0);
+        CallbackContext context = new CallbackContext();
+
+        assertThat(scheduler.nextDelaySeconds(context, BASE_DELAY_SECONDS)).hasValue(5);
+        assertThat(scheduler.nextDelaySeconds(context, BASE_DELAY_SECONDS)).hasValue(10);
+        assertThat(scheduler.nextDelaySeconds(context, BASE_DELAY_SECONDS)).hasValue(20);
+        assertThat(scheduler.nextDelaySeconds(context, BASE_DELAY_SECONDS)).hasValue(40);
+        assertThat(scheduler.nextDelaySeconds(context, BASE_DELAY_SECONDS)).hasValue(60);
+        assertThat(scheduler.nextDelaySeconds(context, BASE_DELAY_SECONDS)).hasValue(60);
+        assertThat(context.getStabilizationAttempts()).isEqualTo(6);
+        assertThat(context.getStabilizationWaitSeconds()).isEqualTo(195);
+    }
+
+    @Test
+    public void delaysStartAtThePhasePollInterval() {
+        StabilizationScheduler scheduler = new StabilizationScheduler(() -> 1.0);
+        CallbackContext context = new CallbackContext();
+        int interval = UpdatePhase.VPC_ENDPOINT.getPollIntervalSeconds();
+
+        assertThat(scheduler.nextDelaySeconds(context, interval)).hasValue(15);
+        assertThat(scheduler.nextDelaySeconds(context, interval)).hasValue(30);
+        assertThat(scheduler.nextDelaySeconds(context, interval)).hasValue(60);
+        assertThat(scheduler.nextDelaySeconds(context, interval)).hasValue(60);
+    }
+
+    @Test
+    public void jitterKeepsAtLeastHalfOfTheDelay() {
+        StabilizationScheduler scheduler = new StabilizationScheduler(() -> 0.0);
+        CallbackContext context = new CallbackContext();
+        context.setStabilizationAttempts(10);
+
+        assertThat(scheduler.nextDelaySeconds(context, BASE_DELAY_SECONDS)).hasValue(30);
+    }
+
+    @Test
+    public void delayIsBoundedByTheRemainingBudget() {
+        StabilizationScheduler scheduler = new StabilizationScheduler(() -> 1.0);
+        CallbackContext context = new CallbackContext();
+        context.setStabilizationAttempts(10);
+        context.setStabilizationWaitSeconds((int) StabilizationScheduler.BUDGET.getSeconds() - 7);
+
+        assertThat(scheduler.nextDelaySeconds(context, BASE_DELAY_SECONDS)).hasValue(7);
+        assertThat(scheduler.nextDelaySeconds(context, BASE_DELAY_SECONDS)).isEqualTo(OptionalInt.empty());
+    }
+
+    @Test
+    public void enteringANewStateRestartsTheSchedule() {
+        StabilizationScheduler scheduler = new StabilizationScheduler(() -> 1.0);
+        CallbackContext context = new CallbackContext();
+
+        scheduler.enter(context, "STOPPING");
+        scheduler.nextDelaySeconds(context, BASE_DELAY_SECONDS);
+        scheduler.nextDelaySeconds(context, BASE_DELAY_SECONDS);
+        scheduler.enter(context, "STOPPING");
+        assertThat(context.getStabilizationAttempts()).isEqualTo(2);
+
+        scheduler.enter(context, "STARTING");
+        assertThat(context.getStabilizationAttempts()).isZero();
+        assertThat(scheduler.nextDelaySeconds(context, BASE_DELAY_SECONDS)).hasValue(5);
+    }
+}
@@ -5,6 +5,9 @@ import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static software.amazon.transfer.server.translators.ResourceModelAdapter.DEFAULT_ENDPOINT_TYPE;
 import static software.amazon.transfer.server.translators.Translator.nullIfEmptyList;
@@ -24,9 +27,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.InOrder;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Stubber;
 
+import software.amazon.awssdk.services.ec2.model.ModifyVpcEndpointRequest;
 import software.amazon.awssdk.services.transfer.model.DescribeServerRequest;
 import software.amazon.awssdk.services.transfer.model.DescribeServerResponse;
 import software.amazon.awssdk.services.transfer.model.EndpointType;
@@ -54,23 +59,87 @@ public class UpdateHandlerTest extends AbstractTestBase {
     @InjectSoftAssertions
     private SoftAssertions softly;
 
+    private static final String TEST_LOGGING_ROLE = "arn:aws:iam::123456789012:role/transfer-logging";
+
     private final UpdateHandler handler = new UpdateHandler();
 
     @Test
     public void handleRequest_SimpleUpdate() {
         ResourceModel model = setupSimpleServerModel(DEFAULT_ENDPOINT_TYPE);
         setServerId(model, "testServer");
+        ResourceModel desiredModel = model.toBuilder().loggingRole(TEST_LOGGING_ROLE).build();
 
         final ResourceHandlerRequest<ResourceModel> request = getResourceHandlerRequestBuilder()
                 .previousResourceState(model)
-                .desiredResourceState(model)
+                .desiredResourceState(desiredModel)
                 .build();
 
         ProgressEvent<ResourceModel, CallbackContext> response =
                 updateServerAndAssertStatus(request, "ONLINE", OperationStatus.SUCCESS);
-        assertThat(response.getResourceModel()).isEqualTo(model);
+        assertThat(response.getResourceModel()).isEqualTo(desiredModel);
+
+        // Only the changed property is sent.
+        verify(sdkClient, atLeastOnce())
+                .updateServer(UpdateServerRequest.builder()
+                        .serverId("testServer")
+                        .loggingRole(TEST_LOGGING_ROLE)
+                        .build());
+    }
 
-        verify(sdkClient, atLeastOnce()).updateServer(any(UpdateServerRequest.class));
+    @Test
+    public void handleRequest_TagOnlyUpdateSkipsUpdateServer() {
+        ResourceModel currentState = setupSimpleServerModel(DEFAULT_ENDPOINT_TYPE);
+        setServerId(currentState, "testServerId");
+        ResourceModel postUpdateState = currentState.toBuilder()
+                .tags(Translator.translateTagMapToTagList(EXTRA_MODEL_TAGS))
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = getResourceHandlerRequestBuilder()
+                .previousResourceState(currentState)
+                .desiredResourceState(postUpdateState)
+                .desiredResourceTags(EXTRA_MODEL_TAGS)
+                .build();
+
+        doReturn(describeServerFromModel(currentState.getServerId(), "ONLINE", postUpdateState))
+                .when(sdkClient)
+                .describeServer(any(DescribeServerRequest.class));
+        doReturn(TagResourceResponse.builder().build()).when(sdkClient).tagResource(any(TagResourceRequest.class));
+
+        callAndAssertSuccess(request);
+
+        verify(sdkClient, never()).updateServer(any(UpdateServerRequest.class));
+        verify(sdkClient).tagResource(any(TagResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_TagsAndSecurityGroupsChangeBeforeServerUpdate() {
+        ResourceModel currentState = setupSimpleServerModel(EndpointType.VPC.name());
+        setupEndpointDetails(List.of("sec1"), currentState);
+        ResourceModel desiredState = setupSimpleServerModel(EndpointType.VPC.name());
+        setupEndpointDetails(List.of("sec1", "sec2"), desiredState);
+        desiredState.setLoggingRole(TEST_LOGGING_ROLE);
+        desiredState.setTags(Translator.translateTagMapToTagList(EXTRA_MODEL_TAGS));
+
+        final ResourceHandlerRequest<ResourceModel> request = getResourceHandlerRequestBuilder()
+                .previousResourceState(currentState)
+                .desiredResourceState(desiredState)
+                .desiredResourceTags(EXTRA_MODEL_TAGS)
+                .build();
+
+        setupUpdateServerResponse(null);
+        setupVpcEndpointStates(desiredState);
+        doReturn(describeServerFromModel(desiredState.getServerId(), "ONLINE", desiredState))
+                .when(sdkClient)
+                .describeServer(any(DescribeServerRequest.class));
+        doReturn(TagResourceResponse.builder().build()).when(sdkClient).tagResource(any(TagResourceRequest.class));
+
+        callAndAssertSuccess(request);
+
+        // Neither depends on the server state, so they do not wait for the server update to stabilize.
+        InOrder inOrder = inOrder(sdkClient, sdkEc2Client);
+        inOrder.verify(sdkClient).tagResource(any(TagResourceRequest.class));
+        inOrder.verify(sdkEc2Client).modifyVpcEndpoint(any(ModifyVpcEndpointRequest.class));
+        inOrder.verify(sdkClient).updateServer(any(UpdateServerRequest.class));
     }
 
     private static void setServerId(ResourceModel model, String serverId) {
@@ -87,6 +156,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
         setServerId(currentState, "testServerId");
         ResourceModel postUpdateState = setupSimpleServerModel(DEFAULT_ENDPOINT_TYPE);
         setServerId(postUpdateState, "testServerId");
+        postUpdateState.setLoggingRole(TEST_LOGGING_ROLE);
         postUpdateState.setTags(Translator.translateTagMapToTagList(EXTRA_MODEL_TAGS));
 
         final ResourceHandlerRequest<ResourceModel> request = getResourceHandlerRequestBuilder()
@@ -134,20 +204,25 @@ public class UpdateHandlerTest extends AbstractTestBase {
         final List<String> sg1 = ImmutableList.of("sec1", "sec2", "sec3");
         final List<String> sg2 = ImmutableList.of("sg1", "sg2");
         final List<String> none = Collections.emptyList();
+        // Security groups are applied to the VPC endpoint, only a new endpoint type updates the server.
         return Stream.of(
-                Arguments.of(pub, none, pub, none),
-                Arguments.of(pub, none, vpc, sg1),
-                Arguments.of(vpc, sg2, pub, none),
-                Arguments.of(vpc, none, vpc, none),
-                Arguments.of(vpc, none, vpc, sg1),
-                Arguments.of(vpc, sg1, vpc, sg2),
-                Arguments.of(vpc, sg2, vpc, none));
+                Arguments.of(pub, none, pub, none, false),
+                Arguments.of(pub, none, vpc, sg1, true),
+                Arguments.of(vpc, sg2, pub, none, true),
+                Arguments.of(vpc, none, vpc, none, false),
+                Arguments.of(vpc, none, vpc, sg1, false),
+                Arguments.of(vpc, sg1, vpc, sg2, false),
+                Arguments.of(vpc, sg2, vpc, none, false));
     }
 
     @ParameterizedTest
     @MethodSource({"provideEndpointTestParameters"})
     public void handleRequest_VerifySecurityGroupAssignments(
-            String prevType, List<String> prevSg, String desiredType, List<String> desiredSg) {
+            String prevType,
+            List<String> prevSg,
+            String desiredType,
+            List<String> desiredSg,
+            boolean serverUpdated) {
         ResourceHandlerRequest<ResourceModel> request =
                 vpcSecurityGroupsChangeRequest(prevType, prevSg, desiredType, desiredSg);
 
@@ -155,7 +230,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
                 updateServerAndAssertStatus(request, "ONLINE", OperationStatus.SUCCESS);
         assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
 
-        verify(sdkClient, atLeastOnce()).updateServer(any(UpdateServerRequest.class));
+        verify(sdkClient, serverUpdated ? atLeastOnce() : never()).updateServer(any(UpdateServerRequest.class));
     }
 
     private static ResourceHandlerRequest<ResourceModel> vpcSecurityGroupsChangeRequest(
@@ -221,16 +296,13 @@ public class UpdateHandlerTest extends AbstractTestBase {
         setupVpcEndpointStates(currentState);
         setupVpcEndpointStates(desiredState);
 
-        DescribeServerResponse stabilizeFirstResponse =
-                describeServerFromModel(currentState.getServerId(), postUpdateState, currentState);
-        DescribeServerResponse finalResponse =
+        // UpdateServer has been applied by the time stabilization describes the server, and the
+        // model of that describe is what the handler returns.
+        DescribeServerResponse updatedResponse =
                 describeServerFromModel(desiredState.getServerId(), postUpdateState, desiredState);
-        doReturn(stabilizeFirstResponse, finalResponse)
-                .when(sdkClient)
-                .describeServer(any(DescribeServerRequest.class));
+        doReturn(updatedResponse).when(sdkClient).describeServer(any(DescribeServerRequest.class));
 
-        final ProgressEvent<ResourceModel, CallbackContext> response =
-                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, proxyEc2Client, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> response = handleUntilDone(handler, request);
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(operationStatus);
@@ -263,10 +335,12 @@ public class UpdateHandlerTest extends AbstractTestBase {
         // This simulates a multiple step update of the server.
         // 1. We start with the current state that has no allocation ids,
         //    no security groups and different tags.
-        // 2. The server is STOPPING.
-        // 3. The server is now stopped/offline ready to update.
-        // 4. The server is STARTING.
-        // 5. The server reached the final state and can be finalized
+        // 2. The VPC endpoint is pending, the handler asks for a callback.
+        // 3. The server is STOPPING, the handler asks for a callback.
+        // 4. The server is now stopped/offline ready to update, subnets and
+        //    allocation ids are applied, then the private IPs are not ready yet.
+        // 5. The server is STARTING, the handler asks for another callback.
+        // 6. The server reached the final state and can be finalized
         //    by applying the new security groups and tags.
         DescribeServerResponse initialState = describeServerFromModel(model.getServerId(), "ONLINE", currentState);
         DescribeServerResponse finalStateResponse = describeServerFromModel(model.getServerId(), "ONLINE", model);
@@ -307,8 +381,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
     }
 
     private void callAndAssertSuccess(ResourceHandlerRequest<ResourceModel> request) {
-        ProgressEvent<ResourceModel, CallbackContext> response =
-                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, proxyEc2Client, logger);
+        ProgressEvent<ResourceModel, CallbackContext> response = handleUntilDone(handler, request);
 
         assertThat(response).isNotNull();
         softly.assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
@@ -323,11 +396,12 @@ public class UpdateHandlerTest extends AbstractTestBase {
         UpdateServerResponse response =
                 UpdateServerResponse.builder().serverId("testServerId").build();
 
+        // Lenient: an update that changes no server property does not call UpdateServer.
         Stubber stubber;
         if (ex != null) {
-            stubber = doThrow(ex).doReturn(response);
+            stubber = lenient().doThrow(ex).doReturn(response);
         } else {
-            stubber = doReturn(response);
+            stubber = lenient().doReturn(response);
         }
 
         stubber.when(sdkClient).updateServer(any(UpdateServerRequest.class));
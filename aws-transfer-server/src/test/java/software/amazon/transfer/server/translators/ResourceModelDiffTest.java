@@ -0,0 +1,54 @@
+package software.amazon.transfer.server.translators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.transfer.server.ResourceModel;
+import software.amazon.transfer.server.WorkflowDetails;
+
+public class ResourceModelDiffTest {
+    @Test
+    public void onlyChangedPropertiesAreSet() {
+        var previous = ResourceModel.builder()
+                .loggingRole("role-a")
+                .securityPolicyName("policy")
+                .build();
+        var desired = previous.toBuilder().loggingRole("role-b").build();
+        var diff = ResourceModelDiff.between(previous, desired);
+        List<String> set = new ArrayList<>();
+
+        assertThat(diff.ifChanged(ResourceModel::getLoggingRole, set::add)).isTrue();
+        assertThat(diff.ifChanged(ResourceModel::getSecurityPolicyName, set::add)).isFalse();
+        assertThat(set).containsExactly("role-b");
+    }
+
+    @Test
+    public void translatedFormsThatMatchAreUnchanged() {
+        var previous = ResourceModel.builder().build();
+        var desired = ResourceModel.builder()
+                .preAuthenticationLoginBanner("")
+                .structuredLogDestinations(List.of())
+                .workflowDetails(WorkflowDetails.builder().build())
+                .build();
+        var diff = ResourceModelDiff.between(previous, desired);
+
+        assertThat(diff.changed(ResourceModel::getPreAuthenticationLoginBanner)).isTrue();
+        assertThat(diff.changed(m -> Translator.emptyStringIfNull(m.getPreAuthenticationLoginBanner()))).isFalse();
+        assertThat(diff.changed(m -> Translator.emptyListIfNull(m.getStructuredLogDestinations()))).isFalse();
+        assertThat(diff.changed(m -> WorkflowDetailsTranslator.toSdk(m.getWorkflowDetails(), true))).isFalse();
+    }
+
+    @Test
+    public void removedValueIsPassedOn() {
+        var previous = ResourceModel.builder().certificate("cert").build();
+        var diff = ResourceModelDiff.between(previous, ResourceModel.builder().build());
+        List<String> set = new ArrayList<>();
+
+        assertThat(diff.ifChanged(ResourceModel::getCertificate, set::add)).isTrue();
+        assertThat(set).containsExactly((String) null);
+    }
+}
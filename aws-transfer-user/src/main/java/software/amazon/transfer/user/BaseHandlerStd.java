@@ -1,6 +1,10 @@
 package software.amazon.transfer.user;
 
+import static software.amazon.transfer.user.translators.Translator.normalizeSshKeys;
 import static software.amazon.transfer.user.translators.Translator.streamOfOrEmpty;
+import static software.amazon.transfer.user.translators.Translator.translateFromSdkHomeDirectoryMappings;
+import static software.amazon.transfer.user.translators.Translator.translateFromSdkPosixProfile;
+import static software.amazon.transfer.user.translators.Translator.translateFromSdkTags;
 
 import java.util.List;
 import java.util.Map;
@@ -8,26 +12,13 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import org.apache.commons.lang3.StringUtils;
+import com.fasterxml.jackson.core.type.TypeReference;
 
-import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.transfer.TransferClient;
-import software.amazon.awssdk.services.transfer.model.AccessDeniedException;
-import software.amazon.awssdk.services.transfer.model.ConflictException;
-import software.amazon.awssdk.services.transfer.model.DeleteSshPublicKeyRequest;
-import software.amazon.awssdk.services.transfer.model.DeleteSshPublicKeyResponse;
 import software.amazon.awssdk.services.transfer.model.DescribeUserRequest;
 import software.amazon.awssdk.services.transfer.model.DescribeUserResponse;
-import software.amazon.awssdk.services.transfer.model.ImportSshPublicKeyRequest;
-import software.amazon.awssdk.services.transfer.model.ImportSshPublicKeyResponse;
-import software.amazon.awssdk.services.transfer.model.InternalServiceErrorException;
-import software.amazon.awssdk.services.transfer.model.InvalidNextTokenException;
-import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
-import software.amazon.awssdk.services.transfer.model.ResourceExistsException;
-import software.amazon.awssdk.services.transfer.model.ResourceNotFoundException;
-import software.amazon.awssdk.services.transfer.model.ServiceUnavailableException;
+import software.amazon.awssdk.services.transfer.model.DescribedUser;
 import software.amazon.awssdk.services.transfer.model.SshPublicKey;
-import software.amazon.awssdk.services.transfer.model.ThrottlingException;
 import software.amazon.cloudformation.exceptions.BaseHandlerException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnThrottlingException;
@@ -37,8 +28,14 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.CallMetrics;
+import software.amazon.transfer.commons.Priming;
+import software.amazon.transfer.commons.RateLimiter;
+import software.amazon.transfer.commons.RetryPolicy;
+import software.amazon.transfer.commons.ServiceErrors;
+import software.amazon.transfer.commons.TagDiff;
+import software.amazon.transfer.commons.Tracer;
 import software.amazon.transfer.user.clients.ClientBuilder;
-import software.amazon.transfer.user.translators.TagHelper;
 import software.amazon.transfer.user.translators.Translator;
 
 public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
@@ -47,11 +44,21 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
     protected static final String READ = "Read";
     protected static final String LIST = "List";
     protected static final String UPDATE = "Update";
-    protected static final int THROTTLE_CALLBACK_DELAY_SECONDS = 15;
+    protected static final int THROTTLE_CALLBACK_DELAY_SECONDS = RetryPolicy.DEFAULT_DELAY_SECONDS;
     private static final String FAILURE_LOG_MESSAGE =
             "[ClientRequestToken: %s] Resource %s failed in %s operation, Error: %s%n";
-    private static final String THROTTLING_EXCEPTION_ERR_CODE = "ThrottlingException";
+    private static final RetryPolicy RETRY_POLICY = RetryPolicy.DEFAULT;
     protected Logger logger;
+    protected Tracer tracer = Tracer.NOOP;
+
+    // Run before a SnapStart checkpoint, see Priming.
+    static {
+        Priming.register(ClientBuilder::getClient);
+        Priming.register(() -> Priming.roundTrip(new ResourceModel(), new TypeReference<ResourceModel>() {}));
+        Priming.register(() -> Priming.roundTrip(new CallbackContext(), new TypeReference<CallbackContext>() {}));
+    }
+
+    private final SshKeyReconciler sshKeyReconciler = new SshKeyReconciler();
 
     @Override
     public final ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -60,12 +67,19 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
             final CallbackContext callbackContext,
             final Logger logger) {
         this.logger = logger;
-
-        return handleRequest(
-                proxy,
-                request,
-                callbackContext != null ? callbackContext : new CallbackContext(),
-                proxy.newProxy(ClientBuilder::getClient),
+        final CallbackContext context = callbackContext != null ? callbackContext : new CallbackContext();
+        final Tracer tracer = Tracer.start(ResourceModel.TYPE_NAME, this, context.getTraceContext(), logger);
+        context.setTraceContext(tracer.getContext());
+        this.tracer = tracer;
+        CallMetrics metrics = CallMetrics.start(ResourceModel.TYPE_NAME, this);
+
+        return metrics.measure(
+                () -> tracer.trace(() -> handleRequest(
+                        proxy,
+                        request,
+                        context,
+                        RateLimiter.DEFAULT.pace(metrics.instrument(proxy.newProxy(ClientBuilder::getClient)), request),
+                        logger)),
                 logger);
     }
 
@@ -93,38 +107,28 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
             final CallbackContext context,
             final String clientRequestToken) {
 
-        if (isRetryableServiceException(exception)) {
-            log("Retryable service exception: " + exception, model.getPrimaryIdentifier());
-            return handleRetryableServiceException(model, context, operation, clientRequestToken, exception);
-        }
-
-        if (isThrottlingException(exception)) {
-            log("Throttling Exception", model.getPrimaryIdentifier());
-            return handleThrottling(model, context, operation, clientRequestToken, exception);
-        }
-
-        if (exception instanceof ResourceExistsException) {
-            return translateToFailure(operation, exception, HandlerErrorCode.AlreadyExists, model, clientRequestToken);
-        }
-
-        if (exception instanceof ResourceNotFoundException) {
-            return translateToFailure(operation, exception, HandlerErrorCode.NotFound, model, clientRequestToken);
+        Optional<ProgressEvent<ResourceModel, CallbackContext>> retry = RETRY_POLICY.retryLater(
+                exception,
+                model,
+                context,
+                CallbackContext::getNumThrottlingRetries,
+                CallbackContext::setNumThrottlingRetries);
+        if (retry.isPresent()) {
+            log("Retrying after " + exception, model.getPrimaryIdentifier());
+            return retry.get();
         }
 
-        if (exception instanceof AccessDeniedException) {
-            return translateToFailure(operation, exception, HandlerErrorCode.AccessDenied, model, clientRequestToken);
-        }
-
-        if (exception instanceof InvalidRequestException) {
-            return translateToFailure(operation, exception, HandlerErrorCode.InvalidRequest, model, clientRequestToken);
-        }
-
-        if (exception instanceof InvalidNextTokenException) {
-            return translateToFailure(operation, exception, HandlerErrorCode.InvalidRequest, model, clientRequestToken);
+        if (RETRY_POLICY.shouldRetry(exception)) {
+            BaseHandlerException cfnEx = ServiceErrors.isRetryable(exception)
+                    ? new CfnGeneralServiceException(ResourceModel.TYPE_NAME, exception)
+                    : new CfnThrottlingException(exception);
+            logger.log(String.format(
+                    FAILURE_LOG_MESSAGE, clientRequestToken, model.getPrimaryIdentifier(), operation, exception));
+            return ProgressEvent.failed(model, context, cfnEx.getErrorCode(), cfnEx.getMessage());
         }
 
         return translateToFailure(
-                operation, exception, HandlerErrorCode.GeneralServiceException, model, clientRequestToken);
+                operation, exception, ServiceErrors.toHandlerErrorCode(exception), model, clientRequestToken);
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> translateToFailure(
@@ -138,179 +142,59 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
         return ProgressEvent.defaultFailureHandler(exception, errorCode);
     }
 
-    private boolean isRetryableServiceException(Exception exception) {
-        return exception instanceof ConflictException
-                || exception instanceof InternalServiceErrorException
-                || exception instanceof ServiceUnavailableException;
-    }
-
-    private ProgressEvent<ResourceModel, CallbackContext> handleRetryableServiceException(
-            ResourceModel model, CallbackContext context, String operation, String clientRequestToken, Exception e) {
-        int currentNumThrottlingRetries = context.getNumThrottlingRetries();
-        if (currentNumThrottlingRetries > 0) {
-            context.setNumThrottlingRetries(currentNumThrottlingRetries - 1);
-            return ProgressEvent.defaultInProgressHandler(context, getDelaySeconds(e), model);
-        }
-        BaseHandlerException cfnEx = new CfnGeneralServiceException(ResourceModel.TYPE_NAME, e);
-        logger.log(String.format(FAILURE_LOG_MESSAGE, clientRequestToken, model.getPrimaryIdentifier(), operation, e));
-        return ProgressEvent.failed(model, context, cfnEx.getErrorCode(), cfnEx.getMessage());
-    }
-
-    private boolean isThrottlingException(Exception e) {
-        if (StringUtils.contains(getErrorCode(e), THROTTLING_EXCEPTION_ERR_CODE)) {
-            return true;
-        }
-        if (e instanceof ThrottlingException) {
-            return true;
-        }
-        if (e instanceof AwsServiceException) {
-            return ((AwsServiceException) e).isThrottlingException();
-        }
-        return false;
-    }
-
-    private ProgressEvent<ResourceModel, CallbackContext> handleThrottling(
-            ResourceModel model, CallbackContext context, String operation, String clientRequestToken, Exception e) {
-        int currentNumThrottlingRetries = context.getNumThrottlingRetries();
-        if (currentNumThrottlingRetries > 0) {
-            context.setNumThrottlingRetries(currentNumThrottlingRetries - 1);
-            return ProgressEvent.defaultInProgressHandler(context, getDelaySeconds(e), model);
-        }
-        BaseHandlerException cfnEx = new CfnThrottlingException(e);
-        logger.log(String.format(FAILURE_LOG_MESSAGE, clientRequestToken, model.getPrimaryIdentifier(), operation, e));
-        return ProgressEvent.failed(model, context, cfnEx.getErrorCode(), cfnEx.getMessage());
-    }
-
-    private static int getDelaySeconds(Exception e) {
-        if (e instanceof ThrottlingException) {
-            String retryAfterSeconds = ((ThrottlingException) e).retryAfterSeconds();
-            return Integer.parseInt(
-                    Optional.ofNullable(retryAfterSeconds).orElse(String.valueOf(THROTTLE_CALLBACK_DELAY_SECONDS)));
-        }
-        return THROTTLE_CALLBACK_DELAY_SECONDS;
-    }
-
-    private String getErrorCode(Exception e) {
-        if (e instanceof AwsServiceException && ((AwsServiceException) e).awsErrorDetails() != null) {
-            return ((AwsServiceException) e).awsErrorDetails().errorCode();
-        }
-        return e.getMessage();
-    }
-
     protected void log(String message, Object identifier) {
         logger.log(String.format("%s [%s] %s", ResourceModel.TYPE_NAME, identifier, message));
     }
 
-    protected ProgressEvent<ResourceModel, CallbackContext> importSshPublicKeys(
-            AmazonWebServicesClientProxy proxy,
-            ProxyClient<TransferClient> proxyClient,
-            String clientRequestToken,
-            String operation,
-            List<String> keysToAdd,
-            ProgressEvent<ResourceModel, CallbackContext> progress) {
-
-        ResourceModel resourceModel = progress.getResourceModel();
-        CallbackContext ctx = progress.getCallbackContext();
-
-        String serverId = resourceModel.getServerId();
-        String userName = resourceModel.getUserName();
-
-        for (String keyBody : keysToAdd) {
-            progress = proxy.initiate("AWS-Transfer-User::importSshPublicKey", proxyClient, resourceModel, ctx)
-                    .translateToServiceRequest(m -> translateToImportSshPublicKey(serverId, userName, keyBody))
-                    .makeServiceCall(this::importSshPublicKey)
-                    .handleError((ignored, exception, client, model, context) ->
-                            handleError(operation, exception, model, context, clientRequestToken))
-                    .progress();
-        }
-        return progress;
-    }
-
-    private ImportSshPublicKeyRequest translateToImportSshPublicKey(
-            String serverId, String userName, String sshPublicKeyBody) {
-        return ImportSshPublicKeyRequest.builder()
-                .serverId(serverId)
-                .userName(userName)
-                .sshPublicKeyBody(sshPublicKeyBody)
-                .build();
-    }
-
-    private ImportSshPublicKeyResponse importSshPublicKey(
-            ImportSshPublicKeyRequest awsRequest, ProxyClient<TransferClient> client) {
-        try (TransferClient transferClient = client.client()) {
-            return client.injectCredentialsAndInvokeV2(awsRequest, transferClient::importSshPublicKey);
-        }
-    }
-
-    protected ProgressEvent<ResourceModel, CallbackContext> deleteSshPublicKeys(
-            AmazonWebServicesClientProxy proxy,
+    /**
+     * Imports and deletes SSH public keys so that the user goes from {@code previousKeys} to {@code
+     * desiredKeys}. Keys finished by an earlier invocation are not called again.
+     */
+    protected ProgressEvent<ResourceModel, CallbackContext> reconcileSshPublicKeys(
             ProxyClient<TransferClient> proxyClient,
             String clientRequestToken,
             String operation,
-            List<String> keysToDelete,
+            List<String> previousKeys,
+            List<String> desiredKeys,
             ProgressEvent<ResourceModel, CallbackContext> progress) {
 
-        if (keysToDelete.isEmpty()) {
+        SshKeyReconciler.Diff diff = SshKeyReconciler.diff(previousKeys, desiredKeys);
+        if (diff.isEmpty()) {
             return progress;
         }
 
-        ResourceModel resourceModel = progress.getResourceModel();
-        CallbackContext ctx = progress.getCallbackContext();
+        ResourceModel model = progress.getResourceModel();
+        CallbackContext context = progress.getCallbackContext();
+        String userId = userIdentifier(model.getServerId(), model.getUserName());
 
-        String serverId = resourceModel.getServerId();
-        String userName = resourceModel.getUserName();
-
-        DescribeUserRequest readRequest = translateToReadRequest(progress.getResourceModel());
-        List<SshPublicKey> currentKeys =
-                readUser(readRequest, proxyClient).user().sshPublicKeys();
-
-        List<String> keyIdsToDelete = currentKeys.stream()
-                .filter(key -> keysToDelete.contains(key.sshPublicKeyBody()))
-                .map(SshPublicKey::sshPublicKeyId)
-                .collect(Collectors.toList());
-
-        for (String sshKeyId : keyIdsToDelete) {
-            progress = proxy.initiate("AWS-Transfer-User::deleteSshPublicKey", proxyClient, resourceModel, ctx)
-                    .translateToServiceRequest(m -> translateToDeleteSshPublicKey(serverId, userName, sshKeyId))
-                    .makeServiceCall(this::deleteSshPublicKey)
-                    .handleError((ignored, exception, client, model, context) ->
-                            handleError(operation, exception, model, context, clientRequestToken))
-                    .progress();
+        List<Exception> failures = sshKeyReconciler.reconcile(proxyClient, model, diff, context);
+        if (!failures.isEmpty()) {
+            log(String.format("%d SSH key calls failed, first: %s", failures.size(), failures.get(0)), userId);
+            return handleError(operation, failures.get(0), model, context, clientRequestToken);
         }
-        return progress;
-    }
 
-    private DeleteSshPublicKeyRequest translateToDeleteSshPublicKey(String serverId, String userName, String sshKeyId) {
-        return DeleteSshPublicKeyRequest.builder()
-                .serverId(serverId)
-                .userName(userName)
-                .sshPublicKeyId(sshKeyId)
-                .build();
-    }
-
-    private DeleteSshPublicKeyResponse deleteSshPublicKey(
-            DeleteSshPublicKeyRequest request, ProxyClient<TransferClient> client) {
-        try (TransferClient transferClient = client.client()) {
-            return client.injectCredentialsAndInvokeV2(request, transferClient::deleteSshPublicKey);
-        }
+        log(
+                String.format(
+                        "SSH keys reconciled, %d imported and %d deleted",
+                        diff.getToImport().size(), diff.getToDelete().size()),
+                userId);
+        return progress;
     }
 
     protected ProgressEvent<ResourceModel, CallbackContext> addTags(
             ProgressEvent<ResourceModel, CallbackContext> progress,
             ResourceHandlerRequest<ResourceModel> request,
+            TagDiff tagDiff,
             ResourceModel newModel,
             AmazonWebServicesClientProxy proxy,
             ProxyClient<TransferClient> proxyClient,
             CallbackContext callbackContext) {
-        if (TagHelper.shouldUpdateTags(request)) {
-
-            Map<String, String> previousTags = TagHelper.getPreviouslyAttachedTags(request);
-            Map<String, String> desiredTags = TagHelper.getNewDesiredTags(request);
-            Map<String, String> tagsToAdd = TagHelper.generateTagsToAdd(previousTags, desiredTags);
-
-            if (!tagsToAdd.isEmpty()) {
-                progress = tagResource(proxy, proxyClient, newModel, request, callbackContext, tagsToAdd);
-            }
+        List<Map<String, String>> batches = tagDiff.getTagsToAddBatches();
+        for (int i = 0; i < batches.size(); i++) {
+            String callGraph = "AWS-Transfer-User::TagResource-" + i;
+            Map<String, String> batch = batches.get(i);
+            progress = progress.then(p ->
+                    tagResource(proxy, proxyClient, newModel, request, callbackContext, callGraph, batch));
         }
         return progress;
     }
@@ -321,18 +205,18 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
             final ResourceModel resourceModel,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
+            final String callGraph,
             final Map<String, String> addedTags) {
         logger.log(String.format(
                 "[UPDATE][IN PROGRESS] Going to add tags for user: %s with AccountId: %s",
                 resourceModel.getUserName(), request.getAwsAccountId()));
         final String clientRequestToken = request.getClientRequestToken();
 
-        return proxy.initiate("AWS-Transfer-User::TagOps", serviceClient, resourceModel, callbackContext)
+        return proxy.initiate(callGraph, serviceClient, resourceModel, callbackContext)
                 .translateToServiceRequest(model -> Translator.tagResourceRequest(model, addedTags))
                 .makeServiceCall((tagRequest, client) -> {
-                    try (TransferClient transferClient = client.client()) {
-                        return client.injectCredentialsAndInvokeV2(tagRequest, transferClient::tagResource);
-                    }
+                    TransferClient transferClient = client.client();
+                    return client.injectCredentialsAndInvokeV2(tagRequest, transferClient::tagResource);
                 })
                 .handleError((ignored, exception, proxyClient, model, context) ->
                         handleError(UPDATE, exception, model, context, clientRequestToken))
@@ -342,19 +226,17 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
     protected ProgressEvent<ResourceModel, CallbackContext> removeTags(
             ProgressEvent<ResourceModel, CallbackContext> progress,
             ResourceHandlerRequest<ResourceModel> request,
+            TagDiff tagDiff,
             ResourceModel newModel,
             AmazonWebServicesClientProxy proxy,
             ProxyClient<TransferClient> proxyClient,
             CallbackContext callbackContext) {
-        if (TagHelper.shouldUpdateTags(request)) {
-
-            Map<String, String> previousTags = TagHelper.getPreviouslyAttachedTags(request);
-            Map<String, String> desiredTags = TagHelper.getNewDesiredTags(request);
-            Set<String> tagsKeysToRemove = TagHelper.generateTagsToRemove(previousTags, desiredTags);
-
-            if (!tagsKeysToRemove.isEmpty()) {
-                progress = untagResource(proxy, proxyClient, newModel, request, callbackContext, tagsKeysToRemove);
-            }
+        List<Set<String>> batches = tagDiff.getTagKeysToRemoveBatches();
+        for (int i = 0; i < batches.size(); i++) {
+            String callGraph = "AWS-Transfer-User::UntagResource-" + i;
+            Set<String> batch = batches.get(i);
+            progress = progress.then(p ->
+                    untagResource(proxy, proxyClient, newModel, request, callbackContext, callGraph, batch));
         }
         return progress;
     }
@@ -365,18 +247,18 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
             final ResourceModel resourceModel,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
+            final String callGraph,
             final Set<String> removedTags) {
         logger.log(String.format(
                 "[UPDATE][IN PROGRESS] Going to remove tags for user: %s with AccountId: %s",
                 resourceModel.getUserName(), request.getAwsAccountId()));
         final String clientRequestToken = request.getClientRequestToken();
 
-        return proxy.initiate("AWS-Transfer-User::TagOps", serviceClient, resourceModel, callbackContext)
+        return proxy.initiate(callGraph, serviceClient, resourceModel, callbackContext)
                 .translateToServiceRequest(model -> Translator.untagResourceRequest(model, removedTags))
                 .makeServiceCall((untagRequest, client) -> {
-                    try (TransferClient transferClient = client.client()) {
-                        return client.injectCredentialsAndInvokeV2(untagRequest, transferClient::untagResource);
-                    }
+                    TransferClient transferClient = client.client();
+                    return client.injectCredentialsAndInvokeV2(untagRequest, transferClient::untagResource);
                 })
                 .handleError((ignored, exception, proxyClient, model, context) ->
                         handleError(UPDATE, exception, model, context, clientRequestToken))
@@ -391,12 +273,47 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
     }
 
     protected DescribeUserResponse readUser(DescribeUserRequest awsRequest, ProxyClient<TransferClient> client) {
-        try (TransferClient transferClient = client.client()) {
-            DescribeUserResponse awsResponse =
-                    client.injectCredentialsAndInvokeV2(awsRequest, transferClient::describeUser);
-            log("has been read successfully.", awsRequest.userName());
-            return awsResponse;
+        TransferClient transferClient = client.client();
+        DescribeUserResponse awsResponse =
+                client.injectCredentialsAndInvokeV2(awsRequest, transferClient::describeUser);
+        log("has been read successfully.", awsRequest.userName());
+        return awsResponse;
+    }
+
+    protected ResourceModel translateFromReadResponse(final String serverId, final DescribeUserResponse awsResponse) {
+        DescribedUser user = awsResponse.user();
+
+        // Handle the use case where a user might have SSH keys managed completely out of CloudFormation,
+        // but we need to avoid removing them. We also want to avoid marking the User as having a drift, so
+        // we make the result omit the extra keys. However, if the returned keys are missing expected CFN managed
+        // keys we will allow this to return a list of keys that is incomplete and show the User as having a drift.
+        List<String> responseSshKeys = normalizeSshKeys(translateFromSshPublicKeys(user.sshPublicKeys()));
+        if (responseSshKeys.isEmpty()) {
+            logger.log(String.format("User %s has no keys", user.userName()));
+            responseSshKeys = null;
         }
+
+        return ResourceModel.builder()
+                .arn(user.arn())
+                .serverId(serverId)
+                .userName(user.userName())
+                .policy(user.policy())
+                .role(user.role())
+                .homeDirectoryType(user.homeDirectoryTypeAsString())
+                .homeDirectory(user.homeDirectory())
+                .homeDirectoryMappings(translateFromSdkHomeDirectoryMappings(user.homeDirectoryMappings()))
+                .posixProfile(translateFromSdkPosixProfile(user.posixProfile()))
+                .sshPublicKeys(responseSshKeys)
+                .tags(translateFromSdkTags(user.tags()))
+                .build();
+    }
+
+    private static List<String> translateFromSshPublicKeys(List<SshPublicKey> sshPublicKeys) {
+        if (sshPublicKeys == null || sshPublicKeys.isEmpty()) {
+            return null;
+        }
+
+        return sshPublicKeys.stream().map(SshPublicKey::sshPublicKeyBody).collect(Collectors.toList());
     }
 
     protected static List<String> translateToSShPublicKeyBodies(ResourceModel newModel) {
@@ -1,6 +1,10 @@
 package software.amazon.transfer.user;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import software.amazon.cloudformation.proxy.StdCallbackContext;
+import software.amazon.transfer.commons.TraceContext;
 
 @lombok.Getter
 @lombok.Setter
@@ -8,4 +12,9 @@ import software.amazon.cloudformation.proxy.StdCallbackContext;
 @lombok.EqualsAndHashCode(callSuper = true)
 public class CallbackContext extends StdCallbackContext {
     private int numThrottlingRetries = 30;
+    // Hashes of the SSH keys already reconciled, see SshKeyReconciler.
+    private Set<String> importedSshKeys = new HashSet<>();
+    private Set<String> deletedSshKeys = new HashSet<>();
+    // The trace of the operation across re-invocations, see Tracer.
+    private TraceContext traceContext;
 }
@@ -4,6 +4,7 @@ import static software.amazon.transfer.user.translators.Translator.translateToSd
 import static software.amazon.transfer.user.translators.Translator.translateToSdkPosixProfile;
 import static software.amazon.transfer.user.translators.Translator.translateToSdkTags;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +17,7 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.user.translators.TagHelper;
 import software.amazon.transfer.user.translators.Translator;
 
 public class CreateHandler extends BaseHandlerStd {
@@ -39,9 +41,10 @@ public class CreateHandler extends BaseHandlerStd {
 
         return ProgressEvent.progress(newModel, callbackContext)
                 .then(progress -> createUser(proxy, proxyClient, clientRequestToken, progress))
-                .then(progress ->
-                        importSshPublicKeys(proxy, proxyClient, clientRequestToken, CREATE, keysToAdd, progress))
-                .then(progress -> addTags(progress, request, newModel, proxy, proxyClient, callbackContext))
+                .then(progress -> reconcileSshPublicKeys(
+                        proxyClient, clientRequestToken, CREATE, Collections.emptyList(), keysToAdd, progress))
+                .then(progress -> addTags(
+                        progress, request, TagHelper.tagDiff(request), newModel, proxy, proxyClient, callbackContext))
                 .then(progress ->
                         new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger));
     }
@@ -81,10 +84,9 @@ public class CreateHandler extends BaseHandlerStd {
     }
 
     private CreateUserResponse createUser(CreateUserRequest request, ProxyClient<TransferClient> client) {
-        try (TransferClient transferClient = client.client()) {
-            CreateUserResponse response = client.injectCredentialsAndInvokeV2(request, transferClient::createUser);
-            log("user created successfully", userIdentifier(request.serverId(), request.userName()));
-            return response;
-        }
+        TransferClient transferClient = client.client();
+        CreateUserResponse response = client.injectCredentialsAndInvokeV2(request, transferClient::createUser);
+        log("user created successfully", userIdentifier(request.serverId(), request.userName()));
+        return response;
     }
 }
@@ -47,10 +47,9 @@ public class DeleteHandler extends BaseHandlerStd {
     }
 
     private DeleteUserResponse deleteUser(DeleteUserRequest request, ProxyClient<TransferClient> client) {
-        try (TransferClient transferClient = client.client()) {
-            DeleteUserResponse response = client.injectCredentialsAndInvokeV2(request, transferClient::deleteUser);
-            log("successfully deleted.", userIdentifier(request.serverId(), request.userName()));
-            return response;
-        }
+        TransferClient transferClient = client.client();
+        DeleteUserResponse response = client.injectCredentialsAndInvokeV2(request, transferClient::deleteUser);
+        log("successfully deleted.", userIdentifier(request.serverId(), request.userName()));
+        return response;
     }
 }
@@ -6,15 +6,19 @@ import java.util.stream.Collectors;
 import software.amazon.awssdk.services.transfer.TransferClient;
 import software.amazon.awssdk.services.transfer.model.ListUsersRequest;
 import software.amazon.awssdk.services.transfer.model.ListUsersResponse;
+import software.amazon.awssdk.services.transfer.model.ListedUser;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.DescribeFanOut;
+import software.amazon.transfer.commons.Paginator;
 import software.amazon.transfer.user.translators.Translator;
 
 public class ListHandler extends BaseHandlerStd {
+    private DescribeFanOut describeFanOut = DescribeFanOut.fromEnvironment();
 
     @Override
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -34,22 +38,45 @@ public class ListHandler extends BaseHandlerStd {
                 .makeServiceCall(this::listUsers)
                 .handleError((ignored, exception, proxyClient1, model1, callbackContext1) ->
                         handleError(LIST, exception, model1, callbackContext1, clientRequestToken))
-                .done(response -> ProgressEvent.<ResourceModel, CallbackContext>builder()
-                        .resourceModels(translateFromListResponse(response))
-                        .nextToken(response.nextToken())
-                        .status(OperationStatus.SUCCESS)
-                        .build());
+                .done(response -> {
+                    List<ResourceModel> models;
+                    try {
+                        models = translateFromListResponse(response, proxyClient);
+                    } catch (Exception e) {
+                        return handleError(LIST, e, model, callbackContext, clientRequestToken);
+                    }
+                    return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                            .resourceModels(models)
+                            .nextToken(response.nextToken())
+                            .status(OperationStatus.SUCCESS)
+                            .build();
+                });
+    }
+
+    /** Replaces the fan-out the environment selects, e.g. to describe the listed users in a test. */
+    void useDescribeFanOut(DescribeFanOut describeFanOut) {
+        this.describeFanOut = describeFanOut;
     }
 
     private ListUsersRequest translateToListRequest(final String serverId, final String nextToken) {
         return ListUsersRequest.builder()
-                .maxResults(10)
+                .maxResults(describeFanOut.getPaginator().getPageSize())
                 .nextToken(nextToken)
                 .serverId(serverId)
                 .build();
     }
 
-    private List<ResourceModel> translateFromListResponse(final ListUsersResponse response) {
+    private List<ResourceModel> translateFromListResponse(
+            final ListUsersResponse response, final ProxyClient<TransferClient> client) {
+        if (describeFanOut.isEnabled()) {
+            return describeFanOut.describe(response.users(), user -> {
+                ResourceModel listed = ResourceModel.builder()
+                        .serverId(response.serverId())
+                        .userName(user.userName())
+                        .build();
+                return translateFromReadResponse(response.serverId(), readUser(translateToReadRequest(listed), client));
+            });
+        }
         return Translator.streamOfOrEmpty(response.users())
                 .map(user -> ResourceModel.builder()
                         .arn(user.arn())
@@ -60,8 +87,17 @@ public class ListHandler extends BaseHandlerStd {
     }
 
     private ListUsersResponse listUsers(ListUsersRequest awsRequest, ProxyClient<TransferClient> client) {
-        try (TransferClient transferClient = client.client()) {
-            return client.injectCredentialsAndInvokeV2(awsRequest, transferClient::listUsers);
-        }
+        TransferClient transferClient = client.client();
+        Paginator.Page<ListedUser> page = describeFanOut.getPaginator().paginate(
+                awsRequest.nextToken(),
+                token -> client.injectCredentialsAndInvokeV2(
+                        awsRequest.toBuilder().nextToken(token).build(), transferClient::listUsers),
+                ListUsersResponse::users,
+                ListUsersResponse::nextToken);
+        return ListUsersResponse.builder()
+                .serverId(awsRequest.serverId())
+                .users(page.getItems())
+                .nextToken(page.getNextToken())
+                .build();
     }
 }
@@ -0,0 +1,266 @@
+package software.amazon.transfer.user;
+
+import static software.amazon.transfer.user.translators.Translator.normalizeSshKeys;
+import static software.amazon.transfer.user.translators.Translator.streamOfOrEmpty;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import software.amazon.awssdk.services.transfer.TransferClient;
+import software.amazon.awssdk.services.transfer.model.DeleteSshPublicKeyRequest;
+import software.amazon.awssdk.services.transfer.model.DescribeUserRequest;
+import software.amazon.awssdk.services.transfer.model.ImportSshPublicKeyRequest;
+import software.amazon.awssdk.services.transfer.model.ResourceExistsException;
+import software.amazon.awssdk.services.transfer.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.transfer.model.SshPublicKey;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.transfer.commons.SharedExecutor;
+
+/**
+ * Brings the SSH public keys of a user from the previous to the desired set of key bodies.
+ *
+ * <p>Key bodies are canonicalized and hashed, and the diff is computed on the hashes, so
+ * whitespace-only differences are not changes and the diff is linear in the number of keys. Deletes
+ * run before imports, each batch with bounded parallelism. The hash of every finished key is
+ * recorded in the {@link CallbackContext}, so when some calls fail the next invocation only runs the
+ * keys that are left. Keys not in the previous model are managed outside of CloudFormation and are
+ * left alone.
+ */
+final class SshKeyReconciler {
+    static final int MAX_PARALLEL_CALLS = 4;
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final int parallelism;
+
+    SshKeyReconciler() {
+        this(MAX_PARALLEL_CALLS);
+    }
+
+    SshKeyReconciler(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Computes the keys to import and delete.
+     *
+     * @param previousKeys the key bodies CloudFormation managed so far
+     * @param desiredKeys the key bodies requested
+     * @return the diff, keyed by key hash
+     */
+    static Diff diff(List<String> previousKeys, List<String> desiredKeys) {
+        Map<String, String> desired = byDigest(desiredKeys);
+        Map<String, String> previous = byDigest(previousKeys);
+
+        Map<String, String> toImport = new LinkedHashMap<>(desired);
+        toImport.keySet().removeAll(previous.keySet());
+
+        Set<String> toDelete = new LinkedHashSet<>(previous.keySet());
+        toDelete.removeAll(desired.keySet());
+
+        return new Diff(toImport, toDelete);
+    }
+
+    /**
+     * Runs the calls of {@code diff} that have not completed yet.
+     *
+     * @param proxyClient the client to call with
+     * @param model the user whose keys are reconciled
+     * @param diff the keys to import and delete
+     * @param context where completed keys are recorded
+     * @return the failed calls, empty if the user's keys are reconciled
+     */
+    List<Exception> reconcile(
+            ProxyClient<TransferClient> proxyClient, ResourceModel model, Diff diff, CallbackContext context) {
+        String serverId = model.getServerId();
+        String userName = model.getUserName();
+
+        Set<String> pendingDeletes = new LinkedHashSet<>(diff.getToDelete());
+        pendingDeletes.removeAll(context.getDeletedSshKeys());
+        if (!pendingDeletes.isEmpty()) {
+            // Deletes go by key ID, which only DescribeUser knows. Keys no longer there are done.
+            // The same key may have been imported more than once, so a hash can have several IDs.
+            Map<String, List<String>> keyIds = currentKeyIds(proxyClient, serverId, userName);
+            Map<String, List<String>> deletes = new LinkedHashMap<>();
+            for (String digest : pendingDeletes) {
+                if (keyIds.containsKey(digest)) {
+                    deletes.put(digest, keyIds.get(digest));
+                } else {
+                    context.getDeletedSshKeys().add(digest);
+                }
+            }
+
+            List<Exception> failures = runAll(
+                    deletes,
+                    ids -> deleteSshPublicKeys(proxyClient, serverId, userName, ids),
+                    context.getDeletedSshKeys());
+            if (!failures.isEmpty()) {
+                return failures;
+            }
+        }
+
+        Map<String, String> imports = new LinkedHashMap<>(diff.getToImport());
+        imports.keySet().removeAll(context.getImportedSshKeys());
+        return runAll(
+                imports,
+                body -> importSshPublicKey(proxyClient, serverId, userName, body),
+                context.getImportedSshKeys());
+    }
+
+    private <T> List<Exception> runAll(Map<String, T> calls, Function<T, Exception> call, Set<String> done) {
+        if (calls.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> digests = new ArrayList<>(calls.keySet());
+        List<CompletableFuture<Exception>> results =
+                SharedExecutor.map(digests, parallelism, digest -> call.apply(calls.get(digest)));
+
+        List<Exception> failures = new ArrayList<>();
+        for (int i = 0; i < digests.size(); i++) {
+            Exception failure = await(results.get(i));
+            if (failure == null) {
+                done.add(digests.get(i));
+            } else {
+                failures.add(failure);
+            }
+        }
+        return failures;
+    }
+
+    private static Exception await(Future<Exception> result) {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            return e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return e;
+        }
+    }
+
+    private static Exception importSshPublicKey(
+            ProxyClient<TransferClient> client, String serverId, String userName, String sshPublicKeyBody) {
+        ImportSshPublicKeyRequest request = ImportSshPublicKeyRequest.builder()
+                .serverId(serverId)
+                .userName(userName)
+                .sshPublicKeyBody(sshPublicKeyBody)
+                .build();
+        TransferClient transferClient = client.client();
+        try {
+            client.injectCredentialsAndInvokeV2(request, transferClient::importSshPublicKey);
+            return null;
+        } catch (ResourceExistsException e) {
+            return null; // imported by an earlier attempt whose response was lost
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private static Exception deleteSshPublicKeys(
+            ProxyClient<TransferClient> client, String serverId, String userName, List<String> sshPublicKeyIds) {
+        Exception failure = null;
+        for (String sshPublicKeyId : sshPublicKeyIds) {
+            Exception e = deleteSshPublicKey(client, serverId, userName, sshPublicKeyId);
+            if (failure == null) {
+                failure = e;
+            }
+        }
+        return failure;
+    }
+
+    private static Exception deleteSshPublicKey(
+            ProxyClient<TransferClient> client, String serverId, String userName, String sshPublicKeyId) {
+        DeleteSshPublicKeyRequest request = DeleteSshPublicKeyRequest.builder()
+                .serverId(serverId)
+                .userName(userName)
+                .sshPublicKeyId(sshPublicKeyId)
+                .build();
+        TransferClient transferClient = client.client();
+        try {
+            client.injectCredentialsAndInvokeV2(request, transferClient::deleteSshPublicKey);
+            return null;
+        } catch (ResourceNotFoundException e) {
+            return null; // already gone
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private static Map<String, List<String>> currentKeyIds(
+            ProxyClient<TransferClient> client, String serverId, String userName) {
+        DescribeUserRequest request = DescribeUserRequest.builder()
+                .serverId(serverId)
+                .userName(userName)
+                .build();
+        TransferClient transferClient = client.client();
+        List<SshPublicKey> keys = client.injectCredentialsAndInvokeV2(request, transferClient::describeUser)
+                .user()
+                .sshPublicKeys();
+
+        List<String> bodies =
+                streamOfOrEmpty(keys).map(SshPublicKey::sshPublicKeyBody).collect(Collectors.toList());
+        List<String> canonicalBodies = normalizeSshKeys(bodies);
+
+        Map<String, List<String>> keyIds = new LinkedHashMap<>();
+        for (int i = 0; i < canonicalBodies.size(); i++) {
+            keyIds.computeIfAbsent(digest(canonicalBodies.get(i)), hash -> new ArrayList<>())
+                    .add(keys.get(i).sshPublicKeyId());
+        }
+        return keyIds;
+    }
+
+    private static Map<String, String> byDigest(List<String> sshPublicKeys) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        for (String body : normalizeSshKeys(sshPublicKeys)) {
+            keys.putIfAbsent(digest(body), body);
+        }
+        return keys;
+    }
+
+    static String digest(String canonicalBody) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HEX.formatHex(sha256.digest(canonicalBody.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /** Keys to import, hash to canonical body, and hashes of the keys to delete. */
+    static final class Diff {
+        private final Map<String, String> toImport;
+        private final Set<String> toDelete;
+
+        private Diff(Map<String, String> toImport, Set<String> toDelete) {
+            this.toImport = Collections.unmodifiableMap(toImport);
+            this.toDelete = Collections.unmodifiableSet(toDelete);
+        }
+
+        Map<String, String> getToImport() {
+            return toImport;
+        }
+
+        Set<String> getToDelete() {
+            return toDelete;
+        }
+
+        boolean isEmpty() {
+            return toImport.isEmpty() && toDelete.isEmpty();
+        }
+    }
+}
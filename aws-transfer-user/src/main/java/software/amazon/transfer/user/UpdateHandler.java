@@ -2,7 +2,6 @@ package software.amazon.transfer.user;
 
 import static software.amazon.transfer.user.translators.Translator.translateToSdkPosixProfile;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +14,8 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.TagDiff;
+import software.amazon.transfer.user.translators.TagHelper;
 import software.amazon.transfer.user.translators.Translator;
 
 public class UpdateHandler extends BaseHandlerStd {
@@ -35,8 +36,7 @@ public class UpdateHandler extends BaseHandlerStd {
         Translator.ensureServerIdAndUserNameInModel(oldModel);
         Translator.ensureServerIdAndUserNameInModel(newModel);
 
-        final List<String> keysToAdd = new ArrayList<>();
-        final List<String> keysToDelete = translateToSShPublicKeyBodies(oldModel);
+        final List<String> previousKeys = translateToSShPublicKeyBodies(oldModel);
         final List<String> requestedKeys = translateToSShPublicKeyBodies(newModel);
 
         // XFER-10648: Must ignore keys not managed by CFN when found in current
@@ -44,30 +44,22 @@ public class UpdateHandler extends BaseHandlerStd {
         // from a call to the ReadHandler. Such a call will make keys managed externally
         // appear as part of the model. If the DesiredResourceState does not contain
         // keys we must ignore the existing keys and do nothing about them.
-        if (newModel.getSshPublicKeys() == null) {
-            keysToDelete.clear();
-        } else {
-            // Here we prune the list of current keys to eliminate
-            // existing keys by checking the body for matches.
-            // What is left should be deleted to complete the update.
-            // The truly new keys are added to the list.
-            for (String key : requestedKeys) {
-                if (!keysToDelete.remove(key)) {
-                    keysToAdd.add(key);
-                }
-            }
-        }
+        final boolean manageKeys = newModel.getSshPublicKeys() != null;
+        final TagDiff tagDiff = TagHelper.tagDiff(request);
 
         return ProgressEvent.progress(newModel, callbackContext)
-                .then(progress -> updateUser(proxy, proxyClient, clientRequestToken, progress))
-                .then(progress ->
-                        deleteSshPublicKeys(proxy, proxyClient, clientRequestToken, UPDATE, keysToDelete, progress))
-                .then(progress ->
-                        importSshPublicKeys(proxy, proxyClient, clientRequestToken, UPDATE, keysToAdd, progress))
-                .then(progress -> addTags(progress, request, newModel, proxy, proxyClient, callbackContext))
-                .then(progress -> removeTags(progress, request, newModel, proxy, proxyClient, callbackContext))
-                .then(progress ->
-                        new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger));
+                .then(tracer.stage(
+                        "updateUser", progress -> updateUser(proxy, proxyClient, clientRequestToken, progress)))
+                .then(tracer.stage("reconcileSshPublicKeys", progress -> manageKeys
+                        ? reconcileSshPublicKeys(
+                                proxyClient, clientRequestToken, UPDATE, previousKeys, requestedKeys, progress)
+                        : progress))
+                .then(tracer.stage("removeTags", progress ->
+                        removeTags(progress, request, tagDiff, newModel, proxy, proxyClient, callbackContext)))
+                .then(tracer.stage("addTags", progress ->
+                        addTags(progress, request, tagDiff, newModel, proxy, proxyClient, callbackContext)))
+                .then(tracer.stage("read", progress ->
+                        new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger)));
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> updateUser(
@@ -88,11 +80,10 @@ public class UpdateHandler extends BaseHandlerStd {
     }
 
     private UpdateUserResponse updateUser(UpdateUserRequest request, ProxyClient<TransferClient> client) {
-        try (TransferClient transferClient = client.client()) {
-            UpdateUserResponse response = client.injectCredentialsAndInvokeV2(request, transferClient::updateUser);
-            log("has successfully been updated.", userIdentifier(request.serverId(), request.userName()));
-            return response;
-        }
+        TransferClient transferClient = client.client();
+        UpdateUserResponse response = client.injectCredentialsAndInvokeV2(request, transferClient::updateUser);
+        log("has successfully been updated.", userIdentifier(request.serverId(), request.userName()));
+        return response;
     }
 
     private UpdateUserRequest translateToUpdateRequest(final ResourceModel model) {
@@ -1,15 +1,15 @@
 package software.amazon.transfer.user.translators;
 
-import com.amazonaws.arn.Arn;
-import com.amazonaws.arn.ArnResource;
 import com.amazonaws.regions.Region;
 
+import software.amazon.transfer.commons.TransferArn;
+
 /** Transfer service base ARN class. */
 public abstract class BaseArn {
     static final String RESOURCE_DELIMITER = "/";
 
     /** Public SDK name of the service. */
-    static final String SERVICE_NAME = "transfer";
+    static final String SERVICE_NAME = TransferArn.SERVICE;
 
     private final Region region;
     private final String accountId;
@@ -36,24 +36,7 @@ public abstract class BaseArn {
     }
 
     public String getArn() {
-        String resource = ArnResource.builder()
-                .withResourceType(getResourceType())
-                .withResource(getResourceId())
-                .build()
-                .toString()
-                .replace(":", RESOURCE_DELIMITER);
-
-        return Arn.builder()
-                .withPartition(getRegion().getPartition())
-                .withService(SERVICE_NAME)
-                .withRegion(getRegion().getName())
-                .withAccountId(getAccountId())
-                .withResource(resource)
-                .build()
-                .toString();
-    }
-
-    protected static String[] getRelativeIdParts(Arn arn) {
-        return arn.getResourceAsString().split(RESOURCE_DELIMITER, -1);
+        return TransferArn.format(
+                getRegion().getPartition(), getRegion().getName(), getAccountId(), getResourceType(), getResourceId());
     }
 }
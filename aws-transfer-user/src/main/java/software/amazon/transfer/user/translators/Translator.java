@@ -16,12 +16,12 @@ import software.amazon.awssdk.services.transfer.model.HomeDirectoryMapEntry;
 import software.amazon.awssdk.services.transfer.model.TagResourceRequest;
 import software.amazon.awssdk.services.transfer.model.UntagResourceRequest;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.TransferArn;
 import software.amazon.transfer.user.PosixProfile;
 import software.amazon.transfer.user.ResourceModel;
 import software.amazon.transfer.user.Tag;
 
 import com.amazonaws.regions.Region;
-import com.amazonaws.regions.Regions;
 
 /**
  * This class is a centralized placeholder for - api request construction - object translation
@@ -153,7 +153,7 @@ public final class Translator {
     }
 
     public static String generateUserArn(ResourceHandlerRequest<ResourceModel> request) {
-        Region region = Region.getRegion(Regions.fromName(request.getRegion()));
+        Region region = TransferArn.region(request.getRegion());
         return new UserArn(
                         region,
                         request.getAwsAccountId(),
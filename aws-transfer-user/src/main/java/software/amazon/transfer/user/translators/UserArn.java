@@ -1,16 +1,13 @@
 package software.amazon.transfer.user.translators;
 
-import com.amazonaws.arn.Arn;
 import com.amazonaws.regions.Region;
-import com.amazonaws.regions.RegionUtils;
+
+import software.amazon.transfer.commons.TransferArn;
 
 /** Arn representing an SFTP user. */
 public class UserArn extends BaseArn {
-    /** Number of parts delimited by {@link #RESOURCE_DELIMITER} in relativeId of ARN. */
-    private static final int RELATIVE_ID_PARTS = 3;
-
     /** User resource type. */
-    static final String USER = "user";
+    static final String USER = TransferArn.ResourceType.USER.getName();
 
     private final String serverId;
 
@@ -39,16 +36,8 @@ public class UserArn extends BaseArn {
     }
 
     public static UserArn fromString(String arn) {
-        return fromArn(Arn.fromString(arn));
-    }
-
-    static UserArn fromArn(Arn arn) {
-        String[] relativeIdParts = getRelativeIdParts(arn);
-        if (relativeIdParts.length != RELATIVE_ID_PARTS || !relativeIdParts[0].equals(USER)) {
-            throw new IllegalArgumentException("Invalid User ARN: " + arn.toString());
-        }
-
-        Region r = RegionUtils.getRegion(arn.getRegion());
-        return new UserArn(r, arn.getAccountId(), relativeIdParts[1], relativeIdParts[2]);
+        TransferArn parsed = TransferArn.parse(arn, TransferArn.ResourceType.USER);
+        return new UserArn(
+                TransferArn.region(parsed.getRegion()), parsed.getAccountId(), parsed.getId(), parsed.getChildId());
     }
 }
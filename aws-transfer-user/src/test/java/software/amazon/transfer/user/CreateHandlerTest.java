@@ -5,21 +5,26 @@ import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static software.amazon.transfer.user.BaseHandlerStd.THROTTLE_CALLBACK_DELAY_SECONDS;
 import static software.amazon.transfer.user.translators.Translator.generateUserArn;
 
+import java.util.List;
+
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
 import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import software.amazon.awssdk.services.transfer.model.CreateUserRequest;
 import software.amazon.awssdk.services.transfer.model.CreateUserResponse;
 import software.amazon.awssdk.services.transfer.model.DescribeUserRequest;
 import software.amazon.awssdk.services.transfer.model.DescribeUserResponse;
+import software.amazon.awssdk.services.transfer.model.ImportSshPublicKeyRequest;
 import software.amazon.awssdk.services.transfer.model.ThrottlingException;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
@@ -108,6 +113,32 @@ public class CreateHandlerTest extends AbstractTestBase {
         verify(sdkClient, atLeastOnce()).describeUser(any(DescribeUserRequest.class));
     }
 
+    @Test
+    public void handleRequest_ImportsSshPublicKeys() {
+        final ResourceModel model = simpleUserModel();
+        model.setSshPublicKeys(List.of("ssh-rsa AAAA1", "ssh-rsa AAAA2"));
+
+        final ResourceHandlerRequest<ResourceModel> request =
+                requestBuilder().desiredResourceState(model).build();
+
+        model.setArn(generateUserArn(request));
+        doReturn(CreateUserResponse.builder().build()).when(sdkClient).createUser(any(CreateUserRequest.class));
+        doReturn(describeUserResponseFromModel(model)).when(sdkClient).describeUser(any(DescribeUserRequest.class));
+
+        ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        softly.assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        softly.assertThat(response.getResourceModel().getSshPublicKeys()).isEqualTo(model.getSshPublicKeys());
+
+        ArgumentCaptor<ImportSshPublicKeyRequest> imports = ArgumentCaptor.forClass(ImportSshPublicKeyRequest.class);
+        verify(sdkClient, times(2)).importSshPublicKey(imports.capture());
+        softly.assertThat(imports.getAllValues())
+                .extracting(ImportSshPublicKeyRequest::sshPublicKeyBody)
+                .containsExactlyInAnyOrder("ssh-rsa AAAA1", "ssh-rsa AAAA2");
+    }
+
     private void setupCreateUserResponse() {
         CreateUserResponse createUserResponse = CreateUserResponse.builder()
                 .serverId("testServerId")
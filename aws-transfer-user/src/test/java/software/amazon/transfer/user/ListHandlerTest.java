@@ -1,8 +1,12 @@
 package software.amazon.transfer.user;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static software.amazon.transfer.user.BaseHandlerStd.THROTTLE_CALLBACK_DELAY_SECONDS;
 
 import org.assertj.core.api.SoftAssertions;
@@ -78,4 +82,42 @@ public class ListHandlerTest extends AbstractTestBase {
         softly.assertThat(result.getServerId()).isEqualTo(model.getServerId());
         softly.assertThat(result.getUserName()).isEqualTo(model.getUserName());
     }
+
+    @Test
+    public void handleRequest_DrainsPagesAtServicePageSize() {
+        final ResourceModel model = simpleUserModel();
+
+        final ResourceHandlerRequest<ResourceModel> request =
+                requestBuilder().desiredResourceState(model).build();
+
+        ListUsersResponse firstPage = ListUsersResponse.builder()
+                .serverId(model.getServerId())
+                .users(ListedUser.builder().userName("first").build())
+                .nextToken("page2")
+                .build();
+        ListUsersResponse secondPage = ListUsersResponse.builder()
+                .serverId(model.getServerId())
+                .users(ListedUser.builder().userName("second").build())
+                .build();
+        doReturn(firstPage)
+                .when(sdkClient)
+                .listUsers(argThat((ListUsersRequest r) -> r.maxResults() == 1000 && r.nextToken() == null));
+        doReturn(secondPage)
+                .when(sdkClient)
+                .listUsers(argThat((ListUsersRequest r) -> "page2".equals(r.nextToken())));
+
+        ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        softly.assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        softly.assertThat(response.getNextToken()).isNull();
+        softly.assertThat(response.getResourceModels())
+                .extracting(ResourceModel::getUserName)
+                .containsExactly("first", "second");
+        softly.assertThat(response.getResourceModels())
+                .extracting(ResourceModel::getServerId)
+                .containsOnly(model.getServerId());
+
+        verify(sdkClient, times(2)).listUsers(any(ListUsersRequest.class));
+    }
 }
@@ -0,0 +1,188 @@
+package software.amazon.transfer.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.services.transfer.model.DeleteSshPublicKeyRequest;
+import software.amazon.awssdk.services.transfer.model.DescribeUserRequest;
+import software.amazon.awssdk.services.transfer.model.DescribeUserResponse;
+import software.amazon.awssdk.services.transfer.model.DescribedUser;
+import software.amazon.awssdk.services.transfer.model.ImportSshPublicKeyRequest;
+import software.amazon.awssdk.services.transfer.model.ResourceExistsException;
+import software.amazon.awssdk.services.transfer.model.SshPublicKey;
+import software.amazon.awssdk.services.transfer.model.ThrottlingException;
+
+public class SshKeyReconcilerTest extends AbstractTestBase {
+    private static final String KEY_1 = "ssh-rsa AAAA1 one@example.com";
+    private static final String KEY_2 = "ssh-rsa AAAA2 two@example.com";
+    private static final String KEY_3 = "ssh-rsa AAAA3 three@example.com";
+
+    private final SshKeyReconciler reconciler = new SshKeyReconciler();
+    private ResourceModel model;
+
+    @BeforeEach
+    public void setupModel() {
+        model = simpleUserModel();
+    }
+
+    @Test
+    public void diffIgnoresWhitespaceAndDuplicates() {
+        SshKeyReconciler.Diff diff = SshKeyReconciler.diff(
+                List.of(KEY_1, KEY_2), List.of("  ssh-rsa   AAAA1 one@example.com\n", KEY_3, KEY_3));
+
+        assertThat(diff.getToImport()).containsOnlyKeys(digest(KEY_3));
+        assertThat(diff.getToImport()).containsValue(KEY_3);
+        assertThat(diff.getToDelete()).containsExactly(digest(KEY_2));
+    }
+
+    @Test
+    public void importsManyKeysInParallel() {
+        List<String> keys = IntStream.range(0, 50)
+                .mapToObj(i -> "ssh-rsa AAAA" + i)
+                .collect(Collectors.toList());
+        CallbackContext context = new CallbackContext();
+
+        List<Exception> failures = reconciler.reconcile(
+                proxyClient, model, SshKeyReconciler.diff(List.of(), keys), context);
+
+        assertThat(failures).isEmpty();
+        assertThat(context.getImportedSshKeys()).hasSize(50);
+        verify(sdkClient, times(50)).importSshPublicKey(any(ImportSshPublicKeyRequest.class));
+        verify(sdkClient, never()).describeUser(any(DescribeUserRequest.class));
+    }
+
+    @Test
+    public void partialFailureResumesWithTheKeysLeft() {
+        doThrow(ThrottlingException.builder().build())
+                .when(sdkClient)
+                .importSshPublicKey(argThat((ImportSshPublicKeyRequest r) -> KEY_2.equals(r.sshPublicKeyBody())));
+        SshKeyReconciler.Diff diff = SshKeyReconciler.diff(List.of(), List.of(KEY_1, KEY_2, KEY_3));
+        CallbackContext context = new CallbackContext();
+
+        List<Exception> failures = reconciler.reconcile(proxyClient, model, diff, context);
+
+        assertThat(failures).hasSize(1).first().isInstanceOf(ThrottlingException.class);
+        assertThat(context.getImportedSshKeys()).containsExactlyInAnyOrder(digest(KEY_1), digest(KEY_3));
+
+        // The next invocation only retries the key that failed.
+        doReturn(null).when(sdkClient).importSshPublicKey(any(ImportSshPublicKeyRequest.class));
+        failures = reconciler.reconcile(proxyClient, model, diff, context);
+
+        assertThat(failures).isEmpty();
+        verify(sdkClient, times(2))
+                .importSshPublicKey(argThat((ImportSshPublicKeyRequest r) -> KEY_2.equals(r.sshPublicKeyBody())));
+        verify(sdkClient, times(4)).importSshPublicKey(any(ImportSshPublicKeyRequest.class));
+    }
+
+    @Test
+    public void keysAlreadyImportedCountAsDone() {
+        doThrow(ResourceExistsException.builder().build())
+                .when(sdkClient)
+                .importSshPublicKey(any(ImportSshPublicKeyRequest.class));
+        CallbackContext context = new CallbackContext();
+
+        List<Exception> failures =
+                reconciler.reconcile(proxyClient, model, SshKeyReconciler.diff(List.of(), List.of(KEY_1)), context);
+
+        assertThat(failures).isEmpty();
+        assertThat(context.getImportedSshKeys()).containsExactly(digest(KEY_1));
+    }
+
+    @Test
+    public void deletesByKeyIdAndSkipsKeysAlreadyGone() {
+        doReturn(describeUserWithKeys(SshPublicKey.builder()
+                        .sshPublicKeyId("key-2")
+                        .sshPublicKeyBody(" " + KEY_2)
+                        .build()))
+                .when(sdkClient)
+                .describeUser(any(DescribeUserRequest.class));
+        SshKeyReconciler.Diff diff = SshKeyReconciler.diff(List.of(KEY_1, KEY_2, KEY_3), List.of(KEY_1));
+        CallbackContext context = new CallbackContext();
+
+        List<Exception> failures = reconciler.reconcile(proxyClient, model, diff, context);
+
+        assertThat(failures).isEmpty();
+        assertThat(context.getDeletedSshKeys()).containsExactlyInAnyOrder(digest(KEY_2), digest(KEY_3));
+        verify(sdkClient, times(1)).deleteSshPublicKey(any(DeleteSshPublicKeyRequest.class));
+        verify(sdkClient)
+                .deleteSshPublicKey(argThat((DeleteSshPublicKeyRequest r) -> "key-2".equals(r.sshPublicKeyId())));
+
+        // Nothing is left, so a new invocation does not even describe the user.
+        reconciler.reconcile(proxyClient, model, diff, context);
+        verify(sdkClient, times(1)).describeUser(any(DescribeUserRequest.class));
+    }
+
+    @Test
+    public void deletesEveryCopyOfAKey() {
+        doReturn(describeUserWithKeys(
+                        SshPublicKey.builder()
+                                .sshPublicKeyId("key-2")
+                                .sshPublicKeyBody(KEY_2)
+                                .build(),
+                        SshPublicKey.builder()
+                                .sshPublicKeyId("key-2-copy")
+                                .sshPublicKeyBody("  " + KEY_2 + "\n")
+                                .build()))
+                .when(sdkClient)
+                .describeUser(any(DescribeUserRequest.class));
+        CallbackContext context = new CallbackContext();
+
+        List<Exception> failures = reconciler.reconcile(
+                proxyClient, model, SshKeyReconciler.diff(List.of(KEY_1, KEY_2), List.of(KEY_1)), context);
+
+        assertThat(failures).isEmpty();
+        assertThat(context.getDeletedSshKeys()).containsExactly(digest(KEY_2));
+        verify(sdkClient, times(2)).deleteSshPublicKey(any(DeleteSshPublicKeyRequest.class));
+        verify(sdkClient)
+                .deleteSshPublicKey(argThat((DeleteSshPublicKeyRequest r) -> "key-2".equals(r.sshPublicKeyId())));
+        verify(sdkClient)
+                .deleteSshPublicKey(
+                        argThat((DeleteSshPublicKeyRequest r) -> "key-2-copy".equals(r.sshPublicKeyId())));
+    }
+
+    @Test
+    public void failedDeletesHoldBackImports() {
+        doReturn(describeUserWithKeys(SshPublicKey.builder()
+                        .sshPublicKeyId("key-2")
+                        .sshPublicKeyBody(KEY_2)
+                        .build()))
+                .when(sdkClient)
+                .describeUser(any(DescribeUserRequest.class));
+        doThrow(ThrottlingException.builder().build())
+                .when(sdkClient)
+                .deleteSshPublicKey(any(DeleteSshPublicKeyRequest.class));
+
+        List<Exception> failures = reconciler.reconcile(
+                proxyClient, model, SshKeyReconciler.diff(List.of(KEY_2), List.of(KEY_3)), new CallbackContext());
+
+        assertThat(failures).hasSize(1);
+        verify(sdkClient, never()).importSshPublicKey(any(ImportSshPublicKeyRequest.class));
+    }
+
+    private DescribeUserResponse describeUserWithKeys(SshPublicKey... keys) {
+        return DescribeUserResponse.builder()
+                .serverId(model.getServerId())
+                .user(DescribedUser.builder()
+                        .userName(model.getUserName())
+                        .sshPublicKeys(keys)
+                        .build())
+                .build();
+    }
+
+    private static String digest(String key) {
+        return SshKeyReconciler.digest(key);
+    }
+}
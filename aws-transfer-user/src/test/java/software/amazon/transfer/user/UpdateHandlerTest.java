@@ -1,10 +1,13 @@
 package software.amazon.transfer.user;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -21,13 +24,17 @@ import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
 import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Stubber;
 
 import software.amazon.awssdk.services.transfer.model.DeleteSshPublicKeyRequest;
 import software.amazon.awssdk.services.transfer.model.DescribeUserRequest;
 import software.amazon.awssdk.services.transfer.model.DescribeUserResponse;
+import software.amazon.awssdk.services.transfer.model.DescribedUser;
 import software.amazon.awssdk.services.transfer.model.ImportSshPublicKeyRequest;
+import software.amazon.awssdk.services.transfer.model.ImportSshPublicKeyResponse;
+import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
 import software.amazon.awssdk.services.transfer.model.SshPublicKey;
 import software.amazon.awssdk.services.transfer.model.TagResourceRequest;
 import software.amazon.awssdk.services.transfer.model.TagResourceResponse;
@@ -36,6 +43,7 @@ import software.amazon.awssdk.services.transfer.model.UntagResourceRequest;
 import software.amazon.awssdk.services.transfer.model.UntagResourceResponse;
 import software.amazon.awssdk.services.transfer.model.UpdateUserRequest;
 import software.amazon.awssdk.services.transfer.model.UpdateUserResponse;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
@@ -79,6 +87,87 @@ public class UpdateHandlerTest extends AbstractTestBase {
         verify(sdkClient, times(2)).deleteSshPublicKey(any(DeleteSshPublicKeyRequest.class));
     }
 
+    @Test
+    public void handleRequest_DeletesKeysBeforeImportingTheNewOnes() {
+        ResourceModel current = simpleUserModel();
+        current.setSshPublicKeys(List.of("ssh-rsa AAAA1", "ssh-rsa AAAA2"));
+
+        ResourceModel desired = simpleUserModel();
+        desired.setSshPublicKeys(List.of("ssh-rsa AAAA2", "ssh-rsa AAAA3"));
+
+        final ResourceHandlerRequest<ResourceModel> request = requestBuilder()
+                .previousResourceState(current)
+                .desiredResourceState(desired)
+                .build();
+
+        doReturn(UpdateUserResponse.builder().build()).when(sdkClient).updateUser(any(UpdateUserRequest.class));
+        DescribeUserResponse keysBefore = DescribeUserResponse.builder()
+                .serverId(current.getServerId())
+                .user(DescribedUser.builder()
+                        .arn(current.getArn())
+                        .userName(current.getUserName())
+                        .sshPublicKeys(
+                                SshPublicKey.builder()
+                                        .sshPublicKeyId("key-1")
+                                        .sshPublicKeyBody("ssh-rsa AAAA1")
+                                        .build(),
+                                SshPublicKey.builder()
+                                        .sshPublicKeyId("key-2")
+                                        .sshPublicKeyBody("ssh-rsa AAAA2")
+                                        .build())
+                        .build())
+                .build();
+        doReturn(keysBefore)
+                .doReturn(describeUserResponseFromModel(desired))
+                .when(sdkClient)
+                .describeUser(any(DescribeUserRequest.class));
+
+        callAndAssertSuccess(request, List.of());
+
+        InOrder calls = inOrder(sdkClient);
+        calls.verify(sdkClient)
+                .deleteSshPublicKey(argThat((DeleteSshPublicKeyRequest r) -> r.sshPublicKeyId().equals("key-1")));
+        calls.verify(sdkClient)
+                .importSshPublicKey(
+                        argThat((ImportSshPublicKeyRequest r) -> r.sshPublicKeyBody().equals("ssh-rsa AAAA3")));
+        verify(sdkClient, times(1)).deleteSshPublicKey(any(DeleteSshPublicKeyRequest.class));
+        verify(sdkClient, times(1)).importSshPublicKey(any(ImportSshPublicKeyRequest.class));
+    }
+
+    @Test
+    public void handleRequest_FailedImportIsReported() {
+        ResourceModel current = simpleUserModel();
+        ResourceModel desired = simpleUserModel();
+        desired.setSshPublicKeys(List.of("ssh-rsa AAAA1", "ssh-rsa AAAA2"));
+
+        final ResourceHandlerRequest<ResourceModel> request = requestBuilder()
+                .previousResourceState(current)
+                .desiredResourceState(desired)
+                .build();
+
+        doReturn(UpdateUserResponse.builder().build()).when(sdkClient).updateUser(any(UpdateUserRequest.class));
+        doAnswer(invocation -> {
+                    ImportSshPublicKeyRequest importRequest = invocation.getArgument(0);
+                    if (importRequest.sshPublicKeyBody().equals("ssh-rsa AAAA2")) {
+                        throw InvalidRequestException.builder().message("bad key").build();
+                    }
+                    return ImportSshPublicKeyResponse.builder().build();
+                })
+                .when(sdkClient)
+                .importSshPublicKey(any(ImportSshPublicKeyRequest.class));
+
+        ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        softly.assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        softly.assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        softly.assertThat(response.getMessage()).contains("bad key");
+
+        verify(sdkClient, times(2)).importSshPublicKey(any(ImportSshPublicKeyRequest.class));
+        verify(sdkClient, never()).describeUser(any(DescribeUserRequest.class));
+    }
+
     @Test
     public void handleRequest_VerifyAddingAndRemovingTags() {
         Tag tag1 = Tag.builder().key("key1").value("value1").build();
@@ -1,16 +1,18 @@
 package software.amazon.transfer.webapp;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+
 import org.apache.commons.lang3.StringUtils;
 
-import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.transfer.TransferClient;
-import software.amazon.awssdk.services.transfer.model.AccessDeniedException;
-import software.amazon.awssdk.services.transfer.model.InvalidNextTokenException;
-import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
-import software.amazon.awssdk.services.transfer.model.ResourceExistsException;
+import software.amazon.awssdk.services.transfer.model.DescribeWebAppCustomizationRequest;
+import software.amazon.awssdk.services.transfer.model.DescribeWebAppCustomizationResponse;
+import software.amazon.awssdk.services.transfer.model.DescribeWebAppRequest;
+import software.amazon.awssdk.services.transfer.model.DescribeWebAppResponse;
 import software.amazon.awssdk.services.transfer.model.ResourceNotFoundException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
@@ -18,7 +20,11 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.transfer.webapp.translators.TagHelper;
+import software.amazon.transfer.commons.CallMetrics;
+import software.amazon.transfer.commons.Priming;
+import software.amazon.transfer.commons.RateLimiter;
+import software.amazon.transfer.commons.ServiceErrors;
+import software.amazon.transfer.commons.TagDiff;
 import software.amazon.transfer.webapp.translators.Translator;
 
 /**
@@ -39,6 +45,13 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
     private static final String ACCESS_DENIED_ERROR_CODE = "AccessDenied";
     protected Logger logger;
 
+    // Run before a SnapStart checkpoint, see Priming.
+    static {
+        Priming.register(ClientBuilder::getClient);
+        Priming.register(() -> Priming.roundTrip(new ResourceModel(), new TypeReference<ResourceModel>() {}));
+        Priming.register(() -> Priming.roundTrip(new CallbackContext(), new TypeReference<CallbackContext>() {}));
+    }
+
     @Override
     public final ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -46,12 +59,15 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
             final CallbackContext callbackContext,
             final Logger logger) {
         this.logger = logger;
-
-        return handleRequest(
-                proxy,
-                request,
-                callbackContext != null ? callbackContext : new CallbackContext(),
-                proxy.newProxy(ClientBuilder::getClient),
+        CallMetrics metrics = CallMetrics.start(ResourceModel.TYPE_NAME, this);
+
+        return metrics.measure(
+                () -> handleRequest(
+                        proxy,
+                        request,
+                        callbackContext != null ? callbackContext : new CallbackContext(),
+                        RateLimiter.DEFAULT.pace(metrics.instrument(proxy.newProxy(ClientBuilder::getClient)), request),
+                        logger),
                 logger);
     }
 
@@ -79,28 +95,8 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
             final CallbackContext context,
             final String clientRequestToken) {
 
-        if (exception instanceof ResourceExistsException) {
-            return translateToFailure(operation, exception, HandlerErrorCode.AlreadyExists, model, clientRequestToken);
-        }
-
-        if (exception instanceof ResourceNotFoundException) {
-            return translateToFailure(operation, exception, HandlerErrorCode.NotFound, model, clientRequestToken);
-        }
-
-        if (exception instanceof AccessDeniedException) {
-            return translateToFailure(operation, exception, HandlerErrorCode.AccessDenied, model, clientRequestToken);
-        }
-
-        if (exception instanceof InvalidRequestException) {
-            return translateToFailure(operation, exception, HandlerErrorCode.InvalidRequest, model, clientRequestToken);
-        }
-
-        if (exception instanceof InvalidNextTokenException) {
-            return translateToFailure(operation, exception, HandlerErrorCode.InvalidRequest, model, clientRequestToken);
-        }
-
         return translateToFailure(
-                operation, exception, HandlerErrorCode.GeneralServiceException, model, clientRequestToken);
+                operation, exception, ServiceErrors.toHandlerErrorCode(exception), model, clientRequestToken);
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> translateToFailure(
@@ -114,33 +110,46 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
         return ProgressEvent.defaultFailureHandler(exception, errorCode);
     }
 
-    private String getErrorCode(Exception e) {
-        if (e instanceof AwsServiceException && ((AwsServiceException) e).awsErrorDetails() != null) {
-            return ((AwsServiceException) e).awsErrorDetails().errorCode();
-        }
-        return e.getMessage();
-    }
-
     protected void log(String message, Object identifier) {
         logger.log(String.format("%s [%s] %s", ResourceModel.TYPE_NAME, identifier, message));
     }
 
+    protected DescribeWebAppResponse readWebApp(DescribeWebAppRequest awsRequest, ProxyClient<TransferClient> client) {
+        TransferClient transferClient = client.client();
+        DescribeWebAppResponse awsResponse =
+                client.injectCredentialsAndInvokeV2(awsRequest, transferClient::describeWebApp);
+        log("has been read successfully.", awsRequest.webAppId());
+        return awsResponse;
+    }
+
+    protected DescribeWebAppCustomizationResponse readWebAppCustomization(
+            DescribeWebAppCustomizationRequest awsRequest, ProxyClient<TransferClient> client) {
+        TransferClient transferClient = client.client();
+        try {
+            DescribeWebAppCustomizationResponse awsResponse =
+                    client.injectCredentialsAndInvokeV2(awsRequest, transferClient::describeWebAppCustomization);
+            log("has been read successfully.", awsRequest.webAppId());
+            return awsResponse;
+        } catch (ResourceNotFoundException e) {
+            log("No web app customization to add", awsRequest.webAppId());
+            return null;
+        }
+    }
+
     protected ProgressEvent<ResourceModel, CallbackContext> addTags(
             ProgressEvent<ResourceModel, CallbackContext> progress,
             ResourceHandlerRequest<ResourceModel> request,
+            TagDiff tagDiff,
             ResourceModel resourceModel,
             AmazonWebServicesClientProxy proxy,
             ProxyClient<TransferClient> proxyClient,
             CallbackContext callbackContext) {
-        if (TagHelper.shouldUpdateTags(request)) {
-
-            Map<String, String> previousTags = TagHelper.getPreviouslyAttachedTags(request);
-            Map<String, String> desiredTags = TagHelper.getNewDesiredTags(request);
-            Map<String, String> tagsToAdd = TagHelper.generateTagsToAdd(previousTags, desiredTags);
-
-            if (!tagsToAdd.isEmpty()) {
-                progress = tagResource(proxy, proxyClient, resourceModel, request, callbackContext, tagsToAdd);
-            }
+        List<Map<String, String>> batches = tagDiff.getTagsToAddBatches();
+        for (int i = 0; i < batches.size(); i++) {
+            String callGraph = "AWS-Transfer-Web-App::TagResource-" + i;
+            Map<String, String> batch = batches.get(i);
+            progress = progress.then(p ->
+                    tagResource(proxy, proxyClient, resourceModel, request, callbackContext, callGraph, batch));
         }
         return progress;
     }
@@ -151,18 +160,18 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
             final ResourceModel resourceModel,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
+            final String callGraph,
             final Map<String, String> addedTags) {
         logger.log(String.format(
                 "[UPDATE][IN PROGRESS] Going to add tags for web app: %s with AccountId: %s",
                 resourceModel.getWebAppId(), request.getAwsAccountId()));
         final String clientRequestToken = request.getClientRequestToken();
 
-        return proxy.initiate("AWS-Transfer-Web-Apps::TagOps", serviceClient, resourceModel, callbackContext)
+        return proxy.initiate(callGraph, serviceClient, resourceModel, callbackContext)
                 .translateToServiceRequest(model -> Translator.tagResourceRequest(model, addedTags))
                 .makeServiceCall((tagRequest, client) -> {
-                    try (TransferClient transferClient = client.client()) {
-                        return client.injectCredentialsAndInvokeV2(tagRequest, transferClient::tagResource);
-                    }
+                    TransferClient transferClient = client.client();
+                    return client.injectCredentialsAndInvokeV2(tagRequest, transferClient::tagResource);
                 })
                 .handleError((ignored, exception, proxyClient, model, context) -> {
                     if (isEnvironmentTaggingException(exception)) {
@@ -177,19 +186,17 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
     protected ProgressEvent<ResourceModel, CallbackContext> removeTags(
             ProgressEvent<ResourceModel, CallbackContext> progress,
             ResourceHandlerRequest<ResourceModel> request,
+            TagDiff tagDiff,
             ResourceModel resourceModel,
             AmazonWebServicesClientProxy proxy,
             ProxyClient<TransferClient> proxyClient,
             CallbackContext callbackContext) {
-        if (TagHelper.shouldUpdateTags(request)) {
-
-            Map<String, String> previousTags = TagHelper.getPreviouslyAttachedTags(request);
-            Map<String, String> desiredTags = TagHelper.getNewDesiredTags(request);
-            Set<String> tagsKeysToRemove = TagHelper.generateTagsToRemove(previousTags, desiredTags);
-
-            if (!tagsKeysToRemove.isEmpty()) {
-                progress = untagResource(proxy, proxyClient, resourceModel, request, callbackContext, tagsKeysToRemove);
-            }
+        List<Set<String>> batches = tagDiff.getTagKeysToRemoveBatches();
+        for (int i = 0; i < batches.size(); i++) {
+            String callGraph = "AWS-Transfer-Web-App::UntagResource-" + i;
+            Set<String> batch = batches.get(i);
+            progress = progress.then(p ->
+                    untagResource(proxy, proxyClient, resourceModel, request, callbackContext, callGraph, batch));
         }
         return progress;
     }
@@ -200,18 +207,18 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
             final ResourceModel resourceModel,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
+            final String callGraph,
             final Set<String> removedTags) {
         logger.log(String.format(
                 "[UPDATE][IN PROGRESS] Going to remove tags for web app: %s with AccountId: %s",
                 resourceModel.getWebAppId(), request.getAwsAccountId()));
         final String clientRequestToken = request.getClientRequestToken();
 
-        return proxy.initiate("AWS-Transfer-Web-App::TagOps", serviceClient, resourceModel, callbackContext)
+        return proxy.initiate(callGraph, serviceClient, resourceModel, callbackContext)
                 .translateToServiceRequest(model -> Translator.untagResourceRequest(model, removedTags))
                 .makeServiceCall((untagRequest, client) -> {
-                    try (TransferClient transferClient = client.client()) {
-                        return client.injectCredentialsAndInvokeV2(untagRequest, transferClient::untagResource);
-                    }
+                    TransferClient transferClient = client.client();
+                    return client.injectCredentialsAndInvokeV2(untagRequest, transferClient::untagResource);
                 })
                 .handleError((ignored, exception, proxyClient, model, context) -> {
                     if (isEnvironmentTaggingException(exception)) {
@@ -224,6 +231,6 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
     }
 
     private boolean isEnvironmentTaggingException(Exception e) {
-        return StringUtils.equals(ACCESS_DENIED_ERROR_CODE, getErrorCode(e));
+        return StringUtils.equals(ACCESS_DENIED_ERROR_CODE, ServiceErrors.errorCode(e));
     }
 }
@@ -2,9 +2,16 @@ package software.amazon.transfer.webapp;
 
 import software.amazon.awssdk.services.transfer.TransferClient;
 import software.amazon.cloudformation.LambdaWrapper;
+import software.amazon.transfer.commons.ClientRegistry;
 
 public class ClientBuilder {
+    private static final ClientRegistry<TransferClient> CLIENTS = new ClientRegistry<>(ClientBuilder::newClient);
+
     public static TransferClient getClient() {
+        return CLIENTS.get();
+    }
+
+    public static TransferClient newClient() {
         return TransferClient.builder().httpClient(LambdaWrapper.HTTP_CLIENT).build();
     }
 }
@@ -2,12 +2,10 @@ package software.amazon.transfer.webapp;
 
 import static software.amazon.transfer.webapp.translators.TagHelper.setDesiredTags;
 
-import java.util.Base64;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 
-import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.transfer.TransferClient;
 import software.amazon.awssdk.services.transfer.model.CreateWebAppRequest;
 import software.amazon.awssdk.services.transfer.model.CreateWebAppResponse;
@@ -22,10 +20,11 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.TransferArn;
+import software.amazon.transfer.webapp.translators.CustomizationFiles;
 import software.amazon.transfer.webapp.translators.WebAppArn;
 
 import com.amazonaws.regions.Region;
-import com.amazonaws.regions.RegionUtils;
 
 public class CreateHandler extends BaseHandlerStd {
 
@@ -105,12 +104,10 @@ public class CreateHandler extends BaseHandlerStd {
     }
 
     private CreateWebAppResponse createWebApp(CreateWebAppRequest awsRequest, ProxyClient<TransferClient> client) {
-        try (TransferClient transferClient = client.client()) {
-            CreateWebAppResponse response =
-                    client.injectCredentialsAndInvokeV2(awsRequest, transferClient::createWebApp);
-            log("web app created successfully", response.webAppId());
-            return response;
-        }
+        TransferClient transferClient = client.client();
+        CreateWebAppResponse response = client.injectCredentialsAndInvokeV2(awsRequest, transferClient::createWebApp);
+        log("web app created successfully", response.webAppId());
+        return response;
     }
 
     private boolean stabilizeAfterCreate(
@@ -120,7 +117,7 @@ public class CreateHandler extends BaseHandlerStd {
             ResourceModel model,
             CallbackContext ignored2) {
         String webAppId = awsResponse.webAppId();
-        Region region = RegionUtils.getRegion(request.getRegion());
+        Region region = TransferArn.region(request.getRegion());
         WebAppArn webAppArn = new WebAppArn(region, request.getAwsAccountId(), webAppId);
         model.setArn(webAppArn.getArn());
         model.setWebAppId(webAppId);
@@ -137,27 +134,17 @@ public class CreateHandler extends BaseHandlerStd {
         return UpdateWebAppCustomizationRequest.builder()
                 .webAppId(model.getWebAppId())
                 .title(model.getWebAppCustomization().getTitle())
-                .logoFile(convertFileToSdkBytes(model.getWebAppCustomization().getLogoFile()))
-                .faviconFile(
-                        convertFileToSdkBytes(model.getWebAppCustomization().getFaviconFile()))
+                .logoFile(CustomizationFiles.toSdkBytes(model.getWebAppCustomization().getLogoFile()))
+                .faviconFile(CustomizationFiles.toSdkBytes(model.getWebAppCustomization().getFaviconFile()))
                 .build();
     }
 
     private UpdateWebAppCustomizationResponse updateWebAppCustomization(
             UpdateWebAppCustomizationRequest awsRequest, ProxyClient<TransferClient> client) {
-        try (TransferClient transferClient = client.client()) {
-            UpdateWebAppCustomizationResponse response =
-                    client.injectCredentialsAndInvokeV2(awsRequest, transferClient::updateWebAppCustomization);
-            log("web app customization updated successfully", response.webAppId());
-            return response;
-        }
-    }
-
-    private SdkBytes convertFileToSdkBytes(String fileData) {
-        if (fileData == null) {
-            return null;
-        }
-        // Decode Base64 string to byte array, then convert to SdkBytes
-        return SdkBytes.fromByteArray(Base64.getDecoder().decode(fileData));
+        TransferClient transferClient = client.client();
+        UpdateWebAppCustomizationResponse response =
+                client.injectCredentialsAndInvokeV2(awsRequest, transferClient::updateWebAppCustomization);
+        log("web app customization updated successfully", response.webAppId());
+        return response;
     }
 }
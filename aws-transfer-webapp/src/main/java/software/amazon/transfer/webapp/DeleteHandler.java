@@ -43,10 +43,9 @@ public class DeleteHandler extends BaseHandlerStd {
     }
 
     private DeleteWebAppResponse deleteWebApp(DeleteWebAppRequest request, ProxyClient<TransferClient> client) {
-        try (TransferClient transferClient = client.client()) {
-            DeleteWebAppResponse response = client.injectCredentialsAndInvokeV2(request, transferClient::deleteWebApp);
-            log("successfully deleted.", request.webAppId());
-            return response;
-        }
+        TransferClient transferClient = client.client();
+        DeleteWebAppResponse response = client.injectCredentialsAndInvokeV2(request, transferClient::deleteWebApp);
+        log("successfully deleted.", request.webAppId());
+        return response;
     }
 }
@@ -3,17 +3,23 @@ package software.amazon.transfer.webapp;
 import java.util.List;
 
 import software.amazon.awssdk.services.transfer.TransferClient;
+import software.amazon.awssdk.services.transfer.model.DescribeWebAppCustomizationRequest;
+import software.amazon.awssdk.services.transfer.model.DescribeWebAppRequest;
 import software.amazon.awssdk.services.transfer.model.ListWebAppsRequest;
 import software.amazon.awssdk.services.transfer.model.ListWebAppsResponse;
+import software.amazon.awssdk.services.transfer.model.ListedWebApp;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.DescribeFanOut;
+import software.amazon.transfer.commons.Paginator;
 import software.amazon.transfer.webapp.translators.Translator;
 
 public class ListHandler extends BaseHandlerStd {
+    private DescribeFanOut describeFanOut = DescribeFanOut.fromEnvironment();
 
     @Override
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -32,24 +38,49 @@ public class ListHandler extends BaseHandlerStd {
                 .makeServiceCall(this::listWebApps)
                 .handleError((ignored, exception, client, model, context) ->
                         handleError(LIST, exception, model, context, clientRequestToken))
-                .done(response -> ProgressEvent.<ResourceModel, CallbackContext>builder()
-                        .resourceModels(translateFromListResponce(response))
-                        .nextToken(response.nextToken())
-                        .status(OperationStatus.SUCCESS)
-                        .build());
+                .done(response -> {
+                    List<ResourceModel> models;
+                    try {
+                        models = translateFromListResponce(response, proxyClient);
+                    } catch (Exception e) {
+                        return handleError(LIST, e, resourceModel, callbackContext, clientRequestToken);
+                    }
+                    return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                            .resourceModels(models)
+                            .nextToken(response.nextToken())
+                            .status(OperationStatus.SUCCESS)
+                            .build();
+                });
+    }
+
+    /** Replaces the fan-out the environment selects, e.g. to describe the listed web apps in a test. */
+    void useDescribeFanOut(DescribeFanOut describeFanOut) {
+        this.describeFanOut = describeFanOut;
     }
 
     private ListWebAppsRequest translateToListRequest(final String nextToken) {
-        return ListWebAppsRequest.builder().maxResults(10).nextToken(nextToken).build();
+        return ListWebAppsRequest.builder()
+                .maxResults(describeFanOut.getPaginator().getPageSize())
+                .nextToken(nextToken)
+                .build();
     }
 
     private ListWebAppsResponse listWebApps(ListWebAppsRequest awsRequest, ProxyClient<TransferClient> client) {
-        try (TransferClient transferClient = client.client()) {
-            return client.injectCredentialsAndInvokeV2(awsRequest, transferClient::listWebApps);
-        }
+        TransferClient transferClient = client.client();
+        Paginator.Page<ListedWebApp> page = describeFanOut.getPaginator().paginate(
+                awsRequest.nextToken(),
+                token -> client.injectCredentialsAndInvokeV2(
+                        awsRequest.toBuilder().nextToken(token).build(), transferClient::listWebApps),
+                ListWebAppsResponse::webApps,
+                ListWebAppsResponse::nextToken);
+        return ListWebAppsResponse.builder().webApps(page.getItems()).nextToken(page.getNextToken()).build();
     }
 
-    private List<ResourceModel> translateFromListResponce(final ListWebAppsResponse awsResponse) {
+    private List<ResourceModel> translateFromListResponce(
+            final ListWebAppsResponse awsResponse, final ProxyClient<TransferClient> client) {
+        if (describeFanOut.isEnabled()) {
+            return describeFanOut.describe(awsResponse.webApps(), webApp -> describeWebApp(webApp, client));
+        }
         return Translator.streamOfOrEmpty(awsResponse.webApps())
                 .map(resource -> ResourceModel.builder()
                         .arn(resource.arn())
@@ -57,4 +88,13 @@ public class ListHandler extends BaseHandlerStd {
                         .build())
                 .toList();
     }
+
+    private ResourceModel describeWebApp(final ListedWebApp webApp, final ProxyClient<TransferClient> client) {
+        DescribeWebAppRequest webAppRequest = DescribeWebAppRequest.builder().webAppId(webApp.webAppId()).build();
+        DescribeWebAppCustomizationRequest customizationRequest = DescribeWebAppCustomizationRequest.builder()
+                .webAppId(webApp.webAppId())
+                .build();
+        return ReadHandler.translateFromReadResponse(
+                readWebApp(webAppRequest, client), readWebAppCustomization(customizationRequest, client));
+    }
 }
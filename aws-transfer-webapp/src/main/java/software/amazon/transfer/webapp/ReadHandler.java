@@ -2,9 +2,9 @@ package software.amazon.transfer.webapp;
 
 import static software.amazon.transfer.webapp.translators.Translator.translateFromSdkTags;
 
-import java.util.Base64;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
-import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.transfer.TransferClient;
 import software.amazon.awssdk.services.transfer.model.DescribeWebAppCustomizationRequest;
 import software.amazon.awssdk.services.transfer.model.DescribeWebAppCustomizationResponse;
@@ -12,14 +12,20 @@ import software.amazon.awssdk.services.transfer.model.DescribeWebAppRequest;
 import software.amazon.awssdk.services.transfer.model.DescribeWebAppResponse;
 import software.amazon.awssdk.services.transfer.model.DescribedWebApp;
 import software.amazon.awssdk.services.transfer.model.DescribedWebAppCustomization;
-import software.amazon.awssdk.services.transfer.model.ResourceNotFoundException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.SharedExecutor;
+import software.amazon.transfer.webapp.translators.CustomizationFiles;
 import software.amazon.transfer.webapp.translators.Translator;
 
+/**
+ * Reads a web app and its customization. Both calls only need the web app ID, so the customization
+ * is described on the {@link SharedExecutor} while the web app is, and a read costs one round trip
+ * instead of two.
+ */
 public class ReadHandler extends BaseHandlerStd {
 
     @Override
@@ -36,22 +42,41 @@ public class ReadHandler extends BaseHandlerStd {
         final ResourceModel model = request.getDesiredResourceState();
         Translator.ensureWebAppIdInModel(model);
 
+        // Runs alongside DescribeWebApp; cancelled if that read fails.
+        Future<DescribeWebAppCustomizationResponse> customization = SharedExecutor.get()
+                .submit(() -> readWebAppCustomization(translateToReadCustomizationRequest(model), proxyClient));
+
         return proxy.initiate("AWS-Transfer-Web-App::Read", proxyClient, model, callbackContext)
                 .translateToServiceRequest(this::translateToReadRequest)
                 .makeServiceCall(this::readWebApp)
-                .handleError((ignored, exception, client, resourceModel, context) ->
-                        handleError(READ, exception, resourceModel, context, clientRequestToken))
-                .done(awsResponse -> proxy.initiate(
-                                "AWS-Transfer-Web-App::ReadCustomization", proxyClient, model, callbackContext)
-                        .translateToServiceRequest(this::translateToReadCustomizationRequest)
-                        .makeServiceCall(this::readWebAppCustomization)
-                        .handleError((ignored, exception, client, resourceModel, context) ->
-                                handleError(READ, exception, resourceModel, context, clientRequestToken))
-                        .done(customizationResponse -> ProgressEvent.defaultSuccessHandler(
-                                translateFromReadResponse(awsResponse, customizationResponse))));
+                .handleError((ignored, exception, client, resourceModel, context) -> {
+                    customization.cancel(true);
+                    return handleError(READ, exception, resourceModel, context, clientRequestToken);
+                })
+                .done(awsResponse -> {
+                    DescribeWebAppCustomizationResponse customizationResponse;
+                    try {
+                        customizationResponse = await(customization);
+                    } catch (Exception e) {
+                        return handleError(READ, e, model, callbackContext, clientRequestToken);
+                    }
+                    return ProgressEvent.defaultSuccessHandler(
+                            translateFromReadResponse(awsResponse, customizationResponse));
+                });
+    }
+
+    private static <T> T await(Future<T> result) throws Exception {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
     }
 
-    private ResourceModel translateFromReadResponse(
+    static ResourceModel translateFromReadResponse(
             final DescribeWebAppResponse webAppResponse,
             final DescribeWebAppCustomizationResponse customizationResponse) {
 
@@ -82,8 +107,8 @@ public class ReadHandler extends BaseHandlerStd {
             DescribedWebAppCustomization webAppCustomization = customizationResponse.webAppCustomization();
             WebAppCustomization customization = new WebAppCustomization();
             customization.setTitle(webAppCustomization.title());
-            customization.setLogoFile(convertToBase64String(webAppCustomization.logoFile()));
-            customization.setFaviconFile(convertToBase64String(webAppCustomization.faviconFile()));
+            customization.setLogoFile(CustomizationFiles.fromSdkBytes(webAppCustomization.logoFile()));
+            customization.setFaviconFile(CustomizationFiles.fromSdkBytes(webAppCustomization.faviconFile()));
             model.setWebAppCustomization(customization);
         }
 
@@ -99,33 +124,4 @@ public class ReadHandler extends BaseHandlerStd {
                 .webAppId(model.getWebAppId())
                 .build();
     }
-
-    protected DescribeWebAppResponse readWebApp(DescribeWebAppRequest awsRequest, ProxyClient<TransferClient> client) {
-        try (TransferClient transferClient = client.client()) {
-            DescribeWebAppResponse awsResponse =
-                    client.injectCredentialsAndInvokeV2(awsRequest, transferClient::describeWebApp);
-            log("has been read successfully.", awsRequest.webAppId());
-            return awsResponse;
-        }
-    }
-
-    protected DescribeWebAppCustomizationResponse readWebAppCustomization(
-            DescribeWebAppCustomizationRequest awsRequest, ProxyClient<TransferClient> client) {
-        try (TransferClient transferClient = client.client()) {
-            DescribeWebAppCustomizationResponse awsResponse =
-                    client.injectCredentialsAndInvokeV2(awsRequest, transferClient::describeWebAppCustomization);
-            log("has been read successfully.", awsRequest.webAppId());
-            return awsResponse;
-        } catch (ResourceNotFoundException e) {
-            log("No web app customization to add", awsRequest.webAppId());
-            return null;
-        }
-    }
-
-    private String convertToBase64String(SdkBytes bytes) {
-        if (bytes == null) {
-            return null;
-        }
-        return Base64.getEncoder().encodeToString(bytes.asByteArray());
-    }
 }
@@ -2,9 +2,6 @@ package software.amazon.transfer.webapp;
 
 import static software.amazon.transfer.webapp.translators.TagHelper.setDesiredTags;
 
-import java.util.Base64;
-
-import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.transfer.TransferClient;
 import software.amazon.awssdk.services.transfer.model.UpdateWebAppCustomizationRequest;
 import software.amazon.awssdk.services.transfer.model.UpdateWebAppCustomizationResponse;
@@ -18,6 +15,9 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.TagDiff;
+import software.amazon.transfer.webapp.translators.CustomizationFiles;
+import software.amazon.transfer.webapp.translators.TagHelper;
 import software.amazon.transfer.webapp.translators.Translator;
 
 public class UpdateHandler extends BaseHandlerStd {
@@ -52,18 +52,24 @@ public class UpdateHandler extends BaseHandlerStd {
         Translator.ensureWebAppIdInModel(newModel);
 
         setDesiredTags(request, newModel);
+        final TagDiff tagDiff = TagHelper.tagDiff(request);
 
         return ProgressEvent.progress(newModel, callbackContext)
                 .then(progress -> updateWebApp(proxy, proxyClient, clientRequestToken, progress))
                 .then(progress -> {
-                    // Only update customization if it has exists in the model
-                    if (progress.getResourceModel().getWebAppCustomization() != null) {
+                    // Only update the customization if its title or files changed
+                    if (CustomizationFiles.changed(
+                            previousModel.getWebAppCustomization(),
+                            progress.getResourceModel().getWebAppCustomization())) {
                         return updateWebAppCustomization(proxy, proxyClient, clientRequestToken, progress);
                     }
+                    if (progress.getResourceModel().getWebAppCustomization() != null) {
+                        log("customization is unchanged, skipping its update.", newModel.getWebAppId());
+                    }
                     return progress;
                 })
-                .then(progress -> addTags(progress, request, newModel, proxy, proxyClient, callbackContext))
-                .then(progress -> removeTags(progress, request, newModel, proxy, proxyClient, callbackContext))
+                .then(progress -> removeTags(progress, request, tagDiff, newModel, proxy, proxyClient, callbackContext))
+                .then(progress -> addTags(progress, request, tagDiff, newModel, proxy, proxyClient, callbackContext))
                 .then(progress ->
                         new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger));
     }
@@ -86,11 +92,10 @@ public class UpdateHandler extends BaseHandlerStd {
     }
 
     private UpdateWebAppResponse updateWebApp(UpdateWebAppRequest request, ProxyClient<TransferClient> client) {
-        try (TransferClient transferClient = client.client()) {
-            UpdateWebAppResponse response = client.injectCredentialsAndInvokeV2(request, transferClient::updateWebApp);
-            log("has successfully been updated.", request.webAppId());
-            return response;
-        }
+        TransferClient transferClient = client.client();
+        UpdateWebAppResponse response = client.injectCredentialsAndInvokeV2(request, transferClient::updateWebApp);
+        log("has successfully been updated.", request.webAppId());
+        return response;
     }
 
     private UpdateWebAppRequest translateToUpdateRequest(final ResourceModel model) {
@@ -129,34 +134,17 @@ public class UpdateHandler extends BaseHandlerStd {
         return UpdateWebAppCustomizationRequest.builder()
                 .webAppId(model.getWebAppId())
                 .title(model.getWebAppCustomization().getTitle())
-                .logoFile(
-                        model.getWebAppCustomization().getLogoFile() != null
-                                ? convertFileToSdkBytes(
-                                        model.getWebAppCustomization().getLogoFile())
-                                : null)
-                .faviconFile(
-                        model.getWebAppCustomization().getFaviconFile() != null
-                                ? convertFileToSdkBytes(
-                                        model.getWebAppCustomization().getFaviconFile())
-                                : null)
+                .logoFile(CustomizationFiles.toSdkBytes(model.getWebAppCustomization().getLogoFile()))
+                .faviconFile(CustomizationFiles.toSdkBytes(model.getWebAppCustomization().getFaviconFile()))
                 .build();
     }
 
     private UpdateWebAppCustomizationResponse updateWebAppCustomization(
             UpdateWebAppCustomizationRequest request, ProxyClient<TransferClient> client) {
-        try (TransferClient transferClient = client.client()) {
-            UpdateWebAppCustomizationResponse response =
-                    client.injectCredentialsAndInvokeV2(request, transferClient::updateWebAppCustomization);
-            log("customization has successfully been updated.", request.webAppId());
-            return response;
-        }
-    }
-
-    private SdkBytes convertFileToSdkBytes(String fileData) {
-        if (fileData == null) {
-            return null;
-        }
-        // Decode Base64 string to byte array, then convert to SdkBytes
-        return SdkBytes.fromByteArray(Base64.getDecoder().decode(fileData));
+        TransferClient transferClient = client.client();
+        UpdateWebAppCustomizationResponse response =
+                client.injectCredentialsAndInvokeV2(request, transferClient::updateWebAppCustomization);
+        log("customization has successfully been updated.", request.webAppId());
+        return response;
     }
 }
@@ -0,0 +1,190 @@
+package software.amazon.transfer.webapp.translators;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Objects;
+
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.transfer.webapp.WebAppCustomization;
+
+/**
+ * The logo and favicon of a web app customization, which the resource model carries as Base64 and
+ * the service takes as bytes.
+ *
+ * <p>The images can be large, so they are decoded and encoded as streams straight between the
+ * model's string and the SDK's bytes, without the intermediate copies {@link Base64#getDecoder()}
+ * and {@link Base64#getEncoder()} make of the whole image.
+ */
+public final class CustomizationFiles {
+    private static final int BUFFER_SIZE = 8192;
+
+    private CustomizationFiles() {}
+
+    /**
+     * @param base64 a file of the resource model, may be null
+     * @return the decoded file, null for null
+     * @throws IllegalArgumentException if {@code base64} is not Base64
+     */
+    public static SdkBytes toSdkBytes(String base64) {
+        if (base64 == null) {
+            return null;
+        }
+        byte[] decoded = new byte[decodedLength(base64)];
+        try (InputStream in = Base64.getDecoder().wrap(new CharsInputStream(base64))) {
+            int read = in.readNBytes(decoded, 0, decoded.length);
+            if (read != decoded.length || in.read() != -1) {
+                throw new IllegalArgumentException("Input byte array has incorrect length");
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+        // The array is not shared, so the SDK does not need its own copy.
+        return SdkBytes.fromByteArrayUnsafe(decoded);
+    }
+
+    /**
+     * @param bytes a file as the service returns it, may be null
+     * @return the file as Base64, null for null
+     */
+    public static String fromSdkBytes(SdkBytes bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        int length = bytes.asByteBuffer().remaining();
+        StringBuilder encoded = new StringBuilder((length + 2) / 3 * 4);
+        try (OutputStream out = Base64.getEncoder().wrap(new CharsOutputStream(encoded))) {
+            bytes.asInputStream().transferTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return encoded.toString();
+    }
+
+    /**
+     * @param previous the customization the web app has, may be null
+     * @param desired the customization it should have, may be null
+     * @return whether the title or a file of {@code desired} differs from {@code previous}; files
+     *     are compared by the digest of their decoded content
+     */
+    public static boolean changed(WebAppCustomization previous, WebAppCustomization desired) {
+        if (desired == null) {
+            return false;
+        }
+        if (previous == null) {
+            return true;
+        }
+        return !Objects.equals(previous.getTitle(), desired.getTitle())
+                || !sameContent(previous.getLogoFile(), desired.getLogoFile())
+                || !sameContent(previous.getFaviconFile(), desired.getFaviconFile());
+    }
+
+    /**
+     * @return whether two Base64 files decode to the same bytes; a file that does not decode is
+     *     only the same as an identical string
+     */
+    static boolean sameContent(String first, String second) {
+        if (Objects.equals(first, second)) {
+            return true;
+        }
+        if (first == null || second == null) {
+            return false;
+        }
+        byte[] firstDigest = digest(first);
+        return firstDigest != null && Arrays.equals(firstDigest, digest(second));
+    }
+
+    /** @return the SHA-256 of the decoded file, null if it is not Base64 */
+    static byte[] digest(String base64) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Base64.getDecoder().wrap(new CharsInputStream(base64))) {
+            for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return digest.digest();
+    }
+
+    /** @return the length of the bytes {@code base64} decodes to, padded or not */
+    private static int decodedLength(String base64) {
+        int length = base64.length();
+        while (length > 0 && base64.charAt(length - 1) == '=') {
+            length--;
+        }
+        return (int) (length * 3L / 4);
+    }
+
+    /** The characters of a Base64 string as the bytes the decoder reads. */
+    private static final class CharsInputStream extends InputStream {
+        private final String chars;
+        private int position;
+
+        private CharsInputStream(String chars) {
+            this.chars = chars;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return position < chars.length() ? toByte(chars.charAt(position++)) : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            Objects.checkFromIndexSize(offset, length, buffer.length);
+            if (length == 0) {
+                return 0;
+            }
+            if (position >= chars.length()) {
+                return -1;
+            }
+            int count = Math.min(length, chars.length() - position);
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = (byte) toByte(chars.charAt(position++));
+            }
+            return count;
+        }
+
+        private static int toByte(char c) throws IOException {
+            // Anything outside ASCII would alias a Base64 character once cut to a byte.
+            if (c > 0x7f) {
+                throw new IOException("Illegal base64 character " + Integer.toHexString(c));
+            }
+            return c;
+        }
+    }
+
+    /** Appends the bytes the encoder writes, all ASCII, as characters. */
+    private static final class CharsOutputStream extends OutputStream {
+        private final StringBuilder chars;
+
+        private CharsOutputStream(StringBuilder chars) {
+            this.chars = chars;
+        }
+
+        @Override
+        public void write(int b) {
+            chars.append((char) (b & 0xff));
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            Objects.checkFromIndexSize(offset, length, buffer.length);
+            for (int i = offset; i < offset + length; i++) {
+                chars.append((char) (buffer[i] & 0xff));
+            }
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package software.amazon.transfer.webapp;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import org.assertj.core.api.SoftAssertions;
@@ -63,4 +65,35 @@ public class ListHandlerTest extends AbstractTestBase {
 
         verify(client, atLeastOnce()).listWebApps(any(ListWebAppsRequest.class));
     }
+
+    @Test
+    public void handleRequest_DrainsPagesAtServicePageSize() {
+        final ResourceHandlerRequest<ResourceModel> request =
+                requestBuilder().desiredResourceState(simpleWebAppModel()).build();
+
+        ListWebAppsResponse firstPage = ListWebAppsResponse.builder()
+                .webApps(ListedWebApp.builder().webAppId("first").build())
+                .nextToken("page2")
+                .build();
+        ListWebAppsResponse secondPage = ListWebAppsResponse.builder()
+                .webApps(ListedWebApp.builder().webAppId("second").build())
+                .build();
+        doReturn(firstPage)
+                .when(client)
+                .listWebApps(argThat((ListWebAppsRequest r) -> r.maxResults() == 1000 && r.nextToken() == null));
+        doReturn(secondPage)
+                .when(client)
+                .listWebApps(argThat((ListWebAppsRequest r) -> "page2".equals(r.nextToken())));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                new ListHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        softly.assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        softly.assertThat(response.getNextToken()).isNull();
+        softly.assertThat(response.getResourceModels())
+                .extracting(ResourceModel::getWebAppId)
+                .containsExactly("first", "second");
+
+        verify(client, times(2)).listWebApps(any(ListWebAppsRequest.class));
+    }
 }
@@ -3,18 +3,29 @@ package software.amazon.transfer.webapp;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
 import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
 
+import software.amazon.awssdk.services.transfer.model.AccessDeniedException;
 import software.amazon.awssdk.services.transfer.model.DescribeWebAppCustomizationRequest;
 import software.amazon.awssdk.services.transfer.model.DescribeWebAppRequest;
+import software.amazon.awssdk.services.transfer.model.ResourceNotFoundException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
@@ -22,6 +33,7 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 @ExtendWith(MockitoExtension.class)
 @ExtendWith(SoftAssertionsExtension.class)
 public class ReadHandlerTest extends AbstractTestBase {
+    private static final Duration CALL_TIMEOUT = Duration.ofSeconds(5);
 
     @InjectSoftAssertions
     private SoftAssertions softly;
@@ -82,4 +94,114 @@ public class ReadHandlerTest extends AbstractTestBase {
         verify(client, atLeastOnce()).describeWebAppCustomization(any(DescribeWebAppCustomizationRequest.class));
         softly.assertThat(response.getResourceModel().getArn().equals(TEST_ARN));
     }
+
+    @Test
+    public void handleRequest_CustomizationNotFound() {
+        ResourceModel model = simpleWebAppModel();
+        model.setArn(TEST_ARN);
+        model.setAccessEndpoint(TEST_ACCESS_ENDPOINT);
+
+        ResourceHandlerRequest<ResourceModel> request =
+                requestBuilder().desiredResourceState(model).build();
+
+        doReturn(describeWebAppResponseFromModel(model)).when(client).describeWebApp(any(DescribeWebAppRequest.class));
+        doThrow(ResourceNotFoundException.builder().build())
+                .when(client)
+                .describeWebAppCustomization(any(DescribeWebAppCustomizationRequest.class));
+
+        ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertSuccessfulResponse(response, request);
+        softly.assertThat(response.getResourceModel().getWebAppCustomization()).isNull();
+    }
+
+    @Test
+    public void handleRequest_CustomizationFailure() {
+        ResourceModel model = simpleWebAppModel();
+        model.setArn(TEST_ARN);
+
+        ResourceHandlerRequest<ResourceModel> request =
+                requestBuilder().desiredResourceState(model).build();
+
+        doReturn(describeWebAppResponseFromModel(model)).when(client).describeWebApp(any(DescribeWebAppRequest.class));
+        doThrow(AccessDeniedException.builder().build())
+                .when(client)
+                .describeWebAppCustomization(any(DescribeWebAppCustomizationRequest.class));
+
+        ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AccessDenied);
+    }
+
+    @Test
+    public void handleRequest_DescribesConcurrently() {
+        ResourceModel model = fullyLoadedWebAppModel();
+        model.setWebAppId(TEST_WEB_APP_ID);
+        model.setArn(TEST_ARN);
+
+        ResourceHandlerRequest<ResourceModel> request =
+                requestBuilder().desiredResourceState(model).build();
+
+        // Each describe only returns once the other one is in flight too.
+        CyclicBarrier bothInFlight = new CyclicBarrier(2);
+        doAnswer(whenBothInFlight(bothInFlight, describeWebAppResponseFromModel(model)))
+                .when(client)
+                .describeWebApp(any(DescribeWebAppRequest.class));
+        doAnswer(whenBothInFlight(bothInFlight, describeWebAppCustomizationResponseFromModel(model)))
+                .when(client)
+                .describeWebAppCustomization(any(DescribeWebAppCustomizationRequest.class));
+
+        ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertSuccessfulResponse(response, request);
+    }
+
+    @Test
+    public void handleRequest_ReadFailureCancelsCustomization() throws InterruptedException {
+        ResourceModel model = simpleWebAppModel();
+        model.setWebAppId(TEST_WEB_APP_ID);
+
+        ResourceHandlerRequest<ResourceModel> request =
+                requestBuilder().desiredResourceState(model).build();
+
+        CountDownLatch customizationStarted = new CountDownLatch(1);
+        CountDownLatch customizationInterrupted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+                    customizationStarted.await(CALL_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+                    throw ResourceNotFoundException.builder().build();
+                })
+                .when(client)
+                .describeWebApp(any(DescribeWebAppRequest.class));
+        doAnswer(invocation -> {
+                    customizationStarted.countDown();
+                    try {
+                        new CountDownLatch(1).await(CALL_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        customizationInterrupted.countDown();
+                        throw e;
+                    }
+                    return describeWebAppCustomizationResponseFromModel(model);
+                })
+                .when(client)
+                .describeWebAppCustomization(any(DescribeWebAppCustomizationRequest.class));
+
+        ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+        assertThat(customizationInterrupted.await(CALL_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)).isTrue();
+    }
+
+    private static <T> Answer<T> whenBothInFlight(CyclicBarrier bothInFlight, T response) {
+        return invocation -> {
+            // Times out, and fails the read, when the describes are made one after the other.
+            bothInFlight.await(CALL_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            return response;
+        };
+    }
 }
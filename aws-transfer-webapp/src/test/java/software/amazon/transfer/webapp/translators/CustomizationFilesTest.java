@@ -0,0 +1,82 @@
+package software.amazon.transfer.webapp.translators;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Base64;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.transfer.webapp.WebAppCustomization;
+
+public class CustomizationFilesTest {
+
+    @Test
+    public void testRoundTripMatchesBase64() {
+        Random random = new Random(7);
+        // Every padding, and images larger than the stream buffers.
+        for (int length : new int[] {0, 1, 2, 3, 4, 8191, 8192, 8193, 100_000}) {
+            byte[] bytes = new byte[length];
+            random.nextBytes(bytes);
+            String base64 = Base64.getEncoder().encodeToString(bytes);
+
+            assertEquals(base64, CustomizationFiles.fromSdkBytes(SdkBytes.fromByteArray(bytes)));
+            assertArrayEquals(bytes, CustomizationFiles.toSdkBytes(base64).asByteArray());
+        }
+    }
+
+    @Test
+    public void testUnpaddedInputDecodes() {
+        assertArrayEquals(new byte[] {1, 2}, CustomizationFiles.toSdkBytes("AQI").asByteArray());
+    }
+
+    @Test
+    public void testNullFiles() {
+        assertNull(CustomizationFiles.toSdkBytes(null));
+        assertNull(CustomizationFiles.fromSdkBytes(null));
+    }
+
+    @Test
+    public void testInvalidBase64IsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> CustomizationFiles.toSdkBytes("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> CustomizationFiles.toSdkBytes("QUJD\u0141"));
+        assertThrows(IllegalArgumentException.class, () -> CustomizationFiles.toSdkBytes("QUJDR"));
+    }
+
+    @Test
+    public void testSameContentComparesDecodedBytes() {
+        assertTrue(CustomizationFiles.sameContent(null, null));
+        assertTrue(CustomizationFiles.sameContent("QUJD", "QUJD"));
+        // The same bytes, with and without padding.
+        assertTrue(CustomizationFiles.sameContent("QUI=", "QUI"));
+        assertFalse(CustomizationFiles.sameContent("QUJD", "QUJE"));
+        assertFalse(CustomizationFiles.sameContent("QUJD", null));
+        assertFalse(CustomizationFiles.sameContent("not base64!", "not base64?"));
+    }
+
+    @Test
+    public void testChanged() {
+        WebAppCustomization customization = customization("title", "QUJD", null);
+
+        assertFalse(CustomizationFiles.changed(customization, null));
+        assertTrue(CustomizationFiles.changed(null, customization));
+        assertFalse(CustomizationFiles.changed(customization, customization("title", "QUJD", null)));
+        assertTrue(CustomizationFiles.changed(customization, customization("other", "QUJD", null)));
+        assertTrue(CustomizationFiles.changed(customization, customization("title", "QUJE", null)));
+        assertTrue(CustomizationFiles.changed(customization, customization("title", "QUJD", "QUJD")));
+    }
+
+    private static WebAppCustomization customization(String title, String logoFile, String faviconFile) {
+        return WebAppCustomization.builder()
+                .title(title)
+                .logoFile(logoFile)
+                .faviconFile(faviconFile)
+                .build();
+    }
+}
@@ -1,6 +1,9 @@
 package software.amazon.transfer.workflow;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -51,140 +54,31 @@ public class Converter {
         }
     }
 
+    /**
+     * Maps workflow steps between the resource model and the SDK. Every nested object is read once
+     * into a local and mapped by the method for its type, so a step costs one getter call per
+     * property.
+     */
     static class WorkflowStepConverter {
         static WorkflowStep toSdk(software.amazon.transfer.workflow.WorkflowStep workflowStep) {
             if (workflowStep == null) {
                 return null;
             }
-            WorkflowStep.Builder sdkWorkflowStep = WorkflowStep.builder();
-
             String type = workflowStep.getType();
-            sdkWorkflowStep.type(type);
-
-            if (WorkflowStepType.COPY.toString().equals(type) && workflowStep.getCopyStepDetails() != null) {
-                sdkWorkflowStep.copyStepDetails(CopyStepDetails.builder()
-                        .name(workflowStep.getCopyStepDetails().getName())
-                        .destinationFileLocation(
-                                (workflowStep.getCopyStepDetails().getDestinationFileLocation() == null)
-                                        ? null
-                                        : InputFileLocation.builder()
-                                                .s3FileLocation(
-                                                        (workflowStep
-                                                                                .getCopyStepDetails()
-                                                                                .getDestinationFileLocation()
-                                                                                .getS3FileLocation()
-                                                                        == null)
-                                                                ? null
-                                                                : S3InputFileLocation.builder()
-                                                                        .bucket(workflowStep
-                                                                                .getCopyStepDetails()
-                                                                                .getDestinationFileLocation()
-                                                                                .getS3FileLocation()
-                                                                                .getBucket())
-                                                                        .key(workflowStep
-                                                                                .getCopyStepDetails()
-                                                                                .getDestinationFileLocation()
-                                                                                .getS3FileLocation()
-                                                                                .getKey())
-                                                                        .build())
-                                                .build())
-                        .overwriteExisting(workflowStep.getCopyStepDetails().getOverwriteExisting())
-                        .sourceFileLocation(workflowStep.getCopyStepDetails().getSourceFileLocation())
-                        .build());
+            WorkflowStep.Builder sdkWorkflowStep = WorkflowStep.builder().type(type);
+            if (type == null) {
+                return sdkWorkflowStep.build();
             }
-            if (WorkflowStepType.DECRYPT.toString().equals(type) && workflowStep.getDecryptStepDetails() != null) {
-                S3InputFileLocation s3InputFileLocation = null;
-                EfsFileLocation efsFileLocation = null;
 
-                if (workflowStep.getDecryptStepDetails().getDestinationFileLocation() != null
-                        && workflowStep
-                                        .getDecryptStepDetails()
-                                        .getDestinationFileLocation()
-                                        .getS3FileLocation()
-                                != null) {
-                    s3InputFileLocation = (workflowStep
-                                            .getDecryptStepDetails()
-                                            .getDestinationFileLocation()
-                                            .getS3FileLocation()
-                                    == null)
-                            ? null
-                            : S3InputFileLocation.builder()
-                                    .bucket(workflowStep
-                                            .getDecryptStepDetails()
-                                            .getDestinationFileLocation()
-                                            .getS3FileLocation()
-                                            .getBucket())
-                                    .key(workflowStep
-                                            .getDecryptStepDetails()
-                                            .getDestinationFileLocation()
-                                            .getS3FileLocation()
-                                            .getKey())
-                                    .build();
+            switch (WorkflowStepType.fromValue(type)) {
+                case COPY -> sdkWorkflowStep.copyStepDetails(toSdk(workflowStep.getCopyStepDetails()));
+                case DECRYPT -> sdkWorkflowStep.decryptStepDetails(toSdk(workflowStep.getDecryptStepDetails()));
+                case CUSTOM -> sdkWorkflowStep.customStepDetails(toSdk(workflowStep.getCustomStepDetails()));
+                case DELETE -> sdkWorkflowStep.deleteStepDetails(toSdk(workflowStep.getDeleteStepDetails()));
+                case TAG -> sdkWorkflowStep.tagStepDetails(toSdk(workflowStep.getTagStepDetails()));
+                default -> {
+                    // Unknown types only carry their type.
                 }
-
-                if (workflowStep.getDecryptStepDetails().getDestinationFileLocation() != null
-                        && workflowStep
-                                        .getDecryptStepDetails()
-                                        .getDestinationFileLocation()
-                                        .getEfsFileLocation()
-                                != null) {
-                    efsFileLocation = (workflowStep
-                                            .getDecryptStepDetails()
-                                            .getDestinationFileLocation()
-                                            .getEfsFileLocation()
-                                    == null)
-                            ? null
-                            : EfsFileLocation.builder()
-                                    .fileSystemId(workflowStep
-                                            .getDecryptStepDetails()
-                                            .getDestinationFileLocation()
-                                            .getEfsFileLocation()
-                                            .getFileSystemId())
-                                    .path(workflowStep
-                                            .getDecryptStepDetails()
-                                            .getDestinationFileLocation()
-                                            .getEfsFileLocation()
-                                            .getPath())
-                                    .build();
-                }
-                InputFileLocation inputFileLocation = InputFileLocation.builder()
-                        .s3FileLocation(s3InputFileLocation)
-                        .efsFileLocation(efsFileLocation)
-                        .build();
-
-                sdkWorkflowStep.decryptStepDetails(DecryptStepDetails.builder()
-                        .name(workflowStep.getDecryptStepDetails().getName())
-                        .type(workflowStep.getDecryptStepDetails().getType())
-                        .destinationFileLocation(inputFileLocation)
-                        .overwriteExisting(workflowStep.getDecryptStepDetails().getOverwriteExisting())
-                        .sourceFileLocation(workflowStep.getDecryptStepDetails().getSourceFileLocation())
-                        .build());
-            }
-            if (WorkflowStepType.CUSTOM.toString().equals(type) && workflowStep.getCustomStepDetails() != null) {
-                sdkWorkflowStep.customStepDetails(CustomStepDetails.builder()
-                        .name(workflowStep.getCustomStepDetails().getName())
-                        .target(workflowStep.getCustomStepDetails().getTarget())
-                        .timeoutSeconds(workflowStep.getCustomStepDetails().getTimeoutSeconds())
-                        .sourceFileLocation(workflowStep.getCustomStepDetails().getSourceFileLocation())
-                        .build());
-            }
-            if (WorkflowStepType.DELETE.toString().equals(type) && workflowStep.getDeleteStepDetails() != null) {
-                sdkWorkflowStep.deleteStepDetails(DeleteStepDetails.builder()
-                        .name(workflowStep.getDeleteStepDetails().getName())
-                        .sourceFileLocation(workflowStep.getDeleteStepDetails().getSourceFileLocation())
-                        .build());
-            }
-            if (WorkflowStepType.TAG.toString().equals(type) && workflowStep.getTagStepDetails() != null) {
-                sdkWorkflowStep.tagStepDetails(TagStepDetails.builder()
-                        .name(workflowStep.getTagStepDetails().getName())
-                        .tags(
-                                (workflowStep.getTagStepDetails().getTags() == null)
-                                        ? null
-                                        : workflowStep.getTagStepDetails().getTags().stream()
-                                                .map(S3TagConverter::toSdk)
-                                                .collect(Collectors.toList()))
-                        .sourceFileLocation(workflowStep.getTagStepDetails().getSourceFileLocation())
-                        .build());
             }
             return sdkWorkflowStep.build();
         }
@@ -200,122 +94,211 @@ public class Converter {
             if (type != null) {
                 modelWorkflowStep.setType(type.toString());
             }
+            modelWorkflowStep.setCopyStepDetails(fromSdk(workflowStep.copyStepDetails()));
+            modelWorkflowStep.setDecryptStepDetails(fromSdk(workflowStep.decryptStepDetails()));
+            modelWorkflowStep.setCustomStepDetails(fromSdk(workflowStep.customStepDetails()));
+            modelWorkflowStep.setDeleteStepDetails(fromSdk(workflowStep.deleteStepDetails()));
+            modelWorkflowStep.setTagStepDetails(fromSdk(workflowStep.tagStepDetails()));
+            return modelWorkflowStep;
+        }
 
-            if (workflowStep.copyStepDetails() != null) {
-                software.amazon.transfer.workflow.CopyStepDetails copyStepDetails =
-                        software.amazon.transfer.workflow.CopyStepDetails.builder()
-                                .name(workflowStep.copyStepDetails().name())
-                                .overwriteExisting(workflowStep
-                                        .copyStepDetails()
-                                        .overwriteExisting()
-                                        .toString())
-                                .sourceFileLocation(
-                                        workflowStep.copyStepDetails().sourceFileLocation())
-                                .build();
-                if (workflowStep.copyStepDetails().destinationFileLocation() != null) {
-                    software.amazon.transfer.workflow.S3FileLocation s3FileLocation =
-                            software.amazon.transfer.workflow.S3FileLocation.builder()
-                                    .build();
-                    if (workflowStep.copyStepDetails().destinationFileLocation().s3FileLocation() != null) {
-                        s3FileLocation.setS3FileLocation(software.amazon.transfer.workflow.S3InputFileLocation.builder()
-                                .bucket(workflowStep
-                                        .copyStepDetails()
-                                        .destinationFileLocation()
-                                        .s3FileLocation()
-                                        .bucket())
-                                .key(workflowStep
-                                        .copyStepDetails()
-                                        .destinationFileLocation()
-                                        .s3FileLocation()
-                                        .key())
-                                .build());
-                    }
-                    copyStepDetails.setDestinationFileLocation(s3FileLocation);
-                }
-                modelWorkflowStep.setCopyStepDetails(copyStepDetails);
+        private static CopyStepDetails toSdk(software.amazon.transfer.workflow.CopyStepDetails details) {
+            if (details == null) {
+                return null;
+            }
+            software.amazon.transfer.workflow.S3FileLocation destination = details.getDestinationFileLocation();
+            return CopyStepDetails.builder()
+                    .name(details.getName())
+                    .destinationFileLocation(
+                            destination == null
+                                    ? null
+                                    : InputFileLocation.builder()
+                                            .s3FileLocation(toSdk(destination.getS3FileLocation()))
+                                            .build())
+                    .overwriteExisting(details.getOverwriteExisting())
+                    .sourceFileLocation(details.getSourceFileLocation())
+                    .build();
+        }
+
+        private static DecryptStepDetails toSdk(software.amazon.transfer.workflow.DecryptStepDetails details) {
+            if (details == null) {
+                return null;
+            }
+            software.amazon.transfer.workflow.InputFileLocation destination = details.getDestinationFileLocation();
+            // The destination is always sent, empty when the model has none.
+            InputFileLocation.Builder inputFileLocation = InputFileLocation.builder();
+            if (destination != null) {
+                inputFileLocation
+                        .s3FileLocation(toSdk(destination.getS3FileLocation()))
+                        .efsFileLocation(toSdk(destination.getEfsFileLocation()));
+            }
+            return DecryptStepDetails.builder()
+                    .name(details.getName())
+                    .type(details.getType())
+                    .destinationFileLocation(inputFileLocation.build())
+                    .overwriteExisting(details.getOverwriteExisting())
+                    .sourceFileLocation(details.getSourceFileLocation())
+                    .build();
+        }
+
+        private static CustomStepDetails toSdk(software.amazon.transfer.workflow.CustomStepDetails details) {
+            if (details == null) {
+                return null;
+            }
+            return CustomStepDetails.builder()
+                    .name(details.getName())
+                    .target(details.getTarget())
+                    .timeoutSeconds(details.getTimeoutSeconds())
+                    .sourceFileLocation(details.getSourceFileLocation())
+                    .build();
+        }
+
+        private static DeleteStepDetails toSdk(software.amazon.transfer.workflow.DeleteStepDetails details) {
+            if (details == null) {
+                return null;
+            }
+            return DeleteStepDetails.builder()
+                    .name(details.getName())
+                    .sourceFileLocation(details.getSourceFileLocation())
+                    .build();
+        }
+
+        private static TagStepDetails toSdk(software.amazon.transfer.workflow.TagStepDetails details) {
+            if (details == null) {
+                return null;
             }
-            if (workflowStep.decryptStepDetails() != null) {
-                software.amazon.transfer.workflow.DecryptStepDetails decryptStepDetails =
-                        software.amazon.transfer.workflow.DecryptStepDetails.builder()
-                                .name(workflowStep.decryptStepDetails().name())
-                                .type(workflowStep.decryptStepDetails().type().toString())
-                                .overwriteExisting(workflowStep
-                                        .decryptStepDetails()
-                                        .overwriteExisting()
-                                        .toString())
-                                .sourceFileLocation(
-                                        workflowStep.decryptStepDetails().sourceFileLocation())
-                                .build();
-                if (workflowStep.decryptStepDetails().destinationFileLocation() != null) {
-                    software.amazon.transfer.workflow.InputFileLocation inputFileLocation =
-                            software.amazon.transfer.workflow.InputFileLocation.builder()
-                                    .build();
-                    if (workflowStep
-                                    .decryptStepDetails()
-                                    .destinationFileLocation()
-                                    .s3FileLocation()
-                            != null) {
-                        inputFileLocation.setS3FileLocation(
-                                software.amazon.transfer.workflow.S3InputFileLocation.builder()
-                                        .bucket(workflowStep
-                                                .decryptStepDetails()
-                                                .destinationFileLocation()
-                                                .s3FileLocation()
-                                                .bucket())
-                                        .key(workflowStep
-                                                .decryptStepDetails()
-                                                .destinationFileLocation()
-                                                .s3FileLocation()
-                                                .key())
-                                        .build());
-                    }
-                    if (workflowStep
-                                    .decryptStepDetails()
-                                    .destinationFileLocation()
-                                    .efsFileLocation()
-                            != null) {
-                        inputFileLocation.setEfsFileLocation(
-                                software.amazon.transfer.workflow.EfsInputFileLocation.builder()
-                                        .fileSystemId(workflowStep
-                                                .decryptStepDetails()
-                                                .destinationFileLocation()
-                                                .efsFileLocation()
-                                                .fileSystemId())
-                                        .path(workflowStep
-                                                .decryptStepDetails()
-                                                .destinationFileLocation()
-                                                .efsFileLocation()
-                                                .path())
-                                        .build());
-                    }
-                    decryptStepDetails.setDestinationFileLocation(inputFileLocation);
+            Set<software.amazon.transfer.workflow.S3Tag> tags = details.getTags();
+            List<S3Tag> sdkTags = null;
+            if (tags != null) {
+                sdkTags = new ArrayList<>(tags.size());
+                for (software.amazon.transfer.workflow.S3Tag tag : tags) {
+                    sdkTags.add(S3TagConverter.toSdk(tag));
                 }
-                modelWorkflowStep.setDecryptStepDetails(decryptStepDetails);
             }
-            if (workflowStep.customStepDetails() != null) {
-                modelWorkflowStep.setCustomStepDetails(software.amazon.transfer.workflow.CustomStepDetails.builder()
-                        .name(workflowStep.customStepDetails().name())
-                        .target(workflowStep.customStepDetails().target())
-                        .timeoutSeconds(workflowStep.customStepDetails().timeoutSeconds())
-                        .sourceFileLocation(workflowStep.customStepDetails().sourceFileLocation())
-                        .build());
+            return TagStepDetails.builder()
+                    .name(details.getName())
+                    .tags(sdkTags)
+                    .sourceFileLocation(details.getSourceFileLocation())
+                    .build();
+        }
+
+        private static S3InputFileLocation toSdk(software.amazon.transfer.workflow.S3InputFileLocation location) {
+            if (location == null) {
+                return null;
             }
-            if (workflowStep.deleteStepDetails() != null) {
-                modelWorkflowStep.setDeleteStepDetails(software.amazon.transfer.workflow.DeleteStepDetails.builder()
-                        .name(workflowStep.deleteStepDetails().name())
-                        .sourceFileLocation(workflowStep.deleteStepDetails().sourceFileLocation())
-                        .build());
+            return S3InputFileLocation.builder()
+                    .bucket(location.getBucket())
+                    .key(location.getKey())
+                    .build();
+        }
+
+        private static EfsFileLocation toSdk(software.amazon.transfer.workflow.EfsInputFileLocation location) {
+            if (location == null) {
+                return null;
             }
-            if (workflowStep.tagStepDetails() != null) {
-                modelWorkflowStep.setTagStepDetails(software.amazon.transfer.workflow.TagStepDetails.builder()
-                        .name(workflowStep.tagStepDetails().name())
-                        .tags(workflowStep.tagStepDetails().tags().stream()
-                                .map(S3TagConverter::fromSdk)
-                                .collect(Collectors.toSet()))
-                        .sourceFileLocation(workflowStep.tagStepDetails().sourceFileLocation())
+            return EfsFileLocation.builder()
+                    .fileSystemId(location.getFileSystemId())
+                    .path(location.getPath())
+                    .build();
+        }
+
+        private static software.amazon.transfer.workflow.CopyStepDetails fromSdk(CopyStepDetails details) {
+            if (details == null) {
+                return null;
+            }
+            software.amazon.transfer.workflow.CopyStepDetails copyStepDetails =
+                    software.amazon.transfer.workflow.CopyStepDetails.builder()
+                            .name(details.name())
+                            .overwriteExisting(details.overwriteExisting().toString())
+                            .sourceFileLocation(details.sourceFileLocation())
+                            .build();
+            InputFileLocation destination = details.destinationFileLocation();
+            if (destination != null) {
+                copyStepDetails.setDestinationFileLocation(software.amazon.transfer.workflow.S3FileLocation.builder()
+                        .s3FileLocation(fromSdk(destination.s3FileLocation()))
                         .build());
             }
-            return modelWorkflowStep;
+            return copyStepDetails;
+        }
+
+        private static software.amazon.transfer.workflow.DecryptStepDetails fromSdk(DecryptStepDetails details) {
+            if (details == null) {
+                return null;
+            }
+            software.amazon.transfer.workflow.DecryptStepDetails decryptStepDetails =
+                    software.amazon.transfer.workflow.DecryptStepDetails.builder()
+                            .name(details.name())
+                            .type(details.type().toString())
+                            .overwriteExisting(details.overwriteExisting().toString())
+                            .sourceFileLocation(details.sourceFileLocation())
+                            .build();
+            InputFileLocation destination = details.destinationFileLocation();
+            if (destination != null) {
+                decryptStepDetails.setDestinationFileLocation(
+                        software.amazon.transfer.workflow.InputFileLocation.builder()
+                                .s3FileLocation(fromSdk(destination.s3FileLocation()))
+                                .efsFileLocation(fromSdk(destination.efsFileLocation()))
+                                .build());
+            }
+            return decryptStepDetails;
+        }
+
+        private static software.amazon.transfer.workflow.CustomStepDetails fromSdk(CustomStepDetails details) {
+            if (details == null) {
+                return null;
+            }
+            return software.amazon.transfer.workflow.CustomStepDetails.builder()
+                    .name(details.name())
+                    .target(details.target())
+                    .timeoutSeconds(details.timeoutSeconds())
+                    .sourceFileLocation(details.sourceFileLocation())
+                    .build();
+        }
+
+        private static software.amazon.transfer.workflow.DeleteStepDetails fromSdk(DeleteStepDetails details) {
+            if (details == null) {
+                return null;
+            }
+            return software.amazon.transfer.workflow.DeleteStepDetails.builder()
+                    .name(details.name())
+                    .sourceFileLocation(details.sourceFileLocation())
+                    .build();
+        }
+
+        private static software.amazon.transfer.workflow.TagStepDetails fromSdk(TagStepDetails details) {
+            if (details == null) {
+                return null;
+            }
+            List<S3Tag> sdkTags = details.tags();
+            Set<software.amazon.transfer.workflow.S3Tag> tags = new HashSet<>(sdkTags.size() * 4 / 3 + 1);
+            for (S3Tag tag : sdkTags) {
+                tags.add(S3TagConverter.fromSdk(tag));
+            }
+            return software.amazon.transfer.workflow.TagStepDetails.builder()
+                    .name(details.name())
+                    .tags(tags)
+                    .sourceFileLocation(details.sourceFileLocation())
+                    .build();
+        }
+
+        private static software.amazon.transfer.workflow.S3InputFileLocation fromSdk(S3InputFileLocation location) {
+            if (location == null) {
+                return null;
+            }
+            return software.amazon.transfer.workflow.S3InputFileLocation.builder()
+                    .bucket(location.bucket())
+                    .key(location.key())
+                    .build();
+        }
+
+        private static software.amazon.transfer.workflow.EfsInputFileLocation fromSdk(EfsFileLocation location) {
+            if (location == null) {
+                return null;
+            }
+            return software.amazon.transfer.workflow.EfsInputFileLocation.builder()
+                    .fileSystemId(location.fileSystemId())
+                    .path(location.path())
+                    .build();
         }
     }
 
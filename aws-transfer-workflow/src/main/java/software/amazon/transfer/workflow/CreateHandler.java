@@ -6,20 +6,8 @@ import java.util.stream.Collectors;
 
 import software.amazon.awssdk.services.transfer.TransferClient;
 import software.amazon.awssdk.services.transfer.model.CreateWorkflowRequest;
-import software.amazon.awssdk.services.transfer.model.CreateWorkflowResponse;
-import software.amazon.awssdk.services.transfer.model.InternalServiceErrorException;
-import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
-import software.amazon.awssdk.services.transfer.model.ResourceExistsException;
-import software.amazon.awssdk.services.transfer.model.ThrottlingException;
-import software.amazon.awssdk.services.transfer.model.TransferException;
-import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
-import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
-import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
@@ -50,48 +38,38 @@ public class CreateHandler extends BaseHandlerStd {
         }
 
         model.setTags(Converter.TagConverter.translateTagfromMap(allTags));
-        CreateWorkflowRequest createWorkflowRequest = CreateWorkflowRequest.builder()
-                .description(model.getDescription())
-                .onExceptionSteps(
-                        (CollectionUtils.isNullOrEmpty(model.getOnExceptionSteps()))
-                                ? null
-                                : model.getOnExceptionSteps().stream()
-                                        .map(Converter.WorkflowStepConverter::toSdk)
-                                        .collect(Collectors.toList()))
-                .steps(
-                        (CollectionUtils.isNullOrEmpty(model.getSteps()))
-                                ? null
-                                : model.getSteps().stream()
-                                        .map(Converter.WorkflowStepConverter::toSdk)
-                                        .collect(Collectors.toList()))
-                .tags(
-                        (CollectionUtils.isNullOrEmpty(model.getTags()))
-                                ? null
-                                : model.getTags().stream()
-                                        .map(Converter.TagConverter::toSdk)
-                                        .collect(Collectors.toList()))
-                .build();
-        try (TransferClient client = proxyClient.client()) {
-            CreateWorkflowResponse response =
-                    proxy.injectCredentialsAndInvokeV2(createWorkflowRequest, client::createWorkflow);
-            model.setWorkflowId(response.workflowId());
-            logger.log(String.format("%s created successfully", ResourceModel.TYPE_NAME));
-        } catch (InvalidRequestException e) {
-            throw new CfnInvalidRequestException(e.getMessage() + " " + createWorkflowRequest.toString(), e);
-        } catch (InternalServiceErrorException e) {
-            throw new CfnServiceInternalErrorException("createWorkflow", e);
-        } catch (ResourceExistsException e) {
-            throw new CfnAlreadyExistsException(
-                    ResourceModel.TYPE_NAME, model.getPrimaryIdentifier().toString());
-        } catch (ThrottlingException e) {
-            throw new CfnThrottlingException("createWorkflow", e);
-        } catch (TransferException e) {
-            throw new CfnGeneralServiceException(e.getMessage(), e);
-        }
-
-        return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                .resourceModel(model)
-                .status(OperationStatus.SUCCESS)
-                .build();
+        return proxy.initiate("AWS-Transfer-Workflow::Create", proxyClient, model, callbackContext)
+                .translateToServiceRequest(resourceModel -> CreateWorkflowRequest.builder()
+                        .description(resourceModel.getDescription())
+                        .onExceptionSteps(
+                                (CollectionUtils.isNullOrEmpty(resourceModel.getOnExceptionSteps()))
+                                        ? null
+                                        : resourceModel.getOnExceptionSteps().stream()
+                                                .map(Converter.WorkflowStepConverter::toSdk)
+                                                .collect(Collectors.toList()))
+                        .steps(
+                                (CollectionUtils.isNullOrEmpty(resourceModel.getSteps()))
+                                        ? null
+                                        : resourceModel.getSteps().stream()
+                                                .map(Converter.WorkflowStepConverter::toSdk)
+                                                .collect(Collectors.toList()))
+                        .tags(
+                                (CollectionUtils.isNullOrEmpty(resourceModel.getTags()))
+                                        ? null
+                                        : resourceModel.getTags().stream()
+                                                .map(Converter.TagConverter::toSdk)
+                                                .collect(Collectors.toList()))
+                        .build())
+                .makeServiceCall((createWorkflowRequest, client) -> {
+                    TransferClient transferClient = client.client();
+                    return client.injectCredentialsAndInvokeV2(createWorkflowRequest, transferClient::createWorkflow);
+                })
+                .handleError((ignored, exception, client, resourceModel, context) ->
+                        handleError(CREATE, exception, resourceModel, context, request.getClientRequestToken()))
+                .done(response -> {
+                    model.setWorkflowId(response.workflowId());
+                    logger.log(String.format("%s created successfully", ResourceModel.TYPE_NAME));
+                    return ProgressEvent.defaultSuccessHandler(model);
+                });
     }
 }
@@ -4,10 +4,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 import software.amazon.awssdk.services.transfer.TransferClient;
+import software.amazon.awssdk.services.transfer.model.DescribeWorkflowRequest;
 import software.amazon.awssdk.services.transfer.model.InternalServiceErrorException;
 import software.amazon.awssdk.services.transfer.model.InvalidRequestException;
 import software.amazon.awssdk.services.transfer.model.ListWorkflowsRequest;
 import software.amazon.awssdk.services.transfer.model.ListWorkflowsResponse;
+import software.amazon.awssdk.services.transfer.model.ListedWorkflow;
 import software.amazon.awssdk.services.transfer.model.TransferException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
@@ -18,11 +20,15 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.DescribeFanOut;
+import software.amazon.transfer.commons.Paginator;
 
 import lombok.NoArgsConstructor;
 
 @NoArgsConstructor
 public class ListHandler extends BaseHandlerStd {
+    private DescribeFanOut describeFanOut = DescribeFanOut.fromEnvironment();
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -32,28 +38,39 @@ public class ListHandler extends BaseHandlerStd {
             final Logger logger) {
 
         final List<ResourceModel> models = new ArrayList<>();
+        Paginator paginator = describeFanOut.getPaginator();
 
         ListWorkflowsRequest listWorkflowsRequest = ListWorkflowsRequest.builder()
-                .maxResults(10)
+                .maxResults(paginator.getPageSize())
                 .nextToken(request.getNextToken())
                 .build();
 
-        try (TransferClient client = proxyClient.client()) {
-            ListWorkflowsResponse response =
-                    proxy.injectCredentialsAndInvokeV2(listWorkflowsRequest, client::listWorkflows);
+        TransferClient client = proxyClient.client();
+        try {
+            Paginator.Page<ListedWorkflow> page = paginator.paginate(
+                    listWorkflowsRequest.nextToken(),
+                    token -> proxyClient.injectCredentialsAndInvokeV2(
+                            listWorkflowsRequest.toBuilder().nextToken(token).build(), client::listWorkflows),
+                    ListWorkflowsResponse::workflows,
+                    ListWorkflowsResponse::nextToken);
 
-            response.workflows().forEach(listedWorkflow -> {
-                ResourceModel model = ResourceModel.builder()
-                        .arn(listedWorkflow.arn())
-                        .description(listedWorkflow.description())
-                        .workflowId(listedWorkflow.workflowId())
-                        .build();
-                models.add(model);
-            });
+            if (describeFanOut.isEnabled()) {
+                models.addAll(describeFanOut.describe(
+                        page.getItems(), listed -> describeWorkflow(proxyClient, client, listed)));
+            } else {
+                page.getItems().forEach(listedWorkflow -> {
+                    ResourceModel model = ResourceModel.builder()
+                            .arn(listedWorkflow.arn())
+                            .description(listedWorkflow.description())
+                            .workflowId(listedWorkflow.workflowId())
+                            .build();
+                    models.add(model);
+                });
+            }
 
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
                     .resourceModels(models)
-                    .nextToken(response.nextToken())
+                    .nextToken(page.getNextToken())
                     .status(OperationStatus.SUCCESS)
                     .build();
         } catch (InvalidRequestException e) {
@@ -64,4 +81,18 @@ public class ListHandler extends BaseHandlerStd {
             throw new CfnGeneralServiceException(e.getMessage(), e);
         }
     }
+
+    /** Replaces the fan-out the environment selects, e.g. to describe the listed workflows in a test. */
+    void useDescribeFanOut(DescribeFanOut describeFanOut) {
+        this.describeFanOut = describeFanOut;
+    }
+
+    private static ResourceModel describeWorkflow(
+            ProxyClient<TransferClient> proxyClient, TransferClient client, ListedWorkflow listed) {
+        ResourceModel model = ResourceModel.builder().workflowId(listed.workflowId()).build();
+        DescribeWorkflowRequest describeRequest =
+                DescribeWorkflowRequest.builder().workflowId(model.getWorkflowId()).build();
+        return ReadHandler.translateFromReadResponse(
+                proxyClient.injectCredentialsAndInvokeV2(describeRequest, client::describeWorkflow), model);
+    }
 }
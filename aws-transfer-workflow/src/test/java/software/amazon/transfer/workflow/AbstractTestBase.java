@@ -30,8 +30,9 @@ import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.transfer.commons.HandlerTestSupport;
 
-public abstract class AbstractTestBase {
+public abstract class AbstractTestBase extends HandlerTestSupport<ResourceModel, CallbackContext> {
     public static final String TEST_DESCRIPTION = "unit test";
     public static final Map<String, String> RESOURCE_TAG_MAP = Collections.singletonMap("key", "value");
     public static final Map<String, String> SYSTEM_TAG_MAP =
@@ -86,10 +87,15 @@ public abstract class AbstractTestBase {
         return Collections.singletonList(step);
     }
 
+    protected AbstractTestBase() {
+        super(CallbackContext::new, CallbackContext::getNumRetries);
+    }
+
     abstract MockableBaseHandler<CallbackContext> getHandler();
 
+    @Override
     protected ProgressEvent<ResourceModel, CallbackContext> callHandler(ResourceHandlerRequest<ResourceModel> request) {
-        return getHandler().handleRequest(proxy, request, null, proxyClient, logger);
+        return getHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
     }
 
     protected static final Credentials MOCK_CREDENTIALS;
@@ -0,0 +1,129 @@
+package software.amazon.transfer.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.services.transfer.model.OverwriteExisting;
+import software.amazon.awssdk.services.transfer.model.WorkflowStepType;
+
+public class ConverterTest {
+    private static final String SOURCE = "${original.file}";
+
+    @Test
+    public void everyStepTypeRoundTrips() {
+        List<WorkflowStep> steps = List.of(
+                WorkflowStep.builder()
+                        .type(WorkflowStepType.COPY.toString())
+                        .copyStepDetails(CopyStepDetails.builder()
+                                .name("archive")
+                                .destinationFileLocation(S3FileLocation.builder()
+                                        .s3FileLocation(s3Location())
+                                        .build())
+                                .overwriteExisting(OverwriteExisting.TRUE.toString())
+                                .sourceFileLocation(SOURCE)
+                                .build())
+                        .build(),
+                WorkflowStep.builder()
+                        .type(WorkflowStepType.DECRYPT.toString())
+                        .decryptStepDetails(DecryptStepDetails.builder()
+                                .name("decrypt")
+                                .type("PGP")
+                                .destinationFileLocation(InputFileLocation.builder()
+                                        .s3FileLocation(s3Location())
+                                        .efsFileLocation(EfsInputFileLocation.builder()
+                                                .fileSystemId("fs-0123456789abcdef0")
+                                                .path("/decrypted")
+                                                .build())
+                                        .build())
+                                .overwriteExisting(OverwriteExisting.FALSE.toString())
+                                .sourceFileLocation(SOURCE)
+                                .build())
+                        .build(),
+                WorkflowStep.builder()
+                        .type(WorkflowStepType.CUSTOM.toString())
+                        .customStepDetails(CustomStepDetails.builder()
+                                .name("scan")
+                                .target("arn:aws:lambda:us-east-1:123456789012:function:scan")
+                                .timeoutSeconds(60)
+                                .sourceFileLocation(SOURCE)
+                                .build())
+                        .build(),
+                WorkflowStep.builder()
+                        .type(WorkflowStepType.DELETE.toString())
+                        .deleteStepDetails(DeleteStepDetails.builder()
+                                .name("cleanup")
+                                .sourceFileLocation(SOURCE)
+                                .build())
+                        .build(),
+                WorkflowStep.builder()
+                        .type(WorkflowStepType.TAG.toString())
+                        .tagStepDetails(TagStepDetails.builder()
+                                .name("tag")
+                                .tags(Set.of(
+                                        S3Tag.builder().key("status").value("archived").build(),
+                                        S3Tag.builder().key("source").value("sftp").build()))
+                                .sourceFileLocation(SOURCE)
+                                .build())
+                        .build());
+
+        for (WorkflowStep step : steps) {
+            software.amazon.awssdk.services.transfer.model.WorkflowStep sdkStep =
+                    Converter.WorkflowStepConverter.toSdk(step);
+
+            assertThat(Converter.WorkflowStepConverter.fromSdk(sdkStep)).isEqualTo(step);
+        }
+    }
+
+    @Test
+    public void onlyTheDetailsOfTheStepTypeAreSent() {
+        WorkflowStep step = WorkflowStep.builder()
+                .type(WorkflowStepType.DELETE.toString())
+                .deleteStepDetails(
+                        DeleteStepDetails.builder().name("cleanup").build())
+                .customStepDetails(CustomStepDetails.builder().name("scan").build())
+                .build();
+
+        software.amazon.awssdk.services.transfer.model.WorkflowStep sdkStep =
+                Converter.WorkflowStepConverter.toSdk(step);
+
+        assertThat(sdkStep.deleteStepDetails().name()).isEqualTo("cleanup");
+        assertThat(sdkStep.customStepDetails()).isNull();
+    }
+
+    @Test
+    public void decryptStepWithoutDestinationSendsAnEmptyOne() {
+        WorkflowStep step = WorkflowStep.builder()
+                .type(WorkflowStepType.DECRYPT.toString())
+                .decryptStepDetails(DecryptStepDetails.builder()
+                        .name("decrypt")
+                        .type("PGP")
+                        .build())
+                .build();
+
+        software.amazon.awssdk.services.transfer.model.WorkflowStep sdkStep =
+                Converter.WorkflowStepConverter.toSdk(step);
+
+        assertThat(sdkStep.decryptStepDetails().destinationFileLocation()).isNotNull();
+        assertThat(sdkStep.decryptStepDetails().destinationFileLocation().s3FileLocation())
+                .isNull();
+        assertThat(sdkStep.decryptStepDetails().destinationFileLocation().efsFileLocation())
+                .isNull();
+    }
+
+    @Test
+    public void nullStepIsNull() {
+        assertThat(Converter.WorkflowStepConverter.toSdk(null)).isNull();
+        assertThat(Converter.WorkflowStepConverter.fromSdk(null)).isNull();
+    }
+
+    private static S3InputFileLocation s3Location() {
+        return S3InputFileLocation.builder()
+                .bucket("bucket")
+                .key("${transfer:UserName}/archive/")
+                .build();
+    }
+}
@@ -3,8 +3,11 @@ package software.amazon.transfer.workflow;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.util.List;
 
@@ -118,4 +121,35 @@ public class ListHandlerTest extends AbstractTestBase {
 
         assertThrows(CfnGeneralServiceException.class, () -> callHandler(request));
     }
+
+    @Test
+    public void handleRequest_DrainsPagesAtServicePageSize() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+
+        ListWorkflowsResponse firstPage = ListWorkflowsResponse.builder()
+                .workflows(ListedWorkflow.builder().workflowId("first").build())
+                .nextToken("page2")
+                .build();
+        ListWorkflowsResponse secondPage = ListWorkflowsResponse.builder()
+                .workflows(ListedWorkflow.builder().workflowId("second").build())
+                .build();
+        doReturn(firstPage)
+                .when(client)
+                .listWorkflows(argThat((ListWorkflowsRequest r) -> r.maxResults() == 1000 && r.nextToken() == null));
+        doReturn(secondPage)
+                .when(client)
+                .listWorkflows(argThat((ListWorkflowsRequest r) -> "page2".equals(r.nextToken())));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = callHandler(request);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getNextToken()).isNull();
+        assertThat(response.getResourceModels())
+                .extracting(ResourceModel::getWorkflowId)
+                .containsExactly("first", "second");
+
+        verify(client, times(2)).listWorkflows(any(ListWorkflowsRequest.class));
+    }
 }